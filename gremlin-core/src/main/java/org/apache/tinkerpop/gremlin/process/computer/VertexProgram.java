@@ -162,6 +162,19 @@ public interface VertexProgram<M> extends Cloneable {
         return Optional.empty();
     }
 
+    /**
+     * Determines if, in the iteration that the memory is at, executing the vertex program on a vertex that received no
+     * messages neither changes the vertex, nor sends messages, nor changes the memory. A {@link GraphComputer} may
+     * then only execute the vertex program on the vertices that messages were sent to, which saves the iterations of
+     * programs whose messages reach ever fewer vertices from visiting all of them. The default is {@code false}.
+     *
+     * @param memory the memory of the iteration to be executed, which only has the broadcast keys readable
+     * @return whether or not the iteration only needs to execute on the vertices that received messages
+     */
+    public default boolean isMessageDriven(final Memory memory) {
+        return false;
+    }
+
     /**
      * This method returns all the {@link MessageScope} possibilities for a particular iteration of the vertex program.
      * The returned messages scopes are the scopes that will be used to send messages during the stated iteration.
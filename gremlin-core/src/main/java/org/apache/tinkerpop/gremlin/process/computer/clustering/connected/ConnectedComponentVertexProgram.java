@@ -63,6 +63,8 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
     private static final String PROPERTY = "gremlin.connectedComponentVertexProgram.property";
     private static final String EDGE_TRAVERSAL = "gremlin.pageRankVertexProgram.edgeTraversal";
     private static final String VOTE_TO_HALT = "gremlin.connectedComponentVertexProgram.voteToHalt";
+    private static final String PREVIOUS_COMPONENT_PROPERTY = "gremlin.connectedComponentVertexProgram.previousComponentProperty";
+    private static final String CHANGED_VERTICES = "gremlin.connectedComponentVertexProgram.changedVertices";
 
     private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
 
@@ -70,6 +72,8 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
     private Set<MessageScope> scopes;
     private String property = COMPONENT;
     private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private String previousComponentProperty = null;
+    private Set<Object> changedVertices = Collections.emptySet();
     private Configuration configuration;
     private TraverserSet<Vertex> haltedTraversers;
     private IndexedTraverserSet<Vertex, Vertex> haltedTraversersIndex;
@@ -91,6 +95,8 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
         scopes = new HashSet<>(Collections.singletonList(scope));
 
         this.property = configuration.getString(PROPERTY, COMPONENT);
+        this.previousComponentProperty = configuration.getString(PREVIOUS_COMPONENT_PROPERTY, null);
+        this.changedVertices = new HashSet<>(configuration.getList(CHANGED_VERTICES, Collections.emptyList()));
 
         this.haltedTraversers = TraversalVertexProgram.loadHaltedTraversers(configuration);
         this.haltedTraversersIndex = new IndexedTraverserSet<>(v -> v);
@@ -118,15 +124,21 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
             copyHaltedTraversersFromMemory(vertex);
 
             // on the first pass, just initialize the component to its own id then pass it to all adjacent vertices
-            // for evaluation
-            vertex.property(VertexProperty.Cardinality.single, property, vertex.id().toString());
+            // for evaluation. an incremental computation keeps the previous component instead and only the changed
+            // vertices pass it on, as the components of the unchanged ones are already known to their neighbors
+            final VertexProperty<String> previousComponent = null == this.previousComponentProperty ?
+                    VertexProperty.empty() : vertex.property(this.previousComponentProperty);
+            final String component = previousComponent.isPresent() ? previousComponent.value() : vertex.id().toString();
+            vertex.property(VertexProperty.Cardinality.single, property, component);
+            if (previousComponent.isPresent() && !this.changedVertices.contains(vertex.id()))
+                return;
 
             // vertices that have no edges remain in their own component - nothing to message pass here
             if (vertex.edges(Direction.BOTH).hasNext()) {
                 // since there was message passing we don't want to halt on the first round. this should only trigger
                 // a single pass finish if the graph is completely disconnected (technically, it won't even really
                 // work in cases where halted traversers come into play
-                messenger.sendMessage(scope, vertex.id().toString());
+                messenger.sendMessage(scope, component);
                 memory.add(VOTE_TO_HALT, false);
             }
         } else {
@@ -167,6 +179,15 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
         return MEMORY_COMPUTE_KEYS;
     }
 
+    /**
+     * After the initial iteration, a vertex only changes its component and messages its neighbors if it received a
+     * lesser component from one of them.
+     */
+    @Override
+    public boolean isMessageDriven(final Memory memory) {
+        return !memory.isInitialIteration();
+    }
+
     @Override
     public boolean terminate(final Memory memory) {
         if (memory.isInitialIteration() && this.haltedTraversersIndex != null) {
@@ -249,5 +270,17 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
             this.configuration.setProperty(PROPERTY, key);
             return this;
         }
+
+        /**
+         * Starts from the components that a previous computation left in the given property and only propagates
+         * them from the given vertices, which are those that edges were added to since. Vertices without a previous
+         * component, like those that were added since, are treated as changed. As components can only merge this
+         * way, the graph must be computed from scratch again once edges or vertices were removed.
+         */
+        public ConnectedComponentVertexProgram.Builder incremental(final String previousComponentKey, final Object... changedVertexIds) {
+            this.configuration.setProperty(PREVIOUS_COMPONENT_PROPERTY, previousComponentKey);
+            this.configuration.setProperty(CHANGED_VERTICES, Arrays.asList(changedVertexIds));
+            return this;
+        }
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.labelpropagation;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Combines the label counts that are sent to the same vertex by summing the counts of equal labels. Labels whose
+ * counts cancel each other out are dropped. The messages are not modified as the same message may be delivered to
+ * several vertices.
+ */
+public final class LabelPropagationMessageCombiner implements MessageCombiner<Map<Serializable, Long>> {
+
+    private static final Optional<LabelPropagationMessageCombiner> INSTANCE = Optional.of(new LabelPropagationMessageCombiner());
+
+    private LabelPropagationMessageCombiner() {
+
+    }
+
+    @Override
+    public Map<Serializable, Long> combine(final Map<Serializable, Long> messageA, final Map<Serializable, Long> messageB) {
+        final Map<Serializable, Long> counts = new HashMap<>(messageA);
+        LabelPropagationMessageCombiner.merge(counts, messageB);
+        return counts;
+    }
+
+    /**
+     * Adds the counts of the message to the given counts.
+     */
+    static void merge(final Map<Serializable, Long> counts, final Map<Serializable, Long> message) {
+        for (final Map.Entry<Serializable, Long> entry : message.entrySet()) {
+            counts.compute(entry.getKey(), (label, count) -> {
+                final long sum = null == count ? entry.getValue() : count + entry.getValue();
+                return 0L == sum ? null : sum;
+            });
+        }
+    }
+
+    public static Optional<LabelPropagationMessageCombiner> instance() {
+        return INSTANCE;
+    }
+}
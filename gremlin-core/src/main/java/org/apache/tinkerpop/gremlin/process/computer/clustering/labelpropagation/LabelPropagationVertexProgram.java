@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.labelpropagation;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Detects communities by label propagation. Every vertex starts with its own id as its label and then repeatedly
+ * adopts the label that most of its neighbors have. A vertex keeps its label if it is one of the most frequent ones,
+ * otherwise ties are broken in favor of the least label.
+ * <p/>
+ * Instead of sending their labels in every iteration, the vertices only send the change of their label to their
+ * neighbors, which keep a count of the labels around them. Once the labels settle, only the few vertices that are
+ * still changing and their neighbors are executed. To avoid the oscillation of neighboring vertices that swap their
+ * labels back and forth, a vertex only changes its label in every second iteration, alternating with about half of
+ * the other vertices.
+ */
+public class LabelPropagationVertexProgram extends StaticVertexProgram<Map<Serializable, Long>> {
+
+    public static final String LABEL = "gremlin.labelPropagationVertexProgram.label";
+    private static final String PROPERTY = "gremlin.labelPropagationVertexProgram.property";
+    private static final String MAX_ITERATIONS = "gremlin.labelPropagationVertexProgram.maxIterations";
+    private static final String EDGE_TRAVERSAL = "gremlin.labelPropagationVertexProgram.edgeTraversal";
+    private static final String VOTE_TO_HALT = "gremlin.labelPropagationVertexProgram.voteToHalt";
+    private static final String LABEL_COUNTS = "gremlin.labelPropagationVertexProgram.labelCounts";
+
+    private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
+
+    private MessageScope.Local<?> scope = MessageScope.Local.of(__::bothE);
+    private Set<MessageScope> scopes = new HashSet<>(Arrays.asList(this.scope, MessageScope.Global.instance()));
+    private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private int maxIterations = 30;
+    private String property = LABEL;
+
+    private LabelPropagationVertexProgram() {
+
+    }
+
+    @Override
+    public void loadState(final Graph graph, final Configuration configuration) {
+        if (configuration.containsKey(EDGE_TRAVERSAL)) {
+            this.edgeTraversal = PureTraversal.loadState(configuration, EDGE_TRAVERSAL, graph);
+            this.scope = MessageScope.Local.of(() -> this.edgeTraversal.get().clone());
+            this.scopes = new HashSet<>(Arrays.asList(this.scope, MessageScope.Global.instance()));
+        }
+        this.property = configuration.getString(PROPERTY, LABEL);
+        this.maxIterations = configuration.getInt(MAX_ITERATIONS, 30);
+    }
+
+    @Override
+    public void storeState(final Configuration configuration) {
+        super.storeState(configuration);
+        configuration.setProperty(PROPERTY, this.property);
+        configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        if (null != this.edgeTraversal)
+            this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
+    }
+
+    @Override
+    public Set<VertexComputeKey> getVertexComputeKeys() {
+        return new HashSet<>(Arrays.asList(VertexComputeKey.of(this.property, false), VertexComputeKey.of(LABEL_COUNTS, true)));
+    }
+
+    @Override
+    public Set<MemoryComputeKey> getMemoryComputeKeys() {
+        return MEMORY_COMPUTE_KEYS;
+    }
+
+    @Override
+    public Optional<MessageCombiner<Map<Serializable, Long>>> getMessageCombiner() {
+        return (Optional) LabelPropagationMessageCombiner.instance();
+    }
+
+    @Override
+    public Set<MessageScope> getMessageScopes(final Memory memory) {
+        return this.scopes;
+    }
+
+    @Override
+    public GraphComputer.ResultGraph getPreferredResultGraph() {
+        return GraphComputer.ResultGraph.NEW;
+    }
+
+    @Override
+    public GraphComputer.Persist getPreferredPersist() {
+        return GraphComputer.Persist.VERTEX_PROPERTIES;
+    }
+
+    @Override
+    public void setup(final Memory memory) {
+        memory.set(VOTE_TO_HALT, true);
+    }
+
+    @Override
+    public void execute(final Vertex vertex, final Messenger<Map<Serializable, Long>> messenger, final Memory memory) {
+        if (memory.isInitialIteration()) {
+            vertex.property(VertexProperty.Cardinality.single, this.property, vertex.id());
+            vertex.property(VertexProperty.Cardinality.single, LABEL_COUNTS, new HashMap<Serializable, Long>());
+            if (vertex.edges(Direction.BOTH).hasNext()) {
+                messenger.sendMessage(this.scope, labelChange((Serializable) vertex.id(), null));
+                memory.add(VOTE_TO_HALT, false);
+            }
+            return;
+        }
+
+        final Map<Serializable, Long> counts = vertex.value(LABEL_COUNTS);
+        final Iterator<Map<Serializable, Long>> changes = messenger.receiveMessages();
+        while (changes.hasNext()) {
+            LabelPropagationMessageCombiner.merge(counts, changes.next());
+        }
+        vertex.property(VertexProperty.Cardinality.single, LABEL_COUNTS, counts);
+
+        final Serializable label = vertex.value(this.property);
+        final Serializable mostFrequentLabel = LabelPropagationVertexProgram.mostFrequentLabel(counts, label);
+        if (label.equals(mostFrequentLabel))
+            return;
+
+        if (((vertex.id().hashCode() + memory.getIteration()) & 1) == 0) {
+            vertex.property(VertexProperty.Cardinality.single, this.property, mostFrequentLabel);
+            messenger.sendMessage(this.scope, labelChange(mostFrequentLabel, label));
+        } else {
+            // it's not this vertex's turn to change its label, so it reminds itself to do it in the next iteration
+            messenger.sendMessage(MessageScope.Global.of(vertex), new HashMap<>());
+        }
+        memory.add(VOTE_TO_HALT, false);
+    }
+
+    /**
+     * A vertex that neither changed its label nor received a change of its neighbors' labels has nothing to do.
+     */
+    @Override
+    public boolean isMessageDriven(final Memory memory) {
+        return !memory.isInitialIteration();
+    }
+
+    @Override
+    public boolean terminate(final Memory memory) {
+        final boolean voteToHalt = memory.<Boolean>get(VOTE_TO_HALT) || memory.getIteration() >= this.maxIterations;
+        if (voteToHalt) {
+            return true;
+        } else {
+            memory.set(VOTE_TO_HALT, true);
+            return false;
+        }
+    }
+
+    private static Map<Serializable, Long> labelChange(final Serializable newLabel, final Serializable oldLabel) {
+        final Map<Serializable, Long> change = new HashMap<>();
+        change.put(newLabel, 1L);
+        if (null != oldLabel)
+            change.put(oldLabel, -1L);
+        return change;
+    }
+
+    private static Serializable mostFrequentLabel(final Map<Serializable, Long> counts, final Serializable label) {
+        Serializable mostFrequentLabel = label;
+        long largestCount = counts.getOrDefault(label, 0L);
+        for (final Map.Entry<Serializable, Long> entry : counts.entrySet()) {
+            final long count = entry.getValue();
+            if (count > largestCount || (count == largestCount && !mostFrequentLabel.equals(label) &&
+                    Order.asc.compare(entry.getKey(), mostFrequentLabel) < 0)) {
+                mostFrequentLabel = entry.getKey();
+                largestCount = count;
+            }
+        }
+        return mostFrequentLabel;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexProgramString(this, "maxIterations=" + this.maxIterations);
+    }
+
+    //////////////////////////////
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder extends AbstractVertexProgramBuilder<Builder> {
+
+        private Builder() {
+            super(LabelPropagationVertexProgram.class);
+        }
+
+        public Builder property(final String key) {
+            this.configuration.setProperty(PROPERTY, key);
+            return this;
+        }
+
+        public Builder maxIterations(final int iterations) {
+            this.configuration.setProperty(MAX_ITERATIONS, iterations);
+            return this;
+        }
+
+        public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+            PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
+            return this;
+        }
+    }
+
+    ////////////////////////////
+
+    @Override
+    public Features getFeatures() {
+        return new Features() {
+            @Override
+            public boolean requiresLocalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresGlobalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresVertexPropertyAddition() {
+                return true;
+            }
+        };
+    }
+}
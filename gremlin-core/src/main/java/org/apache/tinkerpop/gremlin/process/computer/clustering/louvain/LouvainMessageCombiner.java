@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.louvain;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.javatuples.Pair;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Combines the messages that are sent to the same vertex into a single map. The first value of equal keys is kept as
+ * it is the same in all messages (the degree of a member or the total degree of a community), while the second values
+ * are summed up (the number of edges to a community). The messages are not modified as the same message may be
+ * delivered to several vertices.
+ */
+public final class LouvainMessageCombiner implements MessageCombiner<Map<Serializable, Pair<Long, Long>>> {
+
+    private static final Optional<LouvainMessageCombiner> INSTANCE = Optional.of(new LouvainMessageCombiner());
+
+    private LouvainMessageCombiner() {
+
+    }
+
+    @Override
+    public Map<Serializable, Pair<Long, Long>> combine(final Map<Serializable, Pair<Long, Long>> messageA,
+                                                       final Map<Serializable, Pair<Long, Long>> messageB) {
+        final Map<Serializable, Pair<Long, Long>> combined = new HashMap<>(messageA);
+        LouvainMessageCombiner.merge(combined, messageB);
+        return combined;
+    }
+
+    /**
+     * Adds the entries of the message to the given map.
+     */
+    static void merge(final Map<Serializable, Pair<Long, Long>> map, final Map<Serializable, Pair<Long, Long>> message) {
+        for (final Map.Entry<Serializable, Pair<Long, Long>> entry : message.entrySet()) {
+            map.merge(entry.getKey(), entry.getValue(), (a, b) -> a.setAt1(a.getValue1() + b.getValue1()));
+        }
+    }
+
+    public static Optional<LouvainMessageCombiner> instance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.louvain;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Detects communities by the local moving phase of the Louvain method, which moves vertices between the communities
+ * of their neighbors as long as that increases the modularity of the partition. The edges of the edge traversal are
+ * treated as undirected and unweighted. The community of a vertex is identified by the id of a vertex that acts as
+ * the coordinator of the community and sums up the degrees of its members. The modularity of the final partition is
+ * available in the memory of the result under {@link #MODULARITY}.
+ * <p/>
+ * Each round of the computation runs in the following phases, one per iteration:
+ * <ol>
+ *     <li>{@code COMMUNITY} - a coordinator sums up the degrees that its members sent and sends the total degree of
+ *     the community back to them.</li>
+ *     <li>{@code BROADCAST} - a vertex sends its community and the total degree of it to its neighbors.</li>
+ *     <li>{@code MOVE} - a vertex counts the edges to each of the neighboring communities, moves to the community with
+ *     the largest modularity gain and sends its degree to the coordinator of its community.</li>
+ * </ol>
+ * As all vertices move at the same time, two vertices could swap their communities forever. Therefore a vertex may
+ * only move to a community with a lesser id in even rounds and only to a community with a greater id in odd rounds.
+ * The computation stops after two rounds without a move or after the maximum number of rounds.
+ */
+public class LouvainVertexProgram extends StaticVertexProgram<Map<Serializable, Pair<Long, Long>>> {
+
+    public static final String COMMUNITY = "gremlin.louvainVertexProgram.community";
+    public static final String MODULARITY = "gremlin.louvainVertexProgram.modularity";
+    private static final String PROPERTY = "gremlin.louvainVertexProgram.property";
+    private static final String MAX_ITERATIONS = "gremlin.louvainVertexProgram.maxIterations";
+    private static final String EDGE_TRAVERSAL = "gremlin.louvainVertexProgram.edgeTraversal";
+    private static final String DEGREE = "gremlin.louvainVertexProgram.degree";
+    private static final String COMMUNITY_DEGREE = "gremlin.louvainVertexProgram.communityDegree";
+    private static final String TOTAL_DEGREE = "gremlin.louvainVertexProgram.totalDegree";
+    private static final String MOVES = "gremlin.louvainVertexProgram.moves";
+    private static final String STABLE_ROUNDS = "gremlin.louvainVertexProgram.stableRounds";
+
+    private static final int COMMUNITY_PHASE = 0;
+    private static final int BROADCAST = 1;
+    private static final int MOVE = 2;
+
+    private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = new HashSet<>(Arrays.asList(
+            MemoryComputeKey.of(TOTAL_DEGREE, Operator.sumLong, true, true),
+            MemoryComputeKey.of(MODULARITY, Operator.sum, false, false),
+            MemoryComputeKey.of(MOVES, Operator.sumLong, false, true),
+            MemoryComputeKey.of(STABLE_ROUNDS, Operator.assign, false, true)));
+
+    private MessageScope.Local<?> scope = MessageScope.Local.of(__::bothE);
+    private Set<MessageScope> scopes = new HashSet<>(Arrays.asList(this.scope, MessageScope.Global.instance()));
+    private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private int maxIterations = 20;
+    private String property = COMMUNITY;
+
+    private LouvainVertexProgram() {
+
+    }
+
+    @Override
+    public void loadState(final Graph graph, final Configuration configuration) {
+        if (configuration.containsKey(EDGE_TRAVERSAL)) {
+            this.edgeTraversal = PureTraversal.loadState(configuration, EDGE_TRAVERSAL, graph);
+            this.scope = MessageScope.Local.of(() -> this.edgeTraversal.get().clone());
+            this.scopes = new HashSet<>(Arrays.asList(this.scope, MessageScope.Global.instance()));
+        }
+        this.property = configuration.getString(PROPERTY, COMMUNITY);
+        this.maxIterations = configuration.getInt(MAX_ITERATIONS, 20);
+    }
+
+    @Override
+    public void storeState(final Configuration configuration) {
+        super.storeState(configuration);
+        configuration.setProperty(PROPERTY, this.property);
+        configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        if (null != this.edgeTraversal)
+            this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
+    }
+
+    @Override
+    public Set<VertexComputeKey> getVertexComputeKeys() {
+        return new HashSet<>(Arrays.asList(
+                VertexComputeKey.of(this.property, false),
+                VertexComputeKey.of(DEGREE, true),
+                VertexComputeKey.of(COMMUNITY_DEGREE, true)));
+    }
+
+    @Override
+    public Set<MemoryComputeKey> getMemoryComputeKeys() {
+        return MEMORY_COMPUTE_KEYS;
+    }
+
+    @Override
+    public Optional<MessageCombiner<Map<Serializable, Pair<Long, Long>>>> getMessageCombiner() {
+        return (Optional) LouvainMessageCombiner.instance();
+    }
+
+    @Override
+    public Set<MessageScope> getMessageScopes(final Memory memory) {
+        return this.scopes;
+    }
+
+    @Override
+    public GraphComputer.ResultGraph getPreferredResultGraph() {
+        return GraphComputer.ResultGraph.NEW;
+    }
+
+    @Override
+    public GraphComputer.Persist getPreferredPersist() {
+        return GraphComputer.Persist.VERTEX_PROPERTIES;
+    }
+
+    @Override
+    public void setup(final Memory memory) {
+        memory.set(TOTAL_DEGREE, 0L);
+        memory.set(MODULARITY, 0.0d);
+        memory.set(MOVES, 0L);
+        memory.set(STABLE_ROUNDS, 0);
+    }
+
+    @Override
+    public void execute(final Vertex vertex, final Messenger<Map<Serializable, Pair<Long, Long>>> messenger, final Memory memory) {
+        if (memory.isInitialIteration()) {
+            // every vertex starts in its own community and coordinates it
+            final long degree = null == this.edgeTraversal ?
+                    IteratorUtils.count(vertex.edges(Direction.BOTH)) :
+                    IteratorUtils.count(TraversalUtil.applyAll(vertex, this.edgeTraversal.getPure()));
+            vertex.property(VertexProperty.Cardinality.single, this.property, vertex.id());
+            vertex.property(VertexProperty.Cardinality.single, DEGREE, degree);
+            memory.add(TOTAL_DEGREE, degree);
+            messenger.sendMessage(MessageScope.Global.of(vertex), entry((Serializable) vertex.id(), degree));
+            return;
+        }
+
+        switch (getPhase(memory)) {
+            case COMMUNITY_PHASE:
+                sumCommunityDegree(vertex, messenger, memory);
+                return;
+            case BROADCAST:
+                broadcastCommunity(vertex, messenger);
+                return;
+            case MOVE:
+                move(vertex, messenger, memory);
+        }
+    }
+
+    private void sumCommunityDegree(final Vertex vertex, final Messenger<Map<Serializable, Pair<Long, Long>>> messenger, final Memory memory) {
+        final Map<Serializable, Pair<Long, Long>> members = receive(messenger);
+        if (members.isEmpty()) return;
+
+        long communityDegree = 0L;
+        final List<Vertex> receivers = new ArrayList<>(members.size());
+        for (final Map.Entry<Serializable, Pair<Long, Long>> member : members.entrySet()) {
+            communityDegree += member.getValue().getValue0();
+            receivers.add(new ReferenceVertex(member.getKey()));
+        }
+        final double share = communityDegree / (double) memory.<Long>get(TOTAL_DEGREE);
+        memory.add(MODULARITY, -share * share);
+        messenger.sendMessage(MessageScope.Global.of(receivers), entry((Serializable) vertex.id(), communityDegree));
+    }
+
+    private void broadcastCommunity(final Vertex vertex, final Messenger<Map<Serializable, Pair<Long, Long>>> messenger) {
+        final Map<Serializable, Pair<Long, Long>> community = receive(messenger);
+        if (community.isEmpty()) return;
+
+        final Map.Entry<Serializable, Pair<Long, Long>> entry = community.entrySet().iterator().next();
+        vertex.property(VertexProperty.Cardinality.single, COMMUNITY_DEGREE, entry.getValue().getValue0());
+        messenger.sendMessage(this.scope, entry(entry.getKey(), entry.getValue().getValue0()));
+    }
+
+    private void move(final Vertex vertex, final Messenger<Map<Serializable, Pair<Long, Long>>> messenger, final Memory memory) {
+        final Serializable community = vertex.value(this.property);
+        final long degree = vertex.value(DEGREE);
+        final Map<Serializable, Pair<Long, Long>> neighbors = receive(messenger);
+        Serializable bestCommunity = community;
+        if (!neighbors.isEmpty()) {
+            final double totalDegree = memory.<Long>get(TOTAL_DEGREE);
+            final long communityDegree = vertex.<Long>property(COMMUNITY_DEGREE).orElse(degree);
+            final long edgesToCommunity = neighbors.containsKey(community) ? neighbors.get(community).getValue1() : 0L;
+            memory.add(MODULARITY, edgesToCommunity / totalDegree);
+
+            // the gains are relative to the removal of this vertex from the partition
+            final boolean lesser = 0 == getRound(memory) % 2;
+            double bestGain = edgesToCommunity - (communityDegree - degree) * degree / totalDegree;
+            for (final Map.Entry<Serializable, Pair<Long, Long>> neighbor : neighbors.entrySet()) {
+                final int cmp = Order.asc.compare(neighbor.getKey(), community);
+                if (lesser ? cmp >= 0 : cmp <= 0) continue;
+                final double gain = neighbor.getValue().getValue1() - neighbor.getValue().getValue0() * degree / totalDegree;
+                if (gain > bestGain || (gain == bestGain && !bestCommunity.equals(community) &&
+                        Order.asc.compare(neighbor.getKey(), bestCommunity) < 0)) {
+                    bestCommunity = neighbor.getKey();
+                    bestGain = gain;
+                }
+            }
+            if (!bestCommunity.equals(community)) {
+                vertex.property(VertexProperty.Cardinality.single, this.property, bestCommunity);
+                memory.add(MOVES, 1L);
+            }
+        }
+        messenger.sendMessage(MessageScope.Global.of(new ReferenceVertex(bestCommunity)), entry((Serializable) vertex.id(), degree));
+    }
+
+    /**
+     * The coordinators only hear from their members and the members only hear from their coordinators.
+     */
+    @Override
+    public boolean isMessageDriven(final Memory memory) {
+        return !memory.isInitialIteration() && getPhase(memory) != MOVE;
+    }
+
+    @Override
+    public boolean terminate(final Memory memory) {
+        if (memory.isInitialIteration())
+            return 0L == memory.<Long>get(TOTAL_DEGREE);
+        if (getPhase(memory) != MOVE)
+            return false;
+
+        final int stableRounds = 0L == memory.<Long>get(MOVES) ? memory.<Integer>get(STABLE_ROUNDS) + 1 : 0;
+        if (stableRounds >= 2 || getRound(memory) + 1 >= this.maxIterations)
+            return true;
+
+        memory.set(STABLE_ROUNDS, stableRounds);
+        memory.set(MOVES, 0L);
+        memory.set(MODULARITY, 0.0d);
+        return false;
+    }
+
+    private static int getPhase(final Memory memory) {
+        return (memory.getIteration() - 1) % 3;
+    }
+
+    private static int getRound(final Memory memory) {
+        return (memory.getIteration() - 1) / 3;
+    }
+
+    private static Map<Serializable, Pair<Long, Long>> receive(final Messenger<Map<Serializable, Pair<Long, Long>>> messenger) {
+        final Map<Serializable, Pair<Long, Long>> map = new HashMap<>();
+        final Iterator<Map<Serializable, Pair<Long, Long>>> messages = messenger.receiveMessages();
+        while (messages.hasNext()) {
+            LouvainMessageCombiner.merge(map, messages.next());
+        }
+        return map;
+    }
+
+    private static Map<Serializable, Pair<Long, Long>> entry(final Serializable key, final long degree) {
+        final Map<Serializable, Pair<Long, Long>> map = new HashMap<>();
+        map.put(key, Pair.with(degree, 1L));
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexProgramString(this, "maxIterations=" + this.maxIterations);
+    }
+
+    //////////////////////////////
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder extends AbstractVertexProgramBuilder<Builder> {
+
+        private Builder() {
+            super(LouvainVertexProgram.class);
+        }
+
+        public Builder property(final String key) {
+            this.configuration.setProperty(PROPERTY, key);
+            return this;
+        }
+
+        /**
+         * The maximum number of rounds, each of which takes three iterations.
+         */
+        public Builder maxIterations(final int iterations) {
+            this.configuration.setProperty(MAX_ITERATIONS, iterations);
+            return this;
+        }
+
+        public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+            PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
+            return this;
+        }
+    }
+
+    ////////////////////////////
+
+    @Override
+    public Features getFeatures() {
+        return new Features() {
+            @Override
+            public boolean requiresLocalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresGlobalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresVertexPropertyAddition() {
+                return true;
+            }
+        };
+    }
+}
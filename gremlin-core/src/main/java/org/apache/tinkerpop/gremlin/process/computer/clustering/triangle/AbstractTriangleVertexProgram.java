@@ -0,0 +1,379 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.triangle;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ConfigurationUtils;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.IndexedTraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.javatuples.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts the triangles that each vertex is part of, treating the edges of the edge traversal as undirected and
+ * ignoring parallel edges and self-loops. The vertices are ranked by their degree and each vertex only sends its
+ * higher ranked neighbors, sorted by id, to those neighbors. A neighbor then finds the triangles by intersecting the
+ * sorted list with its own, which counts every triangle exactly once and keeps the lists of high-degree vertices short.
+ * <p/>
+ * The computation runs in the following phases, one per iteration:
+ * <ol>
+ *     <li>{@code SYMMETRIZE} - a vertex sends its id to its neighbors, so that a directed edge traversal makes both
+ *     vertices of an edge know each other. This phase is skipped if the edge traversal uses both directions.</li>
+ *     <li>{@code DEGREE} - a vertex sends its id and its degree to its neighbors.</li>
+ *     <li>{@code ORIENT} - a vertex sends the sorted ids of its higher ranked neighbors to those neighbors.</li>
+ *     <li>{@code COUNT} - a vertex intersects the received lists with its own and credits each triangle it found
+ *     to the three vertices of the triangle.</li>
+ *     <li>{@code STORE} - a vertex sums up its credits and stores the value that the program derives from it.</li>
+ * </ol>
+ */
+abstract class AbstractTriangleVertexProgram implements VertexProgram<Object> {
+
+    static final String PROPERTY = "gremlin.triangleCountVertexProgram.property";
+    static final String EDGE_TRAVERSAL = "gremlin.triangleCountVertexProgram.edgeTraversal";
+    private static final String DEGREE = "gremlin.triangleCountVertexProgram.degree";
+    private static final String FORWARD = "gremlin.triangleCountVertexProgram.forward";
+
+    private static final int SYMMETRIZE = 0;
+    private static final int DEGREE_PHASE = 1;
+    private static final int ORIENT = 2;
+    private static final int COUNT = 3;
+    private static final int STORE = 4;
+
+    private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(
+            MemoryComputeKey.of(TriangleCountVertexProgram.TRIANGLES, Operator.sumLong, false, false));
+
+    private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private Direction edgeDirection = Direction.BOTH;
+    private String[] edgeLabels = new String[0];
+    private boolean symmetric = true;
+    private String property;
+    private Configuration configuration;
+    private TraverserSet<Vertex> haltedTraversers;
+    private IndexedTraverserSet<Vertex, Vertex> haltedTraversersIndex;
+
+    AbstractTriangleVertexProgram() {}
+
+    /**
+     * The property that the value is stored in if no other property was configured.
+     */
+    abstract String getDefaultProperty();
+
+    /**
+     * The value that is stored for a vertex with the given number of triangles and degree.
+     */
+    abstract Object getValue(final long triangles, final int degree);
+
+    @Override
+    public void loadState(final Graph graph, final Configuration config) {
+        configuration = new BaseConfiguration();
+        if (config != null) {
+            ConfigurationUtils.copy(config, configuration);
+        }
+
+        if (configuration.containsKey(EDGE_TRAVERSAL)) {
+            this.edgeTraversal = PureTraversal.loadState(configuration, EDGE_TRAVERSAL, graph);
+            // an edge traversal of a single step is answered by the vertex directly
+            final List<Step> steps = this.edgeTraversal.get().getSteps();
+            if (steps.size() == 1 && steps.get(0) instanceof VertexStep && ((VertexStep) steps.get(0)).returnsEdge()) {
+                this.edgeDirection = ((VertexStep) steps.get(0)).getDirection();
+                this.edgeLabels = ((VertexStep) steps.get(0)).getEdgeLabels();
+                this.edgeTraversal = null;
+            } else {
+                this.edgeDirection = null;
+            }
+        }
+        this.symmetric = this.edgeDirection == Direction.BOTH;
+
+        this.property = configuration.getString(PROPERTY, getDefaultProperty());
+
+        this.haltedTraversers = TraversalVertexProgram.loadHaltedTraversers(configuration);
+        this.haltedTraversersIndex = new IndexedTraverserSet<>(v -> v);
+        for (final Traverser.Admin<Vertex> traverser : this.haltedTraversers) {
+            this.haltedTraversersIndex.add(traverser.split());
+        }
+    }
+
+    @Override
+    public void storeState(final Configuration config) {
+        VertexProgram.super.storeState(config);
+        if (configuration != null) {
+            ConfigurationUtils.copy(configuration, config);
+        }
+    }
+
+    @Override
+    public void setup(final Memory memory) {
+        memory.set(TriangleCountVertexProgram.TRIANGLES, 0L);
+    }
+
+    @Override
+    public void execute(final Vertex vertex, final Messenger<Object> messenger, final Memory memory) {
+        if (memory.isInitialIteration()) {
+            copyHaltedTraversersFromMemory(vertex);
+            vertex.property(VertexProperty.Cardinality.single, this.property, getValue(0L, 0));
+        }
+
+        switch (getPhase(memory)) {
+            case SYMMETRIZE:
+                symmetrize(vertex, messenger);
+                return;
+            case DEGREE_PHASE:
+                sendDegree(vertex, messenger);
+                return;
+            case ORIENT:
+                orient(vertex, messenger);
+                return;
+            case COUNT:
+                countTriangles(vertex, messenger, memory);
+                return;
+            case STORE:
+                storeValue(vertex, messenger);
+        }
+    }
+
+    private void symmetrize(final Vertex vertex, final Messenger<Object> messenger) {
+        final List<Vertex> neighbors = new ArrayList<>(getNeighbors(vertex).values());
+        if (!neighbors.isEmpty())
+            messenger.sendMessage(MessageScope.Global.of(neighbors), vertex.id());
+    }
+
+    private void sendDegree(final Vertex vertex, final Messenger<Object> messenger) {
+        // the vertices that reached this vertex with a directed edge traversal are neighbors as well
+        final Map<Object, Vertex> neighbors = getNeighbors(vertex);
+        final Iterator<Object> ids = messenger.receiveMessages();
+        while (ids.hasNext()) {
+            final Object id = ids.next();
+            neighbors.putIfAbsent(id, new ReferenceVertex(id));
+        }
+        vertex.property(VertexProperty.Cardinality.single, DEGREE, neighbors.size());
+        if (!neighbors.isEmpty())
+            messenger.sendMessage(MessageScope.Global.of(new ArrayList<>(neighbors.values())), Pair.with(vertex.id(), neighbors.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void orient(final Vertex vertex, final Messenger<Object> messenger) {
+        // collect the neighbors that rank higher than this vertex, sorted by their ids
+        final int degree = vertex.value(DEGREE);
+        final List<Object> forward = new ArrayList<>();
+        final Iterator<Object> degrees = messenger.receiveMessages();
+        while (degrees.hasNext()) {
+            final Pair<Object, Integer> neighbor = (Pair<Object, Integer>) degrees.next();
+            final int cmp = Integer.compare(neighbor.getValue1(), degree);
+            if (cmp > 0 || (cmp == 0 && Order.asc.compare(neighbor.getValue0(), vertex.id()) > 0))
+                forward.add(neighbor.getValue0());
+        }
+        if (forward.isEmpty()) return;
+
+        forward.sort(Order.asc);
+        vertex.property(VertexProperty.Cardinality.single, FORWARD, forward);
+        final List<Vertex> receivers = new ArrayList<>(forward.size());
+        for (final Object id : forward) {
+            receivers.add(new ReferenceVertex(id));
+        }
+        messenger.sendMessage(MessageScope.Global.of(receivers), Pair.with(vertex.id(), forward));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void countTriangles(final Vertex vertex, final Messenger<Object> messenger, final Memory memory) {
+        // every id that this vertex has in common with a lower ranked neighbor closes a triangle
+        final List<Object> forward = vertex.<List<Object>>property(FORWARD).orElse(Collections.emptyList());
+        final Map<Object, Long> credits = new HashMap<>();
+        long triangles = 0L;
+        final Iterator<Object> lists = messenger.receiveMessages();
+        while (lists.hasNext()) {
+            final Pair<Object, List<Object>> sender = (Pair<Object, List<Object>>) lists.next();
+            final List<Object> common = intersect(sender.getValue1(), forward);
+            if (common.isEmpty()) continue;
+            triangles += common.size();
+            credits.merge(sender.getValue0(), (long) common.size(), Long::sum);
+            for (final Object id : common) {
+                credits.merge(id, 1L, Long::sum);
+            }
+        }
+        if (triangles == 0L) return;
+
+        memory.add(TriangleCountVertexProgram.TRIANGLES, triangles);
+        messenger.sendMessage(MessageScope.Global.of(vertex), triangles);
+        for (final Map.Entry<Object, Long> credit : credits.entrySet()) {
+            messenger.sendMessage(MessageScope.Global.of(new ReferenceVertex(credit.getKey())), credit.getValue());
+        }
+    }
+
+    private void storeValue(final Vertex vertex, final Messenger<Object> messenger) {
+        long triangles = 0L;
+        final Iterator<Object> credits = messenger.receiveMessages();
+        while (credits.hasNext()) {
+            triangles += (Long) credits.next();
+        }
+        vertex.property(VertexProperty.Cardinality.single, this.property, getValue(triangles, vertex.<Integer>value(DEGREE)));
+    }
+
+    private int getPhase(final Memory memory) {
+        return this.symmetric ? memory.getIteration() + 1 : memory.getIteration();
+    }
+
+    private Map<Object, Vertex> getNeighbors(final Vertex vertex) {
+        final Iterator<Edge> edges;
+        if (null == this.edgeTraversal) {
+            edges = vertex.edges(this.edgeDirection, this.edgeLabels);
+        } else {
+            final Traversal.Admin<Vertex, Edge> traversal = this.edgeTraversal.getPure();
+            traversal.addStart(traversal.getTraverserGenerator().generate(vertex, traversal.getStartStep(), 1));
+            edges = traversal;
+        }
+        final Map<Object, Vertex> neighbors = new HashMap<>();
+        while (edges.hasNext()) {
+            final Edge edge = edges.next();
+            final Vertex inVertex = edge.inVertex();
+            final Vertex neighbor = inVertex.id().equals(vertex.id()) ? edge.outVertex() : inVertex;
+            if (!neighbor.id().equals(vertex.id()))
+                neighbors.putIfAbsent(neighbor.id(), neighbor);
+        }
+        return neighbors;
+    }
+
+    /**
+     * Intersects two lists of ids that are sorted in ascending order.
+     */
+    private static List<Object> intersect(final List<Object> a, final List<Object> b) {
+        final List<Object> common = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            final int cmp = Order.asc.compare(a.get(i), b.get(j));
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                common.add(a.get(i));
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    @Override
+    public Set<VertexComputeKey> getVertexComputeKeys() {
+        return new HashSet<>(Arrays.asList(
+                VertexComputeKey.of(this.property, false),
+                VertexComputeKey.of(DEGREE, true),
+                VertexComputeKey.of(FORWARD, true),
+                VertexComputeKey.of(TraversalVertexProgram.HALTED_TRAVERSERS, false)));
+    }
+
+    @Override
+    public Set<MemoryComputeKey> getMemoryComputeKeys() {
+        return MEMORY_COMPUTE_KEYS;
+    }
+
+    /**
+     * Once the degrees are known, only the vertices that received ids, lists or credits have anything to do.
+     */
+    @Override
+    public boolean isMessageDriven(final Memory memory) {
+        return getPhase(memory) >= ORIENT;
+    }
+
+    @Override
+    public boolean terminate(final Memory memory) {
+        if (memory.isInitialIteration() && this.haltedTraversersIndex != null) {
+            this.haltedTraversersIndex.clear();
+        }
+        return getPhase(memory) >= STORE;
+    }
+
+    @Override
+    public Set<MessageScope> getMessageScopes(final Memory memory) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public GraphComputer.ResultGraph getPreferredResultGraph() {
+        return GraphComputer.ResultGraph.NEW;
+    }
+
+    @Override
+    public GraphComputer.Persist getPreferredPersist() {
+        return GraphComputer.Persist.VERTEX_PROPERTIES;
+    }
+
+    @Override
+    @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
+    public AbstractTriangleVertexProgram clone() {
+        return this;
+    }
+
+    @Override
+    public Features getFeatures() {
+        return new Features() {
+            @Override
+            public boolean requiresGlobalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresVertexPropertyAddition() {
+                return true;
+            }
+        };
+    }
+
+    private void copyHaltedTraversersFromMemory(final Vertex vertex) {
+        final Collection<Traverser.Admin<Vertex>> traversers = this.haltedTraversersIndex.get(vertex);
+        if (traversers != null) {
+            final TraverserSet<Vertex> newHaltedTraversers = new TraverserSet<>();
+            newHaltedTraversers.addAll(traversers);
+            vertex.property(VertexProperty.Cardinality.single, TraversalVertexProgram.HALTED_TRAVERSERS, newHaltedTraversers);
+        }
+    }
+}
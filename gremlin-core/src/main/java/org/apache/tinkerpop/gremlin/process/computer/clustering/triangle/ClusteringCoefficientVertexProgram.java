@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.triangle;
+
+import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+/**
+ * Computes the local clustering coefficient of each vertex, which is the number of triangles the vertex is part of
+ * divided by the number of pairs of its neighbors, and stores it as a {@code Double} vertex property. Vertices with
+ * less than two neighbors have a coefficient of {@code 0.0}. The total number of triangles in the graph is available
+ * in the memory of the result under {@link TriangleCountVertexProgram#TRIANGLES}.
+ */
+public final class ClusteringCoefficientVertexProgram extends AbstractTriangleVertexProgram {
+
+    public static final String CLUSTERING_COEFFICIENT = "gremlin.clusteringCoefficientVertexProgram.clusteringCoefficient";
+
+    private ClusteringCoefficientVertexProgram() {}
+
+    @Override
+    String getDefaultProperty() {
+        return CLUSTERING_COEFFICIENT;
+    }
+
+    @Override
+    Object getValue(final long triangles, final int degree) {
+        return degree < 2 ? 0.0d : 2.0d * triangles / ((double) degree * (degree - 1));
+    }
+
+    public static ClusteringCoefficientVertexProgram.Builder build() {
+        return new ClusteringCoefficientVertexProgram.Builder();
+    }
+
+    public static final class Builder extends AbstractVertexProgramBuilder<ClusteringCoefficientVertexProgram.Builder> {
+
+        private Builder() {
+            super(ClusteringCoefficientVertexProgram.class);
+        }
+
+        /**
+         * The edges that connect a vertex to its neighbors. Edges are treated as undirected, so that a traversal like
+         * {@code outE("knows")} computes the coefficients of {@code bothE("knows")}.
+         */
+        public ClusteringCoefficientVertexProgram.Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+            PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
+            return this;
+        }
+
+        public ClusteringCoefficientVertexProgram.Builder property(final String key) {
+            this.configuration.setProperty(PROPERTY, key);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.triangle;
+
+import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+/**
+ * Counts the triangles that each vertex is part of and stores the count as a {@code Long} vertex property. The total
+ * number of triangles in the graph is available in the memory of the result under {@link #TRIANGLES}.
+ */
+public final class TriangleCountVertexProgram extends AbstractTriangleVertexProgram {
+
+    public static final String TRIANGLE_COUNT = "gremlin.triangleCountVertexProgram.triangleCount";
+    public static final String TRIANGLES = "gremlin.triangleCountVertexProgram.triangles";
+
+    private TriangleCountVertexProgram() {}
+
+    @Override
+    String getDefaultProperty() {
+        return TRIANGLE_COUNT;
+    }
+
+    @Override
+    Object getValue(final long triangles, final int degree) {
+        return triangles;
+    }
+
+    public static TriangleCountVertexProgram.Builder build() {
+        return new TriangleCountVertexProgram.Builder();
+    }
+
+    public static final class Builder extends AbstractVertexProgramBuilder<TriangleCountVertexProgram.Builder> {
+
+        private Builder() {
+            super(TriangleCountVertexProgram.class);
+        }
+
+        /**
+         * The edges that connect the vertices of the triangles. Edges are treated as undirected, so that a traversal
+         * like {@code outE("knows")} counts the triangles of {@code bothE("knows")}.
+         */
+        public TriangleCountVertexProgram.Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+            PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
+            return this;
+        }
+
+        public TriangleCountVertexProgram.Builder property(final String key) {
+            this.configuration.setProperty(PROPERTY, key);
+            return this;
+        }
+    }
+}
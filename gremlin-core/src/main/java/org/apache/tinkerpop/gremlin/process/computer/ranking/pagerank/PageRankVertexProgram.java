@@ -64,6 +64,7 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private static final String INITIAL_RANK_TRAVERSAL = "gremlin.pageRankVertexProgram.initialRankTraversal";
     private static final String TELEPORTATION_ENERGY = "gremlin.pageRankVertexProgram.teleportationEnergy";
     private static final String CONVERGENCE_ERROR = "gremlin.pageRankVertexProgram.convergenceError";
+    private static final String PREVIOUS_RANK_PROPERTY = "gremlin.pageRankVertexProgram.previousRankProperty";
 
     private MessageScope.Local<Double> incidentMessageScope = MessageScope.Local.of(__::outE);
     private MessageScope.Local<Double> countMessageScope = MessageScope.Local.of(new MessageScope.Local.ReverseTraversalSupplier(this.incidentMessageScope));
@@ -73,6 +74,7 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private double epsilon = 0.00001d;
     private int maxIterations = 20;
     private String property = PAGE_RANK;
+    private String previousRankProperty = null;
     private Set<VertexComputeKey> vertexComputeKeys;
     private Set<MemoryComputeKey> memoryComputeKeys;
 
@@ -93,6 +95,7 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         this.epsilon = configuration.getDouble(EPSILON, this.epsilon);
         this.maxIterations = configuration.getInt(MAX_ITERATIONS, 20);
         this.property = configuration.getString(PROPERTY, PAGE_RANK);
+        this.previousRankProperty = configuration.getString(PREVIOUS_RANK_PROPERTY, null);
         this.vertexComputeKeys = new HashSet<>(Arrays.asList(
                 VertexComputeKey.of(this.property, false),
                 VertexComputeKey.of(EDGE_COUNT, true)));
@@ -109,6 +112,8 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         configuration.setProperty(EPSILON, this.epsilon);
         configuration.setProperty(PROPERTY, this.property);
         configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        if (null != this.previousRankProperty)
+            configuration.setProperty(PREVIOUS_RANK_PROPERTY, this.previousRankProperty);
         if (null != this.edgeTraversal)
             this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
         if (null != this.initialRankTraversal)
@@ -161,7 +166,7 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
 
     @Override
     public void setup(final Memory memory) {
-        memory.set(TELEPORTATION_ENERGY, null == this.initialRankTraversal ? 1.0d : 0.0d);
+        memory.set(TELEPORTATION_ENERGY, null == this.initialRankTraversal || null != this.previousRankProperty ? 1.0d : 0.0d);
         memory.set(VERTEX_COUNT, 0.0d);
         memory.set(CONVERGENCE_ERROR, 1.0d);
     }
@@ -171,6 +176,9 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         if (memory.isInitialIteration()) {
             messenger.sendMessage(this.countMessageScope, 1.0d);
             memory.add(VERTEX_COUNT, 1.0d);
+            // the energy that the previous ranks do not account for, such as that of removed vertices, is teleported
+            if (null != this.previousRankProperty)
+                memory.add(TELEPORTATION_ENERGY, -vertex.<Number>property(this.previousRankProperty).orElse(0.0d).doubleValue());
         } else {
             final double vertexCount = memory.<Double>get(VERTEX_COUNT);
             final double edgeCount;
@@ -178,9 +186,12 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             if (1 == memory.getIteration()) {
                 edgeCount = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
                 vertex.property(VertexProperty.Cardinality.single, EDGE_COUNT, edgeCount);
-                pageRank = null == this.initialRankTraversal ?
-                        0.0d :
-                        TraversalUtil.apply(vertex, this.initialRankTraversal.get()).doubleValue();
+                if (null != this.previousRankProperty)
+                    pageRank = vertex.<Number>property(this.previousRankProperty).orElse(0.0d).doubleValue();
+                else
+                    pageRank = null == this.initialRankTraversal ?
+                            0.0d :
+                            TraversalUtil.apply(vertex, this.initialRankTraversal.get()).doubleValue();
             } else {
                 edgeCount = vertex.value(EDGE_COUNT);
                 pageRank = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
@@ -206,7 +217,10 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
 
     @Override
     public boolean terminate(final Memory memory) {
-        boolean terminate = memory.<Double>get(CONVERGENCE_ERROR) < this.epsilon || memory.getIteration() >= this.maxIterations;
+        // the previous ranks are not compared to until they have been propagated once
+        final boolean converged = memory.<Double>get(CONVERGENCE_ERROR) < this.epsilon &&
+                (null == this.previousRankProperty || memory.getIteration() > 1);
+        boolean terminate = converged || memory.getIteration() >= this.maxIterations;
         memory.set(CONVERGENCE_ERROR, 0.0d);
         return terminate;
     }
@@ -257,6 +271,16 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             PureTraversal.storeState(this.configuration, INITIAL_RANK_TRAVERSAL, initialRankTraversal);
             return this;
         }
+
+        /**
+         * Starts from the ranks that a previous computation left in the given property, so that after a small
+         * change to the graph the ranks converge again in a few iterations instead of being computed from scratch.
+         * Vertices without a previous rank, like those that were added since, start with a rank of zero.
+         */
+        public Builder incremental(final String previousRankKey) {
+            this.configuration.setProperty(PREVIOUS_RANK_PROPERTY, previousRankKey);
+            return this;
+        }
     }
 
     ////////////////////////////
@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexPr
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ProgramVertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.VertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
@@ -52,6 +53,7 @@ import org.apache.tinkerpop.gremlin.util.NumberHelper;
 import org.javatuples.Pair;
 import org.javatuples.Triplet;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -62,6 +64,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 
 /**
@@ -78,15 +81,27 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
     private static final String DISTANCE_TRAVERSAL = "gremlin.shortestPathVertexProgram.distanceTraversal";
     private static final String MAX_DISTANCE = "gremlin.shortestPathVertexProgram.maxDistance";
     private static final String INCLUDE_EDGES = "gremlin.shortestPathVertexProgram.includeEdges";
+    private static final String BIDIRECTIONAL = "gremlin.shortestPathVertexProgram.bidirectional";
+    private static final String LANDMARKS = "gremlin.shortestPathVertexProgram.landmarks";
 
     private static final String STATE = "gremlin.shortestPathVertexProgram.state";
     private static final String PATHS = "gremlin.shortestPathVertexProgram.paths";
+    private static final String BACKWARD_PATHS = "gremlin.shortestPathVertexProgram.backwardPaths";
+    private static final String SOURCES = "gremlin.shortestPathVertexProgram.sources";
+    private static final String TARGETS = "gremlin.shortestPathVertexProgram.targets";
+    private static final String FOUND_PATHS = "gremlin.shortestPathVertexProgram.foundPaths";
     private static final String VOTE_TO_HALT = "gremlin.shortestPathVertexProgram.voteToHalt";
 
     private static final int SEARCH = 0;
     private static final int COLLECT_PATHS = 1;
     private static final int UPDATE_HALTED_TRAVERSERS = 2;
 
+    /**
+     * The relative error that is tolerated when a distance is compared to a lower bound computed from landmark
+     * distances, so that paths of equal length are not pruned because of rounding.
+     */
+    private static final double LOWER_BOUND_TOLERANCE = 1e-9;
+
     public static final PureTraversal<Vertex, ?> DEFAULT_VERTEX_FILTER_TRAVERSAL = new PureTraversal<>(
             __.<Vertex> identity().asAdmin()); // todo: new IdentityTraversal<>()
     public static final PureTraversal<Vertex, Edge> DEFAULT_EDGE_TRAVERSAL = new PureTraversal<>(__.bothE().asAdmin());
@@ -104,10 +119,14 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
     private Number maxDistance;
     private boolean distanceEqualsNumberOfHops;
     private boolean includeEdges;
+    private boolean bidirectional;
+    private String landmarks;
+    private boolean undirected;
     private boolean standalone;
 
     private static final Set<VertexComputeKey> VERTEX_COMPUTE_KEYS = new HashSet<>(Arrays.asList(
             VertexComputeKey.of(PATHS, true),
+            VertexComputeKey.of(BACKWARD_PATHS, true),
             VertexComputeKey.of(TraversalVertexProgram.HALTED_TRAVERSERS, false)));
 
     private final Set<MemoryComputeKey> memoryComputeKeys = new HashSet<>(Arrays.asList(
@@ -138,6 +157,11 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
 
         this.distanceEqualsNumberOfHops = this.distanceTraversal.equals(DEFAULT_DISTANCE_TRAVERSAL);
         this.includeEdges = configuration.getBoolean(INCLUDE_EDGES, false);
+        this.bidirectional = configuration.getBoolean(BIDIRECTIONAL, false);
+        this.landmarks = configuration.getString(LANDMARKS, null);
+        this.undirected = this.edgeTraversal.equals(DEFAULT_EDGE_TRAVERSAL);
+        if (this.bidirectional && !this.distanceEqualsNumberOfHops)
+            throw new IllegalArgumentException("A bidirectional search requires the distance to be the number of hops");
         this.standalone = !configuration.containsKey(VertexProgramStep.ROOT_TRAVERSAL);
 
         if (!this.standalone) {
@@ -159,6 +183,12 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
             this.haltedTraversersIndex.add(traverser.split());
         }
         this.memoryComputeKeys.add(MemoryComputeKey.of(SHORTEST_PATHS, Operator.addAll, true, !standalone));
+        if (this.bidirectional || null != this.landmarks) {
+            this.memoryComputeKeys.add(MemoryComputeKey.of(TARGETS, Operator.addAll, true, true));
+            this.memoryComputeKeys.add(MemoryComputeKey.of(FOUND_PATHS, FoundPathsOperator.instance(), true, true));
+        }
+        if (this.bidirectional)
+            this.memoryComputeKeys.add(MemoryComputeKey.of(SOURCES, Operator.addAll, true, true));
     }
 
     @Override
@@ -169,6 +199,9 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
         this.distanceTraversal.storeState(configuration, DISTANCE_TRAVERSAL);
         configuration.setProperty(INCLUDE_EDGES, this.includeEdges);
+        configuration.setProperty(BIDIRECTIONAL, this.bidirectional);
+        if (null != this.landmarks)
+            configuration.setProperty(LANDMARKS, this.landmarks);
         if (this.maxDistance != null)
             configuration.setProperty(MAX_DISTANCE, maxDistance);
         if (this.traversal != null) {
@@ -235,6 +268,12 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
     public void setup(final Memory memory) {
         memory.set(VOTE_TO_HALT, true);
         memory.set(STATE, SEARCH);
+        if (this.bidirectional || null != this.landmarks) {
+            memory.set(TARGETS, new HashMap<>());
+            memory.set(FOUND_PATHS, new HashMap<>());
+        }
+        if (this.bidirectional)
+            memory.set(SOURCES, new HashSet<>());
     }
 
     @Override
@@ -251,6 +290,11 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
                 return;
         }
 
+        if (this.bidirectional) {
+            searchBidirectionally(vertex, messenger, memory);
+            return;
+        }
+
         boolean voteToHalt = true;
 
         if (memory.isInitialIteration()) {
@@ -260,6 +304,10 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
             // property to be available (if halted traversers exist for this vertex).
             copyHaltedTraversersFromMemory(vertex);
 
+            // make the landmark distances of the targets known to all vertices to compute lower bounds from
+            if (null != this.landmarks && isEndVertex(vertex))
+                memory.add(TARGETS, targetMap(vertex));
+
             // ignore vertices that don't pass the start-vertex filter
             if (!isStartVertex(vertex)) return;
 
@@ -274,7 +322,7 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
             vertex.property(VertexProperty.Cardinality.single, PATHS, paths);
 
             // send messages to valid adjacent vertices
-            processEdges(vertex, path, 0, messenger);
+            processEdges(vertex, path, 0, messenger, false);
 
             voteToHalt = false;
 
@@ -284,6 +332,8 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
             final Map<Vertex, Pair<Number, Set<Path>>> paths =
                     vertex.<Map<Vertex, Pair<Number, Set<Path>>>>property(PATHS).orElseGet(HashMap::new);
             final Iterator<Triplet<Path, Edge, Number>> iterator = messenger.receiveMessages();
+            final List<Number> landmarkDistances = getLandmarkDistances(vertex);
+            Boolean endVertex = null;
 
             while (iterator.hasNext()) {
 
@@ -292,6 +342,11 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
                 final Number distance = triplet.getValue2();
                 final Vertex sourceVertex = sourcePath.get(0);
 
+                // with landmarks, ignore paths that can't be extended to a target within the shortest distance that
+                // is known from their source to it
+                if (null != this.landmarks && !canReachTarget(sourceVertex, distance, landmarkDistances, memory))
+                    continue;
+
                 Path newPath = null;
 
                 // already know a path coming from this source vertex?
@@ -325,8 +380,13 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
                 // chance to find any new paths going forward
                 if (newPath != null) {
                     vertex.property(VertexProperty.Cardinality.single, PATHS, paths);
-                    processEdges(vertex, newPath, distance, messenger);
+                    processEdges(vertex, newPath, distance, messenger, false);
                     voteToHalt = false;
+                    if (null != this.landmarks) {
+                        if (null == endVertex) endVertex = isEndVertex(vertex);
+                        if (endVertex)
+                            memory.add(FOUND_PATHS, foundPathsMap(sourceVertex, ReferenceFactory.detach(vertex), distance, Collections.emptySet()));
+                    }
                 }
             }
         }
@@ -335,6 +395,15 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         memory.add(VOTE_TO_HALT, voteToHalt);
     }
 
+    /**
+     * After the initial iteration, the search only extends paths of the vertices that received paths from their
+     * neighbors, while collecting the paths has to visit all vertices.
+     */
+    @Override
+    public boolean isMessageDriven(final Memory memory) {
+        return !memory.isInitialIteration() && memory.<Integer>get(STATE) == SEARCH;
+    }
+
     @Override
     public boolean terminate(final Memory memory) {
         if (memory.isInitialIteration() && this.haltedTraversersIndex != null) {
@@ -343,6 +412,13 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         final boolean voteToHalt = memory.get(VOTE_TO_HALT);
         if (voteToHalt) {
             final int state = memory.get(STATE);
+            if (state == SEARCH && this.bidirectional) {
+                // the paths were put together where the searches met, so there is nothing to collect from vertices
+                memory.set(SHORTEST_PATHS, collectFoundPaths(memory));
+                if (this.standalone) return true;
+                memory.set(STATE, UPDATE_HALTED_TRAVERSERS);
+                return false;
+            }
             if (state == COLLECT_PATHS) {
                 // After paths were collected,
                 // a) the VP is done in standalone mode (paths will be in memory) or
@@ -384,6 +460,14 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
 
         options.add(shortName.apply(INCLUDE_EDGES) + "=" + this.includeEdges);
 
+        if (this.bidirectional) {
+            options.add(shortName.apply(BIDIRECTIONAL) + "=" + true);
+        }
+
+        if (null != this.landmarks) {
+            options.add(shortName.apply(LANDMARKS) + "=" + this.landmarks);
+        }
+
         return StringFactory.vertexProgramString(this, String.join(", ", options));
     }
 
@@ -437,10 +521,17 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         return filterTraversal.hasNext();
     }
 
+    /**
+     * Sends the path along the edges of the vertex. A backward path of a bidirectional search is sent along the edges
+     * in the opposite direction and with a negative distance, which tells it apart from a forward path as the distances
+     * of a bidirectional search are always positive.
+     */
     private void processEdges(final Vertex vertex, final Path currentPath, final Number currentDistance,
-                              final Messenger<Triplet<Path, Edge, Number>> messenger) {
+                              final Messenger<Triplet<Path, Edge, Number>> messenger, final boolean backward) {
 
-        final Traversal.Admin<Vertex, Edge> edgeTraversal = this.edgeTraversal.getPure();
+        final Traversal.Admin<Vertex, Edge> edgeTraversal = backward ?
+                VertexProgramHelper.reverse(this.edgeTraversal.getPure()) :
+                this.edgeTraversal.getPure();
         edgeTraversal.addStart(edgeTraversal.getTraverserGenerator().generate(vertex, edgeTraversal.getStartStep(), 1));
 
         while (edgeTraversal.hasNext()) {
@@ -453,11 +544,221 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
 
             // only send message if the adjacent vertex is not yet part of the current path
             if (!currentPath.objects().contains(otherV)) {
+                final Number pathDistance = NumberHelper.add(currentDistance, distance);
                 messenger.sendMessage(MessageScope.Global.of(otherV),
                         Triplet.with(currentPath, this.includeEdges ? edge : null,
-                                NumberHelper.add(currentDistance, distance)));
+                                backward ? -pathDistance.intValue() : pathDistance));
+            }
+        }
+    }
+
+    /**
+     * Searches from the sources and the targets at the same time. As the distance is the number of hops, the paths
+     * that arrive in an iteration are as long as the number of the iteration, and a shortest path is put together at
+     * the vertex where its forward part is as long as its backward part or one hop longer. A source stops extending
+     * its paths once it is connected to all targets, and a target once it is connected to all sources.
+     */
+    private void searchBidirectionally(final Vertex vertex, final Messenger<Triplet<Path, Edge, Number>> messenger,
+                                       final Memory memory) {
+
+        if (memory.isInitialIteration()) {
+            copyHaltedTraversersFromMemory(vertex);
+
+            final Path path = makePath(vertex);
+            final Vertex reference = path.get(0);
+            final boolean startVertex = isStartVertex(vertex);
+            final boolean endVertex = isEndVertex(vertex);
+
+            if (startVertex) {
+                memory.add(SOURCES, new HashSet<>(Collections.singleton(reference)));
+                vertex.property(VertexProperty.Cardinality.single, PATHS, pathsMap(reference, path));
+                processEdges(vertex, path, 0, messenger, false);
+            }
+            if (endVertex) {
+                memory.add(TARGETS, targetMap(vertex));
+                vertex.property(VertexProperty.Cardinality.single, BACKWARD_PATHS, pathsMap(reference, path));
+                processEdges(vertex, path, 0, messenger, true);
+            }
+            if (startVertex && endVertex)
+                memory.add(FOUND_PATHS, foundPathsMap(reference, reference, 0, Collections.singleton(path)));
+
+            memory.add(VOTE_TO_HALT, !startVertex && !endVertex);
+            return;
+        }
+
+        final Set<Vertex> sources = memory.get(SOURCES);
+        final Map<Vertex, List<Number>> targets = memory.get(TARGETS);
+        final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> foundPaths = memory.get(FOUND_PATHS);
+        final Map<Vertex, Pair<Number, Set<Path>>> forwardPaths =
+                vertex.<Map<Vertex, Pair<Number, Set<Path>>>>property(PATHS).orElseGet(HashMap::new);
+        final Map<Vertex, Pair<Number, Set<Path>>> backwardPaths =
+                vertex.<Map<Vertex, Pair<Number, Set<Path>>>>property(BACKWARD_PATHS).orElseGet(HashMap::new);
+        final List<Path> newForwardPaths = new ArrayList<>();
+        final List<Path> newBackwardPaths = new ArrayList<>();
+
+        final Iterator<Triplet<Path, Edge, Number>> iterator = messenger.receiveMessages();
+        while (iterator.hasNext()) {
+            final Triplet<Path, Edge, Number> triplet = iterator.next();
+            final boolean backward = triplet.getValue2().intValue() < 0;
+            final int distance = Math.abs(triplet.getValue2().intValue());
+            final Vertex origin = triplet.getValue0().get(0);
+
+            // don't extend paths of sources or targets that are already connected to all their counterparts
+            if (backward ? !isSearching(sources, origin, foundPaths, true) : !isSearching(targets.keySet(), origin, foundPaths, false))
+                continue;
+            if (exceedsMaxDistance(distance))
+                continue;
+
+            final Map<Vertex, Pair<Number, Set<Path>>> paths = backward ? backwardPaths : forwardPaths;
+            final Pair<Number, Set<Path>> current = paths.get(origin);
+            final int cmp = null == current ? -1 : NumberHelper.compare(distance, current.getValue0());
+            if (cmp > 0) continue;
+
+            final Path newPath = extendPath(triplet.getValue0(), triplet.getValue1(), vertex);
+            if (cmp < 0) {
+                final Set<Path> pathSet = new HashSet<>();
+                pathSet.add(newPath);
+                paths.put(origin, Pair.with(distance, pathSet));
+            } else {
+                current.getValue1().add(newPath);
             }
+            (backward ? newBackwardPaths : newForwardPaths).add(newPath);
+        }
+
+        if (!newForwardPaths.isEmpty())
+            vertex.property(VertexProperty.Cardinality.single, PATHS, forwardPaths);
+        if (!newBackwardPaths.isEmpty())
+            vertex.property(VertexProperty.Cardinality.single, BACKWARD_PATHS, backwardPaths);
+
+        // every new forward path arrived in this iteration, so a backward path of the same length or one hop shorter
+        // either arrived in this iteration as well or in the previous one
+        final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> meetings = new HashMap<>();
+        for (final Path forwardPath : newForwardPaths) {
+            final Vertex source = forwardPath.get(0);
+            final int forwardDistance = forwardPaths.get(source).getValue0().intValue();
+            for (final Map.Entry<Vertex, Pair<Number, Set<Path>>> entry : backwardPaths.entrySet()) {
+                final int backwardDistance = entry.getValue().getValue0().intValue();
+                if (forwardDistance != backwardDistance && forwardDistance != backwardDistance + 1) continue;
+                if (exceedsMaxDistance(forwardDistance + backwardDistance)) continue;
+                final Pair<Vertex, Vertex> pair = Pair.with(source, entry.getKey());
+                if (foundPaths.containsKey(pair)) continue;
+                for (final Path backwardPath : entry.getValue().getValue1()) {
+                    final Set<Path> joined = new HashSet<>(Collections.singleton(joinPaths(forwardPath, backwardPath)));
+                    FoundPathsOperator.instance().merge(meetings, pair, Pair.with(forwardDistance + backwardDistance, joined));
+                }
+            }
+        }
+        if (!meetings.isEmpty())
+            memory.add(FOUND_PATHS, meetings);
+
+        for (final Path forwardPath : newForwardPaths) {
+            processEdges(vertex, forwardPath, forwardPaths.get(forwardPath.<Vertex>get(0)).getValue0(), messenger, false);
+        }
+        for (final Path backwardPath : newBackwardPaths) {
+            processEdges(vertex, backwardPath, backwardPaths.get(backwardPath.<Vertex>get(0)).getValue0(), messenger, true);
+        }
+
+        memory.add(VOTE_TO_HALT, newForwardPaths.isEmpty() && newBackwardPaths.isEmpty());
+    }
+
+    /**
+     * Determines if a source, or a target if {@code backward}, is not yet connected to all of the given counterparts.
+     */
+    private static boolean isSearching(final Set<Vertex> counterparts, final Vertex origin,
+                                       final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> foundPaths,
+                                       final boolean backward) {
+        for (final Vertex counterpart : counterparts) {
+            if (!foundPaths.containsKey(backward ? Pair.with(counterpart, origin) : Pair.with(origin, counterpart)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Appends the backward path, which starts at a target and ends at the last vertex of the forward path, to the
+     * forward path in reverse.
+     */
+    private static Path joinPaths(final Path forwardPath, final Path backwardPath) {
+        final List<Object> objects = backwardPath.objects();
+        Path result = forwardPath;
+        for (int i = objects.size() - 2; i >= 0; i--) {
+            result = result.extend(objects.get(i), Collections.emptySet());
+        }
+        return result;
+    }
+
+    private List<Path> collectFoundPaths(final Memory memory) {
+        final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> foundPaths = memory.get(FOUND_PATHS);
+        final List<Path> result = new ArrayList<>();
+        for (final Pair<Number, Set<Path>> pair : foundPaths.values()) {
+            result.addAll(pair.getValue1());
         }
+        return result;
+    }
+
+    /**
+     * Determines if a path from the source that arrives at a vertex with the given landmark distances can still be
+     * extended to one of the targets without exceeding the maximum distance or the shortest distance that is known
+     * from the source to that target.
+     */
+    private boolean canReachTarget(final Vertex source, final Number distance, final List<Number> landmarkDistances,
+                                   final Memory memory) {
+        final Map<Vertex, List<Number>> targets = memory.get(TARGETS);
+        final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> foundPaths = memory.get(FOUND_PATHS);
+        for (final Map.Entry<Vertex, List<Number>> target : targets.entrySet()) {
+            final double bound = distance.doubleValue() + lowerBound(landmarkDistances, target.getValue());
+            if (null != this.maxDistance && exceeds(bound, this.maxDistance.doubleValue()))
+                continue;
+            final Pair<Number, Set<Path>> shortest = foundPaths.get(Pair.with(source, target.getKey()));
+            if (null == shortest || !exceeds(bound, shortest.getValue0().doubleValue()))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean exceeds(final double bound, final double distance) {
+        return bound - distance > LOWER_BOUND_TOLERANCE * Math.max(1.0d, Math.abs(distance));
+    }
+
+    /**
+     * Computes a lower bound for the distance between two vertices from their distances to the landmarks, which
+     * follows from the triangle inequality. The distances from a landmark only bound the distance in one direction,
+     * unless the edges are traversed in both directions.
+     */
+    private double lowerBound(final List<Number> from, final List<Number> to) {
+        double bound = 0.0d;
+        for (int i = 0; i < Math.min(from.size(), to.size()); i++) {
+            final double difference = to.get(i).doubleValue() - from.get(i).doubleValue();
+            bound = Math.max(bound, this.undirected ? Math.abs(difference) : difference);
+        }
+        return bound;
+    }
+
+    private List<Number> getLandmarkDistances(final Vertex vertex) {
+        if (null == this.landmarks) return Collections.emptyList();
+        final VertexProperty<List<Number>> property = vertex.property(this.landmarks);
+        return property.isPresent() ? property.value() : Collections.emptyList();
+    }
+
+    private Map<Vertex, List<Number>> targetMap(final Vertex vertex) {
+        final Map<Vertex, List<Number>> map = new HashMap<>();
+        map.put(ReferenceFactory.detach(vertex), new ArrayList<>(getLandmarkDistances(vertex)));
+        return map;
+    }
+
+    private static Map<Vertex, Pair<Number, Set<Path>>> pathsMap(final Vertex origin, final Path path) {
+        final Map<Vertex, Pair<Number, Set<Path>>> paths = new HashMap<>();
+        final Set<Path> pathSet = new HashSet<>();
+        pathSet.add(path);
+        paths.put(origin, Pair.with(0, pathSet));
+        return paths;
+    }
+
+    private static Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> foundPathsMap(final Vertex source, final Vertex target,
+                                                                                 final Number distance, final Set<Path> paths) {
+        final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> map = new HashMap<>();
+        map.put(Pair.with(source, target), Pair.with(distance, paths));
+        return map;
     }
 
     private void updateHaltedTraversers(final Vertex vertex, final Memory memory) {
@@ -481,6 +782,9 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         }
     }
 
+    /**
+     * Gets the distance of the edge, which may be negative and is 0 if the distance traversal yields no value for it.
+     */
     private Number getDistance(final Edge edge) {
         if (this.distanceEqualsNumberOfHops) return 1;
         final Traversal.Admin<Edge, Number> traversal = this.distanceTraversal.getPure();
@@ -590,6 +894,66 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
             this.configuration.setProperty(INCLUDE_EDGES, include);
             return this;
         }
+
+        /**
+         * Searches from the targets towards the sources at the same time as from the sources towards the targets and
+         * stops once every source is connected to every target, so that a search between a few vertices only touches
+         * the vertices around them. This requires the distance to be the number of hops.
+         */
+        public Builder bidirectional(final boolean bidirectional) {
+            this.configuration.setProperty(BIDIRECTIONAL, bidirectional);
+            return this;
+        }
+
+        /**
+         * Prunes paths by lower bounds on their remaining distance to the targets, which are computed from the
+         * distances to a few landmark vertices that each vertex keeps as a list in the given property. The distances
+         * have to be measured from the landmarks along the same edges and with the same non-negative distances as the
+         * search itself. A vertex without the property gets no lower bound.
+         */
+        public Builder landmarks(final String landmarkDistancesKey) {
+            if (null != landmarkDistancesKey)
+                this.configuration.setProperty(LANDMARKS, landmarkDistancesKey);
+            else
+                this.configuration.clearProperty(LANDMARKS);
+            return this;
+        }
+    }
+
+    /**
+     * Merges the shortest paths that were found between pairs of a source and a target, keeping those with the
+     * lowest distance of each pair. The maps are not modified as they are read by other workers at the same time.
+     */
+    private static final class FoundPathsOperator implements BinaryOperator<Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>>>, Serializable {
+
+        private static final FoundPathsOperator INSTANCE = new FoundPathsOperator();
+
+        @Override
+        public Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> apply(final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> a,
+                                                                       final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> b) {
+            final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> merged = new HashMap<>(a);
+            for (final Map.Entry<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> entry : b.entrySet()) {
+                merge(merged, entry.getKey(), entry.getValue());
+            }
+            return merged;
+        }
+
+        private void merge(final Map<Pair<Vertex, Vertex>, Pair<Number, Set<Path>>> map, final Pair<Vertex, Vertex> pair,
+                           final Pair<Number, Set<Path>> paths) {
+            final Pair<Number, Set<Path>> current = map.get(pair);
+            final int cmp = null == current ? -1 : NumberHelper.compare(paths.getValue0(), current.getValue0());
+            if (cmp < 0) {
+                map.put(pair, paths);
+            } else if (cmp == 0) {
+                final Set<Path> pathSet = new HashSet<>(current.getValue1());
+                pathSet.addAll(paths.getValue1());
+                map.put(pair, Pair.with(current.getValue0(), pathSet));
+            }
+        }
+
+        public static FoundPathsOperator instance() {
+            return INSTANCE;
+        }
     }
 
     ////////////////////////////
@@ -55,6 +55,18 @@ public class ShortestPath {
      */
     public static final String includeEdges = Graph.Hidden.hide("tinkerpop.shortestPath.includeEdges");
 
+    /**
+     * Configures the search to expand from the targets as well as from the sources, which requires the distance to be
+     * the number of hops.
+     */
+    public static final String bidirectional = Graph.Hidden.hide("tinkerpop.shortestPath.bidirectional");
+
+    /**
+     * Configures the vertex property that holds the distances from landmark vertices, which are used to prune paths
+     * that can not lead to a target within the shortest distance known.
+     */
+    public static final String landmarks = Graph.Hidden.hide("tinkerpop.shortestPath.landmarks");
+
     static boolean configure(final ShortestPathVertexProgramStep step, final String key, final Object value) {
 
         if (target.equals(key)) {
@@ -103,6 +115,20 @@ public class ShortestPath {
             }
             else throw new IllegalArgumentException("ShortestPath.includeEdges requires a Boolean as its argument");
         }
+        else if (bidirectional.equals(key)) {
+            if (value instanceof Boolean) {
+                step.setBidirectional((Boolean) value);
+                return true;
+            }
+            else throw new IllegalArgumentException("ShortestPath.bidirectional requires a Boolean as its argument");
+        }
+        else if (landmarks.equals(key)) {
+            if (value instanceof String) {
+                step.setLandmarks((String) value);
+                return true;
+            }
+            else throw new IllegalArgumentException("ShortestPath.landmarks requires a property name as its argument");
+        }
         return false;
     }
 }
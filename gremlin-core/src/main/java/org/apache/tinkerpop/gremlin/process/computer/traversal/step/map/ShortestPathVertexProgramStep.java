@@ -56,6 +56,8 @@ public final class ShortestPathVertexProgramStep extends VertexProgramStep imple
     private PureTraversal<Edge, Number> distanceTraversal = ShortestPathVertexProgram.DEFAULT_DISTANCE_TRAVERSAL.clone();
     private Number maxDistance;
     private boolean includeEdges;
+    private boolean bidirectional;
+    private String landmarks;
 
     public ShortestPathVertexProgramStep(final Traversal.Admin<?, ?> traversal) {
         super(traversal);
@@ -81,6 +83,38 @@ public final class ShortestPathVertexProgramStep extends VertexProgramStep imple
         this.includeEdges = includeEdges;
     }
 
+    void setBidirectional(final boolean bidirectional) {
+        this.bidirectional = bidirectional;
+    }
+
+    void setLandmarks(final String landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    public Traversal.Admin<Vertex, ?> getTargetVertexFilter() {
+        return this.targetVertexFilter.get();
+    }
+
+    public Traversal.Admin<Vertex, Edge> getEdgeTraversal() {
+        return this.edgeTraversal.get();
+    }
+
+    public Traversal.Admin<Edge, Number> getDistanceTraversal() {
+        return this.distanceTraversal.get();
+    }
+
+    public boolean isDistanceEqualsNumberOfHops() {
+        return this.distanceTraversal.equals(ShortestPathVertexProgram.DEFAULT_DISTANCE_TRAVERSAL);
+    }
+
+    public Number getMaxDistance() {
+        return this.maxDistance;
+    }
+
+    public boolean isIncludeEdges() {
+        return this.includeEdges;
+    }
+
     @Override
     public void configure(final Object... keyValues) {
         if (!ShortestPath.configure(this, (String) keyValues[0], keyValues[1])) {
@@ -121,7 +155,9 @@ public final class ShortestPathVertexProgramStep extends VertexProgramStep imple
                 .edgeTraversal(this.edgeTraversal.getPure())
                 .distanceTraversal(this.distanceTraversal.getPure())
                 .maxDistance(this.maxDistance)
-                .includeEdges(this.includeEdges);
+                .includeEdges(this.includeEdges)
+                .bidirectional(this.bidirectional)
+                .landmarks(this.landmarks);
 
         //noinspection unchecked
         final PureTraversal pureRootTraversal = new PureTraversal<>(this.traversal);
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
@@ -167,6 +168,23 @@ public interface Step<S, E> extends Iterator<Traverser.Admin<E>>, Serializable,
      */
     public String getId();
 
+    /**
+     * Writes the next traversers of the step into the batch, starting at the given offset, until the batch is full or
+     * the step has no more traversers. The provided default iterates the step one traverser at a time and steps that
+     * are {@link Batching} process their traversers in batches.
+     *
+     * @param batch  the array to write the traversers into
+     * @param offset the index of the first traverser to write
+     * @return the number of traversers that were written, which is {@code 0} only if the step has no more traversers
+     */
+    public default int nextBatch(final Traverser.Admin<E>[] batch, final int offset) {
+        int size = offset;
+        while (size < batch.length && this.hasNext()) {
+            batch[size++] = this.next();
+        }
+        return size - offset;
+    }
+
     /**
      * Provide the necessary {@link TraverserRequirement} that must be met by the traverser in order for the step to
      * function properly. The provided default implements returns an empty set.
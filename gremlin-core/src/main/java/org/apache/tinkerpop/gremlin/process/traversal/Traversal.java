@@ -20,8 +20,10 @@ package org.apache.tinkerpop.gremlin.process.traversal;
 
 import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
 import org.apache.tinkerpop.gremlin.process.remote.traversal.step.map.RemoteStep;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DiscardStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
@@ -31,12 +33,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.function.TraverserSetSupplier;
+import org.apache.tinkerpop.gremlin.util.function.UnsynchronizedTraverserSetSupplier;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -178,11 +182,14 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable, Cloneable, A
     public default <C extends Collection<E>> C fill(final C collection) {
         try {
             if (!this.asAdmin().isLocked()) this.asAdmin().applyStrategies();
-            // use the end step so the results are bulked
+            // use the end step so the results are bulked and pulled through the steps in batches
             final Step<?, E> endStep = this.asAdmin().getEndStep();
-            while (true) {
-                final Traverser<E> traverser = endStep.next();
-                TraversalHelper.addToCollection(collection, traverser.get(), traverser.bulk());
+            final Traverser.Admin<E>[] batch = new Traverser.Admin[Batching.BATCH_SIZE];
+            int size;
+            while ((size = endStep.nextBatch(batch, 0)) > 0) {
+                for (int i = 0; i < size; i++) {
+                    TraversalHelper.addToCollection(collection, batch[i].get(), batch[i].bulk());
+                }
             }
         } catch (final NoSuchElementException ignored) {
         } finally {
@@ -204,10 +211,11 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable, Cloneable, A
                 this.discard();
                 this.asAdmin().applyStrategies();
             }
-            // use the end step so the results are bulked
+            // use the end step so the results are bulked and pulled through the steps in batches
             final Step<?, E> endStep = this.asAdmin().getEndStep();
-            while (true) {
-                endStep.next();
+            final Traverser.Admin<E>[] batch = new Traverser.Admin[Batching.BATCH_SIZE];
+            while (endStep.nextBatch(batch, 0) > 0) {
+                // the traversers are discarded
             }
         } catch (final NoSuchElementException ignored) {
         } finally {
@@ -449,10 +457,15 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable, Cloneable, A
 
         /**
          * Gets a generator that creates new {@link TraverserSet} instances for steps in the traversal. Providers may
-         * override this default implementation to provider their own {@link TraverserSet}.
+         * override this default implementation to provider their own {@link TraverserSet}. A traversal that is not
+         * executed with a {@link GraphComputer} is iterated by a single thread and gets an
+         * {@link UnsynchronizedTraverserSet}, while the barriers of a {@link GraphComputer} keep the synchronized
+         * {@link TraverserSet} that its workers share.
          */
         public default Supplier<TraverserSet<S>> getTraverserSetSupplier() {
-            return TraverserSetSupplier.instance();
+            return TraversalHelper.getRootTraversal(this).getStrategies().getStrategy(VertexProgramStrategy.class).isPresent() ?
+                    TraverserSetSupplier.instance() :
+                    UnsynchronizedTraverserSetSupplier.instance();
         }
 
         /**
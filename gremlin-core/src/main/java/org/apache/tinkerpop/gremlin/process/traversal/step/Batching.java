@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ScalarMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+
+/**
+ * A {@code Batching} step processes an array of traversers at once when the next step asks for a batch with
+ * {@link Step#nextBatch}, and it asks its previous step for a batch of its starts in turn. The {@link FilterStep},
+ * {@link ScalarMapStep} and {@link FlatMapStep} implement the processing of batches, which is only enabled for steps
+ * whose filter or map function depends on nothing but the traverser and has no side-effects, as the previous steps
+ * are then iterated ahead of the traversers that are emitted. A step that is not {@code Batching}, such as a mutating
+ * or side-effect step, is never iterated ahead of the steps after it, so these return their traversers one start at a
+ * time. A subclass of a {@code Batching} step that overrides {@code processNextStart()} without also overriding
+ * {@code processNextStarts()} is not processed in batches, so that its own processing is never bypassed.
+ */
+public interface Batching {
+
+    /**
+     * The number of traversers that are processed at once.
+     */
+    public static final int BATCH_SIZE = 256;
+
+    /**
+     * Determines if the step processes its starts in batches, which requires it to be {@code Batching} and to not
+     * override the processing of a single start without overriding the processing of a batch as well.
+     */
+    public static boolean isBatching(final Step<?, ?> step) {
+        return step instanceof AbstractStep && ((AbstractStep<?, ?>) step).isBatching();
+    }
+
+    /**
+     * Determines if the steps before the given step can be iterated ahead of it, which is the case if they are all
+     * {@code Batching} or a {@link NoOpBarrierStep}, which reads its starts ahead anyway, except for the start step
+     * of the traversal, which does not depend on the steps after it.
+     */
+    public static boolean canIterateAhead(final Step<?, ?> step) {
+        Step<?, ?> previousStep = step.getPreviousStep();
+        while (isBatching(previousStep) || previousStep instanceof NoOpBarrierStep) {
+            previousStep = previousStep.getPreviousStep();
+        }
+        return previousStep instanceof EmptyStep || previousStep.getPreviousStep() instanceof EmptyStep;
+    }
+}
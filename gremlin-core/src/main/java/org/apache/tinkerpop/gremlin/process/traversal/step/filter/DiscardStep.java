@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.GremlinTypeErrorException;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -29,7 +30,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DiscardStep<S> extends FilterStep<S> {
+public final class DiscardStep<S> extends FilterStep<S> implements Batching {
 
     public DiscardStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -41,20 +41,41 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
                 if (this.filter(traverser))
                     return traverser;
             } catch (GremlinTypeErrorException ex) {
-                if (this instanceof BinaryReductionStep || getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
-                    /*
-                     * Either we are at a known reduction point (TraversalFilterStep, WhereTraversalStep), we
-                     * are at the top level of the query, or our parent query is not a FilterStep and thus cannot handle
-                     * a GremlinTypeErrorException. In any of these cases we do a binary reduction from
-                     * ERROR -> FALSE and filter the solution quietly.
-                     */
-                } else {
-                    // not a ternary -> binary reducer, pass the ERROR on
-                    throw ex;
-                }
+                this.reduceTypeError(ex);
             }
         }
     }
 
+    @Override
+    protected int processNextStarts(final Traverser.Admin<S>[] batch, final int offset) {
+        final int end = offset + this.starts.nextBatch(batch, offset);
+        if (end == offset)
+            return -1;
+        int size = offset;
+        for (int i = offset; i < end; i++) {
+            try {
+                if (this.filter(batch[i]))
+                    batch[size++] = batch[i];
+            } catch (GremlinTypeErrorException ex) {
+                this.reduceTypeError(ex);
+            }
+        }
+        return size;
+    }
+
+    private void reduceTypeError(final GremlinTypeErrorException ex) {
+        if (this instanceof BinaryReductionStep || getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
+            /*
+             * Either we are at a known reduction point (TraversalFilterStep, WhereTraversalStep), we
+             * are at the top level of the query, or our parent query is not a FilterStep and thus cannot handle
+             * a GremlinTypeErrorException. In any of these cases we do a binary reduction from
+             * ERROR -> FALSE and filter the solution quietly.
+             */
+        } else {
+            // not a ternary -> binary reducer, pass the ERROR on
+            throw ex;
+        }
+    }
+
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
 }
@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
@@ -33,6 +34,9 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
 
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
+    private Traverser.Admin<S>[] heads = null;
+    private int headIndex = 0;
+    private int headCount = 0;
 
     public FlatMapStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -45,12 +49,44 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
                 return this.head.split(this.iterator.next(), this);
             } else {
                 closeIterator();
-                this.head = this.starts.next();
+                // starts that were taken for a batch are processed first
+                this.head = this.headIndex < this.headCount ? this.nextHead() : this.starts.next();
                 this.iterator = this.flatMap(this.head);
             }
         }
     }
 
+    @Override
+    protected int processNextStarts(final Traverser.Admin<E>[] batch, final int offset) {
+        int size = offset;
+        while (size < batch.length) {
+            if (this.iterator.hasNext()) {
+                batch[size++] = this.head.split(this.iterator.next(), this);
+            } else {
+                closeIterator();
+                if (this.headIndex == this.headCount) {
+                    // the traversers of a start are emitted before the next ones are taken from a step that is not batching
+                    if (size > offset && !Batching.canIterateAhead(this))
+                        return size;
+                    if (null == this.heads) this.heads = new Traverser.Admin[Batching.BATCH_SIZE];
+                    this.headIndex = 0;
+                    this.headCount = this.starts.nextBatch(this.heads, 0);
+                    if (0 == this.headCount)
+                        return size == offset ? -1 : size;
+                }
+                this.head = this.nextHead();
+                this.iterator = this.flatMap(this.head);
+            }
+        }
+        return size;
+    }
+
+    private Traverser.Admin<S> nextHead() {
+        final Traverser.Admin<S> head = this.heads[this.headIndex];
+        this.heads[this.headIndex++] = null;
+        return head;
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
     @Override
@@ -58,6 +94,9 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         super.reset();
         closeIterator();
         this.iterator = EmptyIterator.instance();
+        this.heads = null;
+        this.headIndex = 0;
+        this.headCount = 0;
     }
 
     protected void closeIterator() {
@@ -28,17 +28,22 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpilledTraverserRuns;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.javatuples.Pair;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -52,12 +57,25 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable, AutoCloseable {
+
+    /**
+     * The option, as given to {@code g.with()}, for the number of traversers that an {@code order()} holds in memory
+     * before it writes them to a temporary file as a sorted run, which is merged with the other runs when the
+     * traversers are emitted. The threshold is a count of bulked traversers and not a number of bytes. All traversers
+     * are held in memory by default, for a {@code shuffle} order, with a {@code GraphComputer}, when the traversal
+     * requires paths and once a traverser does not pass {@link SpilledTraverserRuns#isSpillable(Traverser.Admin)}, as
+     * only the elements that traversers are at can be attached to the graph again. No other barrier step spills.
+     */
+    public static final String SPILL_THRESHOLD = "orderSpillThreshold";
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
     private final Random random = new Random();
+    private Long spillThreshold = null;
+    private transient SpilledTraverserRuns<S> runs = null;
+    private transient Iterator<Traverser.Admin<S>> merged = null;
 
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -80,10 +98,97 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     @Override
     public void processAllStarts() {
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        if (isLimited(this.limit) && !this.multiComparator.isShuffle()) {
+            this.processLimitedStarts();
+            return;
+        }
         while (this.starts.hasNext()) {
             // only add the traverser if the comparator traversal was productive
             this.createProjectedTraverser(this.starts.next()).ifPresent(traverserSet::add);
+            if (this.traverserSet.size() >= this.getSpillThreshold()) this.spill();
+        }
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (null != this.merged) {
+            if (this.merged.hasNext())
+                return ProjectedTraverser.tryUnwrap(this.merged.next());
+            this.close();
+        }
+        if (this.traverserSet.isEmpty() && this.starts.hasNext()) {
+            this.processAllStarts();
+            this.barrierConsumed = false;
+            if (null != this.runs) {
+                // the traversers that were not spilled are the last run to merge
+                this.barrierConsumer(this.traverserSet);
+                this.barrierConsumed = true;
+                this.merged = this.runs.merge(this.traverserSet);
+                return this.processNextStart();
+            }
+        }
+        return super.processNextStart();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.close();
+    }
+
+    /**
+     * Deletes the sorted runs that were written to temporary files and not merged yet.
+     */
+    @Override
+    public void close() {
+        this.merged = null;
+        if (null != this.runs) {
+            this.runs.close();
+            this.runs = null;
+        }
+    }
+
+    private void spill() {
+        if (!this.traverserSet.stream().allMatch(SpilledTraverserRuns::isSpillable)) {
+            // elements nested in the traversers would be read back without their properties, so all that remain are
+            // held in memory and merged with the runs that were written so far
+            this.spillThreshold = Long.MAX_VALUE;
+            return;
+        }
+        if (null == this.runs) this.runs = new SpilledTraverserRuns<>((Comparator) this.multiComparator, this.traversal);
+        this.traverserSet.sort((Comparator) this.multiComparator);
+        this.runs.spill(this.traverserSet);
+    }
+
+    private long getSpillThreshold() {
+        if (null == this.spillThreshold) {
+            final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(this.traversal).getTraverserRequirements();
+            this.spillThreshold = this.multiComparator.isShuffle() || TraversalHelper.onGraphComputer(this.traversal) ||
+                    requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.LABELED_PATH) ?
+                    Long.MAX_VALUE :
+                    TraversalHelper.getRootTraversal(this.traversal).getStrategies().getStrategy(OptionsStrategy.class).
+                            map(options -> options.getOptions().get(SPILL_THRESHOLD)).
+                            map(threshold -> Math.max(1L, threshold instanceof Number ?
+                                    ((Number) threshold).longValue() : Long.parseLong(threshold.toString()))).
+                            orElse(Long.MAX_VALUE);
         }
+        return this.spillThreshold;
+    }
+
+    /**
+     * Keeps only the traversers that fall within the limit in a heap rather than all of them in the
+     * {@link TraverserSet}, so that the memory is bounded by the limit and sorting takes {@code O(n log k)}.
+     */
+    private void processLimitedStarts() {
+        if (!this.starts.hasNext()) return;
+        final TopTraversers<S> top = new TopTraversers<>((Comparator) this.multiComparator, this.limit);
+        IteratorUtils.removeOnNext(this.traverserSet.iterator()).forEachRemaining(top::add);
+        while (this.starts.hasNext()) {
+            // only add the traverser if the comparator traversal was productive
+            this.createProjectedTraverser(this.starts.next()).ifPresent(top::add);
+        }
+        top.drainTo(this.traverserSet);
     }
 
     public void setLimit(final long limit) {
@@ -154,6 +259,9 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     @Override
     public OrderGlobalStep<S, C> clone() {
         final OrderGlobalStep<S, C> clone = (OrderGlobalStep<S, C>) super.clone();
+        clone.spillThreshold = null;
+        clone.runs = null;
+        clone.merged = null;
         clone.comparators = new ArrayList<>();
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
@@ -189,6 +297,10 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         return projections.size() == comparators.size() ? Optional.of(new ProjectedTraverser(traverser, projections)) : Optional.empty();
     }
 
+    private static boolean isLimited(final long limit) {
+        return limit >= 0 && limit < Long.MAX_VALUE;
+    }
+
     private final MultiComparator<C> createMultiComparator() {
         final List<Comparator<C>> list = new ArrayList<>(this.comparators.size());
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> pair : this.comparators) {
@@ -217,6 +329,14 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
         @Override
         public TraverserSet<S> apply(final TraverserSet<S> setA, final TraverserSet<S> setB) {
+            if (isLimited(this.limit) && !this.comparator.isShuffle()) {
+                // merge the partial results of the workers without sorting more than the limit
+                final TopTraversers<S> top = new TopTraversers<>(this.comparator, this.limit);
+                IteratorUtils.removeOnNext(setA.iterator()).forEachRemaining(top::add);
+                setB.forEach(top::add);
+                top.drainTo(setA);
+                return setA;
+            }
             setA.addAll(setB);
             if (this.limit != -1 && setA.bulkSize() > this.limit) {
                 if (this.comparator.isShuffle())
@@ -235,4 +355,97 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
             return setA;
         }
     }
+
+    /**
+     * A heap of the traversers that come first in the order up to the bulk of the limit. The head of the heap is the
+     * last traverser in the order, so that a traverser that comes after it can be dropped once the limit is reached.
+     * Traversers that are equal in the order keep the order they were added in as with a stable sort.
+     */
+    private static final class TopTraversers<S> {
+
+        private final Comparator<Traverser.Admin<S>> comparator;
+        private final long limit;
+        private Traverser.Admin<S>[] traversers = new Traverser.Admin[16];
+        private long[] sequences = new long[16];
+        private int size = 0;
+        private long sequence = 0L;
+        private long bulk = 0L;
+
+        private TopTraversers(final Comparator<Traverser.Admin<S>> comparator, final long limit) {
+            this.comparator = comparator;
+            this.limit = limit;
+        }
+
+        private void add(final Traverser.Admin<S> traverser) {
+            final long sequence = this.sequence++;
+            if (this.bulk >= this.limit && (0 == this.size || this.compare(traverser, sequence, this.traversers[0], this.sequences[0]) > 0))
+                return;
+            if (this.size == this.traversers.length) {
+                this.traversers = Arrays.copyOf(this.traversers, this.size * 2);
+                this.sequences = Arrays.copyOf(this.sequences, this.size * 2);
+            }
+            this.traversers[this.size] = traverser;
+            this.sequences[this.size] = sequence;
+            this.siftUp(this.size++);
+            this.bulk = this.bulk + traverser.bulk();
+            // drop the last traversers as long as the others still reach the limit
+            while (this.bulk - this.traversers[0].bulk() >= this.limit) {
+                this.bulk = this.bulk - this.traversers[0].bulk();
+                this.swap(0, --this.size);
+                this.traversers[this.size] = null;
+                this.siftDown(0, this.size);
+            }
+        }
+
+        /**
+         * Adds the traversers to the set in their order.
+         */
+        private void drainTo(final TraverserSet<S> traverserSet) {
+            for (int n = this.size - 1; n > 0; n--) {
+                this.swap(0, n);
+                this.siftDown(0, n);
+            }
+            for (int i = 0; i < this.size; i++) {
+                traverserSet.add(this.traversers[i]);
+            }
+        }
+
+        private int compare(final Traverser.Admin<S> a, final long sequenceA, final Traverser.Admin<S> b, final long sequenceB) {
+            final int comparison = this.comparator.compare(a, b);
+            return 0 != comparison ? comparison : Long.compare(sequenceA, sequenceB);
+        }
+
+        private int compare(final int i, final int j) {
+            return this.compare(this.traversers[i], this.sequences[i], this.traversers[j], this.sequences[j]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                if (this.compare(index, parent) <= 0) break;
+                this.swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index, final int size) {
+            while (true) {
+                final int left = 2 * index + 1;
+                if (left >= size) break;
+                final int child = left + 1 < size && this.compare(left + 1, left) > 0 ? left + 1 : left;
+                if (this.compare(child, index) <= 0) break;
+                this.swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(final int i, final int j) {
+            final Traverser.Admin<S> traverser = this.traversers[i];
+            this.traversers[i] = this.traversers[j];
+            this.traversers[j] = traverser;
+            final long sequence = this.sequences[i];
+            this.sequences[i] = this.sequences[j];
+            this.sequences[j] = sequence;
+        }
+    }
 }
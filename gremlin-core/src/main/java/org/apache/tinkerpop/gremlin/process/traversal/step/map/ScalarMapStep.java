@@ -40,5 +40,17 @@ public abstract class ScalarMapStep<S, E> extends MapStep<S,E> {
         return traverser.split(this.map(traverser), this);
     }
 
+    @Override
+    protected int processNextStarts(final Traverser.Admin<E>[] batch, final int offset) {
+        final Traverser.Admin[] traversers = batch;
+        final int end = offset + this.starts.nextBatch(traversers, offset);
+        if (end == offset)
+            return -1;
+        for (int i = offset; i < end; i++) {
+            traversers[i] = traversers[i].split(this.map(traversers[i]), this);
+        }
+        return end;
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 }
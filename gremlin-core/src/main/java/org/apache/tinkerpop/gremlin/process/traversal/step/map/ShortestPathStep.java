@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.PropertyType;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
+import org.javatuples.Pair;
+import org.javatuples.Triplet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Finds the shortest paths from each incoming vertex to all vertices that pass the target filter without the need for
+ * a {@link GraphComputer}. If the distance is the number of hops, the search is a breadth-first search that expands
+ * large frontiers in parallel, otherwise it is Dijkstra's algorithm. Dijkstra's algorithm can not handle negative
+ * distances, so once it finds one the search starts over and extends paths the way the
+ * {@link ShortestPathVertexProgram} does. All searches keep all shortest paths of equal distance and, like the
+ * {@link ShortestPathVertexProgram}, take an edge that the distance traversal yields no value for to have a distance
+ * of 0.
+ */
+public final class ShortestPathStep extends FlatMapStep<Vertex, Path> implements TraversalParent {
+
+    /**
+     * Frontiers with fewer vertices are expanded by the calling thread as splitting them would cost more than it saves.
+     */
+    private static final int PARALLEL_FRONTIER_THRESHOLD = 1024;
+
+    private Traversal.Admin<Vertex, ?> targetVertexFilter;
+    private Traversal.Admin<Vertex, Edge> edgeTraversal;
+    private Traversal.Admin<Edge, Number> distanceTraversal;
+    private final Number maxDistance;
+    private final boolean includeEdges;
+
+    private boolean initialized;
+    private boolean parallel;
+    private Direction edgeDirection;
+    private String[] edgeLabels;
+    private String distanceKey;
+
+    /**
+     * @param distanceTraversal the traversal that computes the distance of an edge or {@code null} if the distance is
+     *                          the number of hops
+     */
+    public ShortestPathStep(final Traversal.Admin traversal, final Traversal.Admin<Vertex, ?> targetVertexFilter,
+                            final Traversal.Admin<Vertex, Edge> edgeTraversal,
+                            final Traversal.Admin<Edge, Number> distanceTraversal,
+                            final Number maxDistance, final boolean includeEdges) {
+        super(traversal);
+        this.targetVertexFilter = this.integrateChild(targetVertexFilter);
+        this.edgeTraversal = this.integrateChild(edgeTraversal);
+        this.distanceTraversal = null == distanceTraversal ? null : this.integrateChild(distanceTraversal);
+        this.maxDistance = maxDistance;
+        this.includeEdges = includeEdges;
+    }
+
+    @Override
+    protected Iterator<Path> flatMap(final Traverser.Admin<Vertex> traverser) {
+        if (!this.initialized) initialize();
+        return null == this.distanceTraversal ?
+                searchByHops(traverser.get()) :
+                searchByDistance(traverser.get());
+    }
+
+    /**
+     * Detects the edge and distance traversals that can be answered by the vertex and edge directly. Parallel
+     * expansion is only used if the graph has no transactions, as those are usually bound to the calling thread.
+     */
+    private void initialize() {
+        this.initialized = true;
+        this.parallel = TraversalHelper.getRootTraversal(this.getTraversal()).getGraph()
+                .map(graph -> !graph.features().graph().supportsTransactions()).orElse(false);
+        final List<Step> edgeSteps = this.edgeTraversal.getSteps();
+        if (edgeSteps.size() == 1 && edgeSteps.get(0) instanceof VertexStep && ((VertexStep) edgeSteps.get(0)).returnsEdge()) {
+            this.edgeDirection = ((VertexStep) edgeSteps.get(0)).getDirection();
+            this.edgeLabels = ((VertexStep) edgeSteps.get(0)).getEdgeLabels();
+        }
+        if (null != this.distanceTraversal) {
+            final List<Step> distanceSteps = this.distanceTraversal.getSteps();
+            if (distanceSteps.size() == 1 && distanceSteps.get(0) instanceof PropertiesStep) {
+                final PropertiesStep<?> propertiesStep = (PropertiesStep<?>) distanceSteps.get(0);
+                if (propertiesStep.getReturnType() == PropertyType.VALUE && propertiesStep.getPropertyKeys().length == 1)
+                    this.distanceKey = propertiesStep.getPropertyKeys()[0];
+            }
+        }
+    }
+
+    /**
+     * Expands the search one hop at a time. All adjacent vertices of the frontier that have not been reached before
+     * are reached by shortest paths, and so are the ones that were first reached from the same frontier.
+     */
+    private Iterator<Path> searchByHops(final Vertex source) {
+        final Map<Vertex, Number> distances = new LinkedHashMap<>();
+        final Map<Vertex, Set<Pair<Vertex, Edge>>> predecessors = new HashMap<>();
+        distances.put(source, 0);
+        List<Vertex> frontier = Collections.singletonList(source);
+        int depth = 0;
+        while (!frontier.isEmpty() && (null == this.maxDistance || NumberHelper.compare(depth + 1, this.maxDistance) <= 0)) {
+            depth++;
+            final List<Vertex> nextFrontier = new ArrayList<>();
+            for (final Triplet<Vertex, Edge, Vertex> hop : expand(frontier)) {
+                final Vertex adjacent = hop.getValue2();
+                final Number known = distances.putIfAbsent(adjacent, depth);
+                if (null == known)
+                    nextFrontier.add(adjacent);
+                else if (known.intValue() != depth)
+                    continue;
+                predecessors.computeIfAbsent(adjacent, k -> new LinkedHashSet<>())
+                        .add(Pair.with(hop.getValue0(), this.includeEdges ? hop.getValue1() : null));
+            }
+            frontier = nextFrontier;
+        }
+        return collectPaths(source, distances, predecessors);
+    }
+
+    private Iterator<Path> searchByDistance(final Vertex source) {
+        final Map<Vertex, Number> distances = new LinkedHashMap<>();
+        final Map<Vertex, Set<Pair<Vertex, Edge>>> predecessors = new HashMap<>();
+        final Set<Vertex> settled = new HashSet<>();
+        final PriorityQueue<Pair<Number, Vertex>> queue =
+                new PriorityQueue<>((a, b) -> NumberHelper.compare(a.getValue0(), b.getValue0()));
+        distances.put(source, 0);
+        queue.add(Pair.with(0, source));
+        while (!queue.isEmpty()) {
+            final Pair<Number, Vertex> next = queue.poll();
+            final Vertex vertex = next.getValue1();
+            if (!settled.add(vertex)) continue;
+            final Iterator<Edge> edges = edges(vertex, this.edgeTraversal);
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                final Number distance = getDistance(edge);
+                if (NumberHelper.compare(distance, 0) < 0) return searchWithNegativeDistances(source);
+                final Vertex adjacent = otherVertex(vertex, edge);
+                final Number pathDistance = NumberHelper.add(next.getValue0(), distance);
+                if (null != this.maxDistance && NumberHelper.compare(pathDistance, this.maxDistance) > 0)
+                    continue;
+                final Number known = distances.get(adjacent);
+                final int cmp = null == known ? -1 : NumberHelper.compare(pathDistance, known);
+                if (cmp > 0) continue;
+                if (cmp < 0) {
+                    distances.put(adjacent, pathDistance);
+                    predecessors.put(adjacent, new LinkedHashSet<>());
+                    queue.add(Pair.with(pathDistance, adjacent));
+                }
+                predecessors.get(adjacent).add(Pair.with(vertex, this.includeEdges ? edge : null));
+            }
+        }
+        return collectPaths(source, distances, predecessors);
+    }
+
+    /**
+     * Extends paths the way the {@link ShortestPathVertexProgram} does, which handles negative distances. A path is
+     * extended to each adjacent vertex that is not part of it yet and kept unless a shorter path to that vertex is
+     * known, so the search ends as paths can not be extended forever.
+     */
+    private Iterator<Path> searchWithNegativeDistances(final Vertex source) {
+        final Map<Vertex, Pair<Number, Set<Path>>> shortestPaths = new LinkedHashMap<>();
+        final Deque<Pair<Number, Path>> pending = new ArrayDeque<>();
+        final Path start = ImmutablePath.make().extend(source, Collections.emptySet());
+        shortestPaths.put(source, Pair.with(0, new LinkedHashSet<>(Collections.singletonList(start))));
+        pending.add(Pair.with(0, start));
+        while (!pending.isEmpty()) {
+            final Pair<Number, Path> next = pending.poll();
+            final Path path = next.getValue1();
+            final Vertex vertex = path.head();
+            // a path that was replaced by a shorter one in the meantime is not extended any further
+            if (!shortestPaths.get(vertex).getValue1().contains(path)) continue;
+            final Iterator<Edge> edges = edges(vertex, this.edgeTraversal);
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                final Vertex adjacent = otherVertex(vertex, edge);
+                if (path.objects().contains(adjacent)) continue;
+                final Number pathDistance = NumberHelper.add(next.getValue0(), getDistance(edge));
+                final Pair<Number, Set<Path>> known = shortestPaths.get(adjacent);
+                final int cmp = null == known ? -1 : NumberHelper.compare(pathDistance, known.getValue0());
+                if (cmp > 0) continue;
+                final Path extendedPath = (this.includeEdges ? path.extend(edge, Collections.emptySet()) : path)
+                        .extend(adjacent, Collections.emptySet());
+                if (cmp < 0) shortestPaths.put(adjacent, Pair.with(pathDistance, new LinkedHashSet<>()));
+                if (shortestPaths.get(adjacent).getValue1().add(extendedPath))
+                    pending.add(Pair.with(pathDistance, extendedPath));
+            }
+        }
+
+        final List<Path> paths = new ArrayList<>();
+        for (final Map.Entry<Vertex, Pair<Number, Set<Path>>> entry : shortestPaths.entrySet()) {
+            if (null != this.maxDistance && NumberHelper.compare(entry.getValue().getValue0(), this.maxDistance) > 0)
+                continue;
+            if (TraversalUtil.test(entry.getKey(), this.targetVertexFilter))
+                paths.addAll(entry.getValue().getValue1());
+        }
+        return paths.iterator();
+    }
+
+    /**
+     * Expands the frontier by all of its edges. Large frontiers are split into chunks that are expanded in parallel,
+     * each by its own copy of the edge traversal, and the hops are returned in the order of the frontier.
+     */
+    private List<Triplet<Vertex, Edge, Vertex>> expand(final List<Vertex> frontier) {
+        final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (!this.parallel || parallelism < 2 || frontier.size() < PARALLEL_FRONTIER_THRESHOLD)
+            return expand(frontier, this.edgeTraversal);
+
+        final int chunkSize = (frontier.size() + parallelism - 1) / parallelism;
+        final List<Future<List<Triplet<Vertex, Edge, Vertex>>>> futures = new ArrayList<>();
+        for (int i = 0; i < frontier.size(); i += chunkSize) {
+            final List<Vertex> chunk = frontier.subList(i, Math.min(i + chunkSize, frontier.size()));
+            final Traversal.Admin<Vertex, Edge> edgeTraversal = null == this.edgeDirection ? this.edgeTraversal.clone() : null;
+            futures.add(ForkJoinPool.commonPool().submit(() -> expand(chunk, edgeTraversal)));
+        }
+
+        final List<Triplet<Vertex, Edge, Vertex>> hops = new ArrayList<>();
+        try {
+            for (final Future<List<Triplet<Vertex, Edge, Vertex>>> future : futures) {
+                hops.addAll(future.get());
+            }
+        } catch (final InterruptedException ie) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException ee) {
+            futures.forEach(future -> future.cancel(true));
+            if (ee.getCause() instanceof RuntimeException) throw (RuntimeException) ee.getCause();
+            throw new IllegalStateException(ee.getCause());
+        }
+        return hops;
+    }
+
+    private List<Triplet<Vertex, Edge, Vertex>> expand(final List<Vertex> vertices, final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+        final List<Triplet<Vertex, Edge, Vertex>> hops = new ArrayList<>();
+        for (final Vertex vertex : vertices) {
+            final Iterator<Edge> edges = edges(vertex, edgeTraversal);
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                hops.add(Triplet.with(vertex, edge, otherVertex(vertex, edge)));
+            }
+        }
+        return hops;
+    }
+
+    private Iterator<Edge> edges(final Vertex vertex, final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+        return null != this.edgeDirection ?
+                vertex.edges(this.edgeDirection, this.edgeLabels) :
+                TraversalUtil.applyAll(vertex, edgeTraversal);
+    }
+
+    private Number getDistance(final Edge edge) {
+        if (null != this.distanceKey) {
+            final Property<Object> property = edge.property(this.distanceKey);
+            return property.isPresent() ? (Number) property.value() : 0;
+        }
+        final Iterator<Number> iterator = TraversalUtil.applyAll(edge, this.distanceTraversal);
+        return iterator.hasNext() ? iterator.next() : 0;
+    }
+
+    private static Vertex otherVertex(final Vertex vertex, final Edge edge) {
+        final Vertex inVertex = edge.inVertex();
+        return inVertex.equals(vertex) ? edge.outVertex() : inVertex;
+    }
+
+    private Iterator<Path> collectPaths(final Vertex source, final Map<Vertex, Number> distances,
+                                        final Map<Vertex, Set<Pair<Vertex, Edge>>> predecessors) {
+        final List<Path> paths = new ArrayList<>();
+        for (final Map.Entry<Vertex, Number> entry : distances.entrySet()) {
+            if (null != this.maxDistance && NumberHelper.compare(entry.getValue(), this.maxDistance) > 0)
+                continue;
+            if (TraversalUtil.test(entry.getKey(), this.targetVertexFilter))
+                collectPaths(source, entry.getKey(), predecessors, new ArrayList<>(), paths);
+        }
+        return paths.iterator();
+    }
+
+    /**
+     * Walks back from the vertex to the source along all of its predecessors. Zero distances can make vertices each
+     * other's predecessors, hence vertices that are already part of the path are skipped.
+     */
+    private static void collectPaths(final Vertex source, final Vertex vertex,
+                                     final Map<Vertex, Set<Pair<Vertex, Edge>>> predecessors,
+                                     final List<Element> reversedPath, final List<Path> paths) {
+        reversedPath.add(vertex);
+        if (vertex.equals(source)) {
+            Path path = ImmutablePath.make();
+            for (int i = reversedPath.size() - 1; i >= 0; i--) {
+                path = path.extend(reversedPath.get(i), Collections.emptySet());
+            }
+            paths.add(path);
+        } else {
+            for (final Pair<Vertex, Edge> predecessor : predecessors.get(vertex)) {
+                if (reversedPath.contains(predecessor.getValue0())) continue;
+                final Edge edge = predecessor.getValue1();
+                if (null != edge) reversedPath.add(edge);
+                collectPaths(source, predecessor.getValue0(), predecessors, reversedPath, paths);
+                if (null != edge) reversedPath.remove(reversedPath.size() - 1);
+            }
+        }
+        reversedPath.remove(reversedPath.size() - 1);
+    }
+
+    public Number getMaxDistance() {
+        return this.maxDistance;
+    }
+
+    public boolean isIncludeEdges() {
+        return this.includeEdges;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Traversal.Admin<?, ?>> getLocalChildren() {
+        return null == this.distanceTraversal ?
+                Arrays.asList(this.targetVertexFilter, this.edgeTraversal) :
+                Arrays.asList(this.targetVertexFilter, this.edgeTraversal, this.distanceTraversal);
+    }
+
+    @Override
+    public ShortestPathStep clone() {
+        final ShortestPathStep clone = (ShortestPathStep) super.clone();
+        clone.targetVertexFilter = this.targetVertexFilter.clone();
+        clone.edgeTraversal = this.edgeTraversal.clone();
+        if (null != this.distanceTraversal)
+            clone.distanceTraversal = this.distanceTraversal.clone();
+        clone.initialized = false;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.targetVertexFilter);
+        this.integrateChild(this.edgeTraversal);
+        this.integrateChild(this.distanceTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.targetVertexFilter, this.edgeTraversal, this.distanceTraversal,
+                this.maxDistance, this.includeEdges);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.targetVertexFilter.hashCode() ^ this.edgeTraversal.hashCode() ^
+                Boolean.hashCode(this.includeEdges);
+        if (null != this.distanceTraversal) result ^= this.distanceTraversal.hashCode();
+        if (null != this.maxDistance) result ^= this.maxDistance.hashCode();
+        return result;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+}
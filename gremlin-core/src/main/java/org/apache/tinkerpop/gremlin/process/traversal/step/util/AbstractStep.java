@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
@@ -39,6 +40,19 @@ import java.util.Set;
  */
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
+    /**
+     * Holds for each step class if it is {@link Batching} and declares {@link #processNextStarts} in the same class as
+     * {@link #processNextStart} or in a subclass of it, so that a batch is processed the way a single start is.
+     */
+    private static final ClassValue<Boolean> BATCHING = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> stepClass) {
+            return Batching.class.isAssignableFrom(stepClass) &&
+                    declaringClass(stepClass, "processNextStart").isAssignableFrom(
+                            declaringClass(stepClass, "processNextStarts", Traverser.Admin[].class, int.class));
+        }
+    };
+
     protected Set<String> labels = new LinkedHashSet<>();
     protected String id = Traverser.Admin.HALT;
     protected Traversal.Admin traversal;
@@ -164,6 +178,33 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         }
     }
 
+    @Override
+    public int nextBatch(final Traverser.Admin<E>[] batch, final int offset) {
+        if (!this.isBatching())
+            return Step.super.nextBatch(batch, offset);
+
+        // the starts of a step after a step that is not batching are processed one at a time
+        final boolean iterateAhead = Batching.canIterateAhead(this);
+        int size = offset;
+        if (EmptyTraverser.instance() != this.nextEnd) {
+            batch[size++] = this.prepareTraversalForNextStep(this.nextEnd);
+            this.nextEnd = EmptyTraverser.instance();
+        }
+        while (size < batch.length) {
+            if (Thread.interrupted()) throw new TraversalInterruptedException();
+            final int end = this.processNextStarts(batch, size);
+            if (end < 0)
+                break;
+            for (int i = size; i < end; i++) {
+                if (batch[i].bulk() > 0)
+                    batch[size++] = this.prepareTraversalForNextStep(batch[i]);
+            }
+            if (!iterateAhead && size > offset)
+                break;
+        }
+        return size - offset;
+    }
+
     @Override
     public <A, B> Traversal.Admin<A, B> getTraversal() {
         return this.traversal;
@@ -176,6 +217,41 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser.Admin<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Determines if the step processes its starts in batches when {@link #nextBatch} is called, which is the case for
+     * a {@link Batching} step unless it overrides {@link #processNextStart} but not {@link #processNextStarts}.
+     */
+    public boolean isBatching() {
+        return BATCHING.get(this.getClass());
+    }
+
+    private static Class<?> declaringClass(final Class<?> stepClass, final String name, final Class<?>... parameterTypes) {
+        for (Class<?> clazz = stepClass; null != clazz; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod(name, parameterTypes);
+                return clazz;
+            } catch (final NoSuchMethodException e) {
+                // declared by a superclass
+            }
+        }
+        return AbstractStep.class;
+    }
+
+    /**
+     * Writes the traversers that the step yields for a batch of its starts into the batch, starting at the given
+     * offset, which is only called for steps that are {@link Batching}. The provided default processes one start.
+     *
+     * @return the index after the last traverser that was written or {@code -1} if there are no more starts
+     */
+    protected int processNextStarts(final Traverser.Admin<E>[] batch, final int offset) {
+        try {
+            batch[offset] = this.processNextStart();
+            return offset + 1;
+        } catch (final NoSuchElementException e) {
+            return -1;
+        }
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
@@ -43,7 +43,7 @@ public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> implem
 
     protected TraverserSet<S> traverserSet;
     private int maxBarrierSize;
-    private boolean barrierConsumed = false;
+    protected boolean barrierConsumed = false;
 
     public CollectingBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
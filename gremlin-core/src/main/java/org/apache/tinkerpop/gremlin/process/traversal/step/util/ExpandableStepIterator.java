@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 
 import java.io.Serializable;
@@ -58,6 +59,36 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
         return this.traverserSet.remove();
     }
 
+    /**
+     * Writes the next starts into the batch, starting at the given offset, and asks the previous step for a batch of
+     * traversers once the starts that were added to the host step are exhausted. Only a single traverser is taken from
+     * a previous step that is not {@link Batching}, unless the steps before the host step can be iterated ahead of it
+     * as described by {@link Batching#canIterateAhead}.
+     *
+     * @return the number of starts that were written, which is {@code 0} only if there are no more starts
+     */
+    public int nextBatch(final Traverser.Admin<S>[] batch, final int offset) {
+        final Step<?, S> previousStep = this.hostStep.getPreviousStep();
+        final boolean singleStart = !Batching.isBatching(previousStep) && !Batching.canIterateAhead(this.hostStep);
+        int size = offset;
+        while (size < batch.length) {
+            if (!this.traverserSet.isEmpty())
+                batch[size++] = this.traverserSet.remove();
+            else if (singleStart) {
+                // the previous step may have side-effects that the host step has to see one traverser at a time
+                if (size == offset && previousStep.hasNext())
+                    batch[size++] = previousStep.next();
+                break;
+            } else {
+                final int count = previousStep.nextBatch(batch, size);
+                if (0 == count && this.traverserSet.isEmpty())
+                    break;
+                size = size + count;
+            }
+        }
+        return size - offset;
+    }
+
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
         iterator.forEachRemaining(this.traverserSet::add);
     }
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes a linear sequence of steps that ends with a {@link ReducingBarrierStep} by multiple threads of the common
+ * {@code ForkJoinPool}. Each thread takes chunks of the incoming traversers and reduces them through its own copy of
+ * the partition traversal. The partial results are then merged with the bi-operator of the reducing step, just like
+ * the partial results of the workers of a {@code GraphComputer} are, and the final result is emitted. The step is
+ * added by the {@link ParallelStrategy}.
+ */
+public final class ParallelReducingStep<S, E> extends AbstractStep<S, E> implements TraversalParent, Barrier<E> {
+
+    /**
+     * The number of traversers a thread takes at once, which keeps the contention on the incoming traversers low.
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    private Traversal.Admin<S, E> partitionTraversal;
+    private ReducingBarrierStep<?, E> reducingStep;
+    private final int threads;
+    private boolean hasProcessedOnce = false;
+
+    public ParallelReducingStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> partitionTraversal, final int threads) {
+        super(traversal);
+        this.partitionTraversal = this.integrateChild(partitionTraversal);
+        this.reducingStep = (ReducingBarrierStep<?, E>) partitionTraversal.getEndStep();
+        this.threads = Math.max(1, threads);
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.partitionTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.partitionTraversal.getTraverserRequirements();
+    }
+
+    @Override
+    public void processAllStarts() {
+        if (this.hasProcessedOnce && !this.starts.hasNext())
+            return;
+        this.hasProcessedOnce = true;
+        if (this.starts.hasNext()) {
+            for (final E partial : this.processPartitions()) {
+                this.reducingStep.addBarrier(partial);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNextBarrier() {
+        this.processAllStarts();
+        return this.reducingStep.hasNextBarrier();
+    }
+
+    @Override
+    public E nextBarrier() throws NoSuchElementException {
+        this.processAllStarts();
+        return this.reducingStep.nextBarrier();
+    }
+
+    @Override
+    public void addBarrier(final E barrier) {
+        this.reducingStep.addBarrier(barrier);
+    }
+
+    @Override
+    public void done() {
+        this.hasProcessedOnce = true;
+        this.reducingStep.done();
+    }
+
+    @Override
+    public MemoryComputeKey<E> getMemoryComputeKey() {
+        return MemoryComputeKey.of(this.getId(), this.reducingStep.getBiOperator(), false, true);
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (!this.hasNextBarrier())
+            throw FastNoSuchElementException.instance();
+        return this.getTraversal().getTraverserGenerator().generate(
+                this.reducingStep.generateFinalResult(this.reducingStep.nextBarrier()), (Step<E, E>) this, 1L);
+    }
+
+    /**
+     * Reduces the incoming traversers by a copy of the partition traversal per thread and returns the partial results
+     * in the order of the threads. A thread that did not reduce any traverser may not have a partial result.
+     */
+    private List<E> processPartitions() {
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        final List<Future<List<E>>> futures = new ArrayList<>();
+        for (int i = 0; i < this.threads; i++) {
+            final Traversal.Admin<S, E> partition = this.partitionTraversal.clone();
+            futures.add(ForkJoinPool.commonPool().submit(() -> processPartition(partition, cancelled)));
+        }
+
+        final List<E> partials = new ArrayList<>();
+        try {
+            for (final Future<List<E>> future : futures) {
+                partials.addAll(future.get());
+            }
+        } catch (final InterruptedException ie) {
+            cancelled.set(true);
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException ee) {
+            cancelled.set(true);
+            futures.forEach(future -> future.cancel(true));
+            if (ee.getCause() instanceof RuntimeException) throw (RuntimeException) ee.getCause();
+            throw new IllegalStateException(ee.getCause());
+        }
+        return partials;
+    }
+
+    private List<E> processPartition(final Traversal.Admin<S, E> partition, final AtomicBoolean cancelled) {
+        final Step<S, ?> startStep = partition.getStartStep();
+        final Barrier<E> barrier = (Barrier<E>) partition.getEndStep();
+        final List<Traverser.Admin<S>> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (this.nextChunk(chunk)) {
+            if (cancelled.get())
+                throw new TraversalInterruptedException();
+            for (final Traverser.Admin<S> traverser : chunk) {
+                traverser.setStepId(startStep.getId());
+                startStep.addStart(traverser);
+            }
+            chunk.clear();
+            barrier.processAllStarts();
+        }
+        return barrier.hasNextBarrier() ? Collections.singletonList(barrier.nextBarrier()) : Collections.emptyList();
+    }
+
+    private boolean nextChunk(final List<Traverser.Admin<S>> chunk) {
+        synchronized (this.starts) {
+            while (chunk.size() < CHUNK_SIZE && this.starts.hasNext()) {
+                chunk.add(this.starts.next());
+            }
+        }
+        return !chunk.isEmpty();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.hasProcessedOnce = false;
+        this.partitionTraversal.reset();
+    }
+
+    @Override
+    public ParallelReducingStep<S, E> clone() {
+        final ParallelReducingStep<S, E> clone = (ParallelReducingStep<S, E>) super.clone();
+        clone.partitionTraversal = this.partitionTraversal.clone();
+        clone.reducingStep = (ReducingBarrierStep<?, E>) clone.partitionTraversal.getEndStep();
+        clone.hasProcessedOnce = false;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.partitionTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.threads, this.partitionTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.partitionTraversal.hashCode() ^ Integer.hashCode(this.threads);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoIo;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The sorted runs of traversers that a barrier wrote to temporary files because it held more traversers than it was
+ * allowed to keep in memory. The runs are merged back into a single sorted iterator as the barrier emits its
+ * traversers, which only holds the next traverser of each run in memory. Traversers are detached before they are
+ * written with Gryo and attached to the graph again when they are read. Only the element a traverser is at can be
+ * attached again, so a barrier has to keep traversers in memory that do not pass {@link #isSpillable(Traverser.Admin)}
+ * or that have paths.
+ */
+public final class SpilledTraverserRuns<S> implements AutoCloseable {
+
+    private final Comparator<Traverser.Admin<S>> comparator;
+    private final TraversalSideEffects sideEffects;
+    private final Graph graph;
+    private final Kryo kryo;
+    private final List<Path> files = new ArrayList<>();
+    private final List<Input> inputs = new ArrayList<>();
+
+    public SpilledTraverserRuns(final Comparator<Traverser.Admin<S>> comparator, final Traversal.Admin<?, ?> traversal) {
+        this.comparator = comparator;
+        this.sideEffects = traversal.getSideEffects();
+        this.graph = traversal.getGraph().filter(graph -> !(graph instanceof EmptyGraph)).orElse(null);
+        this.kryo = (null == this.graph ?
+                GryoMapper.build().version(GryoVersion.V3_0).create() :
+                this.graph.io(GryoIo.build(GryoVersion.V3_0)).mapper().create()).createMapper();
+    }
+
+    /**
+     * Gets the number of runs that were written.
+     */
+    public int size() {
+        return this.files.size();
+    }
+
+    /**
+     * Determines if the traverser can be written to a run and read back as it was. That is not the case if its object
+     * or the projections of a {@link ProjectedTraverser} hold elements in a {@code Map}, {@code Iterable}, array or
+     * {@link org.apache.tinkerpop.gremlin.process.traversal.Path}, as those elements would be read back as references
+     * without properties.
+     */
+    public static boolean isSpillable(final Traverser.Admin<?> traverser) {
+        if (traverser instanceof ProjectedTraverser) {
+            for (final Object projection : ((ProjectedTraverser<?, ?>) traverser).getProjections()) {
+                if (!isSpillable(projection, false)) return false;
+            }
+        }
+        return isSpillable(traverser.get(), true);
+    }
+
+    private static boolean isSpillable(final Object object, final boolean attachable) {
+        if (object instanceof Element || object instanceof Property)
+            return attachable;
+        else if (object instanceof org.apache.tinkerpop.gremlin.process.traversal.Path)
+            return false;
+        else if (object instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                if (!isSpillable(entry.getKey(), false) || !isSpillable(entry.getValue(), false)) return false;
+            }
+        } else if (object instanceof Map.Entry)
+            return isSpillable(((Map.Entry<?, ?>) object).getKey(), false) && isSpillable(((Map.Entry<?, ?>) object).getValue(), false);
+        else if (object instanceof Iterable) {
+            for (final Object item : (Iterable<?>) object) {
+                if (!isSpillable(item, false)) return false;
+            }
+        } else if (object instanceof Object[]) {
+            for (final Object item : (Object[]) object) {
+                if (!isSpillable(item, false)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the traversers of the set, which have to be sorted, as a run and clears the set.
+     */
+    public void spill(final TraverserSet<S> traverserSet) {
+        try {
+            final Path file = Files.createTempFile("gremlin-run-", ".kryo");
+            this.files.add(file);
+            try (final Output output = new Output(Files.newOutputStream(file))) {
+                for (final Traverser.Admin<S> traverser : traverserSet) {
+                    output.writeBoolean(true);
+                    this.kryo.writeClassAndObject(output, traverser.detach());
+                }
+                output.writeBoolean(false);
+            }
+            traverserSet.clear();
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Merges the runs and the sorted traversers that remain in the set, which is cleared, into a single sorted
+     * iterator. Traversers that are equal in the order are taken from the earlier run first so that the merge is as
+     * stable as a sort of all traversers would be. A file is deleted once its run was read.
+     */
+    public Iterator<Traverser.Admin<S>> merge(final TraverserSet<S> traverserSet) {
+        final PriorityQueue<Run<S>> queue = new PriorityQueue<>((a, b) -> {
+            final int comparison = this.comparator.compare(a.head, b.head);
+            return 0 != comparison ? comparison : Integer.compare(a.index, b.index);
+        });
+        try {
+            for (int i = 0; i < this.files.size(); i++) {
+                final Run<S> run = new Run<>(i, new RunReader(this.files.get(i)));
+                if (run.advance()) queue.add(run);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        final Run<S> remaining = new Run<>(this.files.size(), new ArrayList<>(traverserSet).iterator());
+        traverserSet.clear();
+        if (remaining.advance()) queue.add(remaining);
+
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                final Run<S> run = queue.poll();
+                if (null == run)
+                    throw FastNoSuchElementException.instance();
+                final Traverser.Admin<S> traverser = run.head;
+                if (run.advance()) queue.add(run);
+                return traverser;
+            }
+        };
+    }
+
+    /**
+     * Closes the runs that are still read and deletes their files.
+     */
+    @Override
+    public void close() {
+        for (final Input input : this.inputs) {
+            input.close();
+        }
+        this.inputs.clear();
+        for (final Path file : this.files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                // the file is in the temporary directory, so it is left there if it can not be deleted
+            }
+        }
+        this.files.clear();
+    }
+
+    private static final class Run<S> {
+        private final int index;
+        private final Iterator<Traverser.Admin<S>> traversers;
+        private Traverser.Admin<S> head;
+
+        private Run(final int index, final Iterator<Traverser.Admin<S>> traversers) {
+            this.index = index;
+            this.traversers = traversers;
+        }
+
+        private boolean advance() {
+            this.head = this.traversers.hasNext() ? this.traversers.next() : null;
+            return null != this.head;
+        }
+    }
+
+    private final class RunReader implements Iterator<Traverser.Admin<S>> {
+        private final Path file;
+        private final Input input;
+        private Traverser.Admin<S> next;
+        private boolean done = false;
+
+        private RunReader(final Path file) throws IOException {
+            this.file = file;
+            this.input = new Input(Files.newInputStream(file));
+            inputs.add(this.input);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == this.next && !this.done) {
+                if (this.input.readBoolean()) {
+                    this.next = (Traverser.Admin<S>) kryo.readClassAndObject(this.input);
+                    if (null != graph) this.next.attach(Attachable.Method.get(graph));
+                    this.next.setSideEffects(sideEffects);
+                } else {
+                    this.done = true;
+                    this.input.close();
+                    inputs.remove(this.input);
+                    try {
+                        Files.deleteIfExists(this.file);
+                    } catch (final IOException e) {
+                        // the file is deleted when the runs are closed
+                    }
+                }
+            }
+            return null != this.next;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            final Traverser.Admin<S> traverser = this.next;
+            this.next = null;
+            return traverser;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TimeLimitStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelReducingStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@code ParallelStrategy} executes the steps between the start step of a traversal and its first reducing barrier,
+ * i.e. {@code count()}, {@code sum()}, {@code min()}, {@code max()}, {@code mean()}, {@code fold()}, {@code group()},
+ * {@code groupCount()} or {@code tree()}, by multiple threads which each reduce a part of the elements of the start
+ * step. The partial results are merged just like the ones of the workers of a {@code GraphComputer}, which means
+ * that the order of folded or grouped values is not the one of a single threaded execution. The strategy is not
+ * applied if any of these steps depends on the traversers of other threads or has side-effects, such as
+ * {@code dedup()}, {@code limit()}, {@code aggregate()} or a step with global children like {@code union()}, and it
+ * is not applied to traversals that are executed with a {@code GraphComputer} or on a graph that supports
+ * transactions, as those are usually bound to the thread that opened them.
+ *
+ * @example <pre>
+ * g.withStrategies(ParallelStrategy.build().threads(8).create()).
+ *   V().hasLabel('account').out('txn').has('amount', gt(10000)).count()   // is executed by 8 threads
+ * g.withStrategies(ParallelStrategy.instance()).V().out().dedup().count() // is not changed
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String THREADS = "threads";
+
+    private static final ParallelStrategy INSTANCE = new ParallelStrategy(ForkJoinPool.getCommonPoolParallelism());
+
+    private final int threads;
+
+    private ParallelStrategy(final int threads) {
+        this.threads = threads;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || !(traversal.getStartStep() instanceof GraphStep) ||
+                !((GraphStep) traversal.getStartStep()).isStartStep() ||
+                TraversalHelper.hasStepOfAssignableClass(ProfileSideEffectStep.class, traversal) ||
+                traversal.getGraph().map(graph -> graph.features().graph().supportsTransactions()).orElse(true))
+            return;
+
+        final List<Step> partitionSteps = new ArrayList<>();
+        for (Step<?, ?> step = traversal.getStartStep().getNextStep(); !(step instanceof ReducingBarrierStep); step = step.getNextStep()) {
+            if (!isPartitionable(step))
+                return;
+            partitionSteps.add(step);
+        }
+        final Step<?, ?> reducingStep = partitionSteps.isEmpty() ?
+                traversal.getStartStep().getNextStep() :
+                partitionSteps.get(partitionSteps.size() - 1).getNextStep();
+        if (reducingStep.getRequirements().contains(TraverserRequirement.SIDE_EFFECTS))
+            return;
+        partitionSteps.add(reducingStep);
+
+        final Traversal.Admin partitionTraversal = new DefaultGraphTraversal<>();
+        for (final Step<?, ?> step : partitionSteps) {
+            traversal.removeStep(step);
+            partitionTraversal.addStep(step);
+        }
+        final ParallelReducingStep<?, ?> parallelStep = new ParallelReducingStep<>(traversal, partitionTraversal, this.threads);
+        TraversalHelper.copyLabels(reducingStep, parallelStep, true);
+        traversal.addStep(1, parallelStep);
+    }
+
+    /**
+     * Determines if the step only depends on the traverser it processes, so that each thread can execute its own copy.
+     */
+    private static boolean isPartitionable(final Step<?, ?> step) {
+        if (!(step instanceof FilterStep || step instanceof MapStep || step instanceof FlatMapStep || step instanceof NoOpBarrierStep))
+            return false;
+        if ((step instanceof Barrier && !(step instanceof NoOpBarrierStep)) || step instanceof TimeLimitStep ||
+                step instanceof Mutating || step instanceof SideEffectCapable ||
+                step.getRequirements().contains(TraverserRequirement.SIDE_EFFECTS))
+            return false;
+        return !(step instanceof TraversalParent) || ((TraversalParent) step).getGlobalChildren().isEmpty();
+    }
+
+    public static ParallelStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        return new ParallelStrategy(configuration.getInt(THREADS, ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put(STRATEGY, ParallelStrategy.class.getCanonicalName());
+        map.put(THREADS, this.threads);
+        return new MapConfiguration(map);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int threads = ForkJoinPool.getCommonPoolParallelism();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of threads that execute a traversal, which defaults to the parallelism of the common
+         * {@code ForkJoinPool}.
+         */
+        public Builder threads(final int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this.threads);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@code ShortestPathStrategy} replaces a {@link ShortestPathVertexProgramStep} with a {@link ShortestPathStep} if the
+ * traversal is not executed with a {@code GraphComputer}. The shortest paths are then found by searching the graph
+ * from each incoming vertex, which avoids the setup of a {@code GraphComputer} for interactive path queries.
+ *
+ * @example <pre>
+ * g.V().shortestPath()                   // is executed by a ShortestPathStep
+ * g.withComputer().V().shortestPath()    // is executed by the ShortestPathVertexProgram
+ * </pre>
+ */
+public final class ShortestPathStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final ShortestPathStrategy INSTANCE = new ShortestPathStrategy();
+
+    private static final Set<Class<? extends OptimizationStrategy>> POSTS = new HashSet<>(Arrays.asList(
+            IncidentToAdjacentStrategy.class, PathRetractionStrategy.class, LazyBarrierStrategy.class));
+
+    private ShortestPathStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.getRootTraversal(traversal).getStrategies().getStrategy(VertexProgramStrategy.class).isPresent())
+            return;
+
+        for (final ShortestPathVertexProgramStep step : TraversalHelper.getStepsOfClass(ShortestPathVertexProgramStep.class, traversal)) {
+            final ShortestPathStep shortestPathStep = new ShortestPathStep(traversal,
+                    step.getTargetVertexFilter(), step.getEdgeTraversal(),
+                    step.isDistanceEqualsNumberOfHops() ? null : step.getDistanceTraversal(),
+                    step.getMaxDistance(), step.isIncludeEdges());
+            TraversalHelper.copyLabels(step, shortestPathStep, false);
+            TraversalHelper.replaceStep((Step) step, shortestPathStep, traversal);
+        }
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static ShortestPathStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -41,17 +41,26 @@ import java.util.Spliterator;
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map;
 
     public TraverserSet() {
-
+        this.map = Collections.synchronizedMap(new LinkedHashMap<>());
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
+        this();
         if (traverser != null)
             this.map.put(traverser, traverser);
     }
 
+    /**
+     * Creates a set on the given map, which allows extensions that hold the traversers themselves to avoid the
+     * allocation of the synchronized map.
+     */
+    TraverserSet(final Map<Traverser.Admin<S>, Traverser.Admin<S>> map) {
+        this.map = map;
+    }
+
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
         return this.map.values().iterator();
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A {@link TraverserSet} for traversals that are executed by a single thread. Rather than a synchronized
+ * {@code LinkedHashMap}, the traversers are held in an array in the order they were added to and are found through an
+ * open addressed hash table of their positions in that array, so that neither adding a traverser nor merging the bulk
+ * of an equal traverser into the one in the set acquires a monitor or allocates an entry. Traversers removed from the
+ * head of the set, which is how a barrier is drained, only advance the head of the array which is compacted once it
+ * has to grow.
+ * <p/>
+ * The set is not safe for the use by multiple threads and is written as a {@link TraverserSet} when serialized.
+ */
+public final class UnsynchronizedTraverserSet<S> extends TraverserSet<S> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Traverser.Admin<S>[] traversers;
+    private int[] hashes;
+    // the positions of the traversers plus one, as zero marks an empty slot, in twice as many slots as positions
+    private int[] slots;
+    private int head = 0;
+    private int tail = 0;
+    private int size = 0;
+
+    public UnsynchronizedTraverserSet() {
+        super(Collections.emptyMap());
+    }
+
+    public UnsynchronizedTraverserSet(final Traverser.Admin<S> traverser) {
+        this();
+        if (traverser != null)
+            this.add(traverser);
+    }
+
+    @Override
+    public Iterator<Traverser.Admin<S>> iterator() {
+        return new Iterator<Traverser.Admin<S>>() {
+            private int index = head;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                while (this.index < tail && null == traversers[this.index]) {
+                    this.index++;
+                }
+                return this.index < tail;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                this.last = this.index++;
+                return traversers[this.last];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0)
+                    throw new IllegalStateException();
+                removeAt(this.last);
+                this.last = -1;
+            }
+        };
+    }
+
+    @Override
+    public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
+        final int index = this.indexOf(traverser, hash(traverser));
+        return index < 0 ? null : this.traversers[index];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long bulkSize() {
+        long bulk = 0L;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                bulk = bulk + this.traversers[i].bulk();
+        }
+        return bulk;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    @Override
+    public boolean contains(final Object traverser) {
+        return null != traverser && this.indexOf(traverser, hash(traverser)) >= 0;
+    }
+
+    @Override
+    public boolean add(final Traverser.Admin<S> traverser) {
+        final int hash = hash(traverser);
+        final int index = this.indexOf(traverser, hash);
+        if (index >= 0) {
+            this.traversers[index].merge(traverser);
+            return false;
+        }
+        if (null == this.traversers || this.tail == this.traversers.length)
+            this.rehash(null == this.traversers ? INITIAL_CAPACITY :
+                    this.size >= this.traversers.length / 2 ? this.traversers.length * 2 : this.traversers.length);
+        this.traversers[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        this.insertSlot(hash, this.tail);
+        this.tail++;
+        this.size++;
+        return true;
+    }
+
+    @Override
+    public boolean offer(final Traverser.Admin<S> traverser) {
+        return this.add(traverser);
+    }
+
+    @Override
+    public Traverser.Admin<S> remove() {  // pop, exception if empty
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.removeAt(this.head);
+    }
+
+    @Override
+    public Traverser.Admin<S> poll() {  // pop, null if empty
+        return 0 == this.size ? null : this.removeAt(this.head);
+    }
+
+    @Override
+    public Traverser.Admin<S> element() { // peek, exception if empty
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.traversers[this.head];
+    }
+
+    @Override
+    public Traverser.Admin<S> peek() { // peek, null if empty
+        return 0 == this.size ? null : this.traversers[this.head];
+    }
+
+    @Override
+    public boolean remove(final Object traverser) {
+        if (null == traverser) return false;
+        final int index = this.indexOf(traverser, hash(traverser));
+        if (index < 0) return false;
+        this.removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.traversers = null;
+        this.hashes = null;
+        this.slots = null;
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public Spliterator<Traverser.Admin<S>> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = this.head; i < this.tail; i++) {
+            if (null == this.traversers[i]) continue;
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(this.traversers[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    @Override
+    public void sort(final Comparator<Traverser<S>> comparator) {
+        if (this.size < 2) return;
+        this.rehash(this.traversers.length);
+        Arrays.sort(this.traversers, 0, this.size, comparator);
+        this.reindex();
+    }
+
+    @Override
+    public void shuffle(final Random random) {
+        if (this.size < 2) return;
+        this.rehash(this.traversers.length);
+        // the same swaps as Collections.shuffle() so that a seeded random shuffles as the synchronized set does
+        for (int i = this.size; i > 1; i--) {
+            final int j = random.nextInt(i);
+            final Traverser.Admin<S> traverser = this.traversers[i - 1];
+            this.traversers[i - 1] = this.traversers[j];
+            this.traversers[j] = traverser;
+        }
+        this.reindex();
+    }
+
+    private static int hash(final Object traverser) {
+        final int hash = traverser.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(final Object traverser, final int hash) {
+        if (null == this.slots) return -1;
+        final int mask = this.slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int index = this.slots[slot] - 1;
+            if (index < 0) return -1;
+            if (this.hashes[index] == hash && traverser.equals(this.traversers[index])) return index;
+        }
+    }
+
+    private void insertSlot(final int hash, final int index) {
+        final int mask = this.slots.length - 1;
+        int slot = hash & mask;
+        while (0 != this.slots[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.slots[slot] = index + 1;
+    }
+
+    private Traverser.Admin<S> removeAt(final int index) {
+        final Traverser.Admin<S> traverser = this.traversers[index];
+        final int mask = this.slots.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (this.slots[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // shift the following slots of the probe sequence back rather than leaving a tombstone
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            final int entry = this.slots[next];
+            if (0 == entry) break;
+            final int home = this.hashes[entry - 1] & mask;
+            if (slot <= next ? (home <= slot || home > next) : (home <= slot && home > next)) {
+                this.slots[slot] = entry;
+                slot = next;
+            }
+        }
+        this.slots[slot] = 0;
+        this.traversers[index] = null;
+        this.size--;
+        if (0 == this.size) {
+            this.head = 0;
+            this.tail = 0;
+        } else if (index == this.head) {
+            while (null == this.traversers[this.head]) {
+                this.head++;
+            }
+        }
+        return traverser;
+    }
+
+    /**
+     * Moves the traversers to the front of arrays of the given capacity and rebuilds the hash table.
+     */
+    private void rehash(final int capacity) {
+        final Traverser.Admin<S>[] traversers = new Traverser.Admin[capacity];
+        final int[] hashes = new int[capacity];
+        int size = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null == this.traversers[i]) continue;
+            traversers[size] = this.traversers[i];
+            hashes[size] = this.hashes[i];
+            size++;
+        }
+        this.traversers = traversers;
+        this.hashes = hashes;
+        this.slots = new int[capacity * 2];
+        this.head = 0;
+        this.tail = size;
+        for (int i = 0; i < size; i++) {
+            this.insertSlot(hashes[i], i);
+        }
+    }
+
+    /**
+     * Rebuilds the hash table after the compacted traversers were reordered.
+     */
+    private void reindex() {
+        Arrays.fill(this.slots, 0);
+        for (int i = 0; i < this.size; i++) {
+            this.hashes[i] = hash(this.traversers[i]);
+            this.insertSlot(this.hashes[i], i);
+        }
+    }
+
+    private Object writeReplace() {
+        final TraverserSet<S> traverserSet = new TraverserSet<>();
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                traverserSet.add(this.traversers[i]);
+        }
+        return traverserSet;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchingTest {
+
+    private static final Integer[] STARTS = IntStream.range(0, 1000).boxed().toArray(Integer[]::new);
+
+    @Test
+    public void shouldOnlyBatchStepsThatProcessBatchesLikeSingleStarts() {
+        final Traversal.Admin<?, ?> traversal = __.identity().asAdmin();
+        assertTrue(Batching.isBatching(new HasStep<>(traversal, new HasContainer[0])));
+        assertTrue(Batching.isBatching(new CountingStep(traversal)));
+        assertFalse(Batching.isBatching(new OverridingStep(traversal)));
+        assertFalse(Batching.isBatching(new IdentityStep<>(traversal)));
+        assertFalse(Batching.isBatching(new NoOpBarrierStep<>(traversal)));
+    }
+
+    @Test
+    public void shouldProcessStartsInBatches() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(STARTS).asAdmin();
+        final CountingStep step = new CountingStep(traversal);
+        traversal.addStep(step);
+
+        assertEquals(IntStream.range(0, 1000).filter(i -> i % 2 == 0).boxed().collect(Collectors.toList()), traversal.toList());
+        // a start at a time would take a call for each of them
+        assertTrue(step.calls < 50);
+    }
+
+    @Test
+    public void shouldProcessStartsThroughBarriersInBatches() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(STARTS).barrier().asAdmin();
+        final CountingStep step = new CountingStep(traversal);
+        traversal.addStep(step);
+
+        assertTrue(Batching.canIterateAhead(step));
+        assertEquals(500, traversal.toList().size());
+        assertTrue(step.calls < 50);
+    }
+
+    @Test
+    public void shouldProcessStartsAfterSideEffectsOneAtATime() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(STARTS).sideEffect(t -> {}).asAdmin();
+        final CountingStep step = new CountingStep(traversal);
+        traversal.addStep(step);
+
+        assertFalse(Batching.canIterateAhead(step));
+        assertEquals(500, traversal.toList().size());
+        // a call for each start and one to find that there are no more
+        assertEquals(1001, step.calls);
+    }
+
+    @Test
+    public void shouldNotBypassOverriddenProcessNextStart() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(STARTS).asAdmin();
+        final OverridingStep step = new OverridingStep(traversal);
+        traversal.addStep(step);
+
+        final List<Integer> result = traversal.toList();
+        assertEquals(500, result.size());
+        assertEquals(500, step.overridden);
+        assertTrue(result.stream().allMatch(i -> i % 2 == 0));
+    }
+
+    /**
+     * A {@link Batching} filter that counts how often it is asked to process its next starts.
+     */
+    private static class CountingStep extends FilterStep<Integer> implements Batching {
+        int calls = 0;
+
+        CountingStep(final Traversal.Admin traversal) {
+            super(traversal);
+        }
+
+        @Override
+        protected int processNextStarts(final Traverser.Admin<Integer>[] batch, final int offset) {
+            this.calls++;
+            return super.processNextStarts(batch, offset);
+        }
+
+        @Override
+        protected boolean filter(final Traverser.Admin<Integer> traverser) {
+            return traverser.get() % 2 == 0;
+        }
+    }
+
+    /**
+     * A subclass of a {@link Batching} step as a provider might write it, which only overrides the processing of a
+     * single start.
+     */
+    private static class OverridingStep extends CountingStep {
+        int overridden = 0;
+
+        OverridingStep(final Traversal.Admin traversal) {
+            super(traversal);
+        }
+
+        @Override
+        protected Traverser.Admin<Integer> processNextStart() throws NoSuchElementException {
+            final Traverser.Admin<Integer> traverser = super.processNextStart();
+            this.overridden++;
+            return traverser;
+        }
+    }
+}
@@ -22,13 +22,25 @@ import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -64,4 +76,95 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldKeepSameTraversersWithinLimit() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000);
+            list.add(i % 10);
+        }
+        for (final long limit : new long[]{0, 1, 5, 150, 1000, 5000}) {
+            assertEquals(__.inject(list).unfold().order().limit(limit).toList(),
+                    limitedOrder(__.inject(list).unfold().order().limit(limit).asAdmin(), limit).toList());
+            assertEquals(__.inject(list).unfold().order().by(Order.desc).range(3, limit + 3).toList(),
+                    limitedOrder(__.inject(list).unfold().order().by(Order.desc).range(3, limit + 3).asAdmin(), limit + 3).toList());
+            // all traversers are equal in the order so that the first ones have to be kept
+            assertEquals(__.inject(list).unfold().order().by(__.constant(1)).limit(limit).toList(),
+                    limitedOrder(__.inject(list).unfold().order().by(__.constant(1)).limit(limit).asAdmin(), limit).toList());
+        }
+    }
+
+    @Test
+    public void shouldMergeSpilledTraversers() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000);
+            list.add(i % 10);
+        }
+        for (final int threshold : new int[]{10, 100, 999, 5000}) {
+            assertEquals(__.inject(list).unfold().order().toList(),
+                    spilledOrder(__.inject(list).unfold().order().asAdmin(), threshold).toList());
+            assertEquals(__.inject(list).unfold().order().by(Order.desc).toList(),
+                    spilledOrder(__.inject(list).unfold().order().by(Order.desc).asAdmin(), threshold).toList());
+        }
+    }
+
+    @Test
+    public void shouldWriteRunsAndDeleteThemOnceMerged() throws Exception {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000);
+        }
+        final Set<Path> before = runFiles();
+        final Traversal.Admin<?, ?> traversal = spilledOrder(__.inject(list).unfold().order().asAdmin(), 100);
+        assertEquals(0, traversal.next());
+
+        // the 1000 distinct traversers are written as 10 runs that stay on disk while they are merged
+        final Set<Path> runs = runFiles();
+        runs.removeAll(before);
+        assertEquals(10, runs.size());
+
+        final List<Object> rest = traversal.toList();
+        assertEquals(999, rest.size());
+        for (int i = 0; i < rest.size(); i++) {
+            assertEquals(i + 1, rest.get(i));
+        }
+        for (final Path run : runs) {
+            assertFalse(Files.exists(run));
+        }
+    }
+
+    @Test
+    public void shouldNotWriteRunsOfTraversersWithPaths() throws Exception {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000);
+        }
+        final Set<Path> before = runFiles();
+        final Traversal.Admin<?, ?> traversal = spilledOrder(__.inject(list).unfold().as("a").order().select("a").asAdmin(), 100);
+        assertEquals(0, traversal.next());
+
+        final Set<Path> runs = runFiles();
+        runs.removeAll(before);
+        assertEquals(0, runs.size());
+        assertEquals(999, traversal.toList().size());
+    }
+
+    private static Set<Path> runFiles() throws IOException {
+        try (final Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("gremlin-run-")).collect(Collectors.toSet());
+        }
+    }
+
+    private static Traversal.Admin<?, ?> spilledOrder(final Traversal.Admin<?, ?> traversal, final int threshold) {
+        traversal.setStrategies(new DefaultTraversalStrategies().addStrategies(
+                OptionsStrategy.build().with(OrderGlobalStep.SPILL_THRESHOLD, threshold).create()));
+        return traversal;
+    }
+
+    private static Traversal.Admin<?, ?> limitedOrder(final Traversal.Admin<?, ?> traversal, final long limit) {
+        TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal).get().setLimit(limit);
+        return traversal;
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelReducingStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.in;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance()).
+            withStrategies(ParallelStrategy.build().threads(4).create());
+
+    @Test
+    public void shouldExecuteStepsBeforeReducingBarrierInParallel() {
+        final Traversal.Admin<?, ?> traversal = g.V().out("txn").has("amount", P.gt(10000)).count().as("c").asAdmin();
+        traversal.applyStrategies();
+
+        assertEquals(2, traversal.getSteps().size());
+        assertTrue(traversal.getStartStep() instanceof GraphStep);
+        final ParallelReducingStep<?, ?> step = (ParallelReducingStep<?, ?>) traversal.getEndStep();
+        assertEquals(4, step.getThreads());
+        assertTrue(step.getLabels().contains("c"));
+        final Traversal.Admin<?, ?> partitionTraversal = step.getGlobalChildren().get(0);
+        assertEquals(Arrays.asList(VertexStep.class, HasStep.class, CountGlobalStep.class),
+                partitionTraversal.getSteps().stream().map(Object::getClass).collect(Collectors.toList()));
+        assertTrue(partitionTraversal.getEndStep().getLabels().isEmpty());
+    }
+
+    @Test
+    public void shouldNotExecuteStepsThatDependOnOtherTraversersInParallel() {
+        assertNotParallel(g.V().out().dedup().count().asAdmin());
+        assertNotParallel(g.V().out().limit(10).count().asAdmin());
+        assertNotParallel(g.V().union(out(), in()).count().asAdmin());
+        assertNotParallel(g.V().out().aggregate("x").count().asAdmin());
+        assertNotParallel(g.V().out().order().by("name").fold().asAdmin());
+        assertNotParallel(g.V().out().out().asAdmin());
+        assertNotParallel(g.V().out().count().profile().asAdmin());
+    }
+
+    private static void assertNotParallel(final Traversal.Admin<?, ?> traversal) {
+        traversal.applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfAssignableClassRecursively(ParallelReducingStep.class, traversal));
+    }
+}
@@ -47,6 +47,9 @@ public class OrderLimitStrategyTest {
     @Parameterized.Parameter(value = 1)
     public long limit;
 
+    @Parameterized.Parameter(value = 2)
+    public long standardLimit;
+
     void applyOrderLimitStrategyStrategy(final Traversal traversal) {
         final TraversalStrategies strategies = new DefaultTraversalStrategies();
         strategies.addStrategies(OrderLimitStrategy.instance());
@@ -56,18 +59,28 @@ public class OrderLimitStrategyTest {
 
     @Test
     public void doTest() {
+        final Traversal.Admin<?, ?> traversal = this.traversal.clone();
         final String repr = traversal.getGremlinLang().getGremlin();
         traversal.asAdmin().setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
         applyOrderLimitStrategyStrategy(traversal);
         assertEquals(repr, limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().getLimit());
     }
 
+    @Test
+    public void doTestWithoutGraphComputer() {
+        final Traversal.Admin<?, ?> traversal = this.traversal.clone();
+        final String repr = traversal.getGremlinLang().getGremlin();
+        applyOrderLimitStrategyStrategy(traversal);
+        assertEquals(repr, standardLimit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().getLimit());
+    }
+
     @Parameterized.Parameters(name = "{0}")
     public static Iterable<Object[]> generateTestParameters() {
         return Arrays.asList(new Object[][]{
-                {__.order().limit(1), 1l},
-                {__.out().order().range(7, 15), 15l},
-                {__.order().select("a").limit(7), 7l},
-                {__.order().out().limit(10), Long.MAX_VALUE}});
+                {__.order().limit(1), 1l, 1l},
+                {__.out().order().range(7, 15), 15l, 15l},
+                {__.order().id().limit(3), 3l, 3l},
+                {__.order().select("a").limit(7), 7l, Long.MAX_VALUE},
+                {__.order().out().limit(10), Long.MAX_VALUE, Long.MAX_VALUE}});
     }
 }
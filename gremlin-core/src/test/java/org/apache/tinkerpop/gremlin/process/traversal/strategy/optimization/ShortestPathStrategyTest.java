@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPath;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ShortestPathStrategyTest {
+
+    @Test
+    public void shouldReplaceVertexProgramStepWithoutGraphComputer() {
+        final Traversal.Admin<?, ?> traversal = __.V().shortestPath().as("p").
+                with(ShortestPath.edges, __.outE("knows")).
+                with(ShortestPath.distance, "weight").
+                with(ShortestPath.maxDistance, 2).
+                with(ShortestPath.includeEdges, true).asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ShortestPathStrategy.instance());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+
+        final ShortestPathStep step = (ShortestPathStep) traversal.getSteps().get(1);
+        assertEquals(2, step.getMaxDistance());
+        assertTrue(step.isIncludeEdges());
+        assertTrue(step.getLabels().contains("p"));
+        assertEquals(3, step.getLocalChildren().size());
+        assertEquals(__.outE("knows").asAdmin(), step.getLocalChildren().get(1));
+    }
+
+    @Test
+    public void shouldCountHopsWithoutDistanceTraversal() {
+        final Traversal.Admin<?, ?> traversal = __.V().shortestPath().asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ShortestPathStrategy.instance());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+
+        final ShortestPathStep step = (ShortestPathStep) traversal.getSteps().get(1);
+        assertNull(step.getMaxDistance());
+        assertFalse(step.isIncludeEdges());
+        assertEquals(2, step.getLocalChildren().size());
+    }
+
+    @Test
+    public void shouldNotReplaceVertexProgramStepWithGraphComputer() {
+        final Traversal.Admin<?, ?> traversal = __.V().shortestPath().asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(new VertexProgramStrategy(Computer.compute()), ShortestPathStrategy.instance());
+        traversal.setStrategies(strategies);
+        ShortestPathStrategy.instance().apply(traversal);
+
+        assertTrue(traversal.getSteps().get(1) instanceof ShortestPathVertexProgramStep);
+    }
+}
@@ -26,6 +26,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.function.Supplier;
 
@@ -43,7 +44,8 @@ public class TraverserSetImplementationTest {
     public static Iterable<Object[]> data() {
         return Arrays.asList(new Object[][]{
                 {TraverserSet.class.getSimpleName(), (Supplier) TraverserSet::new},
-                {IndexedTraverserSet.class.getSimpleName(), (Supplier) () -> new IndexedTraverserSet<String,String>(x -> x.substring(0,1))}});
+                {IndexedTraverserSet.class.getSimpleName(), (Supplier) () -> new IndexedTraverserSet<String,String>(x -> x.substring(0,1))},
+                {UnsynchronizedTraverserSet.class.getSimpleName(), (Supplier) UnsynchronizedTraverserSet::new}});
     }
 
     @Parameterized.Parameter(value = 0)
@@ -191,6 +193,49 @@ public class TraverserSetImplementationTest {
         assertEquals(3, ts.bulkSize());
     }
 
+    @Test
+    public void shouldRemoveTraversersInOrderWhileAdding() {
+        final TraverserSet<String> ts = traverserSetMaker.get();
+        for (int i = 0; i < 1000; i++) {
+            ts.add(makeTraverser("x" + i, 1));
+            ts.add(makeTraverser("x" + (i / 2), 1));
+            if (i % 3 == 0) ts.remove();
+        }
+        assertEquals(667, ts.size());
+
+        // the traversers of the first half were added by themselves and twice more as the half of another one
+        int expected = 333;
+        while (!ts.isEmpty()) {
+            final Traverser.Admin<String> traverser = ts.remove();
+            assertEquals("x" + expected, traverser.get());
+            assertEquals(expected < 500 ? 3 : 1, traverser.bulk());
+            expected++;
+        }
+        assertEquals(1000, expected);
+        assertNull(ts.poll());
+    }
+
+    @Test
+    public void shouldSortTraversers() {
+        final TraverserSet<String> ts = traverserSetMaker.get();
+        ts.add(makeTraverser("c", 1));
+        ts.add(makeTraverser("a", 1));
+        ts.add(makeTraverser("d", 1));
+        ts.add(makeTraverser("b", 1));
+        ts.remove();
+        ts.sort(Comparator.comparing(Traverser::get));
+
+        final Iterator<Traverser.Admin<String>> itty = ts.iterator();
+        assertEquals("a", itty.next().get());
+        assertEquals("b", itty.next().get());
+        assertEquals("d", itty.next().get());
+        assertThat(itty.hasNext(), is(false));
+
+        ts.add(makeTraverser("b", 2));
+        assertEquals(3, ts.get(makeTraverser("b", 1)).bulk());
+        assertThat(ts.contains(makeTraverser("c", 1)), is(false));
+    }
+
     private TraverserSet<String> makeStringTraversers() {
         final TraverserSet<String> ts = traverserSetMaker.get();
         ts.add(makeTraverser("a", 1));
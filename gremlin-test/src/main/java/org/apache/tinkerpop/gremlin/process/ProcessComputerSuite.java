@@ -22,6 +22,10 @@ import org.apache.tinkerpop.gremlin.AbstractGremlinSuite;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputerTest;
 import org.apache.tinkerpop.gremlin.process.computer.clone.CloneVertexProgramTest;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.connected.ConnectedComponentVertexProgramTest;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.labelpropagation.LabelPropagationVertexProgramTest;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.louvain.LouvainVertexProgramTest;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.triangle.TriangleCountVertexProgramTest;
 import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgramTest;
 import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgramTest;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
@@ -198,7 +202,11 @@ public class ProcessComputerSuite extends AbstractGremlinSuite {
 
             // algorithms
             PageRankVertexProgramTest.class,
+            ConnectedComponentVertexProgramTest.class,
             ShortestPathVertexProgramTest.class,
+            TriangleCountVertexProgramTest.class,
+            LabelPropagationVertexProgramTest.class,
+            LouvainVertexProgramTest.class,
             CloneVertexProgramTest.class,
 
             // decorations
@@ -21,6 +21,9 @@ package org.apache.tinkerpop.gremlin.process;
 import org.apache.tinkerpop.gremlin.AbstractGremlinSuite;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputerTest;
 import org.apache.tinkerpop.gremlin.process.computer.clone.CloneVertexProgramTest;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.labelpropagation.LabelPropagationVertexProgramTest;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.louvain.LouvainVertexProgramTest;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.triangle.TriangleCountVertexProgramTest;
 import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgramTest;
 import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgramTest;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
@@ -71,6 +74,9 @@ public class ProcessLimitedComputerSuite extends AbstractGremlinSuite {
             // algorithms
             PageRankVertexProgramTest.class,
             ShortestPathVertexProgramTest.class,
+            TriangleCountVertexProgramTest.class,
+            LabelPropagationVertexProgramTest.class,
+            LouvainVertexProgramTest.class,
             CloneVertexProgramTest.class,
 
             // optimizations
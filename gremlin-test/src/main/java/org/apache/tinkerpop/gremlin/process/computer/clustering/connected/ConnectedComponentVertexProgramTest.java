@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.connected;
+
+import org.apache.tinkerpop.gremlin.FeatureRequirement;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+
+public class ConnectedComponentVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = Graph.Features.VertexFeatures.FEATURE_ADD_VERTICES)
+    @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = Graph.Features.VertexFeatures.FEATURE_ADD_PROPERTY)
+    @FeatureRequirement(featureClass = Graph.Features.EdgeFeatures.class, feature = Graph.Features.EdgeFeatures.FEATURE_ADD_EDGES)
+    public void shouldExecuteIncrementalConnectedComponentsFromPreviousComponents() throws Exception {
+        // marko, vadas and josh are connected by knows edges while peter, lop and ripple are on their own
+        final ComputerResult previous = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(ConnectedComponentVertexProgram.build().edges(__.bothE("knows").asAdmin()).create(graph)).submit().get();
+        previous.graph().traversal().V().forEachRemaining(v -> graph.vertices(v.id()).next().
+                property("previousComponent", v.<String>value(ConnectedComponentVertexProgram.COMPONENT)));
+
+        // connect a new vertex to vadas and connect peter to lop
+        final Vertex vadas = convertToVertex(graph, "vadas");
+        final Vertex peter = convertToVertex(graph, "peter");
+        final Vertex lop = convertToVertex(graph, "lop");
+        final Vertex added = graph.addVertex("name", "added");
+        vadas.addEdge("knows", added);
+        peter.addEdge("knows", lop);
+
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(ConnectedComponentVertexProgram.build().edges(__.bothE("knows").asAdmin()).
+                        incremental("previousComponent", vadas.id(), added.id(), peter.id(), lop.id()).create(graph)).submit().get();
+        final ComputerResult expected = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(ConnectedComponentVertexProgram.build().edges(__.bothE("knows").asAdmin()).create(graph)).submit().get();
+
+        final Map<Object, String> expectedComponents = new HashMap<>();
+        expected.graph().traversal().V().forEachRemaining(v -> expectedComponents.put(v.id(), v.value(ConnectedComponentVertexProgram.COMPONENT)));
+        final Map<Object, String> components = new HashMap<>();
+        result.graph().traversal().V().forEachRemaining(v -> components.put(v.id(), v.value(ConnectedComponentVertexProgram.COMPONENT)));
+        assertEquals(expectedComponents, components);
+        assertEquals(components.get(convertToVertexId(graph, "marko")), components.get(added.id()));
+        assertEquals(components.get(peter.id()), components.get(lop.id()));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.labelpropagation;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LabelPropagationVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldPropagateLabels() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(LabelPropagationVertexProgram.build().create(graph)).submit().get();
+        final GraphTraversalSource g = result.graph().traversal();
+        final Set<Object> ids = g.V().id().toSet();
+        g.V().forEachRemaining(v -> assertTrue(ids.contains(v.value(LabelPropagationVertexProgram.LABEL))));
+
+        // a vertex with a single neighbor ends up with the label of that neighbor
+        assertEquals(label(g, "marko"), label(g, "vadas"));
+        assertEquals(label(g, "josh"), label(g, "ripple"));
+        assertEquals(label(g, "lop"), label(g, "peter"));
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldPropagateLabelsAlongFilteredEdges() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(LabelPropagationVertexProgram.build().edges(__.bothE("knows").asAdmin()).property("community").create(graph)).submit().get();
+        final GraphTraversalSource g = result.graph().traversal();
+        assertEquals(label(g, "marko", "community"), label(g, "vadas", "community"));
+        assertEquals(label(g, "marko", "community"), label(g, "josh", "community"));
+
+        // vertices without "knows" edges keep their own ids
+        for (final String name : new String[]{"lop", "ripple", "peter"}) {
+            assertEquals(g.V().has("name", name).id().next(), label(g, name, "community"));
+        }
+        final Set<Object> labels = g.V().values("community").toSet();
+        assertEquals(4, labels.size());
+    }
+
+    private static Object label(final GraphTraversalSource g, final String name) {
+        return label(g, name, LabelPropagationVertexProgram.LABEL);
+    }
+
+    private static Object label(final GraphTraversalSource g, final String name, final String property) {
+        return g.V().has("name", name).values(property).next();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.louvain;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.junit.Test;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class LouvainVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldDetectCommunities() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(LouvainVertexProgram.build().create(graph)).submit().get();
+        final GraphTraversalSource g = result.graph().traversal();
+        assertEquals(community(g, "marko"), community(g, "vadas"));
+        assertEquals(community(g, "josh"), community(g, "ripple"));
+        assertEquals(community(g, "lop"), community(g, "peter"));
+        assertNotEquals(community(g, "marko"), community(g, "josh"));
+        assertNotEquals(community(g, "marko"), community(g, "lop"));
+        assertNotEquals(community(g, "josh"), community(g, "lop"));
+
+        // three communities with one internal edge and a total degree of 4 out of 12 each
+        assertEquals(3 * (1.0d / 6.0d - 1.0d / 9.0d), (double) result.memory().get(LouvainVertexProgram.MODULARITY), 0.0001d);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldDetectCommunitiesOfFilteredEdges() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(LouvainVertexProgram.build().edges(__.bothE("created").asAdmin()).property("community").create(graph)).submit().get();
+        final GraphTraversalSource g = result.graph().traversal();
+        assertEquals(g.V().has("name", "vadas").id().next(), g.V().has("name", "vadas").values("community").next());
+        assertEquals(g.V().has("name", "josh").values("community").next(), g.V().has("name", "ripple").values("community").next());
+    }
+
+    private static Object community(final GraphTraversalSource g, final String name) {
+        return g.V().has("name", name).values(LouvainVertexProgram.COMMUNITY).next();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.triangle;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+
+public class TriangleCountVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldCountTriangles() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(TriangleCountVertexProgram.build().create(graph)).submit().get();
+        result.graph().traversal().V().forEachRemaining(v -> {
+            final String name = v.value("name");
+            final long triangles = v.value(TriangleCountVertexProgram.TRIANGLE_COUNT);
+            assertEquals(Arrays.asList("marko", "josh", "lop").contains(name) ? 1L : 0L, triangles);
+        });
+        assertEquals(1L, (long) result.memory().get(TriangleCountVertexProgram.TRIANGLES));
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldCountTrianglesOfDirectedEdgesAsUndirected() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(TriangleCountVertexProgram.build().edges(__.outE().asAdmin()).property("triangles").create(graph)).submit().get();
+        result.graph().traversal().V().forEachRemaining(v -> {
+            final String name = v.value("name");
+            final long triangles = v.value("triangles");
+            assertEquals(Arrays.asList("marko", "josh", "lop").contains(name) ? 1L : 0L, triangles);
+        });
+        assertEquals(1L, (long) result.memory().get(TriangleCountVertexProgram.TRIANGLES));
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldNotCountTrianglesOfFilteredEdges() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(TriangleCountVertexProgram.build().edges(__.bothE("knows").asAdmin()).create(graph)).submit().get();
+        result.graph().traversal().V().forEachRemaining(v ->
+                assertEquals(0L, (long) v.value(TriangleCountVertexProgram.TRIANGLE_COUNT)));
+        assertEquals(0L, (long) result.memory().get(TriangleCountVertexProgram.TRIANGLES));
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldComputeClusteringCoefficients() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(ClusteringCoefficientVertexProgram.build().create(graph)).submit().get();
+        result.graph().traversal().V().forEachRemaining(v -> {
+            final String name = v.value("name");
+            final double coefficient = v.value(ClusteringCoefficientVertexProgram.CLUSTERING_COEFFICIENT);
+            // marko, josh and lop have three neighbors, two of which are connected
+            assertEquals(Arrays.asList("marko", "josh", "lop").contains(name) ? 1.0d / 3.0d : 0.0d, coefficient, 0.0001d);
+        });
+    }
+}
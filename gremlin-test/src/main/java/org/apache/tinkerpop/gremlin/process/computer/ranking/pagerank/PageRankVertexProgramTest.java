@@ -18,15 +18,18 @@
  */
 package org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank;
 
+import org.apache.tinkerpop.gremlin.FeatureRequirement;
 import org.apache.tinkerpop.gremlin.LoadGraphWith;
 import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
 import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.apache.tinkerpop.gremlin.structure.Graph.Features.VertexFeatures.FEATURE_ADD_PROPERTY;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -113,4 +116,22 @@ public class PageRankVertexProgramTest extends AbstractGremlinProcessTest {
         final double sum = result.graph().traversal().V().values(PageRankVertexProgram.PAGE_RANK).sum().next().doubleValue();
         assertEquals(1.0d, sum, 0.01d);
     }
-}
\ No newline at end of file
+
+    @Test
+    @LoadGraphWith(MODERN)
+    @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = FEATURE_ADD_PROPERTY)
+    public void shouldExecuteIncrementalPageRankFromPreviousRanks() throws Exception {
+        final ComputerResult previous = graph.compute(graphProvider.getGraphComputer(graph).getClass()).program(PageRankVertexProgram.build().create(graph)).submit().get();
+        previous.graph().traversal().V().forEachRemaining(v -> graph.vertices(v.id()).next().property("previousRank", v.value(PageRankVertexProgram.PAGE_RANK)));
+
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).program(PageRankVertexProgram.build().incremental("previousRank").create(graph)).submit().get();
+        result.graph().traversal().V().forEachRemaining(v -> {
+            final double previousRank = v.value("previousRank");
+            final double pageRank = v.value(PageRankVertexProgram.PAGE_RANK);
+            assertEquals(previousRank, pageRank, 0.001d);
+        });
+        assertTrue(result.memory().getIteration() < previous.memory().getIteration());
+        final double sum = result.graph().traversal().V().values(PageRankVertexProgram.PAGE_RANK).sum().next().doubleValue();
+        assertEquals(1.0d, sum, 0.01d);
+    }
+}
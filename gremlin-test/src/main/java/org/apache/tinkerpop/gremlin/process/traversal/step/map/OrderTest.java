@@ -117,6 +117,12 @@ public abstract class OrderTest extends AbstractGremlinProcessTest {
 
     public abstract Traversal<Vertex, Object> get_g_VX1X_valuesXageX_orderXlocalX(final Object vid1);
 
+    public abstract Traversal<Vertex, Integer> get_g_withXorderSpillThreshold_2X_V_order_byXnameX_valuesXageX();
+
+    public abstract Traversal<Vertex, Integer> get_g_withXorderSpillThreshold_2X_V_projectXv_nX_byXX_byXnameX_order_byXselectXnXX_selectXvX_valuesXageX();
+
+    public abstract Traversal<Vertex, Map<String, String>> get_g_withXorderSpillThreshold_2X_V_asXaX_outXcreatedX_asXbX_order_byXselectXbX_byXnameXX_byXselectXaX_byXnameXX_selectXa_bX_byXnameX();
+
     @Test
     @LoadGraphWith(MODERN)
     public void g_V_name_order() {
@@ -505,6 +511,34 @@ public abstract class OrderTest extends AbstractGremlinProcessTest {
         checkResults(Arrays.asList(29), traversal);
     }
 
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_withXorderSpillThreshold_2X_V_order_byXnameX_valuesXageX() {
+        final Traversal<Vertex, Integer> traversal = get_g_withXorderSpillThreshold_2X_V_order_byXnameX_valuesXageX();
+        printTraversalForm(traversal);
+        checkOrderedResults(Arrays.asList(32, 29, 35, 27), traversal);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_withXorderSpillThreshold_2X_V_projectXv_nX_byXX_byXnameX_order_byXselectXnXX_selectXvX_valuesXageX() {
+        final Traversal<Vertex, Integer> traversal = get_g_withXorderSpillThreshold_2X_V_projectXv_nX_byXX_byXnameX_order_byXselectXnXX_selectXvX_valuesXageX();
+        printTraversalForm(traversal);
+        checkOrderedResults(Arrays.asList(32, 29, 35, 27), traversal);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_withXorderSpillThreshold_2X_V_asXaX_outXcreatedX_asXbX_order_byXselectXbX_byXnameXX_byXselectXaX_byXnameXX_selectXa_bX_byXnameX() {
+        final Traversal<Vertex, Map<String, String>> traversal = get_g_withXorderSpillThreshold_2X_V_asXaX_outXcreatedX_asXbX_order_byXselectXbX_byXnameXX_byXselectXaX_byXnameXX_selectXa_bX_byXnameX();
+        printTraversalForm(traversal);
+        checkOrderedResults(makeMapList(2,
+                "a", "josh", "b", "lop",
+                "a", "marko", "b", "lop",
+                "a", "peter", "b", "lop",
+                "a", "josh", "b", "ripple"), traversal);
+    }
+
     public Object getKey(final Object kv) {
         // remotes return LinkedHashMap and embedded returns Map.Entry :/
         if (kv instanceof Map.Entry)
@@ -659,5 +693,23 @@ public abstract class OrderTest extends AbstractGremlinProcessTest {
         public Traversal<Vertex, Object> get_g_VX1X_valuesXageX_orderXlocalX(final Object vid1) {
             return g.V(vid1).values("age").order(Scope.local);
         };
+
+        @Override
+        public Traversal<Vertex, Integer> get_g_withXorderSpillThreshold_2X_V_order_byXnameX_valuesXageX() {
+            return g.with(OrderGlobalStep.SPILL_THRESHOLD, 2).V().order().by("name").values("age");
+        }
+
+        @Override
+        public Traversal<Vertex, Integer> get_g_withXorderSpillThreshold_2X_V_projectXv_nX_byXX_byXnameX_order_byXselectXnXX_selectXvX_valuesXageX() {
+            return g.with(OrderGlobalStep.SPILL_THRESHOLD, 2).V().project("v", "n").by().by("name").
+                    order().by(__.select("n")).select("v").values("age");
+        }
+
+        @Override
+        public Traversal<Vertex, Map<String, String>> get_g_withXorderSpillThreshold_2X_V_asXaX_outXcreatedX_asXbX_order_byXselectXbX_byXnameXX_byXselectXaX_byXnameXX_selectXa_bX_byXnameX() {
+            return g.with(OrderGlobalStep.SPILL_THRESHOLD, 2).V().as("a").out("created").as("b").
+                    order().by(__.select("b").by("name")).by(__.select("a").by("name")).
+                    <String>select("a", "b").by("name");
+        }
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+/**
+ * Compares traversals of {@link Batching} steps against a {@link TinkerGraph} loaded with the Grateful Dead data set
+ * when {@code toList()} pulls their traversers in batches and when they are iterated one traverser at a time.
+ */
+@LoadGraphWith(LoadGraphWith.GraphData.GRATEFUL)
+public class BatchingBenchmark extends AbstractGraphBenchmark {
+
+    @Benchmark
+    public List<Object> g_V_out_out_hasXperformances_gtX10XX_name_batched() throws Exception {
+        return g.V().out().out().has("performances", P.gt(10)).values("name").toList();
+    }
+
+    @Benchmark
+    public List<Object> g_V_out_out_hasXperformances_gtX10XX_name_iterated() throws Exception {
+        return IteratorUtils.list(g.V().out().out().has("performances", P.gt(10)).values("name"));
+    }
+
+    @Benchmark
+    public List<Object> g_V_outE_inV_outE_inV_id_batched() throws Exception {
+        return g.V().outE().inV().outE().inV().id().toList();
+    }
+
+    @Benchmark
+    public List<Object> g_V_outE_inV_outE_inV_id_iterated() throws Exception {
+        return IteratorUtils.list(g.V().outE().inV().outE().inV().id());
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerIoRegistryV3;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A checkpoint of a computation of {@link TinkerGraphComputer}, which is written to a directory after every given
+ * number of iterations of the {@link VertexProgram} so that a computation that did not complete can be resumed after
+ * its last checkpoint rather than from the first iteration. A checkpoint holds the {@link TinkerMemory}, the values
+ * of the vertex compute keys and the messages that the vertices receive in the next iteration. As a
+ * {@link MessageScope.Local} can not be written to a file, the messages are written with the vertices that receive
+ * them and are sent to those vertices in a {@link MessageScope.Global} on resume. All values are written with Gryo.
+ * <p/>
+ * A checkpoint is only resumed by a computation with the same configuration of the {@link VertexProgram} and the
+ * same {@link GraphFilter}, which are compared by their string form, so that a program which was configured with
+ * lambdas can not be resumed in another JVM.
+ * <p/>
+ * A checkpoint is written to a temporary file which replaces the previous checkpoint once it is complete, so that a
+ * crash while writing leaves the previous checkpoint intact.
+ */
+final class TinkerCheckpoint {
+
+    private static final String FILE = "checkpoint";
+    private static final String TEMPORARY_FILE = "checkpoint.tmp";
+
+    private static final int MAGIC = 0x544B4350;
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final Path temporaryFile;
+    private final int interval;
+    private final GraphFilter graphFilter;
+    private final Kryo kryo = GryoMapper.build().version(GryoVersion.V3_0).addRegistry(TinkerIoRegistryV3.instance()).create().createMapper();
+
+    TinkerCheckpoint(final String location, final int interval, final GraphFilter graphFilter) {
+        if (interval < 1)
+            throw new IllegalArgumentException(String.format("The checkpoint interval must be at least 1: %s", interval));
+        final Path directory = Paths.get(location).toAbsolutePath();
+        this.file = directory.resolve(FILE);
+        this.temporaryFile = directory.resolve(TEMPORARY_FILE);
+        this.interval = interval;
+        this.graphFilter = graphFilter;
+    }
+
+    /**
+     * Determines if there is a checkpoint of a computation that did not complete.
+     */
+    public boolean exists() {
+        return Files.exists(this.file);
+    }
+
+    /**
+     * Determines if a checkpoint is to be written after the iterations that the memory has completed.
+     */
+    public boolean isDue(final Memory memory) {
+        return 0 == memory.getIteration() % this.interval;
+    }
+
+    /**
+     * Writes the state of the computation between two iterations, in which the messages of the previous iteration
+     * are received by the given vertices through the messengers.
+     */
+    public void write(final VertexProgram<?> vertexProgram, final TinkerMemory memory, final AbstractTinkerGraph graph,
+                      final TinkerGraphComputerView view, final List<Vertex> receivers,
+                      final Function<Vertex, Messenger<Object>> messengers) throws IOException {
+        Files.createDirectories(this.file.getParent());
+        try (final FileOutputStream stream = new FileOutputStream(this.temporaryFile.toFile());
+             final Output output = new Output(stream)) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeString(vertexProgram.getClass().getName());
+            output.writeString(this.describe(vertexProgram));
+            output.writeInt(memory.getIteration());
+            this.kryo.writeClassAndObject(output, memory.getValues());
+
+            final Iterator<Vertex> vertices = graph.vertices();
+            while (vertices.hasNext()) {
+                final Vertex vertex = vertices.next();
+                final Map<String, List<Object>> values = view.getComputeValues((TinkerVertex) vertex);
+                if (values.isEmpty()) continue;
+                output.writeBoolean(true);
+                this.kryo.writeClassAndObject(output, vertex.id());
+                this.kryo.writeClassAndObject(output, values);
+            }
+            output.writeBoolean(false);
+
+            for (final Vertex receiver : receivers) {
+                final List<Object> messages = IteratorUtils.list(messengers.apply(receiver).receiveMessages());
+                if (messages.isEmpty()) continue;
+                output.writeBoolean(true);
+                this.kryo.writeClassAndObject(output, receiver.id());
+                this.kryo.writeClassAndObject(output, messages);
+            }
+            output.writeBoolean(false);
+
+            output.flush();
+            stream.getFD().sync();
+        }
+
+        try {
+            Files.move(this.temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(this.temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Restores the state of the computation from the checkpoint. The messages are sent through the messengers and
+     * have to be made receivable by completing the iteration of the messages afterward.
+     */
+    public void restore(final VertexProgram<?> vertexProgram, final TinkerMemory memory, final AbstractTinkerGraph graph,
+                        final TinkerGraphComputerView view, final Function<Vertex, Messenger<Object>> messengers) throws IOException {
+        try (final Input input = new Input(Files.newInputStream(this.file))) {
+            if (input.readInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraphComputer checkpoint", this.file));
+            final int version = input.readInt();
+            if (version != VERSION)
+                throw new IOException(String.format("Unsupported TinkerGraphComputer checkpoint version %s", version));
+            final String vertexProgramClass = input.readString();
+            if (!vertexProgram.getClass().getName().equals(vertexProgramClass))
+                throw new IllegalStateException(String.format("The checkpoint %s was written by %s and can not be resumed by %s",
+                        this.file, vertexProgramClass, vertexProgram.getClass().getName()));
+            if (!this.describe(vertexProgram).equals(input.readString()))
+                throw new IllegalStateException(String.format("The checkpoint %s was written by %s with another configuration or graph filter and can not be resumed",
+                        this.file, vertexProgramClass));
+            final int iteration = input.readInt();
+            memory.restore(iteration, (Map<String, Object>) this.kryo.readClassAndObject(input));
+
+            while (input.readBoolean()) {
+                final TinkerVertex vertex = (TinkerVertex) vertex(graph, this.kryo.readClassAndObject(input));
+                final Map<String, List<Object>> values = (Map<String, List<Object>>) this.kryo.readClassAndObject(input);
+                values.forEach((key, list) -> list.forEach(value -> view.addProperty(vertex, key, value)));
+            }
+
+            while (input.readBoolean()) {
+                final Vertex vertex = vertex(graph, this.kryo.readClassAndObject(input));
+                final Messenger<Object> messenger = messengers.apply(vertex);
+                for (final Object message : (List<Object>) this.kryo.readClassAndObject(input)) {
+                    messenger.sendMessage(MessageScope.Global.of(vertex), message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the checkpoint once the computation completed.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    /**
+     * Describes the configuration of the vertex program and the graph filter, which have to be the same for the
+     * checkpoint to be resumed.
+     */
+    private String describe(final VertexProgram<?> vertexProgram) {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        vertexProgram.storeState(configuration);
+        final StringBuilder builder = new StringBuilder();
+        IteratorUtils.stream(configuration.getKeys()).sorted().forEach(key -> {
+            final Object value = configuration.getProperty(key);
+            builder.append(key).append('=').append(value instanceof Object[] ? Arrays.deepToString((Object[]) value) : value).append('\n');
+        });
+        return builder.append(this.graphFilter).toString();
+    }
+
+    private Vertex vertex(final AbstractTinkerGraph graph, final Object id) {
+        final Iterator<Vertex> vertices = graph.vertices(id);
+        if (!vertices.hasNext())
+            throw new IllegalStateException(String.format("The checkpoint %s refers to vertex %s which is not in the graph", this.file, id));
+        return vertices.next();
+    }
+}
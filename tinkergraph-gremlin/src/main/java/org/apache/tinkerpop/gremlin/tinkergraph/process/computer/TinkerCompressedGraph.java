@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.wrapped.WrappedVertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * The graph of a computation compiled into compressed sparse rows. Each vertex that passes the {@code GraphFilter} gets
+ * a dense ordinal which is also set on the vertex itself, and the edges of each direction are held in arrays of
+ * neighbor ordinals, edge label numbers and edges where the edges of the vertex with ordinal {@code i} are at the
+ * positions from {@code offsets[i]} to {@code offsets[i + 1]}. Supersteps then walk those arrays instead of hashing
+ * vertices and iterating the edge sets of each vertex.
+ */
+final class TinkerCompressedGraph {
+
+    private final AbstractTinkerGraph graph;
+    private final Vertex[] vertices;
+    private final Map<String, Integer> labels = new HashMap<>();
+    private final Adjacency out;
+    private final Adjacency in;
+
+    /**
+     * The edges that receive messages for each local {@link MessageScope}, which is empty if the incident traversal
+     * of the scope is more than a single step to incident edges.
+     */
+    private final Map<MessageScope.Local<?>, Optional<Incidence>> incidences = new ConcurrentHashMap<>();
+
+    private TinkerCompressedGraph(final AbstractTinkerGraph graph, final Vertex[] vertices) {
+        this.graph = graph;
+        this.vertices = vertices;
+        this.out = new Adjacency(Direction.OUT);
+        this.in = new Adjacency(Direction.IN);
+    }
+
+    /**
+     * Compiles the vertices and edges of the graph, which must already be in computer mode so that only the vertices
+     * and edges that pass the filter of the computation are visible.
+     */
+    public static TinkerCompressedGraph compile(final AbstractTinkerGraph graph) {
+        final List<Vertex> vertices = new ArrayList<>();
+        graph.vertices().forEachRemaining(vertex -> {
+            TinkerHelper.setComputeOrdinal((TinkerVertex) vertex, vertices.size());
+            vertices.add(vertex);
+        });
+
+        final TinkerCompressedGraph compressed = new TinkerCompressedGraph(graph, vertices.toArray(new Vertex[vertices.size()]));
+        compressed.out.compile(compressed);
+        compressed.in.compile(compressed);
+        return compressed;
+    }
+
+    /**
+     * Clears the ordinals of the vertices once the computation is done.
+     */
+    public void release() {
+        for (final Vertex vertex : this.vertices) {
+            TinkerHelper.setComputeOrdinal((TinkerVertex) vertex, -1);
+        }
+    }
+
+    /**
+     * Get the vertices in the order of their ordinals.
+     */
+    public List<Vertex> getVertices() {
+        return Arrays.asList(this.vertices);
+    }
+
+    public Vertex getVertex(final int ordinal) {
+        return this.vertices[ordinal];
+    }
+
+    /**
+     * Get the ordinal of a vertex which may be wrapped or detached, which is {@code -1} if the vertex is not part of
+     * the computation.
+     */
+    public int ordinal(Vertex vertex) {
+        while (vertex instanceof WrappedVertex) {
+            vertex = ((WrappedVertex<Vertex>) vertex).getBaseVertex();
+        }
+        if (vertex instanceof TinkerVertex && vertex.graph() == this.graph)
+            return TinkerHelper.getComputeOrdinal((TinkerVertex) vertex);
+
+        final Iterator<Vertex> vertices = this.graph.vertices(vertex.id());
+        return vertices.hasNext() ? TinkerHelper.getComputeOrdinal((TinkerVertex) vertices.next()) : -1;
+    }
+
+    public int size() {
+        return this.vertices.length;
+    }
+
+    /**
+     * Get the edges on which the vertex receives the messages sent to the local scope or {@code null} if the incident
+     * traversal of the scope can not be answered from the compressed rows.
+     */
+    public Incidence getIncidence(final MessageScope.Local<?> messageScope) {
+        return this.incidences.computeIfAbsent(messageScope, this::incidence).orElse(null);
+    }
+
+    private Optional<Incidence> incidence(final MessageScope.Local<?> messageScope) {
+        final Traversal.Admin<Vertex, Edge> incidentTraversal = messageScope.getIncidentTraversal().get().asAdmin();
+        final List<Step> steps = incidentTraversal.getSteps();
+        if (steps.size() != 1 || !(steps.get(0) instanceof VertexStep) || !((VertexStep<?>) steps.get(0)).returnsEdge())
+            return Optional.empty();
+
+        final VertexStep<?> step = (VertexStep<?>) steps.get(0);
+        final boolean[] legalLabels;
+        if (step.getEdgeLabels().length == 0) {
+            legalLabels = null;
+        } else {
+            legalLabels = new boolean[this.labels.size()];
+            for (final String label : step.getEdgeLabels()) {
+                final Integer id = this.labels.get(label);
+                if (null != id) legalLabels[id] = true;
+            }
+        }
+
+        // messages are sent along the incident edges so they are received along the edges in the other direction
+        switch (step.getDirection()) {
+            case OUT:
+                return Optional.of(new Incidence(legalLabels, new Adjacency[]{this.in}, new Adjacency[]{this.out}));
+            case IN:
+                return Optional.of(new Incidence(legalLabels, new Adjacency[]{this.out}, new Adjacency[]{this.in}));
+            default:
+                return Optional.of(new Incidence(legalLabels, new Adjacency[]{this.in, this.out}, new Adjacency[]{this.out, this.in}));
+        }
+    }
+
+    private int label(final String label) {
+        return this.labels.computeIfAbsent(label, k -> this.labels.size());
+    }
+
+    /**
+     * The edges of one direction of all vertices.
+     */
+    static final class Adjacency {
+        private final Direction direction;
+        private int[] offsets;
+        private int[] neighbors;
+        private int[] labels;
+        private Edge[] edges;
+
+        private Adjacency(final Direction direction) {
+            this.direction = direction;
+        }
+
+        private void compile(final TinkerCompressedGraph graph) {
+            final Vertex[] vertices = graph.vertices;
+            this.offsets = new int[vertices.length + 1];
+            for (int i = 0; i < vertices.length; i++) {
+                int degree = 0;
+                final Iterator<Edge> edges = vertices[i].edges(this.direction);
+                while (edges.hasNext()) {
+                    if (neighbor(edges.next()) >= 0) degree++;
+                }
+                this.offsets[i + 1] = this.offsets[i] + degree;
+            }
+
+            this.neighbors = new int[this.offsets[vertices.length]];
+            this.labels = new int[this.neighbors.length];
+            this.edges = new Edge[this.neighbors.length];
+            for (int i = 0; i < vertices.length; i++) {
+                int position = this.offsets[i];
+                final Iterator<Edge> edges = vertices[i].edges(this.direction);
+                while (edges.hasNext()) {
+                    final Edge edge = edges.next();
+                    final int neighbor = neighbor(edge);
+                    if (neighbor < 0) continue;
+                    this.neighbors[position] = neighbor;
+                    this.labels[position] = graph.label(edge.label());
+                    this.edges[position++] = edge;
+                }
+            }
+        }
+
+        /**
+         * Get the ordinal of the vertex at the other end of the edge, which is {@code -1} if that vertex is not part
+         * of the computation.
+         */
+        private int neighbor(final Edge edge) {
+            final Vertex vertex = Direction.OUT == this.direction ? edge.inVertex() : edge.outVertex();
+            return TinkerHelper.getComputeOrdinal((TinkerVertex) vertex);
+        }
+    }
+
+    /**
+     * The edges with the labels of the incident traversal of a local {@link MessageScope}.
+     */
+    static final class Incidence {
+        private final boolean[] legalLabels;
+        private final Adjacency[] receiving;
+        private final Adjacency[] sending;
+
+        private Incidence(final boolean[] legalLabels, final Adjacency[] receiving, final Adjacency[] sending) {
+            this.legalLabels = legalLabels;
+            this.receiving = receiving;
+            this.sending = sending;
+        }
+
+        /**
+         * Calls the consumer with the neighbor ordinal and the edge of each edge that the vertex receives messages on.
+         */
+        public void forEach(final int ordinal, final IncidentEdgeConsumer consumer) {
+            forEach(this.receiving, ordinal, consumer);
+        }
+
+        /**
+         * Calls the consumer with the ordinal of each vertex that receives the messages sent by the vertex.
+         */
+        public void forEachReceiver(final int ordinal, final IntConsumer consumer) {
+            forEach(this.sending, ordinal, (neighbor, edge) -> consumer.accept(neighbor));
+        }
+
+        private void forEach(final Adjacency[] adjacencies, final int ordinal, final IncidentEdgeConsumer consumer) {
+            for (final Adjacency adjacency : adjacencies) {
+                for (int i = adjacency.offsets[ordinal]; i < adjacency.offsets[ordinal + 1]; i++) {
+                    final int label = adjacency.labels[i];
+                    if (null == this.legalLabels || (label < this.legalLabels.length && this.legalLabels[label]))
+                        consumer.accept(adjacency.neighbors[i], adjacency.edges[i]);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface IncidentEdgeConsumer {
+        void accept(final int neighbor, final Edge edge);
+    }
+}
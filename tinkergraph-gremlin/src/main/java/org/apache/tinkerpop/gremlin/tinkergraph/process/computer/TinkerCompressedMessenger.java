@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link Messenger} for a computation over a {@link TinkerCompressedGraph} that sends and receives messages
+ * through {@link TinkerMessageBuffers}.
+ */
+final class TinkerCompressedMessenger<M> implements Messenger<M> {
+
+    private final Vertex vertex;
+    private final int ordinal;
+    private final int worker;
+    private final TinkerMessageBuffers<M> messageBuffers;
+    private final TinkerCompressedGraph compressedGraph;
+    private final MessageCombiner<M> combiner;
+
+    TinkerCompressedMessenger(final Vertex vertex, final int worker, final TinkerMessageBuffers<M> messageBuffers,
+                              final Optional<MessageCombiner<M>> combiner) {
+        this.vertex = vertex;
+        this.ordinal = TinkerHelper.getComputeOrdinal((TinkerVertex) vertex);
+        this.worker = worker;
+        this.messageBuffers = messageBuffers;
+        this.compressedGraph = messageBuffers.getCompressedGraph();
+        this.combiner = combiner.orElse(null);
+    }
+
+    @Override
+    public Iterator<M> receiveMessages() {
+        final List<Object> messages = new ArrayList<>();
+        for (final TinkerMessageBuffers.ScopeBuffer<M> buffer : this.messageBuffers.getReceiveBuffers()) {
+            if (buffer.isEmpty()) continue;
+            if (buffer.getMessageScope() instanceof MessageScope.Local) {
+                final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) buffer.getMessageScope();
+                final TinkerCompressedGraph.Incidence incidence = this.compressedGraph.getIncidence(localMessageScope);
+                if (null != incidence) {
+                    // walk the compressed rows of the vertex rather than evaluating the incident traversal
+                    incidence.forEach(this.ordinal, (neighbor, edge) -> addLocal(buffer, neighbor, edge, messages));
+                } else {
+                    final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
+                    final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
+                    final Iterator<Edge> edges = VertexProgramHelper.reverse(incidentTraversal.asAdmin());
+                    while (edges.hasNext()) {
+                        final Edge edge = edges.next();
+                        final Vertex neighbor = direction.equals(Direction.IN) || direction.equals(Direction.OUT) ?
+                                edge.vertices(direction).next() :
+                                edge.outVertex() == this.vertex ? edge.inVertex() : edge.outVertex();
+                        final int neighborOrdinal = this.compressedGraph.ordinal(neighbor);
+                        if (neighborOrdinal >= 0) addLocal(buffer, neighborOrdinal, edge, messages);
+                    }
+                }
+            } else {
+                buffer.addGlobal(this.ordinal, this.combiner, messages);
+            }
+        }
+        return messages.isEmpty() ? Collections.emptyIterator() : (Iterator<M>) messages.iterator();
+    }
+
+    @Override
+    public void sendMessage(final MessageScope messageScope, final M message) {
+        if (messageScope instanceof MessageScope.Local) {
+            this.messageBuffers.send(messageScope, this.worker, this.ordinal, message, this.combiner);
+        } else {
+            for (final Vertex target : ((MessageScope.Global) messageScope).vertices()) {
+                final int targetOrdinal = this.compressedGraph.ordinal(target);
+                if (targetOrdinal >= 0)
+                    this.messageBuffers.send(messageScope, this.worker, targetOrdinal, message, this.combiner);
+            }
+        }
+    }
+
+    private static <M> void addLocal(final TinkerMessageBuffers.ScopeBuffer<M> buffer, final int neighbor, final Edge edge, final List<Object> messages) {
+        final Object slot = buffer.getLocal(neighbor);
+        if (null == slot) return;
+        final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) buffer.getMessageScope();
+        final int start = messages.size();
+        TinkerMessageBuffers.addAll(slot, messages);
+        for (int i = start; i < messages.size(); i++) {
+            messages.set(i, localMessageScope.getEdgeFunction().apply((M) messages.get(i), edge));
+        }
+    }
+}
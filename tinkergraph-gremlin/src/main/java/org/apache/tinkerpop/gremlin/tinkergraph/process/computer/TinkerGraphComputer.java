@@ -23,6 +23,8 @@ import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.optimization.GraphFilterStrategy;
 import org.apache.tinkerpop.gremlin.process.computer.util.ComputerGraph;
@@ -51,6 +53,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -58,6 +61,53 @@ import java.util.concurrent.ThreadFactory;
  */
 public final class TinkerGraphComputer implements GraphComputer {
 
+    /**
+     * The configuration key for the {@link Engine} that executes the {@link VertexProgram}, which may be given as the
+     * enum or its name.
+     */
+    public static final String GREMLIN_TINKERGRAPH_COMPUTER_ENGINE = "gremlin.tinkergraph.computer.engine";
+
+    /**
+     * The configuration key for whether iterations of a {@link VertexProgram} that are
+     * {@link VertexProgram#isMessageDriven(Memory) message driven} only execute on the vertices that messages were
+     * sent to, which is {@code false} by default.
+     */
+    public static final String GREMLIN_TINKERGRAPH_COMPUTER_MESSAGE_DRIVEN = "gremlin.tinkergraph.computer.messageDriven";
+
+    /**
+     * The configuration key for the directory that a checkpoint of the computation is written to. A computation that
+     * finds the checkpoint of a computation of the same {@link VertexProgram} that did not complete in the directory
+     * resumes from it. The checkpoint is deleted once the computation completes and none is written by default.
+     */
+    public static final String GREMLIN_TINKERGRAPH_COMPUTER_CHECKPOINT_LOCATION = "gremlin.tinkergraph.computer.checkpointLocation";
+
+    /**
+     * The configuration key for the number of iterations of the {@link VertexProgram} after which a checkpoint is
+     * written, which is {@code 10} by default.
+     */
+    public static final String GREMLIN_TINKERGRAPH_COMPUTER_CHECKPOINT_INTERVAL = "gremlin.tinkergraph.computer.checkpointInterval";
+
+    /**
+     * The ways in which {@code TinkerGraphComputer} can execute a {@link VertexProgram}.
+     */
+    public enum Engine {
+        /**
+         * Executes directly against the vertices and edges of the graph.
+         */
+        STANDARD,
+
+        /**
+         * Compiles the vertices and edges that pass the {@link GraphFilter} into compressed sparse rows before the
+         * first iteration, gives each vertex a dense ordinal and keeps the vertex compute keys in columns indexed by
+         * those ordinals. Messages are kept in arrays indexed by those ordinals and combined as they are sent, and
+         * messages sent to a {@link org.apache.tinkerpop.gremlin.process.computer.MessageScope.Local} whose incident
+         * traversal is a single step to incident edges are received by walking the compressed rows. Only
+         * supported by {@link TinkerGraph} as the vertices of a {@code TinkerTransactionGraph} are not stable
+         * between reads, so the {@link #STANDARD} engine is used for other graphs.
+         */
+        CSR
+    }
+
     static {
         // GraphFilters are expensive w/ TinkerGraphComputer as everything is already in memory
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraphComputer.class,
@@ -75,6 +125,10 @@ public final class TinkerGraphComputer implements GraphComputer {
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
     private final GraphFilter graphFilter = new GraphFilter();
+    private Engine engine = Engine.STANDARD;
+    private boolean messageDriven = false;
+    private String checkpointLocation = null;
+    private int checkpointInterval = 10;
 
     private final ThreadFactory threadFactoryBoss = new BasicThreadFactory.Builder().namingPattern(TinkerGraphComputer.class.getSimpleName() + "-boss").build();
 
@@ -118,6 +172,46 @@ public final class TinkerGraphComputer implements GraphComputer {
         return this;
     }
 
+    /**
+     * Sets the {@link Engine} that executes the {@link VertexProgram}.
+     */
+    public TinkerGraphComputer engine(final Engine engine) {
+        this.engine = engine;
+        return this;
+    }
+
+    /**
+     * Sets whether iterations of the {@link VertexProgram} that are {@link VertexProgram#isMessageDriven(Memory)
+     * message driven} only execute on the vertices that messages were sent to.
+     */
+    public TinkerGraphComputer messageDriven(final boolean messageDriven) {
+        this.messageDriven = messageDriven;
+        return this;
+    }
+
+    /**
+     * Writes a checkpoint of the computation to the directory after every given number of iterations of the
+     * {@link VertexProgram} and resumes from the checkpoint that a computation which did not complete left there.
+     */
+    public TinkerGraphComputer checkpoint(final String location, final int interval) {
+        this.checkpointLocation = location;
+        this.checkpointInterval = interval;
+        return this;
+    }
+
+    @Override
+    public GraphComputer configure(final String key, final Object value) {
+        if (GREMLIN_TINKERGRAPH_COMPUTER_ENGINE.equals(key))
+            this.engine = value instanceof Engine ? (Engine) value : Engine.valueOf(value.toString().toUpperCase());
+        else if (GREMLIN_TINKERGRAPH_COMPUTER_MESSAGE_DRIVEN.equals(key))
+            this.messageDriven = value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(value.toString());
+        else if (GREMLIN_TINKERGRAPH_COMPUTER_CHECKPOINT_LOCATION.equals(key))
+            this.checkpointLocation = null == value ? null : value.toString();
+        else if (GREMLIN_TINKERGRAPH_COMPUTER_CHECKPOINT_INTERVAL.equals(key))
+            this.checkpointInterval = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
+        return this;
+    }
+
     @Override
     public GraphComputer vertices(final Traversal<Vertex, Vertex> vertexFilter) {
         this.graphFilter.setVertexFilter(vertexFilter);
@@ -162,38 +256,76 @@ public final class TinkerGraphComputer implements GraphComputer {
 
         // initialize the memory
         this.memory = new TinkerMemory(this.vertexProgram, this.mapReducers);
+        final TinkerCheckpoint checkpoint = null == this.vertexProgram || null == this.checkpointLocation ?
+                null : new TinkerCheckpoint(this.checkpointLocation, this.checkpointInterval, this.graphFilter);
         final Future<ComputerResult> result = computerService.submit(() -> {
             final long time = System.currentTimeMillis();
             final TinkerGraphComputerView view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter, null != this.vertexProgram ? this.vertexProgram.getVertexComputeKeys() : Collections.emptySet());
-            final TinkerWorkerPool workers = new TinkerWorkerPool(this.graph, this.memory, this.workers);
+            final TinkerCompressedGraph compressedGraph = Engine.CSR == this.engine && null != this.vertexProgram && this.graph instanceof TinkerGraph ?
+                    TinkerCompressedGraph.compile(this.graph) : null;
+            if (null != compressedGraph) view.useColumns(compressedGraph);
+            final TinkerWorkerPool workers = null == compressedGraph ?
+                    new TinkerWorkerPool(this.graph, this.memory, this.workers) :
+                    new TinkerWorkerPool(compressedGraph.getVertices(), this.memory, this.workers);
+            final TinkerMessageBuffers<?> messageBuffers = null == compressedGraph ? null :
+                    new TinkerMessageBuffers<>(compressedGraph, this.workers);
             try {
                 if (null != this.vertexProgram) {
                     // execute the vertex program
-                    this.vertexProgram.setup(this.memory);
+                    final TinkerWorkerPool.VertexProgramWorker worker = (workerIndex, vertices, vertexProgram, workerMemory) -> {
+                        vertexProgram.workerIterationStart(workerMemory.asImmutable());
+                        while (vertices.hasNext()) {
+                            final Vertex vertex = vertices.next();
+                            if (Thread.interrupted()) throw new TraversalInterruptedException();
+                            vertexProgram.execute(
+                                    ComputerGraph.vertexProgram(vertex, vertexProgram),
+                                    null == messageBuffers ?
+                                            new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()) :
+                                            new TinkerCompressedMessenger<>(vertex, workerIndex, messageBuffers, vertexProgram.getMessageCombiner()),
+                                    workerMemory);
+                        }
+                        vertexProgram.workerIterationEnd(workerMemory.asImmutable());
+                        workerMemory.complete();
+                    };
+                    // messengers that send and receive messages outside of an iteration for checkpoints
+                    final Function<Vertex, Messenger<Object>> messengers = vertex -> null == messageBuffers ?
+                            new TinkerMessenger<>(vertex, this.messageBoard, Optional.empty()) :
+                            new TinkerCompressedMessenger<>(vertex, 0, (TinkerMessageBuffers<Object>) messageBuffers, Optional.empty());
+                    if (null != checkpoint && checkpoint.exists()) {
+                        checkpoint.restore(this.vertexProgram, this.memory, this.graph, view, messengers);
+                        if (null == messageBuffers)
+                            this.messageBoard.completeIteration();
+                        else
+                            messageBuffers.completeIteration();
+                    } else {
+                        this.vertexProgram.setup(this.memory);
+                    }
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
                         this.memory.completeSubRound();
                         workers.setVertexProgram(this.vertexProgram);
-                        workers.executeVertexProgram((vertices, vertexProgram, workerMemory) -> {
-                            vertexProgram.workerIterationStart(workerMemory.asImmutable());
-                            while (vertices.hasNext()) {
-                                final Vertex vertex = vertices.next();
-                                if (Thread.interrupted()) throw new TraversalInterruptedException();
-                                vertexProgram.execute(
-                                        ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
-                                        workerMemory);
-                            }
-                            vertexProgram.workerIterationEnd(workerMemory.asImmutable());
-                            workerMemory.complete();
-                        });
-                        this.messageBoard.completeIteration();
+                        if (this.messageDriven && this.vertexProgram.isMessageDriven(this.memory.asImmutable())) {
+                            // only the vertices that messages were sent to can change in this iteration
+                            workers.executeVertexProgram(worker, null == messageBuffers ?
+                                    this.messageBoard.getReceivingVertices(this.graph) :
+                                    messageBuffers.getReceivingVertices());
+                        } else {
+                            workers.executeVertexProgram(worker);
+                        }
+                        if (null == messageBuffers)
+                            this.messageBoard.completeIteration();
+                        else
+                            messageBuffers.completeIteration();
                         this.memory.completeSubRound();
                         if (this.vertexProgram.terminate(this.memory)) {
                             this.memory.incrIteration();
                             break;
                         } else {
                             this.memory.incrIteration();
+                            if (null != checkpoint && checkpoint.isDue(this.memory))
+                                checkpoint.write(this.vertexProgram, this.memory, this.graph, view, null == messageBuffers ?
+                                        this.messageBoard.getReceivingVertices(this.graph) :
+                                        messageBuffers.getReceivingVertices(), messengers);
                         }
                     }
                     view.complete(); // drop all transient vertex compute keys
@@ -243,6 +375,7 @@ public final class TinkerGraphComputer implements GraphComputer {
                 // determine the resultant graph based on the result graph/persist state
                 final Graph resultGraph = view.processResultGraphPersist(this.resultGraph, this.persist);
                 TinkerHelper.dropGraphComputerView(this.graph); // drop the view from the original source graph
+                if (null != checkpoint) checkpoint.delete(); // the computation completed and is not resumed again
                 return new DefaultComputerResult(resultGraph, this.memory.asImmutable());
             } catch (InterruptedException ie) {
                 workers.closeNow();
@@ -252,6 +385,7 @@ public final class TinkerGraphComputer implements GraphComputer {
                 throw new RuntimeException(ex);
             } finally {
                 workers.close();
+                if (null != compressedGraph) compressedGraph.release();
             }
         });
         this.computerService.shutdown();
@@ -57,6 +57,12 @@ public final class TinkerGraphComputerView {
     private final AbstractTinkerGraph graph;
     protected final Map<String, VertexComputeKey> computeKeys;
     private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
+    /**
+     * Compute properties of the vertices of a {@link TinkerCompressedGraph} in a column per compute key which is
+     * indexed by the ordinals of the vertices. Each slot holds a single {@link VertexProperty} or a list of them.
+     */
+    private Map<String, Object[]> computeColumns = null;
+    private TinkerCompressedGraph compressedGraph = null;
     private final Set<Object> legalVertices = new HashSet<>();
     private final Map<Object, Set<Object>> legalEdges = new HashMap<>();
     private final GraphFilter graphFilter;
@@ -89,6 +95,15 @@ public final class TinkerGraphComputerView {
         }
     }
 
+    /**
+     * Keeps the compute properties of the vertices of the compressed graph in columns from now on.
+     */
+    void useColumns(final TinkerCompressedGraph compressedGraph) {
+        this.compressedGraph = compressedGraph;
+        this.computeColumns = new HashMap<>();
+        this.computeKeys.keySet().forEach(key -> this.computeColumns.put(key, new Object[compressedGraph.size()]));
+    }
+
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
@@ -119,6 +134,12 @@ public final class TinkerGraphComputerView {
         for (final List<VertexProperty<?>> properties : this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).values()) {
             list.addAll(properties);
         }
+        final int ordinal = ordinal(vertex);
+        if (ordinal >= 0) {
+            for (final Object[] column : this.computeColumns.values()) {
+                list.addAll(values(column[ordinal]));
+            }
+        }
         return list;
     }
 
@@ -146,6 +167,21 @@ public final class TinkerGraphComputerView {
         return !this.graphFilter.hasEdgeFilter() || this.legalEdges.get(vertex.id()).contains(edge.id());
     }
 
+    /**
+     * Get the values of the compute keys of the vertex.
+     */
+    protected Map<String, List<Object>> getComputeValues(final TinkerVertex vertex) {
+        final Map<String, List<Object>> values = new HashMap<>();
+        for (final String key : this.computeKeys.keySet()) {
+            final List<VertexProperty<?>> properties = this.getValue(vertex, key);
+            if (properties.isEmpty()) continue;
+            final List<Object> list = new ArrayList<>(properties.size());
+            properties.forEach(property -> list.add(property.value()));
+            values.put(key, list);
+        }
+        return values;
+    }
+
     protected void complete() {
         // remove all transient properties from the vertices
         for (final VertexComputeKey computeKey : this.computeKeys.values()) {
@@ -153,6 +189,8 @@ public final class TinkerGraphComputerView {
                 for (final Map<String, List<VertexProperty<?>>> properties : this.computeProperties.values()) {
                     properties.remove(computeKey.getKey());
                 }
+                if (null != this.computeColumns)
+                    this.computeColumns.remove(computeKey.getKey());
             }
         }
     }
@@ -222,6 +260,20 @@ public final class TinkerGraphComputerView {
             });
         });
         this.computeProperties.clear();
+        if (null != this.computeColumns) {
+            this.computeColumns.forEach((key, column) -> {
+                for (int i = 0; i < column.length; i++) {
+                    final Vertex vertex = this.compressedGraph.getVertex(i);
+                    for (final VertexProperty<?> vertexProperty : values(column[i])) {
+                        final VertexProperty<?> newVertexProperty = vertex.property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
+                        vertexProperty.properties().forEachRemaining(property -> {
+                            newVertexProperty.property(property.key(), property.value());
+                        });
+                    }
+                }
+            });
+            this.computeColumns = null;
+        }
     }
 
     //////////////////////
@@ -230,7 +282,37 @@ public final class TinkerGraphComputerView {
         return this.computeKeys.containsKey(key);
     }
 
+    private int ordinal(final Vertex vertex) {
+        return null == this.computeColumns ? -1 : TinkerHelper.getComputeOrdinal((TinkerVertex) vertex);
+    }
+
+    private static List<VertexProperty<?>> values(final Object slot) {
+        if (null == slot)
+            return Collections.emptyList();
+        else if (slot instanceof VertexProperty)
+            return Collections.singletonList((VertexProperty<?>) slot);
+        else
+            return (List<VertexProperty<?>>) slot;
+    }
+
     private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
+        final int ordinal = ordinal(vertex);
+        if (ordinal >= 0) {
+            final Object[] column = this.computeColumns.get(key);
+            final Object slot = column[ordinal];
+            if (null == slot) {
+                column[ordinal] = property;
+            } else if (slot instanceof VertexProperty) {
+                final List<VertexProperty<?>> list = new ArrayList<>(2);
+                list.add((VertexProperty<?>) slot);
+                list.add(property);
+                column[ordinal] = list;
+            } else {
+                ((List<VertexProperty<?>>) slot).add(property);
+            }
+            return;
+        }
+
         final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new HashMap<>());
         elementProperties.compute(key, (k, v) -> {
             if (null == v) v = new ArrayList<>();
@@ -240,10 +322,24 @@ public final class TinkerGraphComputerView {
     }
 
     private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
+        final int ordinal = ordinal(vertex);
+        if (ordinal >= 0) {
+            final Object[] column = this.computeColumns.get(key);
+            if (column[ordinal] == property)
+                column[ordinal] = null;
+            else if (column[ordinal] instanceof List)
+                ((List<VertexProperty<?>>) column[ordinal]).remove(property);
+            return;
+        }
         this.computeProperties.<List<Map<String, VertexProperty<?>>>>getOrDefault(vertex, Collections.emptyMap()).get(key).remove(property);
     }
 
     private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
+        final int ordinal = ordinal(vertex);
+        if (ordinal >= 0) {
+            final Object[] column = this.computeColumns.get(key);
+            return null == column ? Collections.emptyList() : values(column[ordinal]);
+        }
         return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
     }
 }
\ No newline at end of file
@@ -98,6 +98,26 @@ public final class TinkerMemory implements Memory.Admin {
         this.memoryKeys.values().stream().filter(MemoryComputeKey::isTransient).forEach(computeKey -> this.previousMap.remove(computeKey.getKey()));
     }
 
+    /**
+     * Get the values of the memory keys as they are between two iterations.
+     */
+    protected Map<String, Object> getValues() {
+        final Map<String, Object> values = new HashMap<>();
+        this.currentMap.forEach((key, value) -> values.put(key, value.orElse(null)));
+        return values;
+    }
+
+    /**
+     * Resumes the memory at an iteration with the values that the memory keys had before it.
+     */
+    protected void restore(final int iteration, final Map<String, Object> values) {
+        values.forEach(this::checkKeyValue);
+        this.currentMap = new ConcurrentHashMap<>();
+        values.forEach((key, value) -> this.currentMap.put(key, Optional.ofNullable(value)));
+        this.previousMap = new ConcurrentHashMap<>(this.currentMap);
+        this.iteration.set(iteration);
+    }
+
     protected void completeSubRound() {
         this.previousMap = new ConcurrentHashMap<>(this.currentMap);
         this.inExecute = !this.inExecute;
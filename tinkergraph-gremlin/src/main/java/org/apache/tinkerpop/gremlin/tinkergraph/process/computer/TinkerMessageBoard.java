@@ -20,8 +20,12 @@ package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -37,6 +41,23 @@ final class TinkerMessageBoard<M> {
     public Set<MessageScope> previousMessageScopes = new HashSet<>();
     public Set<MessageScope> currentMessageScopes = new HashSet<>();
 
+    /**
+     * Get the vertices that the messages sent in the previous iteration can be received by.
+     */
+    public List<Vertex> getReceivingVertices(final AbstractTinkerGraph graph) {
+        final Set<Object> ids = new HashSet<>();
+        this.receiveMessages.forEach((messageScope, messages) -> {
+            if (messageScope instanceof MessageScope.Local) {
+                for (final Vertex sender : messages.keySet()) {
+                    TinkerMessenger.forEachReceiver((MessageScope.Local<?>) messageScope, sender, receiver -> ids.add(receiver.id()));
+                }
+            } else {
+                messages.keySet().forEach(receiver -> ids.add(receiver.id()));
+            }
+        });
+        return ids.isEmpty() ? Collections.emptyList() : IteratorUtils.list(graph.vertices(ids.toArray()));
+    }
+
     public void completeIteration() {
         this.receiveMessages = this.sendMessages;
         this.sendMessages = new ConcurrentHashMap<>();
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The messages of a computation over a {@link TinkerCompressedGraph}, which are kept in arrays indexed by the
+ * ordinals of the vertices instead of a queue per vertex. Local messages are stored once at the ordinal of the sending
+ * vertex, while global messages are stored at the ordinal of the target vertex in an array of the worker that sends
+ * them. As a vertex is only ever executed by a single worker, messages are combined as they are sent without any
+ * contention. The arrays of one iteration are cleared and reused for the iteration after next.
+ */
+final class TinkerMessageBuffers<M> {
+
+    private final TinkerCompressedGraph compressedGraph;
+    private final int numberOfWorkers;
+
+    private Map<MessageScope, ScopeBuffer<M>> sendBuffers = new ConcurrentHashMap<>();
+    private Map<MessageScope, ScopeBuffer<M>> receiveBuffers = new ConcurrentHashMap<>();
+
+    TinkerMessageBuffers(final TinkerCompressedGraph compressedGraph, final int numberOfWorkers) {
+        this.compressedGraph = compressedGraph;
+        this.numberOfWorkers = numberOfWorkers;
+    }
+
+    public TinkerCompressedGraph getCompressedGraph() {
+        return this.compressedGraph;
+    }
+
+    /**
+     * Stores a message sent on a worker, either at the ordinal of the sending vertex if the scope is local or at the
+     * ordinal of the target vertex if the scope is global.
+     */
+    public void send(final MessageScope messageScope, final int worker, final int ordinal, final M message, final MessageCombiner<M> combiner) {
+        final ScopeBuffer<M> buffer = this.sendBuffers.computeIfAbsent(messageScope, ms -> new ScopeBuffer<>(ms, this.numberOfWorkers, this.compressedGraph.size()));
+        final Object[] slots;
+        if (messageScope instanceof MessageScope.Local) {
+            slots = buffer.slots[0];
+        } else {
+            if (null == buffer.slots[worker]) buffer.slots[worker] = new Object[this.compressedGraph.size()];
+            slots = buffer.slots[worker];
+        }
+        slots[ordinal] = append(slots[ordinal], message, combiner);
+        buffer.dirty[worker] = true;
+    }
+
+    /**
+     * Get the scopes that messages were sent to in the previous iteration.
+     */
+    public Collection<ScopeBuffer<M>> getReceiveBuffers() {
+        return this.receiveBuffers.values();
+    }
+
+    /**
+     * Get the vertices that the messages sent in the previous iteration can be received by in the order of their
+     * ordinals.
+     */
+    public List<Vertex> getReceivingVertices() {
+        final BitSet receivers = new BitSet(this.compressedGraph.size());
+        for (final ScopeBuffer<M> buffer : this.receiveBuffers.values()) {
+            if (buffer.isEmpty()) continue;
+            if (buffer.messageScope instanceof MessageScope.Local) {
+                final MessageScope.Local<?> localMessageScope = (MessageScope.Local<?>) buffer.messageScope;
+                final TinkerCompressedGraph.Incidence incidence = this.compressedGraph.getIncidence(localMessageScope);
+                final Object[] slots = buffer.slots[0];
+                for (int i = 0; i < slots.length; i++) {
+                    if (null == slots[i]) continue;
+                    if (null != incidence)
+                        incidence.forEachReceiver(i, receivers::set);
+                    else
+                        TinkerMessenger.forEachReceiver(localMessageScope, this.compressedGraph.getVertex(i), receiver -> {
+                            final int ordinal = this.compressedGraph.ordinal(receiver);
+                            if (ordinal >= 0) receivers.set(ordinal);
+                        });
+                }
+            } else {
+                for (final Object[] slots : buffer.slots) {
+                    if (null == slots) continue;
+                    for (int i = 0; i < slots.length; i++) {
+                        if (null != slots[i]) receivers.set(i);
+                    }
+                }
+            }
+        }
+
+        final List<Vertex> vertices = new ArrayList<>(receivers.cardinality());
+        for (int i = receivers.nextSetBit(0); i >= 0; i = receivers.nextSetBit(i + 1)) {
+            vertices.add(this.compressedGraph.getVertex(i));
+        }
+        return vertices;
+    }
+
+    /**
+     * Makes the messages sent in this iteration receivable in the next one and clears the messages of the previous
+     * iteration so that their arrays can take the messages of the next one.
+     */
+    public void completeIteration() {
+        final Map<MessageScope, ScopeBuffer<M>> cleared = this.receiveBuffers;
+        cleared.values().forEach(ScopeBuffer::clear);
+        this.receiveBuffers = this.sendBuffers;
+        this.sendBuffers = cleared;
+    }
+
+    private static <M> Object append(final Object slot, final M message, final MessageCombiner<M> combiner) {
+        if (null == slot) {
+            return message;
+        } else if (null != combiner) {
+            return combiner.combine((M) slot, message);
+        } else if (slot instanceof Messages) {
+            ((Messages) slot).add(message);
+            return slot;
+        } else {
+            final Messages messages = new Messages();
+            messages.add(slot);
+            messages.add(message);
+            return messages;
+        }
+    }
+
+    /**
+     * Adds the messages of a slot to the collection.
+     */
+    static void addAll(final Object slot, final Collection<Object> messages) {
+        if (slot instanceof Messages)
+            messages.addAll((Messages) slot);
+        else if (null != slot)
+            messages.add(slot);
+    }
+
+    /**
+     * The messages of one {@link MessageScope}. A local scope only uses the first array of slots, which is shared by
+     * all workers as each writes to the ordinals of its own vertices only.
+     */
+    static final class ScopeBuffer<M> {
+        private final MessageScope messageScope;
+        private final Object[][] slots;
+        private final boolean[] dirty;
+
+        private ScopeBuffer(final MessageScope messageScope, final int numberOfWorkers, final int size) {
+            this.messageScope = messageScope;
+            this.slots = new Object[numberOfWorkers][];
+            this.dirty = new boolean[numberOfWorkers];
+            if (messageScope instanceof MessageScope.Local)
+                this.slots[0] = new Object[size];
+        }
+
+        public MessageScope getMessageScope() {
+            return this.messageScope;
+        }
+
+        public boolean isEmpty() {
+            for (final boolean d : this.dirty) {
+                if (d) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Get the local messages sent by the vertex with the ordinal.
+         */
+        public Object getLocal(final int ordinal) {
+            return this.slots[0][ordinal];
+        }
+
+        /**
+         * Adds the global messages sent to the vertex with the ordinal, which are combined into one if there is a
+         * combiner.
+         */
+        public void addGlobal(final int ordinal, final MessageCombiner<M> combiner, final Collection<Object> messages) {
+            Object combined = null;
+            for (final Object[] worker : this.slots) {
+                if (null == worker || null == worker[ordinal]) continue;
+                if (null == combiner)
+                    addAll(worker[ordinal], messages);
+                else
+                    combined = append(combined, (M) worker[ordinal], combiner);
+            }
+            if (null != combined) messages.add(combined);
+        }
+
+        private void clear() {
+            if (this.messageScope instanceof MessageScope.Local) {
+                if (!isEmpty()) Arrays.fill(this.slots[0], null);
+                Arrays.fill(this.dirty, false);
+            } else {
+                for (int i = 0; i < this.dirty.length; i++) {
+                    if (!this.dirty[i]) continue;
+                    Arrays.fill(this.slots[i], null);
+                    this.dirty[i] = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * The messages of a slot if there is more than one and no combiner.
+     */
+    private static final class Messages extends ArrayList<Object> {
+        private Messages() {
+            super(2);
+        }
+    }
+}
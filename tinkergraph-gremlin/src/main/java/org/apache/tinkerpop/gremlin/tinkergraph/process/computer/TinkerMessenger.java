@@ -39,6 +39,7 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -118,12 +119,34 @@ public final class TinkerMessenger<M> implements Messenger<M> {
 
     ///////////
 
-    private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
+    static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
         incidentTraversal.addStart(incidentTraversal.getTraverserGenerator().generate(vertex,incidentTraversal.getStartStep(),1l));
         return (T) incidentTraversal;
     }
 
-    private static Direction getDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
+    /**
+     * Calls the consumer with each vertex that can receive the messages that the sender sends to the local scope. If
+     * the incident traversal is more than a single step to incident edges, both vertices of the edges are given.
+     */
+    static void forEachReceiver(final MessageScope.Local<?> localMessageScope, final Vertex sender, final Consumer<Vertex> consumer) {
+        final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), sender);
+        final Direction direction = incidentTraversal.getSteps().size() == 1 && incidentTraversal.getStartStep() instanceof VertexStep ?
+                ((VertexStep<?>) incidentTraversal.getStartStep()).getDirection() : null;
+        incidentTraversal.forEachRemaining(edge -> {
+            if (Direction.OUT == direction) {
+                consumer.accept(edge.inVertex());
+            } else if (Direction.IN == direction) {
+                consumer.accept(edge.outVertex());
+            } else if (Direction.BOTH == direction) {
+                consumer.accept(edge.outVertex().equals(sender) ? edge.inVertex() : edge.outVertex());
+            } else {
+                consumer.accept(edge.outVertex());
+                consumer.accept(edge.inVertex());
+            }
+        });
+    }
+
+    static Direction getDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection();
     }
@@ -25,22 +25,31 @@ import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
-import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
+ * Executes vertex programs and map reduce jobs over a fixed number of workers. The vertices are split once into many
+ * more chunks than there are workers, each holding vertices with about the same total number of edges, and in each
+ * iteration the workers take the next chunk as soon as they are done with their current one, starting with the
+ * heaviest chunks. A few vertices with a very high degree thus no longer keep a single worker busy while the others
+ * are idle.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -48,6 +57,11 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
+    /**
+     * The number of chunks that are aimed for per worker.
+     */
+    private static final int CHUNKS_PER_WORKER = 16;
+
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
@@ -55,34 +69,65 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+    private final List<List<Vertex>> chunks = new ArrayList<>();
 
     public TinkerWorkerPool(final AbstractTinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
+        this(graph.vertices(), memory, numberOfWorkers);
+    }
+
+    TinkerWorkerPool(final List<Vertex> vertices, final TinkerMemory memory, final int numberOfWorkers) {
+        this(vertices.iterator(), memory, numberOfWorkers);
+    }
+
+    private TinkerWorkerPool(final Iterator<Vertex> vertices, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
         this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, THREAD_FACTORY_WORKER);
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
         }
-        int batchSize = graph.getVerticesCount() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
-
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
-        final Iterator<Vertex> iterator = graph.vertices();
-        while (iterator.hasNext()) {
-            final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
+
+        // each vertex weighs one for itself and one for each of its edges
+        final List<Vertex> all = new ArrayList<>();
+        final List<Integer> weights = new ArrayList<>();
+        long totalWeight = 0;
+        while (vertices.hasNext()) {
+            final Vertex vertex = vertices.next();
+            final int weight = 1 + TinkerHelper.getDegree((TinkerVertex) vertex);
+            all.add(vertex);
+            weights.add(weight);
+            totalWeight += weight;
+        }
+
+        final long chunkWeight = Math.max(1, totalWeight / ((long) this.numberOfWorkers * CHUNKS_PER_WORKER));
+        final List<Long> chunkWeights = new ArrayList<>();
+        List<Vertex> chunk = new ArrayList<>();
+        long weight = 0;
+        for (int i = 0; i < all.size(); i++) {
+            chunk.add(all.get(i));
+            weight += weights.get(i);
+            if (weight >= chunkWeight) {
+                this.chunks.add(chunk);
+                chunkWeights.add(weight);
+                chunk = new ArrayList<>();
+                weight = 0;
             }
         }
+        if (!chunk.isEmpty()) {
+            this.chunks.add(chunk);
+            chunkWeights.add(weight);
+        }
+
+        // the heaviest chunks go first so that the lightest ones fill the gaps at the end of an iteration
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < this.chunks.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing((Integer i) -> chunkWeights.get(i)).reversed());
+        final List<List<Vertex>> sorted = new ArrayList<>(this.chunks.size());
+        order.forEach(i -> sorted.add(this.chunks.get(i)));
+        this.chunks.clear();
+        this.chunks.addAll(sorted);
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -94,13 +139,38 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        executeVertexProgram((workerIndex, vertices, vertexProgram, workerMemory) -> worker.accept(vertices, vertexProgram, workerMemory));
+    }
+
+    /**
+     * Executes the vertex program on each worker, which is given the index of the worker between zero and the number
+     * of workers and an iterator that takes chunks of vertices until none are left for this iteration.
+     */
+    public void executeVertexProgram(final VertexProgramWorker worker) throws InterruptedException {
+        executeChunks(worker, this.chunks);
+    }
+
+    /**
+     * Executes the vertex program on each worker like {@link #executeVertexProgram(VertexProgramWorker)} but only for
+     * the given vertices, which are split into chunks of equal size.
+     */
+    public void executeVertexProgram(final VertexProgramWorker worker, final List<Vertex> vertices) throws InterruptedException {
+        final int chunkSize = Math.max(1, vertices.size() / (this.numberOfWorkers * CHUNKS_PER_WORKER));
+        final List<List<Vertex>> chunks = new ArrayList<>();
+        for (int i = 0; i < vertices.size(); i += chunkSize) {
+            chunks.add(vertices.subList(i, Math.min(i + chunkSize, vertices.size())));
+        }
+        executeChunks(worker, chunks);
+    }
+
+    private void executeChunks(final VertexProgramWorker worker, final List<List<Vertex>> chunks) throws InterruptedException {
+        final AtomicInteger nextChunk = new AtomicInteger();
         for (int i = 0; i < this.numberOfWorkers; i++) {
             final int index = i;
             this.completionService.submit(() -> {
                 final VertexProgram vp = this.vertexProgramPool.take();
                 final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
+                worker.accept(index, new ChunkIterator(chunks, nextChunk), vp, workerMemory);
                 this.vertexProgramPool.offer(vp);
                 this.workerMemoryPool.offer(workerMemory);
                 return null;
@@ -145,4 +215,44 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    public interface VertexProgramWorker {
+        void accept(final int workerIndex, final Iterator<Vertex> vertices, final VertexProgram vertexProgram, final TinkerWorkerMemory workerMemory);
+    }
+
+    /**
+     * Iterates the vertices of the chunks that it takes from those that no worker has taken yet in this iteration.
+     */
+    private static final class ChunkIterator implements Iterator<Vertex> {
+        private final List<List<Vertex>> chunks;
+        private final AtomicInteger nextChunk;
+        private Iterator<Vertex> current = null;
+        private boolean done = false;
+
+        private ChunkIterator(final List<List<Vertex>> chunks, final AtomicInteger nextChunk) {
+            this.chunks = chunks;
+            this.nextChunk = nextChunk;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == this.current || !this.current.hasNext()) {
+                if (this.done) return false;
+                final int chunk = this.nextChunk.getAndIncrement();
+                if (chunk >= this.chunks.size()) {
+                    this.done = true;
+                    return false;
+                }
+                this.current = this.chunks.get(chunk).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return this.current.next();
+        }
+    }
+}
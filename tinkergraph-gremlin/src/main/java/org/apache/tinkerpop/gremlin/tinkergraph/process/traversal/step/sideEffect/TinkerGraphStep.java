@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.GremlinTypeErrorException;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
@@ -28,19 +29,24 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerIndex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraphIterator;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerIndexHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -69,7 +75,6 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Edge> edges() {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         Iterator<Edge> iterator;
         final Object[] resolvedIds = this.getIdsAsValues();
         // ids are present, filter on them first
@@ -77,13 +82,16 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             iterator = Collections.emptyIterator();
         else if (resolvedIds.length > 0)
             iterator = this.iteratorList(graph.edges(resolvedIds));
-        else
-            iterator = null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerIndexHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+        else {
+            final List<? extends Element> indexed = queryIndex(graph, Edge.class);
+            final Collection<String> labels = getIndexedLabels();
+            iterator = null == indexed ?
+                    this.iteratorList(null == labels ? graph.edges() : graph.edgesByLabel(labels)) :
+                    indexed.stream()
+                                .map(edge -> (Edge) edge)
                                 .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
                                 .collect(Collectors.<Edge>toList()).iterator();
-
+        }
 
         iterators.add(iterator);
 
@@ -92,7 +100,6 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Vertex> vertices() {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         Iterator<? extends Vertex> iterator;
         final Object[] resolvedIds = this.getIdsAsValues();
         // ids are present, filter on them first
@@ -100,24 +107,119 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             iterator = Collections.emptyIterator();
         else if (resolvedIds.length > 0)
             iterator = this.iteratorList(graph.vertices(resolvedIds));
-        else
-            iterator = (null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerIndexHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
+        else {
+            final List<? extends Element> indexed = queryIndex(graph, Vertex.class);
+            final Collection<String> labels = getIndexedLabels();
+            iterator = (null == indexed ?
+                    this.iteratorList(null == labels ? graph.vertices() : graph.verticesByLabel(labels)) :
+                    IteratorUtils.filter((Iterator<Vertex>) indexed.iterator(),
                                          vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+        }
 
         iterators.add(iterator);
 
         return iterator;
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((AbstractTinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
+    /**
+     * Finds the candidate elements with the most selective index that can answer the {@code has()} filters of this
+     * step or returns {@code null} if there is no such index. Single key equality lookups and composite lookups on
+     * equality filtered leading keys are compared by the number of elements they would return, while a range
+     * lookup on a single key is only used when neither of those apply.
+     */
+    private List<? extends Element> queryIndex(final AbstractTinkerGraph graph, final Class<? extends Element> indexedClass) {
+        final AbstractTinkerIndex<? extends Element> index = TinkerIndexHelper.getIndex(graph, indexedClass);
+        if (null == index)
+            return null;
 
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+        final String indexedKey = getIndexKey(index);
+        final Set<List<String>> compositeIndexedKeys = TinkerIndexHelper.getCompositeIndexedKeys(index);
+        if (compositeIndexedKeys.isEmpty())
+            return null == indexedKey ? null : index.get(indexedKey, getIndexedPredicates(index, indexedKey));
+
+        final Map<String, Object> equalities = new HashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (null != hasContainer.getKey() && hasContainer.getPredicate().getBiPredicate() == Compare.eq)
+                equalities.putIfAbsent(hasContainer.getKey(), hasContainer.getPredicate().getValue());
+        }
 
+        long bestCount = null != indexedKey && equalities.containsKey(indexedKey) ?
+                index.count(indexedKey, equalities.get(indexedKey)) : Long.MAX_VALUE;
+
+        List<String> compositeKeys = null;
+        List<Object> compositeValues = null;
+        for (final List<String> keys : compositeIndexedKeys) {
+            final List<Object> values = new ArrayList<>();
+            for (final String key : keys) {
+                if (!equalities.containsKey(key)) break;
+                values.add(equalities.get(key));
+            }
+            if (values.isEmpty()) continue;
+
+            final long count = TinkerIndexHelper.countCompositeIndex(index, keys, values, bestCount);
+            if (count < bestCount) {
+                bestCount = count;
+                compositeKeys = keys;
+                compositeValues = values;
+            }
+        }
+
+        if (null != compositeKeys)
+            return TinkerIndexHelper.queryCompositeIndex(index, compositeKeys, compositeValues);
+        else if (null != indexedKey)
+            return index.get(indexedKey, getIndexedPredicates(index, indexedKey));
+        else
+            return null;
+    }
+
+    /**
+     * Selects the property key whose index will be used to find the starting elements. An equality lookup is
+     * preferred as it resolves to a single entry of the index, otherwise the first key with a predicate the index
+     * can answer (e.g. a range on a {@code SORTED} index) is chosen.
+     */
+    private String getIndexKey(final AbstractTinkerIndex<? extends Element> index) {
+        String rangeKey = null;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (null != hasContainer.getKey() && index.isIndexable(hasContainer.getKey(), hasContainer.getPredicate())) {
+                if (hasContainer.getPredicate().getBiPredicate() == Compare.eq)
+                    return hasContainer.getKey();
+                else if (null == rangeKey)
+                    rangeKey = hasContainer.getKey();
+            }
+        }
+        return rangeKey;
+    }
+
+    /**
+     * Gets the labels of the first {@code hasLabel()} filter of this step so that only the elements with those labels
+     * need to be scanned, or {@code null} if there is no such filter.
+     */
+    private Collection<String> getIndexedLabels() {
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!T.label.getAccessor().equals(hasContainer.getKey()))
+                continue;
+
+            final Object value = hasContainer.getPredicate().getValue();
+            if (hasContainer.getPredicate().getBiPredicate() == Compare.eq && value instanceof String)
+                return Collections.singletonList((String) value);
+            else if (hasContainer.getPredicate().getBiPredicate() == Contains.within && value instanceof Collection &&
+                    ((Collection<?>) value).stream().allMatch(label -> label instanceof String))
+                return (Collection<String>) value;
+        }
+        return null;
+    }
+
+    /**
+     * Gathers all predicates on the key that the index can answer so that, for example, the two halves of a
+     * {@code between()} are resolved as a single range lookup.
+     */
+    private List<P<?>> getIndexedPredicates(final AbstractTinkerIndex<? extends Element> index, final String key) {
+        final List<P<?>> predicates = new ArrayList<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (key.equals(hasContainer.getKey()) && index.isIndexable(key, hasContainer.getPredicate()))
+                predicates.add(hasContainer.getPredicate());
+        }
+        return predicates;
     }
 
     @Override
@@ -19,34 +19,43 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.AggregateGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
  * This strategy will do a graph size call if the traversal is a count of the vertices and edges of the graph
- * or a one-to-one map chain thereof.
+ * or a one-to-one map chain thereof. A single {@code hasLabel()} filter is answered by the size of the label
+ * partitions of the graph.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
  * g.V().count()               // is replaced by TinkerCountGlobalStep
  * g.V().map(out()).count()    // is replaced by TinkerCountGlobalStep
  * g.E().label().count()       // is replaced by TinkerCountGlobalStep
+ * g.V().hasLabel("person").count()  // is replaced by TinkerCountGlobalStep
  * </pre>
  */
 public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
@@ -67,8 +76,15 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
                 !(steps.get(steps.size() - 1) instanceof CountGlobalStep))
             return;
 
+        Set<String> labels = null;
         for (int i = 1; i < steps.size() - 1; i++) {
             final Step current = steps.get(i);
+            if (current instanceof HasStep && null == labels) {
+                labels = getLabels((HasStep<?>) current);
+                if (null == labels) return;
+                continue;
+            }
+
             // used to include "current instanceof MapStep" but they will not necessarily emit an element as
             // demonstrated in https://issues.apache.org/jira/browse/TINKERPOP-1958
             //
@@ -82,7 +98,28 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         }
         final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
         TraversalHelper.removeAllSteps(traversal);
-        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass));
+        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass, labels));
+    }
+
+    /**
+     * Gets the labels of a {@code HasStep} that does nothing but filter on label, otherwise {@code null}.
+     */
+    private static Set<String> getLabels(final HasStep<?> hasStep) {
+        if (hasStep.getHasContainers().size() != 1)
+            return null;
+
+        final HasContainer hasContainer = hasStep.getHasContainers().get(0);
+        if (!T.label.getAccessor().equals(hasContainer.getKey()))
+            return null;
+
+        final Object value = hasContainer.getPredicate().getValue();
+        if (hasContainer.getPredicate().getBiPredicate() == Compare.eq && value instanceof String)
+            return Collections.singleton((String) value);
+        else if (hasContainer.getPredicate().getBiPredicate() == Contains.within && value instanceof Collection &&
+                ((Collection<?>) value).stream().allMatch(label -> label instanceof String))
+            return new LinkedHashSet<>((Collection<String>) value);
+        else
+            return null;
     }
 
     @Override
@@ -34,9 +34,16 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
@@ -62,6 +69,9 @@ public abstract class AbstractTinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
     public static final String GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES = "gremlin.tinkergraph.allowNullPropertyValues";
     public static final String GREMLIN_TINKERGRAPH_SERVICE = "gremlin.tinkergraph.service";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL = "gremlin.tinkergraph.writeAheadLogSyncInterval";
+    public static final String GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL = "gremlin.tinkergraph.checkpointInterval";
 
 
     protected AtomicLong currentId = new AtomicLong(-1L);
@@ -70,6 +80,8 @@ public abstract class AbstractTinkerGraph implements Graph {
     protected TinkerGraphComputerView graphComputerView = null;
     protected AbstractTinkerIndex<TinkerVertex> vertexIndex = null;
     protected AbstractTinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerPropertyColumns vertexPropertyColumns = null;
+    protected TinkerWriteAheadLog writeAheadLog = null;
 
     protected IdManager<Vertex> vertexIdManager;
     protected IdManager<Edge> edgeIdManager;
@@ -143,6 +155,26 @@ public abstract class AbstractTinkerGraph implements Graph {
      */
     public abstract Iterator<Edge> edges(final Object... edgeIds);
 
+    /**
+     * Return the vertices that have one of the specified labels. The default implementation filters all vertices,
+     * so graphs that keep their vertices partitioned by label should override it.
+     * @param labels vertex labels
+     * @return Iterator of vertices
+     */
+    public Iterator<Vertex> verticesByLabel(final Collection<String> labels) {
+        return IteratorUtils.filter(vertices(), v -> labels.contains(v.label()));
+    }
+
+    /**
+     * Return the edges that have one of the specified labels. The default implementation filters all edges,
+     * so graphs that keep their edges partitioned by label should override it.
+     * @param labels edge labels
+     * @return Iterator of edges
+     */
+    public Iterator<Edge> edgesByLabel(final Collection<String> labels) {
+        return IteratorUtils.filter(edges(), e -> labels.contains(e.label()));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -159,6 +191,15 @@ public abstract class AbstractTinkerGraph implements Graph {
      */
     public abstract boolean hasVertex(final Object id);
 
+    /**
+     * Graph-specific implementation for number of vertices with one of the specified labels.
+     * @param labels vertex labels
+     * @return count of vertices with the labels in Graph.
+     */
+    public long getVerticesCount(final Collection<String> labels) {
+        return IteratorUtils.count(verticesByLabel(labels));
+    }
+
     /**
      * Graph-specific implementation for number of vertices.
      * @return count of vertices in Graph.
@@ -170,6 +211,15 @@ public abstract class AbstractTinkerGraph implements Graph {
      */
     public abstract boolean hasEdge(final Object id);
 
+    /**
+     * Graph-specific implementation for number of edges with one of the specified labels.
+     * @param labels edge labels
+     * @return count of edges with the labels in Graph.
+     */
+    public long getEdgesCount(final Collection<String> labels) {
+        return IteratorUtils.count(edgesByLabel(labels));
+    }
+
     protected void loadGraph() {
         final File f = new File(graphLocation);
         if (f.exists() && f.isFile()) {
@@ -180,6 +230,8 @@ public abstract class AbstractTinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals(TinkerSnapshot.FORMAT)) {
+                    TinkerSnapshot.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -191,32 +243,87 @@ public abstract class AbstractTinkerGraph implements Graph {
 
     protected void saveGraph() {
         final File f = new File(graphLocation);
-        if (f.exists()) {
-            f.delete();
-        } else {
-            final File parent = f.getParentFile();
-
-            // the parent would be null in the case of an relative path if the graphLocation was simply: "f.gryo"
-            if (parent != null && !parent.exists()) {
-                parent.mkdirs();
-            }
+        final File parent = f.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
         }
 
+        // write to a temporary file first so that a failure leaves the previously saved graph intact
+        final File temp = new File(graphLocation + ".tmp");
+        final String tempLocation = temp.getPath();
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(tempLocation);
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(tempLocation);
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                io(IoCore.gryo()).writeGraph(tempLocation);
+            } else if (graphFormat.equals(TinkerSnapshot.FORMAT)) {
+                TinkerSnapshot.write(this, temp);
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(tempLocation);
+            }
+            if (!temp.exists())
+                throw new IOException(String.format("The graph was not written to %s", tempLocation));
+            try {
+                Files.move(temp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
         } catch (Exception ex) {
+            temp.delete();
             throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
         }
     }
 
+    /**
+     * Opens the write-ahead log of the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} if it is enabled, after replaying
+     * the changes it holds from a previous instance that was not closed. Should be called once the graph is loaded.
+     */
+    protected void openWriteAheadLog() {
+        if (!configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false)) return;
+        if (null == graphLocation)
+            throw new IllegalStateException(String.format("The %s must be specified to use the %s",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+
+        try {
+            TinkerWriteAheadLog.replay(this, graphLocation);
+            writeAheadLog = new TinkerWriteAheadLog(this, graphLocation,
+                    configuration.getLong(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0L),
+                    configuration.getLong(GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 300000L));
+        } catch (Exception ex) {
+            throw new RuntimeException(String.format("Could not open the write-ahead log of %s", graphLocation), ex);
+        }
+    }
+
+    /**
+     * Holds off checkpoints until {@link #endMutation(TinkerWriteAheadLog)} is called with the returned log, so that
+     * the graph is not written while it is changed, and logs the elements that were touched in the meantime once
+     * the outermost change ends. Returns {@code null} if the graph does not log its changes as they happen, in which
+     * case commits hold off checkpoints instead.
+     */
+    TinkerWriteAheadLog beginMutation() {
+        return null;
+    }
+
+    void endMutation(final TinkerWriteAheadLog log) {
+        if (null != log) log.endMutation();
+    }
+
+    /**
+     * Persists the graph to the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} and discards the part of the write-ahead
+     * log that this makes obsolete. Checkpoints are otherwise taken in the background on the
+     * {@link #GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL}. This method has no effect unless the
+     * {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is enabled, and while a {@link TinkerBulkLoader} is open.
+     */
+    public void checkpoint() {
+        if (null == writeAheadLog) return;
+        try {
+            writeAheadLog.checkpoint();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Could not checkpoint graph at %s", graphLocation), ex);
+        }
+    }
 
     @Override
     public <I extends Io> I io(final Io.Builder<I> builder) {
@@ -263,12 +370,24 @@ public abstract class AbstractTinkerGraph implements Graph {
 
     /**
      * This method only has an effect if the {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
-     * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * data in the graph is persisted to that location. This method may be called multiple times and, apart from closing
+     * the write-ahead log, does not release resources.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (null != writeAheadLog) {
+            // the log is synced before the graph is saved, which makes it obsolete, and changes after this point are
+            // neither logged nor saved
+            try {
+                writeAheadLog.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Could not close the write-ahead log of %s", graphLocation), ex);
+            } finally {
+                writeAheadLog = null;
+            }
+        } else if (graphLocation != null) {
+            saveGraph();
+        }
         // shutdown services
         serviceRegistry.close();
     }
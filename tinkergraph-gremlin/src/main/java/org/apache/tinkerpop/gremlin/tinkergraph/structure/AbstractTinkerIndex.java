@@ -19,11 +19,27 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Text;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.util.GremlinValueComparator;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Storage for indexes that can be used by different implementations of {@link AbstractTinkerGraph}.
@@ -34,9 +50,23 @@ import java.util.Set;
  */
 public abstract class AbstractTinkerIndex<T extends Element> {
 
+    /**
+     * Total order used by {@link TinkerIndexType#SORTED} indexes. It follows Gremlin orderability semantics so that
+     * values of the same type are contiguous and {@link IndexedNull} sorts before everything else.
+     */
+    protected static final Comparator<Object> INDEX_ORDER = (a, b) -> {
+        if (a instanceof IndexedNull)
+            return b instanceof IndexedNull ? 0 : -1;
+        else if (b instanceof IndexedNull)
+            return 1;
+        else
+            return GremlinValueComparator.ORDERABILITY.compare(a, b);
+    };
+
     protected final Class<T> indexClass;
     protected final AbstractTinkerGraph graph;
     protected final Set<String> indexedKeys = new HashSet<>();
+    protected final Set<String> sortedKeys = new HashSet<>();
 
     protected AbstractTinkerIndex(final AbstractTinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
@@ -51,6 +81,15 @@ public abstract class AbstractTinkerIndex<T extends Element> {
      */
     public abstract List<T> get(final String key, final Object value);
 
+    /**
+     * Get list of elements which have a property that satisfies all of the supplied predicates. Each predicate must
+     * be one for which {@link #isIndexable(String, P)} returns {@code true}.
+     * @param key property key
+     * @param predicates predicates on the property value
+     * @return list of elements which may still need to be filtered by the caller
+     */
+    public abstract List<T> get(final String key, final List<P<?>> predicates);
+
     /**
      * Get count of elements which have a property with the desired value.
      * @param key property key
@@ -84,11 +123,20 @@ public abstract class AbstractTinkerIndex<T extends Element> {
      */
     public abstract void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element);
 
+    /**
+     * Create new {@link TinkerIndexType#HASH} index
+     * @param key property key
+     */
+    public void createKeyIndex(final String key) {
+        createKeyIndex(key, TinkerIndexType.HASH);
+    }
+
     /**
      * Create new index
      * @param key property key
+     * @param indexType the kind of index to create
      */
-    public abstract void createKeyIndex(final String key);
+    public abstract void createKeyIndex(final String key, final TinkerIndexType indexType);
 
     /**
      * Drop index
@@ -104,12 +152,231 @@ public abstract class AbstractTinkerIndex<T extends Element> {
         return indexedKeys;
     }
 
+    /**
+     * Get the kind of index for the key.
+     * @param key property key
+     * @return the index type or {@code null} if the key is not indexed
+     */
+    public TinkerIndexType getIndexType(final String key) {
+        if (!indexedKeys.contains(key))
+            return null;
+        return sortedKeys.contains(key) ? TinkerIndexType.SORTED : TinkerIndexType.HASH;
+    }
+
+    /**
+     * Determines if the index for the key can answer the predicate. Equality and {@code within()} can be answered
+     * by any index, while range and prefix predicates require a {@link TinkerIndexType#SORTED} index.
+     * @param key property key
+     * @param predicate predicate on the property value
+     */
+    public boolean isIndexable(final String key, final P<?> predicate) {
+        if (!indexedKeys.contains(key))
+            return false;
+
+        if (predicate instanceof OrP) {
+            if (!sortedKeys.contains(key))
+                return false;
+            for (final P<?> p : ((OrP<?>) predicate).getPredicates()) {
+                if (!isIndexable(key, p))
+                    return false;
+            }
+            return true;
+        }
+
+        final Object biPredicate = predicate.getBiPredicate();
+        if (biPredicate == Compare.eq)
+            return true;
+        else if (biPredicate == Contains.within)
+            return predicate.getValue() instanceof Collection;
+        else if (biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.lt || biPredicate == Compare.lte)
+            return sortedKeys.contains(key) && null != predicate.getValue();
+        else if (biPredicate == Text.startingWith)
+            return sortedKeys.contains(key) && predicate.getValue() instanceof String;
+        else
+            return false;
+    }
+
+    /**
+     * Creates the map of value to elements for a key, which is sorted for {@link TinkerIndexType#SORTED} keys.
+     */
+    protected <V> Map<Object, V> createKeyMap(final String key) {
+        return sortedKeys.contains(key) ? new ConcurrentSkipListMap<>(INDEX_ORDER) : new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Collects the values of the key map which satisfy the predicates. Equality and {@code within()} are resolved
+     * with point lookups, range and prefix predicates are combined into a single scan of a sorted key map and
+     * {@code OrP} predicates are resolved as the union of their parts.
+     */
+    protected static <V> Collection<V> lookup(final Map<Object, Set<V>> keyMap, final List<P<?>> predicates) {
+        if (null == keyMap || predicates.isEmpty())
+            return Collections.emptyList();
+
+        for (final P<?> predicate : predicates) {
+            if (predicate.getBiPredicate() == Compare.eq) {
+                final Set<V> set = keyMap.get(indexable(predicate.getValue()));
+                return null == set ? Collections.emptyList() : set;
+            } else if (predicate.getBiPredicate() == Contains.within) {
+                final Set<V> result = new LinkedHashSet<>();
+                for (final Object value : (Collection<?>) predicate.getValue()) {
+                    final Set<V> set = keyMap.get(indexable(value));
+                    if (null != set) result.addAll(set);
+                }
+                return result;
+            }
+        }
+
+        if (!(keyMap instanceof NavigableMap))
+            return Collections.emptyList();
+
+        final NavigableMap<Object, Set<V>> sorted = (NavigableMap<Object, Set<V>>) keyMap;
+        final Range range = new Range();
+        OrP<?> orPredicate = null;
+        for (final P<?> predicate : predicates) {
+            if (predicate instanceof OrP)
+                orPredicate = (OrP<?>) predicate;
+            else if (!range.add(predicate))
+                return Collections.emptyList();
+        }
+
+        if (range.isEmpty()) {
+            if (null == orPredicate)
+                return Collections.emptyList();
+
+            final Set<V> result = new LinkedHashSet<>();
+            for (final P<?> p : orPredicate.getPredicates()) {
+                result.addAll(lookup(keyMap, Collections.singletonList(p)));
+            }
+            return result;
+        }
+
+        return range.scan(sorted);
+    }
+
+    /**
+     * Bounds of a scan over a sorted key map gathered from range and prefix predicates.
+     */
+    private static final class Range {
+        private Object lower;
+        private boolean lowerInclusive;
+        private Object upper;
+        private boolean upperInclusive;
+        private String prefix;
+
+        boolean isEmpty() {
+            return null == lower && null == upper;
+        }
+
+        /**
+         * Narrows the range by the predicate and returns {@code false} if the range can no longer match anything.
+         */
+        boolean add(final P<?> predicate) {
+            final Object biPredicate = predicate.getBiPredicate();
+            final Object value = predicate.getValue();
+            if (biPredicate == Compare.gt || biPredicate == Compare.gte)
+                return addLower(value, biPredicate == Compare.gte);
+            else if (biPredicate == Compare.lt || biPredicate == Compare.lte)
+                return addUpper(value, biPredicate == Compare.lte);
+            else if (biPredicate == Text.startingWith) {
+                if (null != prefix && !prefix.startsWith((String) value) && !((String) value).startsWith(prefix))
+                    return false;
+                if (null == prefix || ((String) value).length() > prefix.length())
+                    prefix = (String) value;
+                return addLower(value, true);
+            }
+            return true;
+        }
+
+        private boolean addLower(final Object value, final boolean inclusive) {
+            if (null != lower && !sameType(lower, value)) return false;
+            final int c = null == lower ? 1 : INDEX_ORDER.compare(value, lower);
+            if (c > 0 || (c == 0 && !inclusive)) {
+                lower = value;
+                lowerInclusive = inclusive;
+            }
+            return null == upper || sameType(lower, upper);
+        }
+
+        private boolean addUpper(final Object value, final boolean inclusive) {
+            if (null != upper && !sameType(upper, value)) return false;
+            final int c = null == upper ? -1 : INDEX_ORDER.compare(value, upper);
+            if (c < 0 || (c == 0 && !inclusive)) {
+                upper = value;
+                upperInclusive = inclusive;
+            }
+            return null == lower || sameType(lower, upper);
+        }
+
+        <V> Collection<V> scan(final NavigableMap<Object, Set<V>> sorted) {
+            final NavigableMap<Object, Set<V>> subMap;
+            final Object anchor;
+            if (null != lower && null != upper) {
+                final int c = INDEX_ORDER.compare(lower, upper);
+                if (c > 0 || (c == 0 && !(lowerInclusive && upperInclusive)))
+                    return Collections.emptyList();
+                subMap = sorted.subMap(lower, lowerInclusive, upper, upperInclusive);
+                anchor = lower;
+            } else if (null != lower) {
+                subMap = sorted.tailMap(lower, lowerInclusive);
+                anchor = lower;
+            } else {
+                // walk downwards from the upper bound so that the scan can stop as soon as the type changes
+                subMap = sorted.headMap(upper, upperInclusive).descendingMap();
+                anchor = upper;
+            }
+
+            final Set<V> result = new LinkedHashSet<>();
+            for (final Map.Entry<Object, Set<V>> entry : subMap.entrySet()) {
+                final Object value = entry.getKey();
+                // orderability keeps each type contiguous so the first value of another type ends the scan
+                if (!sameType(value, anchor) || (null != prefix && !((String) value).startsWith(prefix)))
+                    break;
+                result.addAll(entry.getValue());
+            }
+            return result;
+        }
+
+        private static boolean sameType(final Object a, final Object b) {
+            return GremlinValueComparator.Type.type(a) == GremlinValueComparator.Type.type(b);
+        }
+    }
+
     /**
      * Provides a way for an index to have a {@code null} value as {@code ConcurrentHashMap} will not allow a
-     * {@code null} key.
+     * {@code null} key. Numbers that are equal in Gremlin, like {@code 1} and {@code 1L}, are given the same key, so
+     * that a {@link TinkerIndexType#HASH} index finds them whatever their type just like a
+     * {@link TinkerIndexType#SORTED} index does.
      */
     public static Object indexable(final Object obj) {
-        return null == obj ? IndexedNull.instance() : obj;
+        if (null == obj)
+            return IndexedNull.instance();
+        return obj instanceof Number ? indexableNumber((Number) obj) : obj;
+    }
+
+    /**
+     * Whole numbers that fit a {@code long} become a {@code Long}, other floating point numbers a {@code Double} and
+     * any other number is kept as it is.
+     */
+    private static Object indexableNumber(final Number number) {
+        if (number instanceof Long)
+            return number;
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte)
+            return number.longValue();
+        if (number instanceof Double || number instanceof Float) {
+            final double d = number.doubleValue();
+            if (d == Math.rint(d) && d >= Long.MIN_VALUE && d < Long.MAX_VALUE)
+                return (long) d;
+            return d;
+        }
+        if (number instanceof BigInteger)
+            return ((BigInteger) number).bitLength() < Long.SIZE ? (Object) number.longValue() : number;
+        if (number instanceof BigDecimal) {
+            final BigDecimal decimal = ((BigDecimal) number).stripTrailingZeros();
+            if (decimal.scale() <= 0 && decimal.toBigInteger().bitLength() < Long.SIZE)
+                return decimal.longValue();
+            return decimal;
+        }
+        return number;
     }
 
     public static final class IndexedNull {
@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads batches of vertices and edges into a {@link TinkerGraph} on multiple threads. Each thread owns a lane of
+ * vertices, chosen by the hash of their identifier, and is the only one to change the adjacency of those vertices, so
+ * edges are added without any locking. Index maintenance is suspended while loading and the indices are rebuilt once
+ * when the loader is closed, one index after the other with the elements of each indexed in parallel.
+ * <p/>
+ * Batches are processed asynchronously and the loader only waits when too many batches are pending or when the
+ * vertices added so far must exist before the edges that follow them. An error while processing a batch is thrown
+ * by the next call to the loader. The graph must not be read or changed by other means until the loader is closed
+ * and checkpoints of its write-ahead log are skipped until then.
+ * <pre>
+ * try (TinkerBulkLoader loader = graph.bulkLoader()) {
+ *     loader.addVertices(vertices);
+ *     loader.addEdges(edges);
+ * }
+ * </pre>
+ */
+public final class TinkerBulkLoader implements AutoCloseable {
+
+    private final TinkerGraph graph;
+    private final ExecutorService[] lanes;
+    private final int maxPending;
+
+    // tasks that are queued or running, guarded by "this"
+    private int pending = 0;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // vertices were added since the last time the lanes were drained
+    private boolean verticesAdded = false;
+    private boolean closed = false;
+
+    // the indices suspended while loading
+    private final AbstractTinkerIndex<TinkerVertex> vertexIndex;
+    private final AbstractTinkerIndex<TinkerEdge> edgeIndex;
+
+    TinkerBulkLoader(final TinkerGraph graph, final int threads, final int expectedVertices, final int expectedEdges) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The number of threads must be at least 1");
+
+        this.graph = graph;
+        this.maxPending = threads * 4;
+        this.lanes = new ExecutorService[threads];
+        for (int i = 0; i < threads; i++) {
+            final String name = "tinkergraph-bulk-loader-" + i;
+            this.lanes[i] = Executors.newSingleThreadExecutor(r -> {
+                final Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        // a map that is sized for the load up front does not need to be resized repeatedly as it grows
+        if (expectedVertices > 0) graph.vertices = presize(graph.vertices, expectedVertices);
+        if (expectedEdges > 0) graph.edges = presize(graph.edges, expectedEdges);
+
+        // a checkpoint would write the graph without its indices
+        if (null != graph.writeAheadLog) graph.writeAheadLog.suspendCheckpoints();
+        this.vertexIndex = graph.vertexIndex;
+        this.edgeIndex = graph.edgeIndex;
+        graph.vertexIndex = null;
+        graph.edgeIndex = null;
+    }
+
+    /**
+     * Adds the vertices along with their properties and meta-properties, keeping the identifiers that they have.
+     * Edges of the vertices are ignored and need to be added with {@link #addEdges(Collection)}.
+     */
+    public void addVertices(final Collection<? extends Vertex> vertices) {
+        checkState();
+        if (vertices.isEmpty()) return;
+
+        // vertices do not share any state so the batch is simply split evenly
+        final List<Vertex> batch = new ArrayList<>(vertices);
+        final int size = (batch.size() + this.lanes.length - 1) / this.lanes.length;
+        for (int i = 0; i < this.lanes.length && i * size < batch.size(); i++) {
+            final List<Vertex> part = batch.subList(i * size, Math.min(batch.size(), (i + 1) * size));
+            submit(i, () -> part.forEach(this::loadVertex), true);
+        }
+        this.verticesAdded = true;
+    }
+
+    /**
+     * Adds the edges along with their properties, keeping the identifiers that they have. The vertices of the edges
+     * must already be in the graph or have been added to this loader.
+     */
+    public void addEdges(final Collection<? extends Edge> edges) {
+        checkState();
+        if (edges.isEmpty()) return;
+
+        // the edges need their vertices to be in place
+        if (this.verticesAdded) {
+            awaitPending();
+            this.verticesAdded = false;
+        }
+
+        final List<List<Edge>> parts = new ArrayList<>(this.lanes.length);
+        for (int i = 0; i < this.lanes.length; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (final Edge edge : edges) {
+            parts.get(lane(edge.outVertex().id())).add(edge);
+        }
+        for (int i = 0; i < this.lanes.length; i++) {
+            final List<Edge> part = parts.get(i);
+            if (!part.isEmpty()) submit(i, () -> loadEdges(part), true);
+        }
+    }
+
+    /**
+     * Waits for all batches to be loaded, rebuilds the indices of the graph and checkpoints its write-ahead log if
+     * it has one.
+     */
+    @Override
+    public void close() {
+        if (this.closed) return;
+        this.closed = true;
+        try {
+            awaitPending();
+        } finally {
+            for (final ExecutorService lane : this.lanes) {
+                lane.shutdown();
+            }
+            rebuildIndices();
+            if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.resumeCheckpoints();
+            this.graph.bulkLoading.set(false);
+        }
+
+        final Throwable t = this.failure.get();
+        if (null != t) throw new IllegalStateException("Could not bulk load all elements", t);
+        this.graph.checkpoint();
+    }
+
+    private void loadVertex(final Vertex source) {
+        Object idValue = this.graph.vertexIdManager.convert(source.id());
+        if (null == idValue) idValue = this.graph.vertexIdManager.getNextId(this.graph);
+        final String label = source.label();
+        ElementHelper.validateLabel(label);
+
+        final TinkerVertex vertex = this.graph.createTinkerVertex(idValue, label, this.graph);
+        final Iterator<VertexProperty<Object>> properties = source.properties();
+        while (properties.hasNext()) {
+            final VertexProperty<Object> property = properties.next();
+            final List<Object> keyValues = new ArrayList<>();
+            if (null != property.id()) {
+                keyValues.add(T.id);
+                keyValues.add(property.id());
+            }
+            property.properties().forEachRemaining(p -> {
+                keyValues.add(p.key());
+                keyValues.add(p.value());
+            });
+            vertex.property(VertexProperty.Cardinality.list, property.key(), property.value(), keyValues.toArray());
+        }
+
+        if (null != this.graph.vertices.putIfAbsent(idValue, vertex))
+            throw Graph.Exceptions.vertexWithIdAlreadyExists(idValue);
+        this.graph.addToLabel(this.graph.vertexLabels, label, vertex);
+    }
+
+    /**
+     * Adds edges whose out-vertices belong to the lane of the calling thread and then hands each edge to the lane of
+     * its in-vertex to complete the adjacency on that side.
+     */
+    private void loadEdges(final List<Edge> edges) {
+        final List<List<TinkerEdge>> inParts = new ArrayList<>(this.lanes.length);
+        for (int i = 0; i < this.lanes.length; i++) {
+            inParts.add(new ArrayList<>());
+        }
+
+        for (final Edge source : edges) {
+            final TinkerVertex outVertex = vertex(source.outVertex().id());
+            final TinkerVertex inVertex = vertex(source.inVertex().id());
+            Object idValue = this.graph.edgeIdManager.convert(source.id());
+            if (null == idValue) idValue = this.graph.edgeIdManager.getNextId(this.graph);
+            final String label = source.label();
+            ElementHelper.validateLabel(label);
+
+            final TinkerEdge edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+            final Iterator<Property<Object>> properties = source.properties();
+            while (properties.hasNext()) {
+                final Property<Object> property = properties.next();
+                edge.property(property.key(), property.value());
+            }
+
+            if (null != this.graph.edges.putIfAbsent(idValue, edge))
+                throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
+            this.graph.addToLabel(this.graph.edgeLabels, label, edge);
+            this.graph.addOutEdge(outVertex, label, edge);
+            inParts.get(lane(inVertex.id())).add(edge);
+        }
+
+        for (int i = 0; i < this.lanes.length; i++) {
+            final List<TinkerEdge> part = inParts.get(i);
+            if (!part.isEmpty())
+                submit(i, () -> part.forEach(edge -> this.graph.addInEdge((TinkerVertex) edge.inVertex, edge.label(), edge)), false);
+        }
+    }
+
+    private TinkerVertex vertex(final Object id) {
+        final Object idValue = this.graph.vertexIdManager.convert(id);
+        final TinkerVertex vertex = (TinkerVertex) this.graph.vertices.get(idValue);
+        if (null == vertex)
+            throw new IllegalArgumentException(String.format("Vertex with id %s does not exist", id));
+        return vertex;
+    }
+
+    private int lane(final Object vertexId) {
+        final Object idValue = this.graph.vertexIdManager.convert(vertexId);
+        final int h = idValue.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), this.lanes.length);
+    }
+
+    /**
+     * Queues the work on a lane. Work submitted by the caller waits while too many tasks are pending, while work
+     * submitted by a lane to another lane never waits as that could leave all lanes waiting on each other.
+     */
+    private void submit(final int lane, final Runnable work, final boolean fromCaller) {
+        synchronized (this) {
+            while (fromCaller && this.pending >= this.maxPending && null == this.failure.get()) {
+                waitForTasks();
+            }
+            this.pending++;
+        }
+        this.lanes[lane].execute(() -> {
+            try {
+                if (null == this.failure.get()) work.run();
+            } catch (Throwable t) {
+                this.failure.compareAndSet(null, t);
+            } finally {
+                synchronized (this) {
+                    this.pending--;
+                    this.notifyAll();
+                }
+            }
+        });
+    }
+
+    private synchronized void awaitPending() {
+        while (this.pending > 0) {
+            waitForTasks();
+        }
+        final Throwable t = this.failure.get();
+        if (null != t && !this.closed) throw new IllegalStateException("Could not bulk load all elements", t);
+    }
+
+    private void waitForTasks() {
+        try {
+            this.wait();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the bulk load", ex);
+        }
+    }
+
+    private void checkState() {
+        if (this.closed) throw new IllegalStateException("The bulk loader is closed");
+        final Throwable t = this.failure.get();
+        if (null != t) throw new IllegalStateException("Could not bulk load all elements", t);
+    }
+
+    /**
+     * Recreates the suspended indices on the loaded graph. Each index is built by a parallel scan of the elements, so
+     * the indices are built one at a time rather than concurrently, which would only contend for the same threads.
+     */
+    private void rebuildIndices() {
+        rebuildIndices(this.vertexIndex, Vertex.class);
+        rebuildIndices(this.edgeIndex, Edge.class);
+    }
+
+    private void rebuildIndices(final AbstractTinkerIndex<?> index, final Class<? extends Element> elementClass) {
+        if (null == index) return;
+        for (final String key : index.getIndexedKeys()) {
+            this.graph.createIndex(key, elementClass, index.getIndexType(key));
+        }
+        for (final List<String> keys : TinkerIndexHelper.getCompositeIndexedKeys(index)) {
+            this.graph.createCompositeIndex(keys, elementClass);
+        }
+    }
+
+    private static <E extends Element> Map<Object, E> presize(final Map<Object, E> elements, final int expected) {
+        final Map<Object, E> map = new ConcurrentHashMap<>(elements.size() + expected);
+        map.putAll(elements);
+        return map;
+    }
+}
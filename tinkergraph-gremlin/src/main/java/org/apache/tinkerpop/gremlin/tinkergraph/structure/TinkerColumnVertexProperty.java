@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link TinkerVertexProperty} materialized from a value held in {@link TinkerPropertyColumns}. Adding a
+ * meta-property moves the property from its column to the heap of the vertex as columns only hold plain values.
+ */
+final class TinkerColumnVertexProperty<V> extends TinkerVertexProperty<V> {
+
+    TinkerColumnVertexProperty(final Object id, final TinkerVertex vertex, final String key, final V value) {
+        super(id, vertex, key, value);
+    }
+
+    @Override
+    public <U> Property<U> property(final String key, final U value) {
+        final AbstractTinkerGraph graph = ((TinkerVertex) element()).graph;
+        final TinkerWriteAheadLog mutation = graph.beginMutation();
+        try {
+            if (!this.removed) materialize();
+            return super.property(key, value);
+        } finally {
+            graph.endMutation(mutation);
+        }
+    }
+
+    @Override
+    public void remove() {
+        final TinkerVertex vertex = (TinkerVertex) element();
+        final TinkerWriteAheadLog mutation = vertex.graph.beginMutation();
+        try {
+            if (vertex.graph.vertexPropertyColumns.remove(vertex.columnSlot, key(), id())) {
+                vertex.graph.touch(vertex);
+                final V value = value();
+                // a column holds a single value per key so only the heap may still have the same value
+                final boolean delete = null == vertex.properties ||
+                        vertex.properties.getOrDefault(key(), new ArrayList<>()).stream().noneMatch(property -> value.equals(property.value()));
+                if (delete) TinkerIndexHelper.removeIndex(vertex, key(), value);
+                this.removed = true;
+            } else {
+                super.remove();
+            }
+        } finally {
+            vertex.graph.endMutation(mutation);
+        }
+    }
+
+    /**
+     * Moves the property from its column to the heap of the vertex unless that already happened.
+     */
+    private void materialize() {
+        final TinkerVertex vertex = (TinkerVertex) element();
+        if (vertex.graph.vertexPropertyColumns.remove(vertex.columnSlot, key(), id())) {
+            if (null == vertex.properties) vertex.properties = new ConcurrentHashMap<>();
+            final List<VertexProperty> list = vertex.properties.getOrDefault(key(), new ArrayList<>());
+            list.add(this);
+            vertex.properties.put(key(), list);
+        }
+    }
+}
@@ -77,22 +77,27 @@ public class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Property<V> property(final String key, final V value) {
-        graph.touch(this);
-
-        if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
-        ElementHelper.validateProperty(key, value);
-
-        if (!allowNullPropertyValues && null == value) {
-            properties(key).forEachRemaining(Property::remove);
-            return Property.empty();
+        final TinkerWriteAheadLog mutation = graph.beginMutation();
+        try {
+            graph.touch(this);
+
+            if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
+            ElementHelper.validateProperty(key, value);
+
+            if (!allowNullPropertyValues && null == value) {
+                properties(key).forEachRemaining(Property::remove);
+                return Property.empty();
+            }
+
+            final Property oldProperty = super.property(key);
+            final Property<V> newProperty = new TinkerProperty<>(this, key, value);
+            if (null == this.properties) this.properties = new ConcurrentHashMap<>();
+            this.properties.put(key, newProperty);
+            TinkerIndexHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+            return newProperty;
+        } finally {
+            graph.endMutation(mutation);
         }
-
-        final Property oldProperty = super.property(key);
-        final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new ConcurrentHashMap<>();
-        this.properties.put(key, newProperty);
-        TinkerIndexHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
-        return newProperty;
     }
 
     @Override
@@ -107,11 +112,16 @@ public class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public void remove() {
-        graph.touch(this);
-        TinkerIndexHelper.removeElementIndex(this);
-        graph.removeEdge(this.id());
-        this.properties = null;
-        this.removed = true;
+        final TinkerWriteAheadLog mutation = graph.beginMutation();
+        try {
+            graph.touch(this);
+            TinkerIndexHelper.removeElementIndex(this);
+            graph.removeEdge(this.id());
+            this.properties = null;
+            this.removed = true;
+        } finally {
+            graph.endMutation(mutation);
+        }
     }
 
     @Override
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A {@code Set} of the edges of one label on one side of a {@link TinkerVertex}, backed by a growable array. It is
+ * used in place of a {@code HashSet} when {@link TinkerGraph.AdjacencyStorage#COMPACT} is configured and costs a
+ * single reference per edge rather than a hash table entry. The edges given to a vertex are always new, so
+ * {@link #add(Edge)} appends without checking for duplicates, while {@link #contains(Object)} and
+ * {@link #remove(Object)} are linear in the number of edges.
+ */
+final class TinkerEdgeArraySet extends AbstractSet<Edge> {
+
+    private static final Edge[] EMPTY = new Edge[0];
+
+    private Edge[] edges = EMPTY;
+    private int size = 0;
+    private int modCount = 0;
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (this.size == this.edges.length)
+            this.edges = Arrays.copyOf(this.edges, Math.max(2, this.size + (this.size >> 1)));
+        this.edges[this.size++] = edge;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        final int index = indexOf(o);
+        if (index < 0) return false;
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super Edge> filter) {
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (!filter.test(this.edges[i]))
+                this.edges[kept++] = this.edges[i];
+        }
+        if (kept == this.size) return false;
+        Arrays.fill(this.edges, kept, this.size, null);
+        this.size = kept;
+        this.modCount++;
+        trim();
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        this.edges = EMPTY;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(this.edges, this.size, Object[].class);
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private int cursor = 0;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return this.cursor < size;
+            }
+
+            @Override
+            public Edge next() {
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (this.cursor >= size) throw new NoSuchElementException();
+                this.last = this.cursor;
+                return edges[this.cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) throw new IllegalStateException();
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                removeAt(this.last);
+                // the last edge was moved into the removed slot so it is the next one to visit
+                this.cursor = this.last;
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
+    }
+
+    private int indexOf(final Object o) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i].equals(o)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the edge at the index by moving the last edge into its place as the order of the edges does not matter.
+     */
+    private void removeAt(final int index) {
+        this.edges[index] = this.edges[--this.size];
+        this.edges[this.size] = null;
+        this.modCount++;
+        trim();
+    }
+
+    private void trim() {
+        if (0 == this.size)
+            this.edges = EMPTY;
+        else if (this.size < this.edges.length >> 2)
+            this.edges = Arrays.copyOf(this.edges, this.size << 1);
+    }
+}
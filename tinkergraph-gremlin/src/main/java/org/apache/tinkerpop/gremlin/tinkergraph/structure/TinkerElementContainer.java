@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -27,10 +28,15 @@ import java.util.concurrent.locks.ReentrantLock;
  * @param <T> type of element to store.
  */
 final class TinkerElementContainer<T extends TinkerElement> {
+    /**
+     * Time to wait for the lock of a container held by another committing transaction.
+     */
+    private static final long LOCK_TIMEOUT_MILLIS = 50;
+
     /**
      * Committed value of element.
      */
-    private T element;
+    private volatile T element;
     /**
      * Id of element. Used if element is removed or set to {@code null}.
      */
@@ -43,6 +49,10 @@ final class TinkerElementContainer<T extends TinkerElement> {
      * Value of elements updated in current transaction.
      */
     private final ThreadLocal<T> transactionUpdatedValue = ThreadLocal.withInitial(() -> null);
+    /**
+     * Committed value of element the current transaction made its copy from.
+     */
+    private final ThreadLocal<T> transactionBaseValue = ThreadLocal.withInitial(() -> null);
     /**
      * Marker for element deleted in current transaction.
      */
@@ -69,6 +79,12 @@ final class TinkerElementContainer<T extends TinkerElement> {
      */
     private final ReentrantLock lock = new ReentrantLock();
 
+    /**
+     * Committed versions of the element from the newest to the oldest, only kept when the graph allows snapshot
+     * reads. Each version holds a private copy of the element so that it does not change after the commit.
+     */
+    private volatile Version<T> versions = null;
+
     /**
      * Constructor only requires the element id to be stored.
      * @param elementId id of element to store.
@@ -90,10 +106,12 @@ final class TinkerElementContainer<T extends TinkerElement> {
     public T getWithClone(final TinkerTransaction tx) {
         if (isDeletedInTx.get()) return null;
         if (transactionUpdatedValue.get() != null) return transactionUpdatedValue.get();
-        if (isDeleted || null == element) return null;
+        final T committed = element;
+        if (isDeleted || null == committed) return null;
 
-        final T cloned = (T) element.clone();
+        final T cloned = (T) committed.clone();
         transactionUpdatedValue.set(cloned);
+        transactionBaseValue.set(committed);
 
         if (!isReadInTx.get()) {
             isReadInTx.set(true);
@@ -104,6 +122,18 @@ final class TinkerElementContainer<T extends TinkerElement> {
         return cloned;
     }
 
+    /**
+     * Get the committed value of stored element as it was at the specified commit version. Neither the read nor the
+     * element are recorded in the transaction.
+     * @param snapshotVersion commit version pinned by the snapshot
+     */
+    public T getSnapshot(final long snapshotVersion) {
+        Version<T> version = versions;
+        while (version != null && version.version > snapshotVersion)
+            version = version.previous;
+        return null == version ? null : version.element;
+    }
+
     /**
      * Get current committed value of stored element.
      */
@@ -185,6 +215,29 @@ final class TinkerElementContainer<T extends TinkerElement> {
                 element != null && updatedValue != null && updatedValue.version() != element.version();
     }
 
+    /**
+     * Used to understand if elements was changed by other transaction in a way that can not be merged with the
+     * changes of the current transaction. Changes to different property keys and to the edges of a vertex can be
+     * merged, while removal of the element on either side can not.
+     */
+    public boolean conflictsOutsideTransaction() {
+        if (!updatedOutsideTransaction()) return false;
+
+        final T base = transactionBaseValue.get();
+        final T updatedValue = transactionUpdatedValue.get();
+        return isDeleted || isDeletedInTx.get() || null == base || null == element || null == updatedValue ||
+                base.version() == element.version() || !TinkerElementMerger.canMerge(base, element, updatedValue);
+    }
+
+    /**
+     * Apply the changes committed by other transactions since the element was read to the value of the current
+     * transaction. Should only be used while the container is locked and does not conflict.
+     */
+    public void mergeOutsideChanges() {
+        if (!updatedOutsideTransaction()) return;
+        TinkerElementMerger.merge(transactionBaseValue.get(), element, transactionUpdatedValue.get());
+    }
+
     /**
      * Commit changes for the stored element.
      * @param txVersion version of transaction
@@ -198,12 +251,45 @@ final class TinkerElementContainer<T extends TinkerElement> {
             element = null;
             isDeleted = true;
         } else {
-            element = transactionUpdatedValue.get();
-            element.currentVersion = txVersion;
+            // the version is set before the element is visible to other transactions
+            final T updatedValue = transactionUpdatedValue.get();
+            updatedValue.currentVersion = txVersion;
+            element = updatedValue;
         }
         reset();
     }
 
+    /**
+     * Commit changes for the stored element and keep a copy of the new committed value for snapshot reads.
+     * @param txVersion version of transaction
+     * @param commitVersion commit version of the changes
+     * @param horizon the oldest commit version still pinned by a snapshot
+     */
+    public void commit(final long txVersion, final long commitVersion, final long horizon) {
+        commit(txVersion);
+        versions = new Version<>(null == element ? null : (T) element.clone(), commitVersion, versions);
+        prune(horizon);
+    }
+
+    /**
+     * Drop the versions that no snapshot pinned at the horizon or later can read.
+     * @param horizon the oldest commit version still pinned by a snapshot
+     */
+    public void prune(final long horizon) {
+        Version<T> version = versions;
+        while (version != null && version.version > horizon)
+            version = version.previous;
+        if (version != null) version.previous = null;
+    }
+
+    /**
+     * Used to understand if versions of the element are still kept for snapshots.
+     */
+    public boolean hasHistory() {
+        final Version<T> version = versions;
+        return version != null && version.previous != null;
+    }
+
     /**
      * Rollback changes for the stored element.
      */
@@ -229,7 +315,7 @@ final class TinkerElementContainer<T extends TinkerElement> {
      * Should be used after commit or rollback.
      */
     public boolean canBeRemoved() {
-        return usesInTransactions.get() == 0 && (isDeleted || element == null);
+        return usesInTransactions.get() == 0 && (isDeleted || element == null) && !hasHistory();
     }
 
     /**
@@ -237,17 +323,24 @@ final class TinkerElementContainer<T extends TinkerElement> {
      */
     public void reset() {
         transactionUpdatedValue.remove();
+        transactionBaseValue.remove();
         isDeletedInTx.set(false);
         isModifiedInTx.set(false);
         isReadInTx.set(false);
     }
 
     /**
-     * Try to lock container to apply changes to stored element.
+     * Try to lock container to apply changes to stored element. Waits for a short time if another transaction is
+     * committing, since that commit may well be merged with the changes of the current one.
      * @return True if lock was successful.
      */
     public boolean tryLock() {
-        return lock.tryLock();
+        try {
+            return lock.tryLock(LOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     /**
@@ -257,4 +350,19 @@ final class TinkerElementContainer<T extends TinkerElement> {
         if (lock.isHeldByCurrentThread())
             lock.unlock();
     }
+
+    /**
+     * A committed value of the element, which is {@code null} if the element was removed by the commit.
+     */
+    private static final class Version<T> {
+        private final T element;
+        private final long version;
+        private Version<T> previous;
+
+        private Version(final T element, final long version, final Version<T> previous) {
+            this.element = element;
+            this.version = version;
+            this.previous = previous;
+        }
+    }
 }
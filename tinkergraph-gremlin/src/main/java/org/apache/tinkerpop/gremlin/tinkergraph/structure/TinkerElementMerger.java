@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Merges the changes that other transactions committed to an element into the changes of the current transaction.
+ * Changes conflict only if both sides changed the same property key, while edges added to or removed from a vertex
+ * never conflict as each edge has a container of its own that detects concurrent changes to it.
+ */
+final class TinkerElementMerger {
+
+    private TinkerElementMerger() {
+    }
+
+    /**
+     * Used to understand if the changes from the base to the modified element can be merged with the changes from
+     * the base to the latest committed element.
+     */
+    static boolean canMerge(final TinkerElement base, final TinkerElement latest, final TinkerElement modified) {
+        if (base instanceof TinkerVertex) {
+            final Set<String> changedKeys = changedKeys(((TinkerVertex) base).properties, ((TinkerVertex) modified).properties);
+            return changedKeys(((TinkerVertex) base).properties, ((TinkerVertex) latest).properties).stream().noneMatch(changedKeys::contains);
+        } else if (base instanceof TinkerEdge) {
+            final Set<String> changedKeys = changedKeys(((TinkerEdge) base).properties, ((TinkerEdge) modified).properties);
+            return changedKeys(((TinkerEdge) base).properties, ((TinkerEdge) latest).properties).stream().noneMatch(changedKeys::contains);
+        }
+        return false;
+    }
+
+    /**
+     * Applies the changes from the base to the latest committed element to the modified element, which then has the
+     * version of the latest committed element. Should only be called if {@link #canMerge} is {@code true}.
+     */
+    static void merge(final TinkerElement base, final TinkerElement latest, final TinkerElement modified) {
+        if (base instanceof TinkerVertex) {
+            final TinkerVertex baseVertex = (TinkerVertex) base;
+            final TinkerVertex latestVertex = (TinkerVertex) latest;
+            final TinkerVertex vertex = (TinkerVertex) modified;
+            for (final String key : changedKeys(baseVertex.properties, latestVertex.properties)) {
+                final List<VertexProperty> properties = null == latestVertex.properties ? null : latestVertex.properties.get(key);
+                if (null == properties) {
+                    if (null != vertex.properties) vertex.properties.remove(key);
+                } else {
+                    if (null == vertex.properties) vertex.properties = new ConcurrentHashMap<>();
+                    vertex.properties.put(key, properties.stream()
+                            .map(vp -> (VertexProperty) ((TinkerVertexProperty) vp).copy(vertex))
+                            .collect(Collectors.toList()));
+                }
+            }
+            vertex.outEdgesId = mergeEdges(baseVertex.outEdgesId, latestVertex.outEdgesId, vertex.outEdgesId);
+            vertex.inEdgesId = mergeEdges(baseVertex.inEdgesId, latestVertex.inEdgesId, vertex.inEdgesId);
+        } else {
+            final TinkerEdge baseEdge = (TinkerEdge) base;
+            final TinkerEdge latestEdge = (TinkerEdge) latest;
+            final TinkerEdge edge = (TinkerEdge) modified;
+            for (final String key : changedKeys(baseEdge.properties, latestEdge.properties)) {
+                final Property property = null == latestEdge.properties ? null : latestEdge.properties.get(key);
+                if (null == property) {
+                    if (null != edge.properties) edge.properties.remove(key);
+                } else {
+                    if (null == edge.properties) edge.properties = new ConcurrentHashMap<>();
+                    edge.properties.put(key, ((TinkerProperty) property).copy(edge));
+                }
+            }
+        }
+        modified.currentVersion = latest.currentVersion;
+    }
+
+    /**
+     * Adds the edges that were added from the base to the latest adjacency to the modified adjacency and removes the
+     * ones that were removed.
+     */
+    private static Map<String, Set<Object>> mergeEdges(final Map<String, Set<Object>> base,
+                                                       final Map<String, Set<Object>> latest,
+                                                       Map<String, Set<Object>> modified) {
+        final Set<String> labels = new HashSet<>();
+        if (null != base) labels.addAll(base.keySet());
+        if (null != latest) labels.addAll(latest.keySet());
+
+        for (final String label : labels) {
+            final Set<Object> baseEdges = null == base ? Collections.emptySet() : base.getOrDefault(label, Collections.emptySet());
+            final Set<Object> latestEdges = null == latest ? Collections.emptySet() : latest.getOrDefault(label, Collections.emptySet());
+            if (baseEdges.equals(latestEdges)) continue;
+
+            if (null == modified) modified = new ConcurrentHashMap<>();
+            final Set<Object> edges = modified.computeIfAbsent(label, k -> ConcurrentHashMap.newKeySet());
+            latestEdges.stream().filter(id -> !baseEdges.contains(id)).forEach(edges::add);
+            baseEdges.stream().filter(id -> !latestEdges.contains(id)).forEach(edges::remove);
+        }
+        return modified;
+    }
+
+    private static <P> Set<String> changedKeys(final Map<String, P> before, final Map<String, P> after) {
+        final Map<String, P> from = null == before ? Collections.emptyMap() : before;
+        final Map<String, P> to = null == after ? Collections.emptyMap() : after;
+
+        final Set<String> keys = new HashSet<>(from.keySet());
+        keys.addAll(to.keySet());
+        keys.removeIf(key -> same(from.get(key), to.get(key)));
+        return keys;
+    }
+
+    private static boolean same(final Object before, final Object after) {
+        if (before instanceof List && after instanceof List) {
+            final List<?> from = (List<?>) before;
+            final List<?> to = (List<?>) after;
+            if (from.size() != to.size()) return false;
+            for (int i = 0; i < from.size(); i++) {
+                if (!same((VertexProperty<?>) from.get(i), (VertexProperty<?>) to.get(i))) return false;
+            }
+            return true;
+        } else if (before instanceof Property && after instanceof Property) {
+            return Objects.equals(((Property<?>) before).value(), ((Property<?>) after).value());
+        }
+        return before == after;
+    }
+
+    private static boolean same(final VertexProperty<?> before, final VertexProperty<?> after) {
+        return Objects.equals(before.id(), after.id()) &&
+                Objects.equals(before.value(), after.value()) &&
+                metaProperties(before).equals(metaProperties(after));
+    }
+
+    private static Map<String, Object> metaProperties(final VertexProperty<?> vertexProperty) {
+        final Map<String, Object> metaProperties = new HashMap<>();
+        vertexProperty.properties().forEachRemaining(p -> metaProperties.put(p.key(), p.value()));
+        return metaProperties;
+    }
+}
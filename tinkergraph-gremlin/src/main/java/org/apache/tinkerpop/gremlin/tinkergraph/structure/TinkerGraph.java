@@ -36,6 +36,7 @@ import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -45,6 +46,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * An in-memory (with optional persistence on calls to {@link #close()}), reference implementation of the property
@@ -71,10 +73,22 @@ public class TinkerGraph extends AbstractTinkerGraph {
         this.setProperty(Graph.GRAPH, TinkerGraph.class.getName());
     }};
 
+    public static final String GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE = "gremlin.tinkergraph.adjacencyStorage";
+    public static final String GREMLIN_TINKERGRAPH_PROPERTY_STORAGE = "gremlin.tinkergraph.propertyStorage";
+
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    // the same elements as above partitioned by label so that label-restricted scans and counts are proportional
+    // to the size of the label rather than to the size of the graph
+    protected Map<String, Set<Vertex>> vertexLabels = new ConcurrentHashMap<>();
+    protected Map<String, Set<Edge>> edgeLabels = new ConcurrentHashMap<>();
+
+    protected AdjacencyStorage adjacencyStorage;
+    protected PropertyStorage propertyStorage;
+
+    final AtomicBoolean bulkLoading = new AtomicBoolean(false);
 
     /**
      * An empty private constructor that initializes {@link TinkerGraph}.
@@ -87,6 +101,11 @@ public class TinkerGraph extends AbstractTinkerGraph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        adjacencyStorage = AdjacencyStorage.valueOf(
+                configuration.getString(GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, AdjacencyStorage.HASH.name()));
+        propertyStorage = PropertyStorage.valueOf(
+                configuration.getString(GREMLIN_TINKERGRAPH_PROPERTY_STORAGE, PropertyStorage.HEAP.name()));
+        if (PropertyStorage.OFF_HEAP == propertyStorage) vertexPropertyColumns = new TinkerPropertyColumns();
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -96,6 +115,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
         if (graphLocation != null) loadGraph();
+        openWriteAheadLog();
 
         serviceRegistry = new TinkerServiceRegistry(this);
         configuration.getList(String.class, GREMLIN_TINKERGRAPH_SERVICE, Collections.emptyList()).forEach(serviceClass ->
@@ -135,81 +155,145 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     @Override
     public Vertex addVertex(final Object... keyValues) {
-        ElementHelper.legalPropertyKeyValueArray(keyValues);
-        Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
-        final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
-
-        if (null != idValue) {
-            if (this.vertices.containsKey(idValue))
-                throw Exceptions.vertexWithIdAlreadyExists(idValue);
-        } else {
-            idValue = vertexIdManager.getNextId(this);
+        final TinkerWriteAheadLog mutation = this.beginMutation();
+        try {
+            ElementHelper.legalPropertyKeyValueArray(keyValues);
+            Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
+            final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+
+            if (null != idValue) {
+                if (this.vertices.containsKey(idValue))
+                    throw Exceptions.vertexWithIdAlreadyExists(idValue);
+            } else {
+                idValue = vertexIdManager.getNextId(this);
+            }
+
+            final Vertex vertex = createTinkerVertex(idValue, label, this);
+            ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
+            this.vertices.put(vertex.id(), vertex);
+            addToLabel(this.vertexLabels, label, vertex);
+            this.touch((TinkerVertex) vertex);
+
+            return vertex;
+        } finally {
+            this.endMutation(mutation);
         }
-
-        final Vertex vertex = createTinkerVertex(idValue, label, this);
-        ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
-        this.vertices.put(vertex.id(), vertex);
-
-        return vertex;
     }
 
     @Override
     public void removeVertex(final Object vertexId)
     {
-        this.vertices.remove(vertexId);
+        final TinkerWriteAheadLog mutation = this.beginMutation();
+        try {
+            final Vertex vertex = this.vertices.remove(vertexId);
+            if (null != vertex) {
+                removeFromLabel(this.vertexLabels, vertex.label(), vertex);
+                if (null != this.writeAheadLog) this.writeAheadLog.removeVertex(vertexId);
+            }
+        } finally {
+            this.endMutation(mutation);
+        }
     }
 
     @Override
     public Edge addEdge(final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
-        ElementHelper.validateLabel(label);
-        ElementHelper.legalPropertyKeyValueArray(keyValues);
-
-        Object idValue = edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
-
-        final Edge edge;
-        if (null != idValue) {
-            if (edges.containsKey(idValue))
-                throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
-        } else {
-            idValue = edgeIdManager.getNextId(this);
+        final TinkerWriteAheadLog mutation = this.beginMutation();
+        try {
+            ElementHelper.validateLabel(label);
+            ElementHelper.legalPropertyKeyValueArray(keyValues);
+
+            Object idValue = edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
+
+            final Edge edge;
+            if (null != idValue) {
+                if (edges.containsKey(idValue))
+                    throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
+            } else {
+                idValue = edgeIdManager.getNextId(this);
+            }
+
+            edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+            ElementHelper.attachProperties(edge, keyValues);
+            edges.put(edge.id(), edge);
+            addToLabel(this.edgeLabels, label, edge);
+            addOutEdge(outVertex, label, edge);
+            addInEdge(inVertex, label, edge);
+            this.touch((TinkerEdge) edge);
+            return edge;
+        } finally {
+            this.endMutation(mutation);
         }
-
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
-        ElementHelper.attachProperties(edge, keyValues);
-        edges.put(edge.id(), edge);
-        addOutEdge(outVertex, label, edge);
-        addInEdge(inVertex, label, edge);
-        return edge;
     }
 
     @Override
     public void removeEdge(final Object edgeId) {
-        final Edge edge = edges.get(edgeId);
-        // already removed?
-        if (null == edge) return;
-
-        final TinkerVertex outVertex = (TinkerVertex) edge.outVertex();
-        final TinkerVertex inVertex = (TinkerVertex) edge.inVertex();
-
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(edge.label());
-            if (null != edges)
-                edges.removeIf(e -> e.id() == edgeId);
+        final TinkerWriteAheadLog mutation = this.beginMutation();
+        try {
+            final Edge edge = edges.get(edgeId);
+            // already removed?
+            if (null == edge) return;
+
+            final TinkerVertex outVertex = (TinkerVertex) edge.outVertex();
+            final TinkerVertex inVertex = (TinkerVertex) edge.inVertex();
+
+            if (null != outVertex && null != outVertex.outEdges) {
+                final Set<Edge> edges = outVertex.outEdges.get(edge.label());
+                if (null != edges)
+                    edges.removeIf(e -> e.id() == edgeId);
+            }
+            if (null != inVertex && null != inVertex.inEdges) {
+                final Set<Edge> edges = inVertex.inEdges.get(edge.label());
+                if (null != edges)
+                    edges.removeIf(e -> e.id() == edgeId);
+            }
+
+            this.edges.remove(edgeId);
+            removeFromLabel(this.edgeLabels, edge.label(), edge);
+            if (null != this.writeAheadLog) this.writeAheadLog.removeEdge(edgeId);
+        } finally {
+            this.endMutation(mutation);
         }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(edge.label());
-            if (null != edges)
-                edges.removeIf(e -> e.id() == edgeId);
+    }
+
+    @Override
+    public void clear() {
+        final TinkerWriteAheadLog mutation = this.beginMutation();
+        try {
+            super.clear();
+            this.vertices.clear();
+            this.edges.clear();
+            this.vertexLabels.clear();
+            this.edgeLabels.clear();
+            if (null != this.vertexPropertyColumns) this.vertexPropertyColumns.clear();
+            if (null != this.writeAheadLog) this.writeAheadLog.clear();
+        } finally {
+            this.endMutation(mutation);
         }
+    }
 
-        this.edges.remove(edgeId);
+    /**
+     * Marks the {@link Vertex} as changed so that its state is written to the write-ahead log once the change ends.
+     */
+    @Override
+    public void touch(final TinkerVertex vertex) {
+        final TinkerWriteAheadLog log = this.writeAheadLog;
+        if (null != log && !TinkerHelper.inComputerMode(this)) log.touch(vertex);
     }
 
+    /**
+     * Marks the {@link Edge} as changed so that its state is written to the write-ahead log once the change ends.
+     */
     @Override
-    public void clear() {
-        super.clear();
-        this.vertices.clear();
-        this.edges.clear();
+    public void touch(final TinkerEdge edge) {
+        final TinkerWriteAheadLog log = this.writeAheadLog;
+        if (null != log && !TinkerHelper.inComputerMode(this)) log.touch(edge);
+    }
+
+    @Override
+    TinkerWriteAheadLog beginMutation() {
+        final TinkerWriteAheadLog log = this.writeAheadLog;
+        if (null != log) log.beginMutation();
+        return log;
     }
 
     @Override
@@ -229,6 +313,16 @@ public class TinkerGraph extends AbstractTinkerGraph {
     @Override
     public boolean hasEdge(Object id) { return edges.containsKey(id); }
 
+    @Override
+    public long getVerticesCount(final Collection<String> labels) {
+        return countByLabel(this.vertexLabels, labels);
+    }
+
+    @Override
+    public long getEdgesCount(final Collection<String> labels) {
+        return countByLabel(this.edgeLabels, labels);
+    }
+
     @Override
     public TinkerServiceRegistry getServiceRegistry() {
         return serviceRegistry;
@@ -254,6 +348,52 @@ public class TinkerGraph extends AbstractTinkerGraph {
         return edges.get(edgeIdManager.convert(edgeId));
     }
 
+    @Override
+    public Iterator<Vertex> verticesByLabel(final Collection<String> labels) {
+        final Iterator<Vertex> iterator = new TinkerGraphIterator<>(iterateByLabel(this.vertexLabels, labels));
+        return TinkerHelper.inComputerMode(this) ?
+                IteratorUtils.filter(iterator, t -> this.graphComputerView.legalVertex(t)) :
+                iterator;
+    }
+
+    @Override
+    public Iterator<Edge> edgesByLabel(final Collection<String> labels) {
+        final Iterator<Edge> iterator = new TinkerGraphIterator<>(iterateByLabel(this.edgeLabels, labels));
+        return TinkerHelper.inComputerMode(this) ?
+                IteratorUtils.filter(iterator, t -> this.graphComputerView.legalEdge(t.outVertex(), t)) :
+                iterator;
+    }
+
+    static <T extends Element> void addToLabel(final Map<String, Set<T>> partitions, final String label, final T element) {
+        partitions.computeIfAbsent(label, l -> ConcurrentHashMap.newKeySet()).add(element);
+    }
+
+    private static <T extends Element> void removeFromLabel(final Map<String, Set<T>> partitions, final String label, final T element) {
+        final Set<T> elements = partitions.get(label);
+        if (null != elements) elements.remove(element);
+    }
+
+    private static <T extends Element> Iterator<T> iterateByLabel(final Map<String, Set<T>> partitions, final Collection<String> labels) {
+        if (labels.size() == 1) {
+            final Set<T> elements = partitions.get(labels.iterator().next());
+            return null == elements ? Collections.emptyIterator() : elements.iterator();
+        }
+
+        return IteratorUtils.flatMap(labels.stream().distinct().iterator(), label -> {
+            final Set<T> elements = partitions.get(label);
+            return null == elements ? Collections.emptyIterator() : elements.iterator();
+        });
+    }
+
+    private static <T extends Element> long countByLabel(final Map<String, Set<T>> partitions, final Collection<String> labels) {
+        long count = 0;
+        for (String label : new HashSet<>(labels)) {
+            final Set<T> elements = partitions.get(label);
+            if (null != elements) count += elements.size();
+        }
+        return count;
+    }
+
 
     private <T extends Element> Iterator<T> createElementIterator(final Class<T> clazz, final Map<Object, T> elements,
                                                                   final IdManager idManager,
@@ -284,10 +424,10 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     @Override
     protected void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
+        if (null == vertex.outEdges) vertex.outEdges = createAdjacencyMap();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = createAdjacencySet();
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
@@ -295,15 +435,66 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     @Override
     protected void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
+        if (null == vertex.inEdges) vertex.inEdges = createAdjacencyMap();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = createAdjacencySet();
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
+    private Map<String, Set<Edge>> createAdjacencyMap() {
+        // most vertices have edges of only one or two labels on each side
+        return adjacencyStorage == AdjacencyStorage.COMPACT ? new HashMap<>(2, 1.0f) : new HashMap<>();
+    }
+
+    private Set<Edge> createAdjacencySet() {
+        return adjacencyStorage == AdjacencyStorage.COMPACT ? new TinkerEdgeArraySet() : new HashSet<>();
+    }
+
+    /**
+     * Gets the way in which the edges of each vertex are held as configured by
+     * {@link #GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE}.
+     */
+    public AdjacencyStorage getAdjacencyStorage() {
+        return adjacencyStorage;
+    }
+
+    /**
+     * Gets the way in which the properties of each vertex are held as configured by
+     * {@link #GREMLIN_TINKERGRAPH_PROPERTY_STORAGE}.
+     */
+    public PropertyStorage getPropertyStorage() {
+        return propertyStorage;
+    }
+
+    /**
+     * Opens a {@link TinkerBulkLoader} that uses one thread per available processor.
+     */
+    public TinkerBulkLoader bulkLoader() {
+        return bulkLoader(Runtime.getRuntime().availableProcessors(), 0, 0);
+    }
+
+    /**
+     * Opens a {@link TinkerBulkLoader} to add large numbers of vertices and edges to the graph in parallel. Only one
+     * loader can be open at a time and the graph should not be used otherwise until it is closed.
+     *
+     * @param threads the number of threads to load with
+     * @param expectedVertices the number of vertices expected to be loaded which is used to size the graph up front
+     * @param expectedEdges the number of edges expected to be loaded which is used to size the graph up front
+     */
+    public TinkerBulkLoader bulkLoader(final int threads, final int expectedVertices, final int expectedEdges) {
+        if (!bulkLoading.compareAndSet(false, true))
+            throw new IllegalStateException("A bulk loader is already open for this graph");
+        try {
+            return new TinkerBulkLoader(this, threads, expectedVertices, expectedEdges);
+        } catch (RuntimeException ex) {
+            bulkLoading.set(false);
+            throw ex;
+        }
+    }
+
     /**
      * Return TinkerGraph feature set.
      * <p/>
@@ -386,12 +577,30 @@ public class TinkerGraph extends AbstractTinkerGraph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, TinkerIndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link TinkerIndexType} for said element class ({@link Vertex} or
+     * {@link Edge}) and said property key. A {@link TinkerIndexType#SORTED} index can additionally be used for range
+     * and prefix lookups like {@code has("age", gt(30))} or {@code has("name", startingWith("ma"))}. If the key is
+     * already indexed, this method does nothing.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the kind of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final TinkerIndexType indexType) {
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
+
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -413,4 +622,96 @@ public class TinkerGraph extends AbstractTinkerGraph {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
     }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over an ordered list of
+     * property keys, where {@code T.label.getAccessor()} may be used to include the element label. The index is used
+     * when the leading keys of the index are all filtered by equality, for example
+     * {@code g.V().hasLabel("person").has("tenantId", 1).has("externalId", "x")} given an index over
+     * {@code [~label, tenantId, externalId]}. Whenever an element has one of the keys mutated, the index is updated.
+     * When the index is created, all existing elements are indexed to ensure that they are captured by the index.
+     *
+     * @param keys         the ordered property keys to index which must contain at least two keys
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            ((TinkerIndex<TinkerVertex>) this.vertexIndex).createCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            ((TinkerIndex<TinkerEdge>) this.edgeIndex).createCompositeKeyIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and ordered keys.
+     *
+     * @param keys         the ordered property keys of the index to drop
+     * @param elementClass the element class of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) ((TinkerIndex<TinkerVertex>) this.vertexIndex).dropCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) ((TinkerIndex<TinkerEdge>) this.edgeIndex).dropCompositeKeyIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return all the composite indexes currently defined for said element class ({@link Vertex} or {@link Edge}), each
+     * as the ordered list of keys that make up the index.
+     *
+     * @param elementClass the element class to get the composite indexes for
+     * @param <E>          The type of the element class
+     * @return the set of composite index keys
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : TinkerIndexHelper.getCompositeIndexedKeys(this.vertexIndex);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : TinkerIndexHelper.getCompositeIndexedKeys(this.edgeIndex);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The ways in which the edges of a vertex can be held in memory.
+     */
+    public enum AdjacencyStorage {
+        /**
+         * Holds the edges of each label in a hash set which offers constant time edge removal.
+         */
+        HASH,
+
+        /**
+         * Holds the edges of each label in a growable array which requires far less memory per edge and iterates
+         * faster, at the expense of edge removal being linear in the number of edges of the label on the vertex.
+         */
+        COMPACT
+    }
+
+    /**
+     * The ways in which the properties of a vertex can be held in memory.
+     */
+    public enum PropertyStorage {
+        /**
+         * Holds each vertex property as an object on the heap.
+         */
+        HEAP,
+
+        /**
+         * Holds single {@code Long}, {@code Integer}, {@code Double}, {@code Boolean} and {@code String} values
+         * without meta-properties in typed columns per property key outside of the heap, which greatly reduces the
+         * number of objects the garbage collector has to trace. Other vertex properties are held on the heap.
+         */
+        OFF_HEAP
+    }
 }
@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -51,6 +52,14 @@ public final class TinkerHelper {
     }
 
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
+        if (vertex.columnSlot >= 0) {
+            final Map<String, List<VertexProperty>> properties = new HashMap<>();
+            vertex.graph.vertexPropertyColumns.properties(vertex).forEach(property ->
+                    properties.computeIfAbsent(property.key(), k -> new ArrayList<>()).add(property));
+            if (null != vertex.properties)
+                vertex.properties.forEach((key, list) -> properties.computeIfAbsent(key, k -> new ArrayList<>()).addAll(list));
+            return properties;
+        }
         return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
     }
 
@@ -70,6 +79,35 @@ public final class TinkerHelper {
         graph.graphComputerView = null;
     }
 
+    /**
+     * Get the dense ordinal of the vertex in the compressed graph of a running graph computation, which is {@code -1}
+     * if the vertex is not part of such a computation.
+     */
+    public static int getComputeOrdinal(final TinkerVertex vertex) {
+        return vertex.computeOrdinal;
+    }
+
+    public static void setComputeOrdinal(final TinkerVertex vertex, final int ordinal) {
+        vertex.computeOrdinal = ordinal;
+    }
+
+    /**
+     * Get the number of edges of the vertex in both directions without iterating them, which ignores the filter of a
+     * running graph computation.
+     */
+    public static int getDegree(final TinkerVertex vertex) {
+        return size(vertex.outEdges) + size(vertex.inEdges) + size(vertex.outEdgesId) + size(vertex.inEdgesId);
+    }
+
+    private static int size(final Map<String, ? extends Set<?>> adjacency) {
+        if (null == adjacency) return 0;
+        int size = 0;
+        for (final Set<?> edges : adjacency.values()) {
+            size += edges.size();
+        }
+        return size;
+    }
+
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Edge> edges = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -25,17 +26,36 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
 
+    /**
+     * Lexicographic order of value tuples used by composite indexes, where a tuple sorts directly before all the
+     * tuples it is a prefix of.
+     */
+    private static final Comparator<List<Object>> TUPLE_ORDER = (a, b) -> {
+        final int size = Math.min(a.size(), b.size());
+        for (int i = 0; i < size; i++) {
+            final int c = INDEX_ORDER.compare(a.get(i), b.get(i));
+            if (c != 0) return c;
+        }
+        return Integer.compare(a.size(), b.size());
+    };
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<List<String>, CompositeKeyIndex> compositeIndex = new ConcurrentHashMap<>();
+    protected final Set<List<String>> compositeKeys = new LinkedHashSet<>();
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
         super(graph, indexClass);
@@ -44,7 +64,7 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<>());
+            this.index.putIfAbsent(key, createKeyMap(key));
             keyMap = this.index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -70,6 +90,11 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
         }
     }
 
+    @Override
+    public List<T> get(final String key, final List<P<?>> predicates) {
+        return new ArrayList<>(lookup(this.index.get(key), predicates));
+    }
+
     @Override
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
@@ -92,10 +117,11 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
             if (null != objects) {
                 objects.remove(element);
                 if (objects.size() == 0) {
-                    keyMap.remove(value);
+                    keyMap.remove(indexable(value));
                 }
             }
         }
+        updateComposites(key, element);
     }
 
     @Override
@@ -106,6 +132,9 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
                     set.remove(element);
                 }
             }
+            for (CompositeKeyIndex composite : compositeIndex.values()) {
+                composite.remove(element);
+            }
         }
     }
 
@@ -114,11 +143,13 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
         if (this.indexedKeys.contains(key)) {
             this.remove(key, oldValue, element);
             this.put(key, newValue, element);
+        } else {
+            updateComposites(key, element);
         }
     }
 
     @Override
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerIndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
@@ -127,6 +158,8 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
         if (this.indexedKeys.contains(key))
             return;
         this.indexedKeys.add(key);
+        if (TinkerIndexType.SORTED == indexType)
+            this.sortedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 // cleaner to use graph.vertices(), but graph.vertices is quicker
@@ -143,5 +176,201 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.sortedKeys.remove(key);
+    }
+
+    /**
+     * Get all composite index keys, each as the ordered list of keys that make up the index.
+     * @return set of composite index keys
+     */
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return this.compositeKeys;
+    }
+
+    /**
+     * Create new composite index over an ordered list of keys. The element label can take part in the index with
+     * the {@code T.label} accessor.
+     * @param keys ordered property keys
+     */
+    public void createCompositeKeyIndex(final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys");
+        for (final String key : keys) {
+            if (null == key || key.isEmpty())
+                throw new IllegalArgumentException("The keys for the composite index cannot be null or empty strings");
+        }
+        if (new LinkedHashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys for the composite index must be unique: " + keys);
+
+        final List<String> compositeKeys = Collections.unmodifiableList(new ArrayList<>(keys));
+        if (this.compositeKeys.contains(compositeKeys))
+            return;
+
+        final CompositeKeyIndex composite = new CompositeKeyIndex(compositeKeys);
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                ((TinkerGraph)this.graph).vertices.values().parallelStream() :
+                ((TinkerGraph)this.graph).edges.values().parallelStream()).forEach(e -> composite.update((T) e));
+        this.compositeIndex.put(compositeKeys, composite);
+        this.compositeKeys.add(compositeKeys);
+    }
+
+    /**
+     * Drop composite index
+     * @param keys ordered property keys
+     */
+    public void dropCompositeKeyIndex(final List<String> keys) {
+        final CompositeKeyIndex composite = this.compositeIndex.remove(keys);
+        if (null != composite) composite.tuples.clear();
+
+        this.compositeKeys.remove(keys);
+    }
+
+    /**
+     * Get list of elements whose values for the leading keys of a composite index equal the supplied values.
+     * @param keys ordered property keys of the composite index
+     * @param values values for the leading keys
+     * @return list of elements
+     */
+    public List<T> getComposite(final List<String> keys, final List<Object> values) {
+        final CompositeKeyIndex composite = this.compositeIndex.get(keys);
+        return null == composite ? Collections.emptyList() : composite.get(values);
+    }
+
+    /**
+     * Get count of elements whose values for the leading keys of a composite index equal the supplied values. The
+     * count stops once it exceeds the limit, which allows the selectivity of indexes to be compared cheaply.
+     * @param keys ordered property keys of the composite index
+     * @param values values for the leading keys
+     * @param limit count after which counting may stop
+     * @return count of elements
+     */
+    public long countComposite(final List<String> keys, final List<Object> values, final long limit) {
+        final CompositeKeyIndex composite = this.compositeIndex.get(keys);
+        return null == composite ? 0 : composite.count(values, limit);
+    }
+
+    private void updateComposites(final String key, final T element) {
+        if (this.compositeIndex.isEmpty()) return;
+        for (CompositeKeyIndex composite : this.compositeIndex.values()) {
+            if (composite.keys.contains(key))
+                composite.update(element);
+        }
+    }
+
+    /**
+     * Index over an ordered list of keys, where each element is stored under the tuple of its values for those keys.
+     * Elements that do not have a value for every key are not indexed. Tuples are kept sorted so that a lookup by the
+     * values of the leading keys is a scan over a contiguous range.
+     */
+    final class CompositeKeyIndex {
+        private final List<String> keys;
+        private final NavigableMap<List<Object>, Set<T>> tuples = new ConcurrentSkipListMap<>(TUPLE_ORDER);
+        // the tuples each element is currently stored under so they can be removed when the element changes
+        private final Map<T, List<List<Object>>> entries = new ConcurrentHashMap<>();
+
+        private CompositeKeyIndex(final List<String> keys) {
+            this.keys = keys;
+        }
+
+        void update(final T element) {
+            remove(element);
+
+            final List<List<Object>> elementTuples = tuplesOf(element);
+            if (elementTuples.isEmpty()) return;
+
+            for (List<Object> tuple : elementTuples) {
+                tuples.computeIfAbsent(tuple, t -> ConcurrentHashMap.newKeySet()).add(element);
+            }
+            entries.put(element, elementTuples);
+        }
+
+        void remove(final T element) {
+            final List<List<Object>> elementTuples = entries.remove(element);
+            if (null == elementTuples) return;
+
+            for (List<Object> tuple : elementTuples) {
+                final Set<T> objects = tuples.get(tuple);
+                if (null != objects) {
+                    objects.remove(element);
+                    if (objects.isEmpty())
+                        tuples.remove(tuple);
+                }
+            }
+        }
+
+        List<T> get(final List<Object> values) {
+            final List<Object> prefix = indexable(values);
+            if (prefix.size() == keys.size()) {
+                final Set<T> objects = tuples.get(prefix);
+                return null == objects ? Collections.emptyList() : new ArrayList<>(objects);
+            }
+
+            final Set<T> result = new LinkedHashSet<>();
+            for (Map.Entry<List<Object>, Set<T>> entry : tuples.tailMap(prefix, true).entrySet()) {
+                if (!startsWith(entry.getKey(), prefix)) break;
+                result.addAll(entry.getValue());
+            }
+            return new ArrayList<>(result);
+        }
+
+        long count(final List<Object> values, final long limit) {
+            final List<Object> prefix = indexable(values);
+            if (prefix.size() == keys.size()) {
+                final Set<T> objects = tuples.get(prefix);
+                return null == objects ? 0 : objects.size();
+            }
+
+            long count = 0;
+            for (Map.Entry<List<Object>, Set<T>> entry : tuples.tailMap(prefix, true).entrySet()) {
+                if (!startsWith(entry.getKey(), prefix) || count > limit) break;
+                count += entry.getValue().size();
+            }
+            return count;
+        }
+
+        /**
+         * All tuples that start with the prefix directly follow the prefix itself in {@link #TUPLE_ORDER}, so a scan
+         * from the prefix can stop at the first tuple for which this returns {@code false}.
+         */
+        private boolean startsWith(final List<Object> tuple, final List<Object> prefix) {
+            return TUPLE_ORDER.compare(tuple.subList(0, prefix.size()), prefix) == 0;
+        }
+
+        private List<Object> indexable(final List<Object> values) {
+            final List<Object> result = new ArrayList<>(values.size());
+            for (Object value : values) {
+                result.add(AbstractTinkerIndex.indexable(value));
+            }
+            return result;
+        }
+
+        /**
+         * Builds the tuples for the element, which are more than one when it has multiple values for a key.
+         */
+        private List<List<Object>> tuplesOf(final T element) {
+            List<List<Object>> result = Collections.singletonList(Collections.emptyList());
+            for (String key : keys) {
+                final List<Object> values = new ArrayList<>();
+                if (org.apache.tinkerpop.gremlin.structure.T.label.getAccessor().equals(key))
+                    values.add(element.label());
+                else
+                    element.properties(key).forEachRemaining(p -> values.add(AbstractTinkerIndex.indexable(p.value())));
+
+                if (values.isEmpty()) return Collections.emptyList();
+
+                final List<List<Object>> next = new ArrayList<>(result.size() * values.size());
+                for (List<Object> tuple : result) {
+                    for (Object value : values) {
+                        final List<Object> extended = new ArrayList<>(tuple);
+                        extended.add(value);
+                        next.add(extended);
+                    }
+                }
+                result = next;
+            }
+            return result;
+        }
     }
 }
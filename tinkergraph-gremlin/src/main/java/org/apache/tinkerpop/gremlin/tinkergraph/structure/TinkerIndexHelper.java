@@ -18,8 +18,12 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public final class TinkerIndexHelper {
 
@@ -34,6 +38,43 @@ public final class TinkerIndexHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Get the index of the graph for the element class which may be {@code null} if nothing was indexed yet. There is
+     * no index for a snapshot read as indices only hold the latest committed elements.
+     */
+    public static AbstractTinkerIndex<? extends Element> getIndex(final AbstractTinkerGraph graph, final Class<? extends Element> elementClass) {
+        if (graph instanceof TinkerTransactionGraph && ((TinkerTransactionGraph) graph).inSnapshot())
+            return null;
+        else if (Vertex.class.isAssignableFrom(elementClass))
+            return graph.vertexIndex;
+        else
+            return graph.edgeIndex;
+    }
+
+    /**
+     * Get the keys of the composite indexes of the index, which only the index of a {@link TinkerGraph} can have.
+     */
+    public static Set<List<String>> getCompositeIndexedKeys(final AbstractTinkerIndex<? extends Element> index) {
+        return index instanceof TinkerIndex ? ((TinkerIndex<? extends Element>) index).getCompositeIndexedKeys() : Collections.emptySet();
+    }
+
+    /**
+     * Get the elements whose values for the leading keys of a composite index of the index equal the values.
+     */
+    public static List<? extends Element> queryCompositeIndex(final AbstractTinkerIndex<? extends Element> index,
+                                                              final List<String> keys, final List<Object> values) {
+        return index instanceof TinkerIndex ? ((TinkerIndex<? extends Element>) index).getComposite(keys, values) : Collections.emptyList();
+    }
+
+    /**
+     * Count the elements whose values for the leading keys of a composite index of the index equal the values, where
+     * counting may stop once the limit is exceeded.
+     */
+    public static long countCompositeIndex(final AbstractTinkerIndex<? extends Element> index, final List<String> keys,
+                                           final List<Object> values, final long limit) {
+        return index instanceof TinkerIndex ? ((TinkerIndex<? extends Element>) index).countComposite(keys, values, limit) : 0;
+    }
+
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+/**
+ * The kind of storage used by a TinkerGraph index for a single property key.
+ */
+public enum TinkerIndexType {
+
+    /**
+     * A hash-based index which supports equality and {@code within()} lookups.
+     */
+    HASH,
+
+    /**
+     * An index which keeps values in Gremlin orderability order and therefore supports range lookups such as
+     * {@code lt()}, {@code gte()}, {@code between()}, {@code inside()}, {@code outside()} and
+     * {@code startingWith()} in addition to everything the {@link #HASH} index supports.
+     */
+    SORTED
+}
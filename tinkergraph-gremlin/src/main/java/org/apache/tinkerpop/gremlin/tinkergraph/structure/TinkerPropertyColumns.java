@@ -0,0 +1,371 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds vertex properties of a {@link TinkerGraph} configured with {@link TinkerGraph.PropertyStorage#OFF_HEAP} in
+ * one typed column per property key in direct memory. Each vertex that stores a property here is given a slot which
+ * is its position in every column. A column holds one {@code Long}, {@code Integer}, {@code Double}, {@code Boolean}
+ * or {@code String} value per slot along with the identifier of the {@link VertexProperty}, where strings are
+ * replaced by a code from a per column dictionary. The {@link VertexProperty} is only materialized when it is read.
+ * <p/>
+ * Property values of other types, properties with meta-properties and the additional values of a multi-property
+ * are kept on the heap by the {@link TinkerVertex} as usual. The slot of a removed vertex is given to the next vertex
+ * that needs one, a page is released once none of its slots hold a value and a string leaves the dictionary of its
+ * column once no slot holds it anymore.
+ */
+final class TinkerPropertyColumns {
+
+    private static final int PAGE_BITS = 14;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * Marks an empty slot in the identifier column which is why such an identifier is not stored in a column.
+     */
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    private final AtomicInteger nextSlot = new AtomicInteger(0);
+    private final Queue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+    private final Map<String, Column> columns = new ConcurrentHashMap<>();
+
+    int allocateSlot() {
+        final Integer slot = this.freeSlots.poll();
+        return null == slot ? this.nextSlot.getAndIncrement() : slot;
+    }
+
+    /**
+     * Removes all values from the slot and makes it available to {@link #allocateSlot()} again.
+     */
+    void releaseSlot(final int slot) {
+        removeAll(slot);
+        this.freeSlots.offer(slot);
+    }
+
+    /**
+     * Determines if the value for the key can be stored in a column.
+     */
+    boolean accepts(final String key, final Object id, final Object value) {
+        if (!(id instanceof Long) || ABSENT == (Long) id) return false;
+        final ColumnType type = ColumnType.of(value);
+        if (null == type) return false;
+        final Column column = this.columns.get(key);
+        return null == column || column.type == type;
+    }
+
+    /**
+     * Stores the value for the key in the slot given that it {@link #accepts(String, Object, Object)} the value.
+     */
+    void set(final int slot, final String key, final Object id, final Object value) {
+        this.columns.computeIfAbsent(key, k -> new Column(ColumnType.of(value))).set(slot, (Long) id, value);
+    }
+
+    boolean has(final int slot, final String key) {
+        final Column column = null == key ? null : this.columns.get(key);
+        return null != column && column.has(slot);
+    }
+
+    /**
+     * Gets the property for the key stored in the slot of the vertex or {@code null} if there is none.
+     */
+    <V> TinkerVertexProperty<V> get(final TinkerVertex vertex, final String key) {
+        final Column column = null == key ? null : this.columns.get(key);
+        return null == column ? null : column.get(vertex, key);
+    }
+
+    /**
+     * Gets the properties stored in the slot of the vertex that have one of the keys or all of them if there are no
+     * keys.
+     */
+    List<VertexProperty> properties(final TinkerVertex vertex, final String... propertyKeys) {
+        final List<VertexProperty> list = new ArrayList<>();
+        if (propertyKeys.length == 1) {
+            final VertexProperty property = get(vertex, propertyKeys[0]);
+            if (null != property) list.add(property);
+        } else {
+            this.columns.forEach((key, column) -> {
+                if (ElementHelper.keyExists(key, propertyKeys)) {
+                    final VertexProperty property = column.get(vertex, key);
+                    if (null != property) list.add(property);
+                }
+            });
+        }
+        return list;
+    }
+
+    /**
+     * Removes the value for the key from the slot if it is still the value of the property with the identifier.
+     *
+     * @return {@code true} if the value was removed
+     */
+    boolean remove(final int slot, final String key, final Object id) {
+        final Column column = this.columns.get(key);
+        return null != column && column.remove(slot, id);
+    }
+
+    void removeAll(final int slot) {
+        this.columns.values().forEach(column -> column.remove(slot, null));
+    }
+
+    void clear() {
+        this.columns.clear();
+        this.freeSlots.clear();
+        this.nextSlot.set(0);
+    }
+
+    /**
+     * Gets the number of pages of direct memory currently allocated by all columns.
+     */
+    int getPageCount() {
+        return this.columns.values().stream().mapToInt(Column::pageCount).sum();
+    }
+
+    /**
+     * Gets the number of distinct strings held in the dictionary of the column for the key.
+     */
+    int getDictionarySize(final String key) {
+        final Column column = this.columns.get(key);
+        return null == column ? 0 : column.dictionarySize();
+    }
+
+    private enum ColumnType {
+        LONG(Long.BYTES),
+        INTEGER(Integer.BYTES),
+        DOUBLE(Double.BYTES),
+        BOOLEAN(1),
+        STRING(Integer.BYTES);
+
+        private final int width;
+
+        ColumnType(final int width) {
+            this.width = width;
+        }
+
+        private static ColumnType of(final Object value) {
+            if (null == value) return null;
+            final Class<?> clazz = value.getClass();
+            if (clazz == Long.class) return LONG;
+            else if (clazz == Integer.class) return INTEGER;
+            else if (clazz == Double.class) return DOUBLE;
+            else if (clazz == Boolean.class) return BOOLEAN;
+            else if (clazz == String.class) return STRING;
+            else return null;
+        }
+    }
+
+    /**
+     * The identifiers and values of a range of slots in direct memory along with the number of those slots that hold
+     * a value.
+     */
+    private static final class Page {
+        private final ByteBuffer ids;
+        private final ByteBuffer values;
+        private int size = 0;
+
+        private Page(final ColumnType type) {
+            this.ids = ByteBuffer.allocateDirect(PAGE_SIZE * Long.BYTES);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                this.ids.putLong(i * Long.BYTES, ABSENT);
+            }
+            this.values = ByteBuffer.allocateDirect(PAGE_SIZE * type.width);
+        }
+
+        private long id(final int slot) {
+            return this.ids.getLong((slot & PAGE_MASK) * Long.BYTES);
+        }
+    }
+
+    /**
+     * A column is split in pages of direct memory which are allocated as slots in their range are first written and
+     * dropped when the last of those slots is emptied, so that the memory is freed along with the buffers.
+     */
+    private static final class Column {
+        private final ColumnType type;
+        private volatile Page[] pages = new Page[0];
+
+        // the dictionary of a string column where each code counts the slots holding its string and the codes of
+        // strings that are no longer held are reused
+        private final Map<String, Integer> codes;
+        private final List<String> strings;
+        private int[] references;
+        private final Deque<Integer> freeCodes;
+
+        private Column(final ColumnType type) {
+            this.type = type;
+            this.codes = type == ColumnType.STRING ? new HashMap<>() : null;
+            this.strings = type == ColumnType.STRING ? new ArrayList<>() : null;
+            this.references = type == ColumnType.STRING ? new int[0] : null;
+            this.freeCodes = type == ColumnType.STRING ? new ArrayDeque<>() : null;
+        }
+
+        private boolean has(final int slot) {
+            final Page page = page(slot);
+            return null != page && ABSENT != page.id(slot);
+        }
+
+        private <V> TinkerVertexProperty<V> get(final TinkerVertex vertex, final String key) {
+            final int slot = vertex.columnSlot;
+            final Page page = page(slot);
+            if (null == page) return null;
+            if (this.type == ColumnType.STRING) {
+                // the code must be resolved before another thread can give it to a different string
+                synchronized (this) {
+                    return property(page, slot, vertex, key);
+                }
+            }
+            return property(page, slot, vertex, key);
+        }
+
+        private <V> TinkerVertexProperty<V> property(final Page page, final int slot, final TinkerVertex vertex, final String key) {
+            final long id = page.id(slot);
+            if (ABSENT == id) return null;
+            return new TinkerColumnVertexProperty<>(id, vertex, key, (V) value(page, slot));
+        }
+
+        private Object value(final Page page, final int slot) {
+            final int offset = (slot & PAGE_MASK) * this.type.width;
+            switch (this.type) {
+                case LONG:
+                    return page.values.getLong(offset);
+                case INTEGER:
+                    return page.values.getInt(offset);
+                case DOUBLE:
+                    return page.values.getDouble(offset);
+                case BOOLEAN:
+                    return page.values.get(offset) != 0;
+                default:
+                    return this.strings.get(page.values.getInt(offset));
+            }
+        }
+
+        private synchronized void set(final int slot, final long id, final Object value) {
+            final int index = slot >>> PAGE_BITS;
+            if (index >= this.pages.length)
+                this.pages = Arrays.copyOf(this.pages, Math.max(index + 1, this.pages.length << 1));
+            Page page = this.pages[index];
+            if (null == page) {
+                page = new Page(this.type);
+                this.pages[index] = page;
+            }
+
+            final int offset = (slot & PAGE_MASK) * this.type.width;
+            if (ABSENT == page.id(slot))
+                page.size++;
+            else if (this.type == ColumnType.STRING)
+                release(page.values.getInt(offset));
+
+            switch (this.type) {
+                case LONG:
+                    page.values.putLong(offset, (Long) value);
+                    break;
+                case INTEGER:
+                    page.values.putInt(offset, (Integer) value);
+                    break;
+                case DOUBLE:
+                    page.values.putDouble(offset, (Double) value);
+                    break;
+                case BOOLEAN:
+                    page.values.put(offset, (byte) ((Boolean) value ? 1 : 0));
+                    break;
+                default:
+                    page.values.putInt(offset, acquire((String) value));
+            }
+            // the identifier is written last as it marks the slot as holding a value
+            page.ids.putLong((slot & PAGE_MASK) * Long.BYTES, id);
+        }
+
+        /**
+         * Removes the value in the slot if it belongs to the property with the identifier or in any case if the
+         * identifier is {@code null}.
+         */
+        private synchronized boolean remove(final int slot, final Object id) {
+            final Page page = page(slot);
+            if (null == page) return false;
+            final long current = page.id(slot);
+            if (ABSENT == current || (null != id && !id.equals(current))) return false;
+            page.ids.putLong((slot & PAGE_MASK) * Long.BYTES, ABSENT);
+            if (this.type == ColumnType.STRING)
+                release(page.values.getInt((slot & PAGE_MASK) * this.type.width));
+            if (--page.size == 0)
+                this.pages[slot >>> PAGE_BITS] = null;
+            return true;
+        }
+
+        /**
+         * Gets the code of the string and counts one more slot holding it.
+         */
+        private int acquire(final String string) {
+            Integer code = this.codes.get(string);
+            if (null == code) {
+                if (this.freeCodes.isEmpty()) {
+                    code = this.strings.size();
+                    this.strings.add(string);
+                    this.references = Arrays.copyOf(this.references, Math.max(code + 1, this.references.length << 1));
+                } else {
+                    code = this.freeCodes.pop();
+                    this.strings.set(code, string);
+                }
+                this.codes.put(string, code);
+            }
+            this.references[code]++;
+            return code;
+        }
+
+        /**
+         * Counts one less slot holding the string of the code and drops it from the dictionary if no slot holds it.
+         */
+        private void release(final int code) {
+            if (--this.references[code] == 0) {
+                this.codes.remove(this.strings.get(code));
+                this.strings.set(code, null);
+                this.freeCodes.push(code);
+            }
+        }
+
+        private synchronized int dictionarySize() {
+            return null == this.codes ? 0 : this.codes.size();
+        }
+
+        private synchronized int pageCount() {
+            return (int) Arrays.stream(this.pages).filter(page -> null != page).count();
+        }
+
+        private Page page(final int slot) {
+            final Page[] pages = this.pages;
+            final int index = slot >>> PAGE_BITS;
+            return index < pages.length ? pages[index] : null;
+        }
+    }
+}
@@ -0,0 +1,484 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Reads and writes the compact binary snapshot format of TinkerGraph which is selected by setting
+ * {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} to {@code snapshot}. The file starts with a header
+ * and is followed by blocks of records, each no larger than a memory mapping allows. The whole graph is read into
+ * the heap when it is loaded and the file is not used afterward. Blocks are memory-mapped one at a time only to
+ * read their records without copying them into buffers first, so that no intermediate object representation of the
+ * graph is needed. Vertices are
+ * written before edges and the index definitions come last, so that indices are built once over the loaded data.
+ * A {@link TinkerGraph} gets its elements put in its maps directly while a {@link TinkerTransactionGraph} adds them in
+ * a transaction through the {@code Graph} API.
+ * <p/>
+ * Labels and property keys are written once and referenced by code afterward. Common property value types have
+ * their own encoding and any other value is written with Gryo.
+ */
+final class TinkerSnapshot {
+
+    static final String FORMAT = "snapshot";
+
+    private static final int MAGIC = 0x544B5347;
+    private static final int VERSION = 1;
+    private static final int BLOCK_SIZE = 1 << 26;
+
+    private static final byte END = 0;
+    private static final byte VERTEX = 1;
+    private static final byte EDGE = 2;
+    private static final byte INDEX = 3;
+    private static final byte COMPOSITE_INDEX = 4;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte INTEGER = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte UUID_VALUE = 9;
+    private static final byte OBJECT = 10;
+
+    private TinkerSnapshot() {
+    }
+
+    public static void write(final AbstractTinkerGraph graph, final File file) throws IOException {
+        try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            final Writer writer = new Writer(out);
+            final DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeLong(graph.currentId.get());
+
+            final Iterator<Vertex> vertices = graph.vertices();
+            while (vertices.hasNext()) {
+                final Vertex vertex = vertices.next();
+                writer.record.writeByte(VERTEX);
+                writer.writeValue(vertex.id());
+                writer.writeString(vertex.label());
+                final List<VertexProperty<Object>> properties = new ArrayList<>();
+                vertex.<Object>properties().forEachRemaining(properties::add);
+                writer.record.writeInt(properties.size());
+                for (final VertexProperty<Object> property : properties) {
+                    writer.writeString(property.key());
+                    writer.writeValue(property.id());
+                    writer.writeValue(property.value());
+                    writer.writeProperties(property);
+                }
+                writer.endRecord();
+            }
+
+            final Iterator<Edge> edges = graph.edges();
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                writer.record.writeByte(EDGE);
+                writer.writeValue(edge.id());
+                writer.writeString(edge.label());
+                writer.writeValue(edge.outVertex().id());
+                writer.writeValue(edge.inVertex().id());
+                writer.writeProperties(edge);
+                writer.endRecord();
+            }
+
+            writer.writeIndices(graph.vertexIndex, Vertex.class);
+            writer.writeIndices(graph.edgeIndex, Edge.class);
+            writer.record.writeByte(END);
+            writer.endRecord();
+            writer.flushBlock();
+        }
+    }
+
+    public static void read(final AbstractTinkerGraph graph, final File file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 16);
+            if (header.getInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph snapshot", file));
+            final int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(String.format("Unsupported TinkerGraph snapshot version %s", version));
+            final long currentId = header.getLong();
+
+            final Reader reader = new Reader(graph);
+            long position = 16;
+            boolean end = false;
+            while (!end && position < channel.size()) {
+                final int length = channel.map(FileChannel.MapMode.READ_ONLY, position, Integer.BYTES).getInt();
+                reader.block = channel.map(FileChannel.MapMode.READ_ONLY, position + Integer.BYTES, length);
+                while (!end && reader.block.hasRemaining()) {
+                    end = reader.readRecord();
+                }
+                position += Integer.BYTES + length;
+            }
+
+            reader.createIndices();
+            if (graph.currentId.get() < currentId) graph.currentId.set(currentId);
+            if (graph instanceof TinkerTransactionGraph) graph.tx().commit();
+        }
+    }
+
+    static Kryo createKryo() {
+        return GryoMapper.build().version(GryoVersion.V3_0).addRegistry(TinkerIoRegistryV3.instance()).create().createMapper();
+    }
+
+    static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static byte[] readBytes(final ByteBuffer in) {
+        final byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes a value with a compact encoding for common types and with Gryo for anything else.
+     */
+    static void writeValue(final DataOutputStream out, final Object value, final Supplier<Kryo> kryo) throws IOException {
+        if (null == value) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof UUID) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(((UUID) value).getMostSignificantBits());
+            out.writeLong(((UUID) value).getLeastSignificantBits());
+        } else {
+            final Output output = new Output(256, -1);
+            kryo.get().writeClassAndObject(output, value);
+            out.writeByte(OBJECT);
+            writeBytes(out, output.toBytes());
+        }
+    }
+
+    /**
+     * Reads a value written by {@link #writeValue(DataOutputStream, Object, Supplier)}.
+     */
+    static Object readValue(final ByteBuffer in, final Supplier<Kryo> kryo) throws IOException {
+        final byte type = in.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case LONG:
+                return in.getLong();
+            case INTEGER:
+                return in.getInt();
+            case DOUBLE:
+                return in.getDouble();
+            case FLOAT:
+                return in.getFloat();
+            case BOOLEAN:
+                return in.get() != 0;
+            case SHORT:
+                return in.getShort();
+            case BYTE:
+                return in.get();
+            case UUID_VALUE:
+                return new UUID(in.getLong(), in.getLong());
+            case OBJECT:
+                return kryo.get().readClassAndObject(new Input(readBytes(in)));
+            default:
+                throw new IOException(String.format("Unknown value type %s in TinkerGraph data", type));
+        }
+    }
+
+    private static final class Writer {
+        private final OutputStream out;
+        private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        private final DataOutputStream record = new DataOutputStream(recordBytes);
+        private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+        private final Map<String, Integer> strings = new HashMap<>();
+        private Kryo kryo;
+
+        private Writer(final OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Moves the current record to the block, flushing the block first if the record does not fit in it.
+         */
+        private void endRecord() throws IOException {
+            if (this.block.size() > 0 && this.block.size() + this.recordBytes.size() > BLOCK_SIZE)
+                flushBlock();
+            this.recordBytes.writeTo(this.block);
+            this.recordBytes.reset();
+        }
+
+        private void flushBlock() throws IOException {
+            final DataOutputStream data = new DataOutputStream(this.out);
+            data.writeInt(this.block.size());
+            this.block.writeTo(this.out);
+            this.block.reset();
+        }
+
+        private void writeIndices(final AbstractTinkerIndex<?> index, final Class<? extends Element> elementClass) throws IOException {
+            if (null == index) return;
+            for (final String key : index.getIndexedKeys()) {
+                this.record.writeByte(INDEX);
+                this.record.writeBoolean(Vertex.class.equals(elementClass));
+                writeString(key);
+                this.record.writeByte(index.getIndexType(key).ordinal());
+                endRecord();
+            }
+            for (final List<String> keys : TinkerIndexHelper.getCompositeIndexedKeys(index)) {
+                this.record.writeByte(COMPOSITE_INDEX);
+                this.record.writeBoolean(Vertex.class.equals(elementClass));
+                this.record.writeInt(keys.size());
+                for (final String key : keys) {
+                    writeString(key);
+                }
+                endRecord();
+            }
+        }
+
+        private void writeProperties(final Element element) throws IOException {
+            final List<Property<Object>> properties = new ArrayList<>();
+            element.<Object>properties().forEachRemaining(properties::add);
+            this.record.writeInt(properties.size());
+            for (final Property<Object> property : properties) {
+                writeString(property.key());
+                writeValue(property.value());
+            }
+        }
+
+        /**
+         * Writes the code of the string, followed by the string itself the first time that it is written.
+         */
+        private void writeString(final String string) throws IOException {
+            final Integer code = this.strings.get(string);
+            if (null != code) {
+                this.record.writeInt(code);
+            } else {
+                this.record.writeInt(this.strings.size());
+                this.strings.put(string, this.strings.size());
+                writeBytes(this.record, string.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void writeValue(final Object value) throws IOException {
+            TinkerSnapshot.writeValue(this.record, value, this::kryo);
+        }
+
+        private Kryo kryo() {
+            if (null == this.kryo) this.kryo = createKryo();
+            return this.kryo;
+        }
+    }
+
+    private static final class Reader {
+        private final AbstractTinkerGraph graph;
+        private final List<String> strings = new ArrayList<>();
+        private final List<Object[]> indices = new ArrayList<>();
+        private MappedByteBuffer block;
+        private Kryo kryo;
+
+        private Reader(final AbstractTinkerGraph graph) {
+            this.graph = graph;
+        }
+
+        /**
+         * Reads the next record of the block.
+         *
+         * @return {@code true} if it was the last record of the snapshot
+         */
+        private boolean readRecord() throws IOException {
+            final byte type = this.block.get();
+            switch (type) {
+                case VERTEX:
+                    readVertex();
+                    return false;
+                case EDGE:
+                    readEdge();
+                    return false;
+                case INDEX:
+                    this.indices.add(new Object[]{this.block.get() != 0 ? Vertex.class : Edge.class,
+                            readString(), TinkerIndexType.values()[this.block.get()]});
+                    return false;
+                case COMPOSITE_INDEX:
+                    final Class<? extends Element> elementClass = this.block.get() != 0 ? Vertex.class : Edge.class;
+                    final int size = this.block.getInt();
+                    final List<String> keys = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        keys.add(readString());
+                    }
+                    this.indices.add(new Object[]{elementClass, keys});
+                    return false;
+                case END:
+                    return true;
+                default:
+                    throw new IOException(String.format("Unknown record type %s in TinkerGraph snapshot", type));
+            }
+        }
+
+        /**
+         * Reads a vertex into the element maps of a {@link TinkerGraph} directly, as the indices are only created
+         * once all records are read. A {@link TinkerTransactionGraph} adds the vertex in its transaction instead.
+         */
+        private void readVertex() throws IOException {
+            final Object id = readValue();
+            final String label = readString();
+            final TinkerGraph tinkerGraph = this.graph instanceof TinkerGraph ? (TinkerGraph) this.graph : null;
+            final Vertex vertex = null != tinkerGraph ?
+                    tinkerGraph.createTinkerVertex(id, label, tinkerGraph) :
+                    this.graph.addVertex(T.id, id, T.label, label);
+            final int properties = this.block.getInt();
+            for (int i = 0; i < properties; i++) {
+                final String key = readString();
+                final Object propertyId = readValue();
+                final Object value = readValue();
+                final VertexProperty<Object> property = vertex.property(VertexProperty.Cardinality.list, key, value, T.id, propertyId);
+                final int metaProperties = this.block.getInt();
+                for (int j = 0; j < metaProperties; j++) {
+                    property.property(readString(), readValue());
+                }
+            }
+
+            if (null != tinkerGraph) {
+                if (null != tinkerGraph.vertices.putIfAbsent(id, vertex))
+                    throw Graph.Exceptions.vertexWithIdAlreadyExists(id);
+                TinkerGraph.addToLabel(tinkerGraph.vertexLabels, label, vertex);
+            }
+        }
+
+        private void readEdge() throws IOException {
+            final Object id = readValue();
+            final String label = readString();
+            final TinkerVertex outVertex = vertex(readValue(), id);
+            final TinkerVertex inVertex = vertex(readValue(), id);
+            final TinkerGraph tinkerGraph = this.graph instanceof TinkerGraph ? (TinkerGraph) this.graph : null;
+            final Edge edge = null != tinkerGraph ?
+                    new TinkerEdge(id, outVertex, label, inVertex) :
+                    outVertex.addEdge(label, inVertex, T.id, id);
+            final int properties = this.block.getInt();
+            for (int i = 0; i < properties; i++) {
+                edge.property(readString(), readValue());
+            }
+
+            if (null != tinkerGraph) {
+                if (null != tinkerGraph.edges.putIfAbsent(id, edge))
+                    throw Graph.Exceptions.edgeWithIdAlreadyExists(id);
+                TinkerGraph.addToLabel(tinkerGraph.edgeLabels, label, edge);
+                tinkerGraph.addOutEdge(outVertex, label, edge);
+                tinkerGraph.addInEdge(inVertex, label, edge);
+            }
+        }
+
+        /**
+         * Gets a vertex that an edge refers to, which is written before the edges unless the snapshot was written
+         * while the graph was changed.
+         */
+        private TinkerVertex vertex(final Object vertexId, final Object edgeId) throws IOException {
+            final Iterator<Vertex> vertices = this.graph.vertices(vertexId);
+            if (!vertices.hasNext())
+                throw new IOException(String.format("Edge %s in TinkerGraph snapshot refers to vertex %s which is not in the snapshot",
+                        edgeId, vertexId));
+            return (TinkerVertex) vertices.next();
+        }
+
+        private void createIndices() {
+            for (final Object[] index : this.indices) {
+                final Class<? extends Element> elementClass = (Class<? extends Element>) index[0];
+                if (index.length == 2) {
+                    if (this.graph instanceof TinkerGraph)
+                        ((TinkerGraph) this.graph).createCompositeIndex((List<String>) index[1], elementClass);
+                } else if (this.graph instanceof TinkerGraph) {
+                    ((TinkerGraph) this.graph).createIndex((String) index[1], elementClass, (TinkerIndexType) index[2]);
+                } else if (this.graph instanceof TinkerTransactionGraph) {
+                    ((TinkerTransactionGraph) this.graph).createIndex((String) index[1], elementClass, (TinkerIndexType) index[2]);
+                }
+            }
+        }
+
+        private String readString() {
+            final int code = this.block.getInt();
+            if (code == this.strings.size())
+                this.strings.add(new String(readBytes(this.block), StandardCharsets.UTF_8));
+            return this.strings.get(code);
+        }
+
+        private Object readValue() throws IOException {
+            return TinkerSnapshot.readValue(this.block, this::kryo);
+        }
+
+        private Kryo kryo() {
+            if (null == this.kryo) this.kryo = createKryo();
+            return this.kryo;
+        }
+    }
+}
@@ -23,9 +23,14 @@ import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadLocalTransaction;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -65,6 +70,34 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
      */
     private final ThreadLocal<Set<TinkerElementContainer>> txReadElements = new ThreadLocal<>();
 
+    /**
+     * Commit version pinned by the snapshot transaction of each thread.
+     */
+    private final ThreadLocal<Long> snapshotVersion = ThreadLocal.withInitial(() -> NOT_STARTED);
+
+    /**
+     * Guards the commit versions, the pinned versions and the retired containers below, so that a snapshot never
+     * pins a commit that is only partially applied.
+     */
+    private final Object versionLock = new Object();
+
+    /**
+     * Version of the latest commit, only advanced when the graph allows snapshot reads.
+     */
+    private volatile long commitVersion = 0;
+
+    /**
+     * Commit versions pinned by open snapshot transactions with the number of transactions pinning each of them.
+     */
+    private final TreeMap<Long, Integer> pinnedVersions = new TreeMap<>();
+
+    /**
+     * Containers of elements removed while an older snapshot was still open, which are removed from the graph once
+     * no snapshot can read them anymore.
+     */
+    private final List<TinkerElementContainer<TinkerVertex>> retiredVertices = new ArrayList<>();
+    private final List<TinkerElementContainer<TinkerEdge>> retiredEdges = new ArrayList<>();
+
     private final TinkerTransactionGraph graph;
 
     static {
@@ -92,6 +125,39 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         txNumber.set(openedTx.getAndIncrement());
     }
 
+    /**
+     * Opens a read-only transaction that pins the latest commit version and sees the graph as it was at that commit.
+     */
+    public <T extends TraversalSource> T beginSnapshot() {
+        if (!graph.allowsSnapshotReads())
+            throw new IllegalStateException(String.format("Snapshot reads must be enabled with %s",
+                    TinkerTransactionGraph.GREMLIN_TINKERGRAPH_SNAPSHOT_READS));
+        if (isOpen())
+            throw Transaction.Exceptions.transactionAlreadyOpen();
+
+        synchronized (versionLock) {
+            final long version = commitVersion;
+            pinnedVersions.merge(version, 1, Integer::sum);
+            snapshotVersion.set(version);
+        }
+        doOpen();
+        return super.begin();
+    }
+
+    /**
+     * Used to understand if the transaction of the current thread is a snapshot.
+     */
+    protected boolean isSnapshot() {
+        return snapshotVersion.get() != NOT_STARTED;
+    }
+
+    /**
+     * Get the commit version pinned by the snapshot transaction of the current thread.
+     */
+    protected long getSnapshotVersion() {
+        return snapshotVersion.get();
+    }
+
     protected long getTxNumber() {
         if (!isOpen()) txNumber.set(openedTx.getAndIncrement());
         return txNumber.get();
@@ -132,11 +198,12 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
      * Try to commit all changes made in current transaction.
      * Workflow:
      * 1. collect all changes
-     * 2. verify if any elements already changed, throw {@link TransactionException} if any
+     * 2. verify if any elements already changed in a conflicting way, throw {@link TransactionException} if any
      * 3. try to lock all containers to prevent other tx from making changes
      * 4. one more time verify elements versions
-     * 5. update indices
-     * 6. commit all changes
+     * 5. merge changes made by other tx to different properties and edges of the elements
+     * 6. update indices
+     * 7. commit all changes
      * On {@link TransactionException}:
      *  rollback all changes
      * Lastly:
@@ -154,10 +221,14 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         Set<TinkerElementContainer<TinkerEdge>> changedEdges = txChangedEdges.get();
         if (null == changedEdges) changedEdges = Collections.emptySet();
 
+        // a checkpoint waits for the commit so that it does not write the graph while the changes become visible
+        final TinkerWriteAheadLog log = graph.writeAheadLog;
+        if (null != log) log.beginMutation();
+        TinkerWriteAheadLog syncLog = null;
         try {
             // Double-checked locking to reduce lock time
-            if (changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
-                    changedEdges.stream().anyMatch(v -> v.updatedOutsideTransaction()))
+            if (changedVertices.stream().anyMatch(v -> v.conflictsOutsideTransaction()) ||
+                    changedEdges.stream().anyMatch(v -> v.conflictsOutsideTransaction()))
                 throw new TransactionException(TX_CONFLICT);
 
             // try to lock all element containers, throw exception if any element already locked by other tx
@@ -171,19 +242,38 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
             });
 
             // verify versions of all elements to be sure no element changes during setting lock
-            if (changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
-                    changedEdges.stream().anyMatch(e -> e.updatedOutsideTransaction()))
+            if (changedVertices.stream().anyMatch(v -> v.conflictsOutsideTransaction()) ||
+                    changedEdges.stream().anyMatch(e -> e.conflictsOutsideTransaction()))
                 throw new TransactionException(TX_CONFLICT);
 
+            // bring in the changes that other transactions committed to different properties and edges of the
+            // elements since they were read
+            changedVertices.forEach(v -> v.mergeOutsideChanges());
+            changedEdges.forEach(e -> e.mergeOutsideChanges());
+
             // update indices
             final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
             if (vertexIndex != null) vertexIndex.commit(changedVertices);
             final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
             if (edgeIndex != null) edgeIndex.commit(changedEdges);
 
+            // encode the changes for the write-ahead log while the view of the transaction is still available
+            final byte[] logRecord = null == log ? null : log.commit(changedVertices, changedEdges);
+
             // commit all changes
-            changedVertices.forEach(v -> v.commit(txVersion));
-            changedEdges.forEach(e -> e.commit(txVersion));
+            if (graph.allowsSnapshotReads())
+                commitVersions(txVersion, changedVertices, changedEdges);
+            else {
+                changedVertices.forEach(v -> v.commit(txVersion));
+                changedEdges.forEach(e -> e.commit(txVersion));
+            }
+
+            // the record is appended once the changes are visible so that a checkpoint that starts a new log segment
+            // after the append includes them
+            if (null != log) {
+                log.append(logRecord);
+                syncLog = log;
+            }
         } catch (TransactionException ex) {
             // rollback on error
             changedVertices.forEach(v -> v.rollback());
@@ -200,6 +290,7 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
             // remove elements from graph if not used in other tx's
             changedVertices.stream().filter(v -> v.canBeRemoved()).forEach(v -> graph.getVertices().remove(v.getElementId()));
             changedEdges.stream().filter(e -> e.canBeRemoved()).forEach(e -> graph.getEdges().remove(e.getElementId()));
+            if (graph.allowsSnapshotReads()) retire(changedVertices, changedEdges);
 
             final Set<TinkerElementContainer> readElements = txReadElements.get();
             if (readElements != null)
@@ -208,11 +299,23 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
             txChangedVertices.remove();
             txChangedEdges.remove();
             txReadElements.remove();
+            releaseSnapshot();
 
             changedVertices.forEach(v -> v.releaseLock());
             changedEdges.forEach(e -> e.releaseLock());
 
             txNumber.set(NOT_STARTED);
+            if (null != log) log.endMutation();
+        }
+
+        // wait for the log to be synced after the locks are released so that transactions committing in the meantime
+        // share the same sync
+        if (null != syncLog) {
+            try {
+                syncLog.sync();
+            } catch (IOException ex) {
+                throw new TransactionException("The transaction was committed but could not be written to the write-ahead log", ex);
+            }
         }
     }
 
@@ -237,7 +340,7 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
         if (vertexIndex != null) vertexIndex.rollback();
         final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
-        if (vertexIndex != null) edgeIndex.rollback();
+        if (edgeIndex != null) edgeIndex.rollback();
 
         // cleanup unused containers
         if (null != changedVertices)
@@ -252,7 +355,65 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         txChangedVertices.remove();
         txChangedEdges.remove();
         txReadElements.remove();
+        releaseSnapshot();
 
         txNumber.set(NOT_STARTED);
     }
+
+    /**
+     * Commits the changes under the next commit version, which becomes visible to new snapshots only once all
+     * changes are applied.
+     */
+    private void commitVersions(final long txVersion,
+                                final Set<TinkerElementContainer<TinkerVertex>> changedVertices,
+                                final Set<TinkerElementContainer<TinkerEdge>> changedEdges) {
+        if (changedVertices.isEmpty() && changedEdges.isEmpty()) return;
+
+        synchronized (versionLock) {
+            final long version = commitVersion + 1;
+            final long horizon = pinnedVersions.isEmpty() ? version : pinnedVersions.firstKey();
+            changedVertices.forEach(v -> v.commit(txVersion, version, horizon));
+            changedEdges.forEach(e -> e.commit(txVersion, version, horizon));
+            commitVersion = version;
+        }
+    }
+
+    /**
+     * Keeps track of the removed elements that are still readable by open snapshots.
+     */
+    private void retire(final Set<TinkerElementContainer<TinkerVertex>> changedVertices,
+                        final Set<TinkerElementContainer<TinkerEdge>> changedEdges) {
+        synchronized (versionLock) {
+            changedVertices.stream().filter(v -> v.getUnmodified() == null && v.hasHistory()).forEach(retiredVertices::add);
+            changedEdges.stream().filter(e -> e.getUnmodified() == null && e.hasHistory()).forEach(retiredEdges::add);
+        }
+    }
+
+    /**
+     * Unpins the commit version of the snapshot of the current thread, if any, and removes the elements that no
+     * remaining snapshot can read.
+     */
+    private void releaseSnapshot() {
+        final long version = snapshotVersion.get();
+        if (version == NOT_STARTED) return;
+        snapshotVersion.set(NOT_STARTED);
+
+        synchronized (versionLock) {
+            pinnedVersions.computeIfPresent(version, (k, count) -> count == 1 ? null : count - 1);
+            final long horizon = pinnedVersions.isEmpty() ? commitVersion : pinnedVersions.firstKey();
+            removeRetired(retiredVertices, graph.getVertices(), horizon);
+            removeRetired(retiredEdges, graph.getEdges(), horizon);
+        }
+    }
+
+    private static <T extends TinkerElement> void removeRetired(final List<TinkerElementContainer<T>> retired,
+                                                                final Map<Object, TinkerElementContainer<T>> elements,
+                                                                final long horizon) {
+        retired.removeIf(container -> {
+            container.prune(horizon);
+            if (container.hasHistory()) return false;
+            if (container.canBeRemoved()) elements.remove(container.getElementId(), container);
+            return true;
+        });
+    }
 }
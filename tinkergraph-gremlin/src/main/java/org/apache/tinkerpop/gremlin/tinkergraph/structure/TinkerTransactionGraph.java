@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -46,7 +47,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An in-memory (with optional persistence on calls to {@link #close()}), reference implementation of the property
- * graph interfaces with transaction support provided by TinkerPop.
+ * graph interfaces with transaction support provided by TinkerPop. Unlike {@link TinkerGraph}, it only supports
+ * indexes over single property keys and has no composite indexes.
  *
  * @author Valentyn Kahamlyk
  */
@@ -64,6 +66,8 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
                 TinkerGraphCountStrategy.instance()));
     }
 
+    public static final String GREMLIN_TINKERGRAPH_SNAPSHOT_READS = "gremlin.tinkergraph.snapshotReads";
+
     private static final Configuration EMPTY_CONFIGURATION = new BaseConfiguration() {{
         this.setProperty(Graph.GRAPH, TinkerTransactionGraph.class.getName());
     }};
@@ -75,6 +79,8 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     private final Map<Object, TinkerElementContainer<TinkerVertex>> vertices = new ConcurrentHashMap<>();
     private final Map<Object, TinkerElementContainer<TinkerEdge>> edges = new ConcurrentHashMap<>();
 
+    private final boolean snapshotReads;
+
     /**
      * An empty private constructor that initializes {@link TinkerTransactionGraph}.
      */
@@ -86,6 +92,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        snapshotReads = configuration.getBoolean(GREMLIN_TINKERGRAPH_SNAPSHOT_READS, false);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -95,6 +102,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
         if (graphLocation != null) loadGraph();
+        openWriteAheadLog();
 
         serviceRegistry = new TinkerServiceRegistry(this);
         configuration.getList(String.class, GREMLIN_TINKERGRAPH_SERVICE, Collections.emptyList()).forEach(serviceClass ->
@@ -130,10 +138,48 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         return new TinkerTransactionGraph(configuration);
     }
 
+    /**
+     * Opens a read-only transaction for the current thread that sees the graph as it was at the latest commit, no
+     * matter what other transactions commit while it is open. Elements are read without being copied into or
+     * tracked by the transaction, which makes it suited to long running reads alongside writes. The transaction is
+     * closed as usual with a commit or rollback and requires {@link #GREMLIN_TINKERGRAPH_SNAPSHOT_READS} to be
+     * enabled.
+     * <pre>
+     * final GraphTraversalSource g = graph.beginSnapshot();
+     * try {
+     *     g.V().out().count().next();
+     * } finally {
+     *     g.tx().rollback();
+     * }
+     * </pre>
+     */
+    public <T extends TraversalSource> T beginSnapshot() {
+        return transaction.beginSnapshot();
+    }
+
+    /**
+     * Used to understand if committed versions of elements are kept for snapshot reads.
+     */
+    boolean allowsSnapshotReads() {
+        return snapshotReads;
+    }
+
+    /**
+     * Used to understand if the current thread reads from a snapshot.
+     */
+    boolean inSnapshot() {
+        return snapshotReads && transaction.isSnapshot();
+    }
+
+    private void checkWritable() {
+        if (inSnapshot()) throw new IllegalStateException("A snapshot transaction is read-only");
+    }
+
     ////////////// STRUCTURE API METHODS //////////////////
 
     @Override
     public Vertex addVertex(final Object... keyValues) {
+        checkWritable();
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
@@ -165,6 +211,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void removeVertex(final Object vertexId) {
+        checkWritable();
         if (!vertices.containsKey(vertexId)) return;
 
         // vertex can be deleted in other thread, so need to double-check
@@ -175,6 +222,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void touch(final TinkerVertex vertex) {
+        checkWritable();
         // already removed, so skip
         if (null == vertex || !vertices.containsKey(vertex.id())) return;
 
@@ -188,6 +236,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void touch(final TinkerEdge edge) {
+        checkWritable();
         // already removed, so skip
         if (null == edge || !edges.containsKey(edge.id())) return;
 
@@ -201,6 +250,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public Edge addEdge(final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
+        checkWritable();
         ElementHelper.validateLabel(label);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
@@ -235,6 +285,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void removeEdge(final Object edgeId) {
+        checkWritable();
         if (!edges.containsKey(edgeId)) return;
 
         final TinkerElementContainer<TinkerEdge> container = edges.get(edgeId);
@@ -280,6 +331,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public int getVerticesCount() {
+        if (inSnapshot()) return (int) IteratorUtils.count(vertices());
         return (int) vertices.entrySet().stream().filter(v -> v.getValue().get() != null).count();
     }
 
@@ -292,6 +344,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public int getEdgesCount() {
+        if (inSnapshot()) return (int) IteratorUtils.count(edges());
         return (int) edges.entrySet().stream().filter(v -> v.getValue().get() != null).count();
     }
 
@@ -310,7 +363,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     @Override
     public Vertex vertex(final Object vertexId) {
         final TinkerElementContainer<TinkerVertex> container = vertices.get(vertexIdManager.convert(vertexId));
-        return container == null ? null : container.getWithClone((TinkerTransaction) tx());
+        return container == null ? null : read(container);
     }
 
     @Override
@@ -321,7 +374,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     @Override
     public Edge edge(final Object edgeId) {
         final TinkerElementContainer<TinkerEdge> container = edges.get(edgeIdManager.convert(edgeId));
-        return container == null ? null : container.getWithClone((TinkerTransaction) tx());
+        return container == null ? null : read(container);
     }
 
     @Override
@@ -340,7 +393,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         if (0 == ids.length) {
             iterator = new TinkerGraphIterator<>(
                     // todo: clone only if traversal contains mutating steps
-                    elements.values().stream().map(c -> (T) c.getWithClone((TinkerTransaction) tx())).filter(e -> e != null).iterator());
+                    elements.values().stream().map(c -> (T) read(c)).filter(e -> e != null).iterator());
         } else {
             final List<Object> idList = Arrays.asList(ids);
 
@@ -353,7 +406,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
                 if (null == id) return null;
                 final Object iid = clazz.isAssignableFrom(id.getClass()) ? clazz.cast(id).id() : idManager.convert(id);
                 final TinkerElementContainer<C> container = elements.get(iid);
-                return container == null ? null : (T) container.getWithClone((TinkerTransaction) tx());
+                return container == null ? null : (T) read(container);
             }).iterator(), Objects::nonNull));
         }
         return TinkerHelper.inComputerMode(this) ?
@@ -362,6 +415,16 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
                         IteratorUtils.filter((Iterator<Edge>) iterator, t -> this.graphComputerView.legalEdge(t.outVertex(), t))) :
                 iterator;
     }
+
+    /**
+     * Reads the element from the snapshot of the current thread if there is one or from the transaction otherwise.
+     */
+    private <C extends TinkerElement> C read(final TinkerElementContainer<C> container) {
+        return inSnapshot() ?
+                container.getSnapshot(transaction.getSnapshotVersion()) :
+                container.getWithClone(transaction);
+    }
+
     @Override
     protected void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         touch(vertex);
@@ -468,12 +531,30 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, TinkerIndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link TinkerIndexType} for said element class ({@link Vertex} or
+     * {@link Edge}) and said property key. A {@link TinkerIndexType#SORTED} index can additionally be used for range
+     * and prefix lookups like {@code has("age", gt(30))} or {@code has("name", startingWith("ma"))}. If the key is
+     * already indexed, this method does nothing.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the kind of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final TinkerIndexType indexType) {
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
+
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerTransactionalIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerTransactionalIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -51,7 +52,7 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
 
         Map<Object, Set<T>> keyMap = index.get(key);
         if (null == keyMap) {
-            index.putIfAbsent(key, new ConcurrentHashMap<>());
+            index.putIfAbsent(key, createKeyMap(key));
             keyMap = index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -101,6 +102,21 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         return notModifiedElements;
     }
 
+    @Override
+    public List<T> get(final String key, final List<P<?>> predicates) {
+        final List<T> notModifiedElements = lookup(index.get(key), predicates).stream().
+                filter(e -> !e.isChanged() && e.get() != null).
+                map(e -> e.get()).collect(Collectors.toList());
+
+        final Map<String, Map<Object, Set<T>>> txIndex = this.txIndex.get();
+        if (null != txIndex)
+            lookup(txIndex.get(key), predicates).forEach(e -> {
+                if (!notModifiedElements.contains(e)) notModifiedElements.add(e);
+            });
+
+        return notModifiedElements;
+    }
+
     @Override
     public long count(final String key, final Object value) {
         return get(key, value).size();
@@ -137,7 +153,7 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
     private void put(final String key, final Object value, final TinkerElementContainer<T> container) {
         Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
         if (null == keyMap) {
-            index.putIfAbsent(key, new ConcurrentHashMap<>());
+            index.putIfAbsent(key, createKeyMap(key));
             keyMap = index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -171,7 +187,7 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
     }
 
     @Override
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerIndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
@@ -180,6 +196,8 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         if (indexedKeys.contains(key))
             return;
         indexedKeys.add(key);
+        if (TinkerIndexType.SORTED == indexType)
+            sortedKeys.add(key);
 
         final Map elements =
                 Vertex.class.isAssignableFrom(indexClass) ?
@@ -201,6 +219,7 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
             index.remove(key).clear();
 
         indexedKeys.remove(key);
+        sortedKeys.remove(key);
     }
 
     private void removeContainer(TinkerElementContainer<T> container) {
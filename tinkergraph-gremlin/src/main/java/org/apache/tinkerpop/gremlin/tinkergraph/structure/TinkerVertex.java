@@ -50,6 +50,10 @@ public class TinkerVertex extends TinkerElement implements Vertex {
     // Edge ids are for transactional Graph
     protected Map<String, Set<Object>> outEdgesId;
     protected Map<String, Set<Object>> inEdgesId;
+    // position of the vertex in the property columns of the graph, if it has properties stored there
+    protected int columnSlot = -1;
+    // position of the vertex in the compressed graph of a running graph computation, if there is one
+    protected int computeOrdinal = -1;
     protected final AbstractTinkerGraph graph;
     private boolean allowNullPropertyValues;
     private final boolean isTxMode;
@@ -75,6 +79,7 @@ public class TinkerVertex extends TinkerElement implements Vertex {
             vertex.inEdgesId = inEdgesId;
             vertex.outEdgesId = outEdgesId;
             vertex.properties = properties;
+            vertex.columnSlot = columnSlot;
             return vertex;
         }
 
@@ -119,65 +124,89 @@ public class TinkerVertex extends TinkerElement implements Vertex {
             else
                 throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
         } else {
+            final VertexProperty<V> columnProperty = this.columnSlot < 0 ? null : this.graph.vertexPropertyColumns.get(this, key);
             if (this.properties != null && this.properties.containsKey(key)) {
                 final List<VertexProperty> list = this.properties.get(key);
-                if (list.size() > 1)
+                if (list.size() > 1 || null != columnProperty)
                     throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
                 else
                     return list.get(0);
             } else
-                return VertexProperty.<V>empty();
+                return null == columnProperty ? VertexProperty.<V>empty() : columnProperty;
         }
     }
 
     @Override
     public <V> VertexProperty<V> property(final VertexProperty.Cardinality cardinality, final String key, final V value, final Object... keyValues) {
-        graph.touch(this);
-
-        if (this.removed) throw elementAlreadyRemoved(Vertex.class, id);
-        ElementHelper.legalPropertyKeyValueArray(keyValues);
-        ElementHelper.validateProperty(key, value);
-
-        // if we don't allow null property values and the value is null then the key can be removed but only if the
-        // cardinality is single. if it is list/set then we can just ignore the null.
-        if (!allowNullPropertyValues && null == value) {
-            final VertexProperty.Cardinality card = null == cardinality ? graph.features().vertex().getCardinality(key) : cardinality;
-            if (VertexProperty.Cardinality.single == card)
-                properties(key).forEachRemaining(VertexProperty::remove);
-            return VertexProperty.empty();
-        }
+        final TinkerWriteAheadLog mutation = this.graph.beginMutation();
+        try {
+            graph.touch(this);
+
+            if (this.removed) throw elementAlreadyRemoved(Vertex.class, id);
+            ElementHelper.legalPropertyKeyValueArray(keyValues);
+            ElementHelper.validateProperty(key, value);
+
+            // if we don't allow null property values and the value is null then the key can be removed but only if the
+            // cardinality is single. if it is list/set then we can just ignore the null.
+            if (!allowNullPropertyValues && null == value) {
+                final VertexProperty.Cardinality card = null == cardinality ? graph.features().vertex().getCardinality(key) : cardinality;
+                if (VertexProperty.Cardinality.single == card)
+                    properties(key).forEachRemaining(VertexProperty::remove);
+                return VertexProperty.empty();
+            }
 
-        final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
-        final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
-        if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
+            final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
+            final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
+            if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
+
+            if (TinkerHelper.inComputerMode(this.graph)) {
+                final VertexProperty<V> vertexProperty = (VertexProperty<V>) this.graph.graphComputerView.addProperty(this, key, value);
+                ElementHelper.attachProperties(vertexProperty, keyValues);
+                return vertexProperty;
+            } else {
+                final Object idValue = optionalId.isPresent() ?
+                        graph.vertexPropertyIdManager.convert(optionalId.get()) :
+                        graph.vertexPropertyIdManager.getNextId(graph);
+
+                // a plain value is held in a column when the graph stores properties off-heap
+                if (keyValues.length == (optionalId.isPresent() ? 2 : 0) && setColumnProperty(idValue, key, value)) {
+                    TinkerIndexHelper.autoUpdateIndex(this, key, value, null);
+                    return this.graph.vertexPropertyColumns.get(this, key);
+                }
 
-        if (TinkerHelper.inComputerMode(this.graph)) {
-            final VertexProperty<V> vertexProperty = (VertexProperty<V>) this.graph.graphComputerView.addProperty(this, key, value);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
-        } else {
-            final Object idValue = optionalId.isPresent() ?
-                    graph.vertexPropertyIdManager.convert(optionalId.get()) :
-                    graph.vertexPropertyIdManager.getNextId(graph);
-
-            final VertexProperty<V> vertexProperty = createTinkerVertexProperty(idValue, this, key, value);
-
-            if (null == this.properties) this.properties = new ConcurrentHashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
-            TinkerIndexHelper.autoUpdateIndex(this, key, value, null);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
+                final VertexProperty<V> vertexProperty = createTinkerVertexProperty(idValue, this, key, value);
+
+                if (null == this.properties) this.properties = new ConcurrentHashMap<>();
+                final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
+                list.add(vertexProperty);
+                this.properties.put(key, list);
+                TinkerIndexHelper.autoUpdateIndex(this, key, value, null);
+                ElementHelper.attachProperties(vertexProperty, keyValues);
+                return vertexProperty;
+            }
+        } finally {
+            this.graph.endMutation(mutation);
         }
     }
 
+    private boolean setColumnProperty(final Object id, final String key, final Object value) {
+        final TinkerPropertyColumns columns = this.graph.vertexPropertyColumns;
+        if (null == columns || !columns.accepts(key, id, value) ||
+                (null != this.properties && this.properties.containsKey(key)) ||
+                (this.columnSlot >= 0 && columns.has(this.columnSlot, key)))
+            return false;
+
+        if (this.columnSlot < 0) this.columnSlot = columns.allocateSlot();
+        columns.set(this.columnSlot, key, id, value);
+        return true;
+    }
+
     @Override
     public Set<String> keys() {
-        if (null == this.properties) return Collections.emptySet();
-        return TinkerHelper.inComputerMode((AbstractTinkerGraph) graph()) ?
-                Vertex.super.keys() :
-                this.properties.keySet();
+        if (null == this.properties && this.columnSlot < 0) return Collections.emptySet();
+        if (TinkerHelper.inComputerMode((AbstractTinkerGraph) graph()) || this.columnSlot >= 0)
+            return Vertex.super.keys();
+        return this.properties.keySet();
     }
 
     @Override
@@ -190,15 +219,24 @@ public class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public void remove() {
-        graph.touch(this);
-
-        final List<Edge> edges = new ArrayList<>();
-        this.edges(Direction.BOTH).forEachRemaining(edge -> edges.add(edge));
-        edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        TinkerIndexHelper.removeElementIndex(this);
-        this.properties = null;
-        this.graph.removeVertex(this.id);
-        this.removed = true;
+        final TinkerWriteAheadLog mutation = this.graph.beginMutation();
+        try {
+            graph.touch(this);
+
+            final List<Edge> edges = new ArrayList<>();
+            this.edges(Direction.BOTH).forEachRemaining(edge -> edges.add(edge));
+            edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
+            TinkerIndexHelper.removeElementIndex(this);
+            this.properties = null;
+            if (this.columnSlot >= 0) {
+                this.graph.vertexPropertyColumns.releaseSlot(this.columnSlot);
+                this.columnSlot = -1;
+            }
+            this.graph.removeVertex(this.id);
+            this.removed = true;
+        } finally {
+            this.graph.endMutation(mutation);
+        }
     }
 
     @Override
@@ -243,7 +281,12 @@ public class TinkerVertex extends TinkerElement implements Vertex {
         if (this.removed) return Collections.emptyIterator();
         if (TinkerHelper.inComputerMode((AbstractTinkerGraph) graph()))
             return (Iterator) ((AbstractTinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
-        else {
+        else if (this.columnSlot >= 0) {
+            final List<VertexProperty> properties = this.graph.vertexPropertyColumns.properties(this, propertyKeys);
+            if (null != this.properties)
+                this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).forEach(entry -> properties.addAll(entry.getValue()));
+            return (Iterator) properties.iterator();
+        } else {
             if (null == this.properties) return Collections.emptyIterator();
             if (propertyKeys.length == 1) {
                 if (null == propertyKeys[0])
@@ -136,20 +136,25 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public <U> Property<U> property(final String key, final U value) {
-        // in most cases vertex should already be touched, but let's play safe
-        ((AbstractTinkerGraph)vertex.graph()).touch(vertex);
+        final TinkerWriteAheadLog mutation = ((AbstractTinkerGraph) this.vertex.graph()).beginMutation();
+        try {
+            // in most cases vertex should already be touched, but let's play safe
+            ((AbstractTinkerGraph)vertex.graph()).touch(vertex);
 
-        if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
+            if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
 
-        if ((!allowNullPropertyValues && null == value)) {
-            properties(key).forEachRemaining(Property::remove);
-            return Property.empty();
-        }
+            if ((!allowNullPropertyValues && null == value)) {
+                properties(key).forEachRemaining(Property::remove);
+                return Property.empty();
+            }
 
-        final Property<U> property = new TinkerProperty<>(this, key, value);
-        if (this.properties == null) this.properties = new HashMap<>();
-        this.properties.put(key, property);
-        return property;
+            final Property<U> property = new TinkerProperty<>(this, key, value);
+            if (this.properties == null) this.properties = new HashMap<>();
+            this.properties.put(key, property);
+            return property;
+        } finally {
+            ((AbstractTinkerGraph) this.vertex.graph()).endMutation(mutation);
+        }
     }
 
     @Override
@@ -159,23 +164,28 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
-            ((AbstractTinkerGraph)vertex.graph()).touch(vertex);
-
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
-                TinkerIndexHelper.removeIndex(this.vertex, this.key, this.value);
+        final TinkerWriteAheadLog mutation = ((AbstractTinkerGraph) this.vertex.graph()).beginMutation();
+        try {
+            if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
+                ((AbstractTinkerGraph)vertex.graph()).touch(vertex);
+
+                this.vertex.properties.get(this.key).remove(this);
+                if (this.vertex.properties.get(this.key).size() == 0) {
+                    this.vertex.properties.remove(this.key);
+                    TinkerIndexHelper.removeIndex(this.vertex, this.key, this.value);
+                }
+                final AtomicBoolean delete = new AtomicBoolean(true);
+                this.vertex.properties(this.key).forEachRemaining(property -> {
+                    final Object currentPropertyValue = property.value();
+                    if ((currentPropertyValue != null && currentPropertyValue.equals(this.value) || null == currentPropertyValue && null == this.value))
+                        delete.set(false);
+                });
+                if (delete.get()) TinkerIndexHelper.removeIndex(this.vertex, this.key, this.value);
+                this.properties = null;
+                this.removed = true;
             }
-            final AtomicBoolean delete = new AtomicBoolean(true);
-            this.vertex.properties(this.key).forEachRemaining(property -> {
-                final Object currentPropertyValue = property.value();
-                if ((currentPropertyValue != null && currentPropertyValue.equals(this.value) || null == currentPropertyValue && null == this.value))
-                    delete.set(false);
-            });
-            if (delete.get()) TinkerIndexHelper.removeIndex(this.vertex, this.key, this.value);
-            this.properties = null;
-            this.removed = true;
+        } finally {
+            ((AbstractTinkerGraph) this.vertex.graph()).endMutation(mutation);
         }
     }
 
@@ -0,0 +1,643 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the mutations of a graph which is kept next to its
+ * {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION} in numbered segments. Both graphs log the resulting
+ * state of the elements they {@code touch()}: a {@link TinkerGraph} once each change ends and a
+ * {@link TinkerTransactionGraph} when a transaction commits. Records are written to the file system in groups: a commit waits until its records
+ * are synced, which covers the records of all commits that arrived in the meantime, while individual mutations are
+ * synced on an interval or, when there is none, as they are logged.
+ * <p/>
+ * A checkpoint starts a new segment, writes the graph to its location and then deletes the older segments. Every
+ * record is idempotent, so the segments that remain after a crash can be replayed over whichever version of the
+ * graph was last written, even if that version already contains some of their changes.
+ */
+final class TinkerWriteAheadLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TinkerWriteAheadLog.class);
+
+    private static final String SEGMENT = ".wal.";
+
+    private static final byte VERTEX_STATE = 1;
+    private static final byte EDGE_STATE = 2;
+    private static final byte REMOVE_VERTEX = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte CLEAR = 5;
+    private static final byte COMMIT = 6;
+
+    private final AbstractTinkerGraph graph;
+    private final File location;
+    private final long syncInterval;
+    private final ThreadLocal<Encoder> encoders = ThreadLocal.withInitial(Encoder::new);
+    private final ScheduledExecutorService scheduler;
+
+    // records appended but not yet written to the current segment
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long appended = 0;
+    private long synced = 0;
+    private final Object syncLock = new Object();
+    private final Object checkpointLock = new Object();
+    // set while a bulk load leaves the graph in a state that must not be written, guarded by checkpointLock
+    private boolean checkpointsSuspended = false;
+    // changes of the graph share the read lock which a checkpoint takes exclusively while it writes the graph
+    private final ReentrantReadWriteLock checkpointGuard = new ReentrantReadWriteLock();
+    // the elements touched by the changes in progress on a thread
+    private final ThreadLocal<Set<Element>> touched = ThreadLocal.withInitial(LinkedHashSet::new);
+    private FileChannel segment;
+    private long sequence;
+    // set once the log is closed, after which records are no longer written
+    private boolean closed = false;
+
+    TinkerWriteAheadLog(final AbstractTinkerGraph graph, final String graphLocation, final long syncInterval,
+                        final long checkpointInterval) throws IOException {
+        this.graph = graph;
+        this.location = new File(graphLocation).getAbsoluteFile();
+        this.syncInterval = syncInterval;
+        final List<Long> sequences = segments(this.location);
+        this.sequence = sequences.isEmpty() ? 0 : sequences.get(sequences.size() - 1) + 1;
+        this.segment = openSegment(this.sequence);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "tinkergraph-write-ahead-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (syncInterval > 0)
+            this.scheduler.scheduleWithFixedDelay(this::backgroundSync, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        if (checkpointInterval > 0)
+            this.scheduler.scheduleWithFixedDelay(this::backgroundCheckpoint, checkpointInterval, checkpointInterval, TimeUnit.MILLISECONDS);
+    }
+
+    ///////////// Logging of mutations ///////////////
+
+    /**
+     * Marks an element as changed by the change in progress on this thread, so that its state is logged once the
+     * outermost change ends. An element is logged once however often it is touched and not at all if it was removed
+     * in the meantime, as its removal is logged by the graph.
+     */
+    void touch(final Element element) {
+        this.touched.get().add(element);
+    }
+
+    void removeVertex(final Object id) {
+        log(this.encoders.get().begin(REMOVE_VERTEX).value(id).end());
+    }
+
+    void removeEdge(final Object id) {
+        log(this.encoders.get().begin(REMOVE_EDGE).value(id).end());
+    }
+
+    void clear() {
+        log(this.encoders.get().begin(CLEAR).end());
+    }
+
+    /**
+     * Encodes the state of the elements changed by a transaction as a single record so that the transaction is
+     * either replayed entirely or not at all. It must be called while the transaction still holds the locks of the
+     * elements and the record should be {@link #append(byte[]) appended} once the changes are visible to others.
+     */
+    byte[] commit(final Collection<TinkerElementContainer<TinkerVertex>> vertices,
+                  final Collection<TinkerElementContainer<TinkerEdge>> edges) {
+        final List<byte[]> records = new ArrayList<>();
+        vertices.stream().filter(container -> null != container.get()).forEach(container -> records.add(encodeVertexState(container.get())));
+        edges.stream().filter(container -> null == container.get()).forEach(container -> records.add(this.encoders.get().begin(REMOVE_EDGE).value(container.getElementId()).end()));
+        edges.stream().filter(container -> null != container.get()).forEach(container -> records.add(encodeEdgeState(container.get())));
+        vertices.stream().filter(container -> null == container.get()).forEach(container -> records.add(this.encoders.get().begin(REMOVE_VERTEX).value(container.getElementId()).end()));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(COMMIT);
+            out.writeInt(records.size());
+            for (final byte[] record : records) {
+                TinkerSnapshot.writeBytes(out, record);
+            }
+        } catch (IOException ex) {
+            // not possible when writing to memory
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Appends the record of a single mutation and syncs it right away if there is no sync interval.
+     */
+    private void log(final byte[] record) {
+        append(record);
+        if (this.syncInterval <= 0) {
+            try {
+                sync();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    private byte[] encodeVertexState(final TinkerVertex vertex) {
+        final Encoder encoder = this.encoders.get().begin(VERTEX_STATE);
+        encoder.value(vertex.id());
+        encoder.string(vertex.label());
+        final List<VertexProperty<Object>> properties = new ArrayList<>();
+        vertex.<Object>properties().forEachRemaining(properties::add);
+        encoder.integer(properties.size());
+        for (final VertexProperty<Object> property : properties) {
+            encoder.string(property.key());
+            encoder.value(property.id());
+            encoder.value(property.value());
+            encoder.properties(property.properties());
+        }
+        return encoder.end();
+    }
+
+    private byte[] encodeEdgeState(final TinkerEdge edge) {
+        final Encoder encoder = this.encoders.get().begin(EDGE_STATE);
+        encoder.value(edge.id());
+        encoder.string(edge.label());
+        encoder.value(null != edge.outVertexId ? edge.outVertexId : edge.outVertex.id());
+        encoder.value(null != edge.inVertexId ? edge.inVertexId : edge.inVertex.id());
+        encoder.properties(edge.properties());
+        return encoder.end();
+    }
+
+    void append(final byte[] record) {
+        final CRC32 crc = new CRC32();
+        crc.update(record, 0, record.length);
+        synchronized (this) {
+            if (this.closed) return;
+            final DataOutputStream out = new DataOutputStream(this.pending);
+            try {
+                out.writeInt(record.length);
+                out.writeInt((int) crc.getValue());
+                out.write(record);
+            } catch (IOException ex) {
+                // not possible when writing to memory
+                throw new UncheckedIOException(ex);
+            }
+            this.appended += Integer.BYTES * 2 + record.length;
+        }
+    }
+
+    ///////////// Syncing and checkpoints ///////////////
+
+    /**
+     * Holds off checkpoints until {@link #endMutation()} is called. Changes do not block each other and may nest, so
+     * only a checkpoint waits for the changes in progress and blocks new ones until the graph is written.
+     */
+    void beginMutation() {
+        this.checkpointGuard.readLock().lock();
+    }
+
+    void endMutation() {
+        try {
+            if (this.checkpointGuard.getReadHoldCount() == 1) logTouched();
+        } finally {
+            this.checkpointGuard.readLock().unlock();
+        }
+    }
+
+    private void logTouched() {
+        final Set<Element> elements = this.touched.get();
+        if (elements.isEmpty()) return;
+        final List<Element> changed = new ArrayList<>(elements);
+        elements.clear();
+        for (final Element element : changed) {
+            if (((TinkerElement) element).removed) continue;
+            if (element instanceof TinkerVertex) {
+                if (this.graph.hasVertex(element.id())) log(encodeVertexState((TinkerVertex) element));
+            } else if (this.graph.hasEdge(element.id())) {
+                log(encodeEdgeState((TinkerEdge) element));
+            }
+        }
+    }
+
+    /**
+     * Waits until all records appended so far are written and synced to the file system. Callers that arrive while
+     * a sync is in progress are covered by the next one, so that concurrent commits share a single sync.
+     */
+    void sync() throws IOException {
+        final long target;
+        synchronized (this) {
+            target = this.appended;
+        }
+        synchronized (this.syncLock) {
+            if (this.synced >= target || this.closed) return;
+            flush();
+            this.segment.force(false);
+        }
+    }
+
+    /**
+     * Writes the pending records to the current segment. Must be called while holding the {@link #syncLock}.
+     */
+    private void flush() throws IOException {
+        final ByteBuffer data;
+        final long upTo;
+        synchronized (this) {
+            data = ByteBuffer.wrap(this.pending.toByteArray());
+            this.pending.reset();
+            upTo = this.appended;
+        }
+        while (data.hasRemaining()) {
+            this.segment.write(data);
+        }
+        this.synced = upTo;
+    }
+
+    /**
+     * Takes a checkpoint on the thread of the log and waits for it to finish. A transactional graph is read in a
+     * transaction of its own on that thread, which keeps a transaction of the caller out of the checkpoint.
+     */
+    void checkpoint() throws IOException {
+        try {
+            this.scheduler.submit(() -> {
+                checkpointNow();
+                return null;
+            }).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a checkpoint");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) throw (IOException) ex.getCause();
+            if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Starts a new segment, writes the graph to its location and deletes the segments that preceded the new one.
+     * Changes of the graph and commits wait until the graph is written, as the structures of the elements are not
+     * safe to be read while they are changed and a graph written in the middle of a change may not be readable.
+     */
+    private void checkpointNow() throws IOException {
+        synchronized (this.checkpointLock) {
+            if (this.checkpointsSuspended) return;
+            final long current;
+            this.checkpointGuard.writeLock().lock();
+            try {
+                synchronized (this.syncLock) {
+                    flush();
+                    this.segment.force(false);
+                    this.segment.close();
+                    current = ++this.sequence;
+                    this.segment = openSegment(current);
+                }
+
+                try {
+                    this.graph.saveGraph();
+                } finally {
+                    if (this.graph instanceof TinkerTransactionGraph) this.graph.tx().rollback();
+                }
+            } finally {
+                this.checkpointGuard.writeLock().unlock();
+            }
+            deleteSegments(this.location, current);
+        }
+    }
+
+    /**
+     * Skips checkpoints until {@link #resumeCheckpoints()} is called, waiting for a checkpoint in progress to finish.
+     * A {@link TinkerBulkLoader} suspends checkpoints while it suspends the indices of the graph.
+     */
+    void suspendCheckpoints() {
+        synchronized (this.checkpointLock) {
+            this.checkpointsSuspended = true;
+        }
+    }
+
+    void resumeCheckpoints() {
+        synchronized (this.checkpointLock) {
+            this.checkpointsSuspended = false;
+        }
+    }
+
+    /**
+     * Stops background work, syncs and closes the log and then writes the graph to its location while changes are
+     * held off, so that no change can happen between the last record and the written graph. The segments are deleted
+     * once the graph is written and are left to be replayed if it could not be written.
+     */
+    void close() throws IOException {
+        this.scheduler.shutdown();
+        synchronized (this.checkpointLock) {
+            this.checkpointGuard.writeLock().lock();
+            try {
+                synchronized (this.syncLock) {
+                    flush();
+                    this.segment.force(false);
+                    this.segment.close();
+                    synchronized (this) {
+                        this.closed = true;
+                    }
+                }
+                this.graph.saveGraph();
+            } finally {
+                this.checkpointGuard.writeLock().unlock();
+            }
+            deleteSegments(this.location, Long.MAX_VALUE);
+        }
+    }
+
+    private void backgroundSync() {
+        try {
+            sync();
+        } catch (Exception ex) {
+            logger.warn(String.format("Could not sync the write-ahead log of %s", this.location), ex);
+        }
+    }
+
+    private void backgroundCheckpoint() {
+        try {
+            checkpointNow();
+        } catch (Exception ex) {
+            // the graph is written to a temporary file first, so a failed checkpoint leaves the previous one intact
+            logger.warn(String.format("Could not checkpoint %s - will try again", this.location), ex);
+        }
+    }
+
+    private FileChannel openSegment(final long sequence) throws IOException {
+        return FileChannel.open(segmentFile(this.location, sequence).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static File segmentFile(final File location, final long sequence) {
+        return new File(location.getPath() + SEGMENT + sequence);
+    }
+
+    /**
+     * Gets the sequence numbers of the segments of the log of the graph location in ascending order.
+     */
+    private static List<Long> segments(final File location) {
+        final String prefix = location.getName() + SEGMENT;
+        final File[] files = location.getParentFile().listFiles((dir, name) -> name.startsWith(prefix));
+        final List<Long> sequences = new ArrayList<>();
+        if (null != files) {
+            for (final File file : files) {
+                try {
+                    sequences.add(Long.parseLong(file.getName().substring(prefix.length())));
+                } catch (NumberFormatException ignored) {
+                    // not a segment
+                }
+            }
+        }
+        sequences.sort(Long::compare);
+        return sequences;
+    }
+
+    private static void deleteSegments(final File location, final long before) throws IOException {
+        for (final long sequence : segments(location)) {
+            if (sequence < before) Files.deleteIfExists(segmentFile(location, sequence).toPath());
+        }
+    }
+
+    ///////////// Recovery ///////////////
+
+    /**
+     * Applies the segments of the log of the graph location to the graph in order. Replay stops at the first record
+     * that is incomplete or fails its checksum, which is where the process writing the log stopped.
+     */
+    static void replay(final AbstractTinkerGraph graph, final String graphLocation) throws IOException {
+        final File location = new File(graphLocation).getAbsoluteFile();
+        final Replayer replayer = new Replayer(graph);
+        for (final long sequence : segments(location)) {
+            final ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segmentFile(location, sequence).toPath()));
+            while (data.remaining() >= Integer.BYTES * 2) {
+                final int length = data.getInt();
+                final int checksum = data.getInt();
+                if (length < 0 || length > data.remaining()) break;
+                final byte[] record = new byte[length];
+                data.get(record);
+                final CRC32 crc = new CRC32();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != checksum) break;
+                replayer.apply(ByteBuffer.wrap(record));
+            }
+        }
+        if (graph.currentId.get() < replayer.maxId) graph.currentId.set(replayer.maxId);
+        if (graph instanceof TinkerTransactionGraph) graph.tx().commit();
+    }
+
+    /**
+     * Encodes a single record and is reused by a thread for all its records.
+     */
+    private static final class Encoder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(this.bytes);
+        private Kryo kryo;
+
+        private Encoder begin(final byte type) {
+            this.bytes.reset();
+            return integer(type);
+        }
+
+        private Encoder integer(final int value) {
+            try {
+                this.out.writeInt(value);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return this;
+        }
+
+        private Encoder string(final String value) {
+            try {
+                TinkerSnapshot.writeBytes(this.out, value.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return this;
+        }
+
+        private Encoder value(final Object value) {
+            try {
+                TinkerSnapshot.writeValue(this.out, value, this::kryo);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return this;
+        }
+
+        private <V> Encoder properties(final Iterator<? extends Property<V>> properties) {
+            final List<Property<V>> list = new ArrayList<>();
+            properties.forEachRemaining(list::add);
+            integer(list.size());
+            for (final Property<V> property : list) {
+                string(property.key());
+                value(property.value());
+            }
+            return this;
+        }
+
+        private byte[] end() {
+            return this.bytes.toByteArray();
+        }
+
+        private Kryo kryo() {
+            if (null == this.kryo) this.kryo = TinkerSnapshot.createKryo();
+            return this.kryo;
+        }
+    }
+
+    /**
+     * Applies records to a graph through the structure API, skipping any change that refers to elements which no
+     * longer exist or that is already present.
+     */
+    private static final class Replayer {
+        private final AbstractTinkerGraph graph;
+        private Kryo kryo;
+
+        // the highest numeric identifier replayed which the graph must not generate again
+        private long maxId = -1L;
+
+        private Replayer(final AbstractTinkerGraph graph) {
+            this.graph = graph;
+        }
+
+        private void apply(final ByteBuffer record) throws IOException {
+            final int type = record.getInt();
+            switch (type) {
+                case VERTEX_STATE: {
+                    final Object id = id(record);
+                    final String label = string(record);
+                    Vertex vertex = vertex(id);
+                    if (null == vertex) {
+                        vertex = this.graph.addVertex(T.id, id, T.label, label);
+                    } else {
+                        IteratorUtils.list(vertex.properties()).forEach(VertexProperty::remove);
+                    }
+                    final int properties = record.getInt();
+                    for (int i = 0; i < properties; i++) {
+                        final String key = string(record);
+                        final Object propertyId = id(record);
+                        final VertexProperty<Object> property = vertex.property(VertexProperty.Cardinality.list, key, value(record), T.id, propertyId);
+                        final int metaProperties = record.getInt();
+                        for (int j = 0; j < metaProperties; j++) {
+                            property.property(string(record), value(record));
+                        }
+                    }
+                    break;
+                }
+                case EDGE_STATE: {
+                    final Object id = id(record);
+                    final String label = string(record);
+                    final Vertex outVertex = vertex(id(record));
+                    final Vertex inVertex = vertex(id(record));
+                    Edge edge = edge(id);
+                    if (null != edge) {
+                        IteratorUtils.list(edge.properties()).forEach(Property::remove);
+                    } else if (null != outVertex && null != inVertex) {
+                        edge = outVertex.addEdge(label, inVertex, T.id, id);
+                    }
+                    final int properties = record.getInt();
+                    for (int i = 0; i < properties; i++) {
+                        final String key = string(record);
+                        final Object value = value(record);
+                        if (null != edge) edge.property(key, value);
+                    }
+                    break;
+                }
+                case REMOVE_VERTEX: {
+                    final Vertex vertex = vertex(id(record));
+                    if (null != vertex) vertex.remove();
+                    break;
+                }
+                case REMOVE_EDGE: {
+                    final Edge edge = edge(id(record));
+                    if (null != edge) edge.remove();
+                    break;
+                }
+                case CLEAR:
+                    this.graph.clear();
+                    break;
+                case COMMIT: {
+                    final int records = record.getInt();
+                    for (int i = 0; i < records; i++) {
+                        apply(ByteBuffer.wrap(TinkerSnapshot.readBytes(record)));
+                    }
+                    break;
+                }
+                default:
+                    throw new IOException(String.format("Unknown record type %s in TinkerGraph write-ahead log", type));
+            }
+        }
+
+        private Vertex vertex(final Object id) {
+            final Iterator<Vertex> vertices = this.graph.vertices(id);
+            return vertices.hasNext() ? vertices.next() : null;
+        }
+
+        private Edge edge(final Object id) {
+            final Iterator<Edge> edges = this.graph.edges(id);
+            return edges.hasNext() ? edges.next() : null;
+        }
+
+        private static String string(final ByteBuffer record) {
+            return new String(TinkerSnapshot.readBytes(record), StandardCharsets.UTF_8);
+        }
+
+        private Object value(final ByteBuffer record) throws IOException {
+            return TinkerSnapshot.readValue(record, () -> {
+                if (null == this.kryo) this.kryo = TinkerSnapshot.createKryo();
+                return this.kryo;
+            });
+        }
+
+        private Object id(final ByteBuffer record) throws IOException {
+            final Object id = value(record);
+            if (id instanceof Long || id instanceof Integer)
+                this.maxId = Math.max(this.maxId, ((Number) id).longValue());
+            return id;
+        }
+    }
+}
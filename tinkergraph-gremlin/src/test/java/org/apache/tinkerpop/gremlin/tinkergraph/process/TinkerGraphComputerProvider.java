@@ -46,6 +46,10 @@ public class TinkerGraphComputerProvider extends TinkerGraphProvider {
             put(VertexProgramStrategy.GRAPH_COMPUTER, RANDOM.nextBoolean() ?
                     GraphComputer.class.getCanonicalName() :
                     TinkerGraphComputer.class.getCanonicalName());
+            put(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_ENGINE, RANDOM.nextBoolean() ?
+                    TinkerGraphComputer.Engine.CSR.name() :
+                    TinkerGraphComputer.Engine.STANDARD.name());
+            put(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_MESSAGE_DRIVEN, RANDOM.nextBoolean());
         }})));
     }
 }
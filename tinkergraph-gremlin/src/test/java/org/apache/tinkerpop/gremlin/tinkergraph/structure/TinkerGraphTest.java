@@ -23,15 +23,34 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.PageRank;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.PeerPressure;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPath;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -50,6 +69,10 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -66,9 +89,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -76,7 +102,10 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -86,7 +115,10 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeThat;
@@ -173,6 +205,22 @@ public class TinkerGraphTest {
         g.createIndex("", Edge.class);
     }
 
+    @Test
+    public void shouldFindNumbersOfAnyTypeInHashIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "stephen", "age", 35L);
+        g.addVertex("name", "daniel", "age", 37.5d);
+
+        assertEquals(1, g.vertexIndex.get("age", 29L).size());
+        assertEquals(1, g.vertexIndex.get("age", 35).size());
+        assertEquals(1, g.vertexIndex.get("age", 37.5f).size());
+        assertEquals(3L, (long) g.traversal().V().has("age", P.within(29L, 35.0d, new BigDecimal("37.50"))).count().next());
+        assertEquals(1L, (long) g.traversal().V().has("age", (short) 29).count().next());
+    }
+
     @Test
     public void shouldUpdateVertexIndicesInNewGraph() {
         final TinkerGraph g = TinkerGraph.open();
@@ -320,6 +368,237 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseSortedVertexIndexForRangeLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerIndexType.SORTED);
+        assertEquals(TinkerIndexType.SORTED, g.vertexIndex.getIndexType("age"));
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35L);
+        g.addVertex("name", "stephen", "age", "unknown");
+
+        // a tricky way to evaluate if indices are actually being used is to pass a fake BiPredicate to has()
+        // to get into the Pipeline and evaluate what's going through it. only the names of vertices resolved from
+        // the range lookup on "age" should pass through the pipeline.
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.gt(30)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.between(28, 35)).count().next());
+
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("josh", t);
+            return true;
+        }, "x")).has("age", P.inside(29, 35)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.outside(28, 34)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("marko"));
+            return true;
+        }, "x")).has("age", P.lte(29)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.within(29, 35, 100)).count().next());
+    }
+
+    @Test
+    public void shouldUseSortedVertexIndexForPrefixLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class, TinkerIndexType.SORTED);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "matthias", "age", 30);
+        g.addVertex("name", "m", "age", 31);
+        g.addVertex("name", "stephen", "age", 35);
+
+        assertEquals(new Long(2), g.traversal().V().has("age", P.test((t, u) -> {
+            assertTrue(t.equals(29) || t.equals(30));
+            return true;
+        }, 0)).has("name", TextP.startingWith("ma")).count().next());
+    }
+
+    @Test
+    public void shouldUpdateSortedVertexIndexOnPropertyChange() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("name", "marko", "age", 29);
+        final Vertex v = g.addVertex("name", "stephen", "age", 35);
+        g.createIndex("age", Vertex.class, TinkerIndexType.SORTED);
+
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gte(30)).count().next());
+
+        v.property("age", 25);
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gte(30)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("age", P.lt(30)).count().next());
+
+        v.remove();
+        assertEquals(new Long(1), g.traversal().V().has("age", P.lt(30)).count().next());
+
+        g.dropIndex("age", Vertex.class);
+        assertEquals(1, g.traversal().V().has("age", P.lt(30)).count().next().intValue());
+    }
+
+    @Test
+    public void shouldUseSortedEdgeIndexForRangeLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Edge.class, TinkerIndexType.SORTED);
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5d);
+        v.addEdge("friend", v, "oid", "2", "weight", 0.6d);
+        v.addEdge("friend", v, "oid", "3", "weight", 1.0d);
+
+        assertEquals(new Long(2), g.traversal().E().has("oid", P.test((t, u) -> {
+            assertTrue(t.equals("2") || t.equals("3"));
+            return true;
+        }, "x")).has("weight", P.gt(0.5d)).count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Arrays.asList(T.label.getAccessor(), "tenantId", "externalId"), Vertex.class);
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+
+        g.addVertex(T.label, "person", "tenantId", 1, "externalId", "a", "name", "marko");
+        g.addVertex(T.label, "person", "tenantId", 1, "externalId", "b", "name", "vadas");
+        g.addVertex(T.label, "person", "tenantId", 2, "externalId", "a", "name", "josh");
+        g.addVertex(T.label, "software", "tenantId", 1, "externalId", "a", "name", "lop");
+
+        // a tricky way to evaluate if indices are actually being used is to pass a fake BiPredicate to has()
+        // to get into the Pipeline and evaluate what's going through it. only the names of vertices resolved from
+        // the composite index should pass through the pipeline.
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("marko", t);
+            return true;
+        }, "x")).hasLabel("person").has("tenantId", 1).has("externalId", "a").count().next());
+
+        // leading keys only
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("vadas"));
+            return true;
+        }, "x")).hasLabel("person").has("tenantId", 1).count().next());
+
+        // the first key is not filtered so the index cannot be used
+        assertEquals(new Long(2), g.traversal().V().has("tenantId", 1).has("externalId", "a").count().next());
+    }
+
+    @Test
+    public void shouldPreferMoreSelectiveCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenantId", Vertex.class);
+        g.createCompositeIndex(Arrays.asList("tenantId", "externalId"), Vertex.class);
+
+        for (int i = 0; i < 10; i++) {
+            g.addVertex("tenantId", 1, "externalId", "x" + i, "name", "v" + i);
+        }
+
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("v3", t);
+            return true;
+        }, "x")).has("tenantId", 1).has("externalId", "x3").count().next());
+    }
+
+    @Test
+    public void shouldUpdateCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex("tenantId", 1, "externalId", "a");
+        g.addVertex("tenantId", 1, "externalId", "b");
+        g.createCompositeIndex(Arrays.asList("tenantId", "externalId"), Vertex.class);
+
+        assertEquals(new Long(1), g.traversal().V().has("tenantId", 1).has("externalId", "a").count().next());
+
+        v.property("externalId", "c");
+        assertEquals(new Long(0), g.traversal().V().has("tenantId", 1).has("externalId", "a").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("tenantId", 1).has("externalId", "c").count().next());
+
+        v.property("externalId").remove();
+        assertEquals(new Long(1), g.traversal().V().has("tenantId", 1).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("tenantId", 1).has("externalId", "c").count().next());
+
+        g.vertices().forEachRemaining(Vertex::remove);
+        assertEquals(new Long(0), g.traversal().V().has("tenantId", 1).count().next());
+
+        g.dropCompositeIndex(Arrays.asList("tenantId", "externalId"), Vertex.class);
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+    }
+
+    @Test
+    public void shouldUseCompositeEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Arrays.asList(T.label.getAccessor(), "oid"), Edge.class);
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5f);
+        v.addEdge("friend", v, "oid", "2", "weight", 0.6f);
+        v.addEdge("enemy", v, "oid", "1", "weight", 0.7f);
+
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.test((t, u) -> {
+            assertEquals(0.5f, t);
+            return true;
+        }, 0.5)).hasLabel("friend").has("oid", "1").count().next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithSingleKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Collections.singletonList("name"), Vertex.class);
+    }
+
+    @Test
+    public void shouldOnlyScanVerticesWithMatchingLabel() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final List<String> names = Arrays.asList("marko", "vadas", "josh", "peter");
+        assertEquals(new Long(4), g.traversal().V().hasLabel("person").has("name", P.test((t, u) -> {
+            assertThat(names.contains(t), is(true));
+            return true;
+        }, "any")).count().next());
+        assertEquals(new Long(1), g.traversal().V().hasLabel("software", "animal").has("name", P.test((t, u) -> {
+            assertThat(names.contains(t), is(false));
+            return "lop".equals(t);
+        }, "any")).count().next());
+    }
+
+    @Test
+    public void shouldOnlyScanEdgesWithMatchingLabel() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        assertEquals(new Long(2), g.traversal().E().hasLabel("knows").has("weight", P.test((t, u) -> {
+            assertThat(t.equals(0.5d) || t.equals(1.0d), is(true));
+            return true;
+        }, "any")).count().next());
+    }
+
+    @Test
+    public void shouldCountByLabel() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        assertEquals(4, g.getVerticesCount(Collections.singletonList("person")));
+        assertEquals(6, g.getVerticesCount(Arrays.asList("person", "software", "person", "animal")));
+        assertEquals(2, g.getEdgesCount(Collections.singletonList("knows")));
+        assertEquals(new Long(4), g.traversal().V().hasLabel("person").count().next());
+        assertEquals(new Long(6), g.traversal().E().hasLabel("knows", "created").count().next());
+
+        g.traversal().V().has("name", "marko").drop().iterate();
+        assertEquals(3, g.getVerticesCount(Collections.singletonList("person")));
+        assertEquals(0, g.getEdgesCount(Collections.singletonList("knows")));
+        assertEquals(new Long(0), g.traversal().E().hasLabel("knows").count().next());
+
+        g.clear();
+        assertEquals(0, g.getVerticesCount(Collections.singletonList("person")));
+        assertEquals(new Long(0), g.traversal().V().hasLabel("software").count().next());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -385,6 +664,163 @@ public class TinkerGraphTest {
         }
     }
 
+    @Test
+    public void shouldTraverseWithCompactAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, TinkerGraph.AdjacencyStorage.COMPACT.name());
+        final TinkerGraph compact = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(compact);
+        final TinkerGraph modern = TinkerFactory.createModern();
+
+        assertEquals(TinkerGraph.AdjacencyStorage.COMPACT, compact.getAdjacencyStorage());
+        assertEquals(TinkerGraph.AdjacencyStorage.HASH, modern.getAdjacencyStorage());
+        assertEquals(modern.traversal().V().both().id().order().toList(), compact.traversal().V().both().id().order().toList());
+        assertEquals(modern.traversal().V().outE("created").id().order().toList(), compact.traversal().V().outE("created").id().order().toList());
+        assertEquals(modern.traversal().V().in("knows", "created").id().order().toList(), compact.traversal().V().in("knows", "created").id().order().toList());
+    }
+
+    @Test
+    public void shouldRemoveEdgesWithCompactAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, TinkerGraph.AdjacencyStorage.COMPACT.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+        final Vertex a = g.addVertex();
+        final Vertex b = g.addVertex();
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            edges.add(a.addEdge("link", b, "i", i));
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            edges.get(i).remove();
+        }
+        assertEquals(50, IteratorUtils.count(a.edges(Direction.OUT, "link")));
+        assertEquals(50, IteratorUtils.count(b.edges(Direction.IN)));
+        assertEquals(new Long(0), g.traversal().V(a).outE().has("i", P.test((t, u) -> ((int) t) % 2 == 0, 0)).count().next());
+
+        b.remove();
+        assertEquals(0, IteratorUtils.count(a.edges(Direction.BOTH)));
+        assertEquals(0, g.getEdgesCount());
+    }
+
+    @Test
+    public void shouldStoreVertexPropertiesOffHeap() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_PROPERTY_STORAGE, TinkerGraph.PropertyStorage.OFF_HEAP.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+        final TinkerVertex v = (TinkerVertex) g.addVertex("name", "marko", "age", 29, "born", 1980L, "weight", 0.5d, "active", true);
+
+        assertThat(v.columnSlot >= 0, is(true));
+        assertNull(v.properties);
+        assertEquals("marko", v.value("name"));
+        assertEquals(29, (int) v.value("age"));
+        assertEquals(1980L, (long) v.value("born"));
+        assertEquals(0.5d, v.value("weight"), 0.0d);
+        assertEquals(true, v.value("active"));
+        assertEquals(new HashSet<>(Arrays.asList("name", "age", "born", "weight", "active")), v.keys());
+        assertEquals(v.property("name"), v.property("name"));
+
+        v.property("name", "okram");
+        assertEquals("okram", v.value("name"));
+        assertEquals(1, IteratorUtils.count(v.properties("name")));
+        assertNull(v.properties);
+
+        v.property("age").remove();
+        assertThat(v.property("age").isPresent(), is(false));
+        assertEquals(4, IteratorUtils.count(v.properties()));
+
+        v.remove();
+        assertEquals(0, IteratorUtils.count(g.vertices()));
+    }
+
+    @Test
+    public void shouldReuseOffHeapStorageOfRemovedVertices() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_PROPERTY_STORAGE, TinkerGraph.PropertyStorage.OFF_HEAP.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+        final TinkerVertex v = (TinkerVertex) g.addVertex("name", "marko", "age", 29);
+        final TinkerVertex u = (TinkerVertex) g.addVertex("name", "vadas", "age", 27);
+        assertEquals(2, g.vertexPropertyColumns.getPageCount());
+        assertEquals(2, g.vertexPropertyColumns.getDictionarySize("name"));
+
+        final int slot = v.columnSlot;
+        v.remove();
+        assertEquals(1, g.vertexPropertyColumns.getDictionarySize("name"));
+
+        // the slot of the removed vertex is given to the next vertex without its values
+        final TinkerVertex w = (TinkerVertex) g.addVertex("name", "josh");
+        assertEquals(slot, w.columnSlot);
+        assertEquals("josh", w.value("name"));
+        assertThat(w.property("age").isPresent(), is(false));
+        assertEquals("vadas", u.value("name"));
+        assertEquals(2, g.vertexPropertyColumns.getDictionarySize("name"));
+
+        // pages are released once they no longer hold any value
+        u.remove();
+        w.remove();
+        assertEquals(0, g.vertexPropertyColumns.getPageCount());
+        assertEquals(0, g.vertexPropertyColumns.getDictionarySize("name"));
+
+        final TinkerVertex x = (TinkerVertex) g.addVertex("name", "peter", "age", 35);
+        assertEquals("peter", x.value("name"));
+        assertEquals(35, (int) x.value("age"));
+        assertEquals(2, g.vertexPropertyColumns.getPageCount());
+    }
+
+    @Test
+    public void shouldStoreVertexPropertiesOnHeapWhenTheyDoNotFitColumns() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_PROPERTY_STORAGE, TinkerGraph.PropertyStorage.OFF_HEAP.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+        final TinkerVertex v = (TinkerVertex) g.addVertex("name", "marko");
+        final TinkerVertex u = (TinkerVertex) g.addVertex("name", 1);
+
+        // the column for "name" holds strings, so other types go to the heap
+        assertEquals(1, (int) u.value("name"));
+        assertThat(u.properties.containsKey("name"), is(true));
+
+        // multi-properties go to the heap after the first value
+        v.property(VertexProperty.Cardinality.list, "name", "mark");
+        assertEquals(Arrays.asList("marko", "mark"), IteratorUtils.list(v.values("name")));
+        try {
+            v.property("name");
+            fail("Should have thrown multiple properties exception");
+        } catch (IllegalStateException ise) {
+            // expected
+        }
+
+        // meta-properties move the property to the heap
+        v.property(VertexProperty.Cardinality.single, "status", "active");
+        v.property("status").property("since", 2020);
+        assertThat(v.properties.containsKey("status"), is(true));
+        assertEquals(2020, (int) v.property("status").value("since"));
+        assertEquals(1, IteratorUtils.count(v.properties("status")));
+    }
+
+    @Test
+    public void shouldIndexVertexPropertiesOffHeap() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_PROPERTY_STORAGE, TinkerGraph.PropertyStorage.OFF_HEAP.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.createIndex("name", Vertex.class);
+        TinkerFactory.generateModern(g);
+
+        assertEquals(new Long(1), g.traversal().V().has("name", "marko").count().next());
+        g.traversal().V().has("name", "marko").property("name", "okram").iterate();
+        assertEquals(new Long(0), g.traversal().V().has("name", "marko").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", "okram").count().next());
+        g.traversal().V().has("name", "okram").properties("name").drop().iterate();
+        assertEquals(new Long(0), g.traversal().V().has("name", "okram").count().next());
+        assertEquals(Arrays.asList(27, 29, 32, 35), g.traversal().V().values("age").order().toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotOpenWithUnknownAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, "LINKED");
+        TinkerGraph.open(conf);
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldRequireGraphLocationIfFormatIsSet() {
         final Configuration conf = new BaseConfiguration();
@@ -506,6 +942,396 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshot.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotMulti.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistIndicesAndValuesToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistIndicesToSnapshot.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("age", Vertex.class, TinkerIndexType.SORTED);
+        graph.createIndex("weight", Edge.class);
+        graph.createCompositeIndex(Arrays.asList(T.label.getAccessor(), "name"), Vertex.class);
+        final UUID uuid = UUID.randomUUID();
+        final Vertex v = graph.addVertex(T.id, uuid, "name", "stephen", "age", 40, "rank", (short) 3, "tags", Arrays.asList("a", "b"));
+        v.addEdge("self", v, "weight", 0.5f, "on", (byte) 1);
+        final Object vid = graph.addVertex().id();
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(new HashSet<>(Arrays.asList("name", "age")), reloadedGraph.getIndexedKeys(Vertex.class));
+        assertEquals(TinkerIndexType.SORTED, reloadedGraph.vertexIndex.getIndexType("age"));
+        assertEquals(Collections.singleton("weight"), reloadedGraph.getIndexedKeys(Edge.class));
+        assertEquals(1, reloadedGraph.getCompositeIndexedKeys(Vertex.class).size());
+
+        final Vertex reloaded = reloadedGraph.vertices(uuid).next();
+        assertEquals("stephen", reloaded.value("name"));
+        assertEquals(40, (int) reloaded.value("age"));
+        assertEquals((short) 3, (short) reloaded.value("rank"));
+        assertEquals(Arrays.asList("a", "b"), reloaded.value("tags"));
+        final Edge e = reloaded.edges(Direction.OUT).next();
+        assertEquals(0.5f, e.value("weight"), 0.0f);
+        assertEquals((byte) 1, (byte) e.value("on"));
+        assertEquals(new Long(1), reloadedGraph.traversal().V().has("age", P.gt(30)).count().next());
+        assertThat(reloadedGraph.vertices(vid).hasNext(), is(true));
+        assertNotEquals(vid, reloadedGraph.addVertex().id());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldNotReadSnapshotWithEdgeToMissingVertex() throws Exception {
+        final File f = new File(TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldNotReadSnapshotWithEdgeToMissingVertex.snapshot"));
+        if (f.exists() && f.isFile()) f.delete();
+
+        // an edge whose vertex is not written, like in a snapshot written while the graph was changed
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex marko = graph.addVertex(T.id, 1, "name", "marko");
+        final Vertex vadas = graph.addVertex(T.id, 2, "name", "vadas");
+        marko.addEdge("knows", vadas, T.id, 7);
+        graph.vertices.remove(2);
+        TinkerSnapshot.write(graph, f);
+
+        try {
+            TinkerSnapshot.read(TinkerGraph.open(), f);
+            fail("The edge refers to a vertex that is not in the snapshot");
+        } catch (IOException ex) {
+            assertThat(ex.getMessage(), containsString("Edge 7"));
+            assertThat(ex.getMessage(), containsString("vertex 2"));
+        }
+    }
+
+    @Test
+    public void shouldReplayWriteAheadLogOfGraphThatWasNotClosed() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldReplayWriteAheadLog.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        for (final File segment : getWriteAheadLogSegments(f)) segment.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final GraphTraversalSource g = graph.traversal();
+        g.V().has("name", "peter").drop().iterate();
+        g.V().has("name", "marko").property("age", 30).iterate();
+        g.V().has("name", "josh").properties("age").property("since", 2010).iterate();
+        g.E().has("weight", 0.4).properties("weight").drop().iterate();
+        g.addV("person").property("name", "stephen").as("s").V().has("name", "vadas").addE("knows").from("s").iterate();
+
+        // the graph is not closed so it has not been written to its location and only the log holds its changes
+        assertThat(f.exists(), is(false));
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = reloadedGraph.traversal();
+        assertEquals(6, reloadedGraph.getVerticesCount());
+        assertEquals(6, reloadedGraph.getEdgesCount());
+        assertThat(r.V().has("name", "peter").hasNext(), is(false));
+        assertEquals(30, (int) r.V().has("name", "marko").<Integer>values("age").next());
+        assertEquals(2010, (int) r.V().has("name", "josh").properties("age").<Integer>values("since").next());
+        assertEquals(3L, (long) r.E().hasNot("weight").count().next());
+        assertEquals("vadas", r.V().has("name", "stephen").out("knows").values("name").next());
+        assertNotEquals(g.V().has("name", "stephen").id().next(), reloadedGraph.addVertex().id());
+        reloadedGraph.close();
+
+        // the log is discarded once the graph is closed
+        assertThat(f.exists(), is(true));
+        assertEquals(0, getWriteAheadLogSegments(f).length);
+        final TinkerGraph closedGraph = TinkerGraph.open(conf);
+        assertEquals(7, closedGraph.getVerticesCount());
+        closedGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLog() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldCheckpointWriteAheadLog.kryo");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        for (final File segment : getWriteAheadLogSegments(f)) segment.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.checkpoint();
+        assertThat(f.exists(), is(true));
+
+        graph.traversal().V().has("name", "lop").property("lang", "scala").iterate();
+        graph.traversal().V().has("name", "ripple").drop().iterate();
+
+        // only the segment started by the checkpoint remains and it holds the changes since then
+        final File[] segments = getWriteAheadLogSegments(f);
+        assertEquals(1, segments.length);
+        assertThat(segments[0].length() > 0, is(true));
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(5, reloadedGraph.getVerticesCount());
+        assertEquals(5, reloadedGraph.getEdgesCount());
+        assertEquals("scala", reloadedGraph.traversal().V().has("name", "lop").values("lang").next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWhileGraphIsChanged() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldCheckpointWhileGraphIsChanged.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        for (final File segment : getWriteAheadLogSegments(f)) segment.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        // each vertex gets an edge from the one before it, so a checkpoint that is written in the middle of a change
+        // holds an edge to a vertex that it does not hold
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread writer = new Thread(() -> {
+            try {
+                Vertex previous = graph.addVertex("position", 0);
+                for (int i = 1; i < 1000; i++) {
+                    final Vertex vertex = graph.addVertex("position", i);
+                    previous.addEdge("next", vertex, "weight", i);
+                    vertex.property("visited", true);
+                    previous = vertex;
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        writer.start();
+        int checkpoints = 0;
+        while (writer.isAlive()) {
+            graph.checkpoint();
+            checkpoints++;
+        }
+        writer.join();
+        assertNull(failure.get());
+        assertThat(checkpoints > 0, is(true));
+
+        // the graph is not closed, so the last checkpoint written while it was changed is read with the log after it
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = reloadedGraph.traversal();
+        assertEquals(1000, reloadedGraph.getVerticesCount());
+        assertEquals(999, reloadedGraph.getEdgesCount());
+        assertEquals(999L, (long) r.V().has("visited", true).count().next());
+        assertEquals(998, (int) r.V().has("position", 999).in("next").<Integer>values("position").next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCloseWhileGraphIsChanged() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldCloseWhileGraphIsChanged.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        for (final File segment : getWriteAheadLogSegments(f)) segment.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread writer = new Thread(() -> {
+            try {
+                Vertex previous = graph.addVertex("position", 0);
+                started.countDown();
+                for (int i = 1; i < 1000; i++) {
+                    final Vertex vertex = graph.addVertex("position", i);
+                    previous.addEdge("next", vertex, "weight", i);
+                    previous = vertex;
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        writer.start();
+        started.await();
+        graph.close();
+        writer.join();
+        assertNull(failure.get());
+
+        // changes made while the graph was closed are either saved or dropped, so no log is left to replay over the
+        // saved graph and each saved edge joins saved vertices
+        assertEquals(0, getWriteAheadLogSegments(f).length);
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final int vertices = reloadedGraph.getVerticesCount();
+        assertThat(vertices > 0, is(true));
+        assertThat(reloadedGraph.getEdgesCount() >= vertices - 2, is(true));
+        assertThat(reloadedGraph.getEdgesCount() < vertices, is(true));
+        reloadedGraph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotOpenWriteAheadLogWithoutGraphLocation() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldBulkLoadGraph() {
+        final TinkerGraph source = TinkerFactory.createTheCrew();
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("name", Vertex.class);
+
+        try (TinkerBulkLoader loader = graph.bulkLoader(4, 10, 20)) {
+            loader.addVertices(IteratorUtils.list(source.vertices()));
+            loader.addEdges(IteratorUtils.list(source.edges()));
+        }
+
+        IoTest.assertCrewGraph(graph, false);
+        assertEquals(Collections.singleton("name"), graph.getIndexedKeys(Vertex.class));
+        assertEquals(1, graph.vertexIndex.get("name", "marko").size());
+    }
+
+    @Test
+    public void shouldNotCheckpointWhileBulkLoading() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldNotCheckpointWhileBulkLoading.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        for (final File segment : getWriteAheadLogSegments(f)) segment.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("name", Vertex.class);
+
+        try (TinkerBulkLoader loader = graph.bulkLoader(2, 10, 20)) {
+            loader.addVertices(IteratorUtils.list(TinkerFactory.createModern().vertices()));
+            // the indices are suspended while loading so the graph is not written
+            graph.checkpoint();
+            assertThat(f.exists(), is(false));
+        }
+
+        // closing the loader checkpoints the graph along with its index
+        assertThat(f.exists(), is(true));
+        graph.close();
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(6, reloadedGraph.getVerticesCount());
+        assertEquals(1, reloadedGraph.vertexIndex.get("name", "marko").size());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldBulkLoadInBatches() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, "COMPACT");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.addVertex(T.id, -1, "position", -1);
+        graph.createIndex("position", Vertex.class, TinkerIndexType.SORTED);
+
+        final int size = 2000;
+        try (TinkerBulkLoader loader = graph.bulkLoader(3, size, size * 2)) {
+            for (int i = 0; i < size; i += 100) {
+                final List<Vertex> batch = new ArrayList<>();
+                for (int j = i; j < i + 100; j++) {
+                    batch.add(new DetachedVertex(j, "node", Collections.<VertexProperty>singletonList(
+                            DetachedVertexProperty.build().setId((long) j).setLabel("position").setValue(j).create())));
+                }
+                loader.addVertices(batch);
+
+                // edges of each batch point to vertices of this batch and of the preceding ones
+                final List<Edge> edges = new ArrayList<>();
+                for (int j = i; j < i + 100; j++) {
+                    edges.add(new DetachedEdge(null, "next", Collections.emptyMap(), j, "node", (j + 1) % (i + 100), "node"));
+                    edges.add(new DetachedEdge(null, "back", Collections.singletonMap("w", (double) j), j, "node", j / 2, "node"));
+                }
+                loader.addEdges(edges);
+            }
+        }
+
+        assertEquals(size + 1, graph.getVerticesCount());
+        assertEquals(size * 2, graph.getEdgesCount());
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(size * 2L, (long) g.V().outE().count().next());
+        assertEquals(size * 2L, (long) g.V().inE().count().next());
+        assertEquals(Arrays.asList(0, 1), g.V(0).in("back").values("position").order().toList());
+        assertEquals(5L, (long) g.V().has("position", P.between(10, 15)).count().next());
+        assertEquals(1, graph.vertexIndex.get("position", 12).size());
+    }
+
+    @Test
+    public void shouldNotBulkLoadEdgeWithoutVertices() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final TinkerBulkLoader loader = graph.bulkLoader();
+        loader.addVertices(Collections.singletonList(new DetachedVertex(1, "node", Collections.emptyMap())));
+        loader.addEdges(Collections.singletonList(new DetachedEdge(2, "knows", Collections.emptyMap(), 1, "node", 3, "node")));
+        try {
+            loader.close();
+            fail("The edge should not have been added without its in-vertex");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getCause().getMessage(), containsString("3"));
+        }
+
+        // the graph can be loaded again once the loader is closed
+        graph.bulkLoader().close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotOpenMultipleBulkLoaders() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.bulkLoader();
+        graph.bulkLoader();
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -720,6 +1546,250 @@ public class TinkerGraphTest {
         assertEquals(expected, g.withComputer(Computer.compute().workers(4)).V(1, 2).optional(__.bothE().dedup()).order().by(T.id).toList());
     }
 
+    @Test
+    public void shouldComputeSameResultsWithCsrEngine() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final Computer standard = Computer.compute(TinkerGraphComputer.class).
+                configure(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_ENGINE, TinkerGraphComputer.Engine.STANDARD);
+        final Computer csr = Computer.compute(TinkerGraphComputer.class).
+                configure(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_ENGINE, "csr");
+
+        assertEquals(g.withComputer(standard).V().pageRank().with(PageRank.propertyName, "rank").order().by(T.id).valueMap("name", "rank").toList(),
+                g.withComputer(csr).V().pageRank().with(PageRank.propertyName, "rank").order().by(T.id).valueMap("name", "rank").toList());
+        assertEquals(g.withComputer(standard).V().connectedComponent().order().by(T.id).valueMap().toList(),
+                g.withComputer(csr).V().connectedComponent().order().by(T.id).valueMap().toList());
+        assertEquals(g.withComputer(standard.edges(__.bothE("knows"))).V().connectedComponent().order().by(T.id).valueMap().toList(),
+                g.withComputer(csr.edges(__.bothE("knows"))).V().connectedComponent().order().by(T.id).valueMap().toList());
+        assertEquals(g.withComputer(standard).V().pageRank().with(PageRank.edges, __.outE("knows")).with(PageRank.propertyName, "rank").order().by(T.id).valueMap("name", "rank").toList(),
+                g.withComputer(csr).V().pageRank().with(PageRank.edges, __.outE("knows")).with(PageRank.propertyName, "rank").order().by(T.id).valueMap("name", "rank").toList());
+
+        assertEquals(g.withComputer(standard).V().peerPressure().with(PeerPressure.propertyName, "cluster").order().by(T.id).values("cluster").toList(),
+                g.withComputer(csr).V().peerPressure().with(PeerPressure.propertyName, "cluster").order().by(T.id).values("cluster").toList());
+        assertEquals(new HashSet<>(g.withComputer(standard).V().shortestPath().toList()),
+                new HashSet<>(g.withComputer(csr).V().shortestPath().toList()));
+
+        // the compute ordinals are cleared once the computation is done
+        g.V().forEachRemaining(v -> assertEquals(-1, TinkerHelper.getComputeOrdinal((TinkerVertex) v)));
+    }
+
+    @Test
+    public void shouldResumeComputationFromCheckpoint() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        for (final TinkerGraphComputer.Engine engine : TinkerGraphComputer.Engine.values()) {
+            final String location = TestHelper.makeTestDataDirectory(TinkerGraphTest.class, "checkpoint", engine.name());
+            final File checkpoint = new File(location, "checkpoint");
+            checkpoint.delete(); // a checkpoint of a previous test run is not resumed
+            final List<Object> expected = graph.compute(TinkerGraphComputer.class).
+                    configure(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_ENGINE, engine).
+                    program(PageRankVertexProgram.build().iterations(30).epsilon(0.0d).create(graph)).submit().get().
+                    graph().traversal().V().order().by(T.id).values(PageRankVertexProgram.PAGE_RANK).toList();
+
+            // the computation fails after the checkpoint of its 10th iteration was written
+            try {
+                graph.compute(TinkerGraphComputer.class).checkpoint(location, 5).
+                        configure(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_ENGINE, engine).
+                        program(new CheckpointedVertexProgram(PageRankVertexProgram.build().iterations(30).epsilon(0.0d).create(graph), 12)).
+                        submit().get();
+                fail("The computation should have failed");
+            } catch (ExecutionException ex) {
+                assertTrue(checkpoint.exists());
+            }
+
+            // the checkpoint is not resumed by a computation with another configuration or graph filter
+            for (final GraphComputer computer : Arrays.asList(
+                    graph.compute(TinkerGraphComputer.class).program(new CheckpointedVertexProgram(
+                            PageRankVertexProgram.build().iterations(30).epsilon(0.0d).alpha(0.5d).create(graph), -1)),
+                    graph.compute(TinkerGraphComputer.class).vertices(__.hasLabel("person")).program(new CheckpointedVertexProgram(
+                            PageRankVertexProgram.build().iterations(30).epsilon(0.0d).create(graph), -1)))) {
+                try {
+                    ((TinkerGraphComputer) computer).checkpoint(location, 5).
+                            configure(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_ENGINE, engine).submit().get();
+                    fail("The checkpoint should not have been resumed");
+                } catch (ExecutionException ex) {
+                    assertThat(ex.getCause().getMessage(), containsString("with another configuration or graph filter"));
+                    assertTrue(checkpoint.exists());
+                }
+            }
+
+            final CheckpointedVertexProgram vertexProgram = new CheckpointedVertexProgram(
+                    PageRankVertexProgram.build().iterations(30).epsilon(0.0d).create(graph), -1);
+            final List<Object> actual = graph.compute(TinkerGraphComputer.class).checkpoint(location, 5).
+                    configure(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_ENGINE, engine).
+                    program(vertexProgram).submit().get().
+                    graph().traversal().V().order().by(T.id).values(PageRankVertexProgram.PAGE_RANK).toList();
+            assertEquals(10, vertexProgram.firstIteration);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals((Double) expected.get(i), (Double) actual.get(i), 0.000001d);
+            }
+            assertFalse(checkpoint.exists());
+        }
+    }
+
+    @Test
+    public void shouldFindSameShortestPathsWithoutGraphComputer() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+        assertEquals(new HashSet<>(g.withComputer().V().shortestPath().toList()),
+                new HashSet<>(g.V().shortestPath().toList()));
+        assertEquals(new HashSet<>(g.withComputer().V().shortestPath().with(ShortestPath.includeEdges, true).toList()),
+                new HashSet<>(g.V().shortestPath().with(ShortestPath.includeEdges, true).toList()));
+        assertEquals(new HashSet<>(g.withComputer().V().shortestPath().with(ShortestPath.edges, Direction.IN).toList()),
+                new HashSet<>(g.V().shortestPath().with(ShortestPath.edges, Direction.IN).toList()));
+        assertEquals(new HashSet<>(g.withComputer().V().shortestPath().with(ShortestPath.maxDistance, 1).toList()),
+                new HashSet<>(g.V().shortestPath().with(ShortestPath.maxDistance, 1).toList()));
+        assertEquals(new HashSet<>(g.withComputer().V().has("name", "marko").shortestPath().
+                        with(ShortestPath.target, __.hasLabel("software")).toList()),
+                new HashSet<>(g.V().has("name", "marko").shortestPath().
+                        with(ShortestPath.target, __.hasLabel("software")).toList()));
+        assertEquals(new HashSet<>(g.withComputer().V().shortestPath().
+                        with(ShortestPath.distance, "weight").with(ShortestPath.includeEdges, true).toList()),
+                new HashSet<>(g.V().shortestPath().
+                        with(ShortestPath.distance, "weight").with(ShortestPath.includeEdges, true).toList()));
+        assertEquals(new HashSet<>(g.withComputer().V().has("name", "vadas").shortestPath().
+                        with(ShortestPath.distance, "weight").with(ShortestPath.maxDistance, 1.3).toList()),
+                new HashSet<>(g.V().has("name", "vadas").shortestPath().
+                        with(ShortestPath.distance, "weight").with(ShortestPath.maxDistance, 1.3).toList()));
+
+        // negative distances are not rejected and missing distances count as 0 by both
+        assertEquals(new HashSet<>(g.withComputer().V().shortestPath().with(ShortestPath.edges, Direction.OUT).
+                        with(ShortestPath.distance, __.values("weight").math("_ - 0.5")).toList()),
+                new HashSet<>(g.V().shortestPath().with(ShortestPath.edges, Direction.OUT).
+                        with(ShortestPath.distance, __.values("weight").math("_ - 0.5")).toList()));
+        assertEquals(new HashSet<>(g.withComputer().V().shortestPath().with(ShortestPath.edges, Direction.OUT).
+                        with(ShortestPath.distance, "since").toList()),
+                new HashSet<>(g.V().shortestPath().with(ShortestPath.edges, Direction.OUT).
+                        with(ShortestPath.distance, "since").toList()));
+    }
+
+    @Test
+    public void shouldFindSameShortestPathsWithParallelFrontierExpansion() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex hub = graph.addVertex(T.id, 0);
+        final Vertex otherHub = graph.addVertex(T.id, 1);
+        for (int i = 2; i < 3000; i++) {
+            final Vertex v = graph.addVertex(T.id, i);
+            hub.addEdge("link", v);
+            v.addEdge("link", otherHub);
+            if (i % 3 == 0) v.addEdge("link", graph.vertices(i - 1).next());
+        }
+
+        final List<Path> paths = g.V(0).shortestPath().with(ShortestPath.includeEdges, true).toList();
+        assertEquals(new HashSet<>(g.withComputer().V(0).shortestPath().with(ShortestPath.includeEdges, true).toList()),
+                new HashSet<>(paths));
+        assertEquals(2998, paths.stream().filter(p -> p.get(p.size() - 1).equals(otherHub)).count());
+    }
+
+    @Test
+    public void shouldReduceSameResultsInParallel() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42);
+        final List<Vertex> accounts = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            accounts.add(graph.addVertex(T.label, "account", "amount", random.nextInt(20000), "bucket", i % 7));
+        }
+        for (final Vertex account : accounts) {
+            for (int i = 0; i < 3; i++) {
+                account.addEdge("txn", accounts.get(random.nextInt(accounts.size())));
+            }
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource gp = g.withStrategies(ParallelStrategy.build().threads(4).create());
+
+        assertEquals(g.V().hasLabel("account").out("txn").has("amount", P.gt(10000)).count().next(),
+                gp.V().hasLabel("account").out("txn").has("amount", P.gt(10000)).count().next());
+        assertEquals(g.V().out().out().values("amount").sum().next(), gp.V().out().out().values("amount").sum().next());
+        assertEquals(g.V().out().values("amount").max().next(), gp.V().out().values("amount").max().next());
+        assertEquals(g.V().out().values("amount").mean().next(), gp.V().out().values("amount").mean().next());
+        assertEquals(g.V().out().groupCount().by("bucket").next(), gp.V().out().groupCount().by("bucket").next());
+        assertEquals(g.V().as("a").out().where(P.neq("a")).select("a").count().next(),
+                gp.V().as("a").out().where(P.neq("a")).select("a").count().next());
+        final List<Object> amounts = new ArrayList<>(g.V().out().values("amount").fold().next());
+        final List<Object> parallelAmounts = new ArrayList<>(gp.V().out().values("amount").fold().next());
+        amounts.sort(null);
+        parallelAmounts.sort(null);
+        assertEquals(amounts, parallelAmounts);
+
+        assertEquals(0L, gp.V().has("amount", P.gt(20000)).count().next().longValue());
+        assertFalse(gp.V().has("amount", P.gt(20000)).values("amount").sum().hasNext());
+    }
+
+    @Test
+    public void shouldFillSameResultsInBatches() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42);
+        final List<Vertex> accounts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            accounts.add(graph.addVertex(T.label, "account", "amount", random.nextInt(20000), "bucket", i % 7));
+        }
+        for (final Vertex account : accounts) {
+            for (int i = 0; i < 3; i++) {
+                account.addEdge("txn", accounts.get(random.nextInt(accounts.size())));
+            }
+        }
+        final GraphTraversalSource g = graph.traversal();
+
+        // toList() pulls the traversers in batches while iterating the traversal pulls them one at a time
+        assertEquals(IteratorUtils.list(g.V().has("amount", P.gt(10000)).out("txn").id()),
+                g.V().has("amount", P.gt(10000)).out("txn").id().toList());
+        assertEquals(IteratorUtils.list(g.V().outE("txn").inV().has("bucket", 3).values("amount")),
+                g.V().outE("txn").inV().has("bucket", 3).values("amount").toList());
+        assertEquals(IteratorUtils.list(g.V().out().out().properties("amount").key()),
+                g.V().out().out().properties("amount").key().toList());
+        assertEquals(IteratorUtils.list(g.V().out().barrier().out().label()),
+                g.V().out().barrier().out().label().toList());
+        assertEquals(IteratorUtils.list(g.V().out().dedup().out().has("amount", P.lt(100)).id()),
+                g.V().out().dedup().out().has("amount", P.lt(100)).id().toList());
+        assertEquals(IteratorUtils.list(g.V().out().limit(700).id()), g.V().out().limit(700).id().toList());
+        assertEquals(3000, g.V().out().toList().size());
+        assertEquals(0, g.V().has("amount", P.gt(20000)).out().toList().size());
+    }
+
+    @Test
+    public void shouldNotIterateMutatingStepsAheadInBatches() {
+        // a step after a mutating step has to see the changes of each traverser before the next one is mutated, where
+        // the barriers of LazyBarrierStrategy would read ahead on their own
+        final GraphTraversalSource g1 = createChain(1000).traversal().withoutStrategies(LazyBarrierStrategy.class);
+        final GraphTraversalSource g2 = createChain(1000).traversal().withoutStrategies(LazyBarrierStrategy.class);
+        final List<Object> ids = IteratorUtils.list(g1.V().addE("x").to(__.V(0)).inV().in("x").id());
+        assertEquals(500500, ids.size());
+        assertEquals(ids, g2.V().addE("x").to(__.V(0)).inV().in("x").id().toList());
+
+        // each vertex only sees the vertex before it as visited
+        final GraphTraversalSource g3 = createChain(1000).traversal().withoutStrategies(LazyBarrierStrategy.class);
+        final GraphTraversalSource g4 = createChain(1000).traversal().withoutStrategies(LazyBarrierStrategy.class);
+        final List<Object> visited = IteratorUtils.list(g3.V().property("visited", true).out().has("visited", true).id());
+        assertEquals(999, visited.size());
+        assertEquals(visited, g4.V().property("visited", true).out().has("visited", true).id().toList());
+    }
+
+    @Test
+    public void shouldProcessDefaultTraversalsInBatches() {
+        final GraphTraversalSource g = createChain(1000).traversal();
+        final Traversal.Admin<Vertex, Object> traversal = g.V().out().out().has(T.id, P.gt(10)).id().asAdmin();
+        traversal.applyStrategies();
+
+        // the barriers that LazyBarrierStrategy adds do not stop the steps before them from being iterated ahead
+        assertTrue(TraversalHelper.hasStepOfClass(NoOpBarrierStep.class, traversal));
+        assertTrue(Batching.canIterateAhead(traversal.getEndStep()));
+        assertEquals(IteratorUtils.list(g.V().out().out().has(T.id, P.gt(10)).id()), traversal.toList());
+    }
+
+    private static TinkerGraph createChain(final int size) {
+        final TinkerGraph graph = TinkerGraph.open();
+        Vertex previous = null;
+        for (int i = 0; i < size; i++) {
+            final Vertex vertex = graph.addVertex(T.id, i);
+            if (null != previous) {
+                previous.addEdge("next", vertex);
+                vertex.addEdge("previous", previous);
+            }
+            previous = vertex;
+        }
+        return graph;
+    }
+
     @Test
     public void shouldReservedKeyVerify() {
         final Set<String> reserved = new HashSet<>(Arrays.asList("something", "id", "label"));
@@ -923,6 +1993,73 @@ public class TinkerGraphTest {
         assertEquals(3, g.V(100, "1000", uuid).count().next().intValue());
     }
 
+    /**
+     * Delegates to a {@link VertexProgram} and fails when it is to terminate at a given iteration.
+     */
+    private static final class CheckpointedVertexProgram implements VertexProgram<Double> {
+        private final VertexProgram<Double> vertexProgram;
+        private final int failingIteration;
+        private int firstIteration = -1;
+
+        private CheckpointedVertexProgram(final VertexProgram<Double> vertexProgram, final int failingIteration) {
+            this.vertexProgram = vertexProgram;
+            this.failingIteration = failingIteration;
+        }
+
+        @Override
+        public void storeState(final Configuration configuration) {
+            this.vertexProgram.storeState(configuration);
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+            this.vertexProgram.setup(memory);
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Double> messenger, final Memory memory) {
+            this.vertexProgram.execute(vertex, messenger, memory);
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            if (-1 == this.firstIteration) this.firstIteration = memory.getIteration();
+            if (memory.getIteration() == this.failingIteration)
+                throw new IllegalStateException("Failing at iteration " + this.failingIteration);
+            return this.vertexProgram.terminate(memory);
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return this.vertexProgram.getVertexComputeKeys();
+        }
+
+        @Override
+        public Set<MemoryComputeKey> getMemoryComputeKeys() {
+            return this.vertexProgram.getMemoryComputeKeys();
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return this.vertexProgram.getMessageScopes(memory);
+        }
+
+        @Override
+        public CheckpointedVertexProgram clone() {
+            return this;
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return this.vertexProgram.getPreferredResultGraph();
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return this.vertexProgram.getPreferredPersist();
+        }
+    }
+
     /**
      * Coerces a {@code Color} to a {@link TinkerGraph} during serialization.  Demonstrates how custom serializers
      * can be developed that can coerce one value to another during serialization.
@@ -980,6 +2117,11 @@ public class TinkerGraphTest {
         }
     }
 
+    private static File[] getWriteAheadLogSegments(final File graphLocation) {
+        final File[] segments = graphLocation.getAbsoluteFile().getParentFile().listFiles((dir, name) -> name.startsWith(graphLocation.getName() + ".wal."));
+        return null == segments ? new File[0] : segments;
+    }
+
     public static class CustomClassResolverSupplier implements Supplier<ClassResolver> {
         @Override
         public ClassResolver get() {
@@ -18,20 +18,34 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelReducingStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 import org.junit.Test;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -353,6 +367,40 @@ public class TinkerTransactionGraphTest {
 
     // index tests for vertex
 
+    @Test
+    public void shouldUseSortedIndexForRangeLookupsInTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createIndex("test-property", Vertex.class, TinkerIndexType.SORTED);
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        gtx.addV().property("test-property", 1).iterate();
+        gtx.addV().property("test-property", 2).iterate();
+        gtx.addV().property("test-property", 3).iterate();
+        gtx.tx().commit();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        assertEquals(2L, (long) gtx2.V().has("test-property", P.gte(2)).count().next());
+
+        gtx2.addV().property("test-property", 4).iterate();
+        gtx2.V().has("test-property", 2).property("test-property", 0).iterate();
+
+        assertEquals(2L, (long) gtx2.V().has("test-property", P.gte(2)).count().next());
+        assertEquals(2L, (long) gtx2.V().has("test-property", P.lt(2)).count().next());
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx3 = g.tx().begin();
+            assertEquals(2L, (long) gtx3.V().has("test-property", P.gte(2)).count().next());
+            assertEquals(1L, (long) gtx3.V().has("test-property", P.lt(2)).count().next());
+        });
+        thread.start();
+        thread.join();
+
+        gtx2.tx().commit();
+
+        final GraphTraversalSource gtx4 = g.tx().begin();
+        assertEquals(2L, (long) gtx4.V().has("test-property", P.between(1, 4)).count().next());
+    }
+
     @Test
     public void shouldCreateIndexForNewVertex() throws InterruptedException {
         final TinkerTransactionGraph g = TinkerTransactionGraph.open();
@@ -769,6 +817,12 @@ public class TinkerTransactionGraphTest {
 
     // utility methods
 
+    private static TinkerTransactionGraph openWithSnapshotReads() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_SNAPSHOT_READS, true);
+        return TinkerTransactionGraph.open(conf);
+    }
+
     private void countElementsInNewThreadTx(final TinkerTransactionGraph g, final long verticesCount, final long edgesCount) throws InterruptedException {
         final AtomicLong vCount = new AtomicLong(-1);
         final AtomicLong eCount = new AtomicLong(-1);
@@ -1223,6 +1277,129 @@ public class TinkerTransactionGraphTest {
         assertEquals(2, gtx.V(v1.id()).values("test").next());
     }
 
+    @Test
+    public void shouldMergeConcurrentChangesToDifferentVertexProperties() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        final GraphTraversalSource gtx = g.tx().begin();
+
+        final Vertex v1 = gtx.addV().property("name", "marko").next();
+        gtx.tx().commit();
+
+        gtx.V(v1.id()).property("age", 29).iterate();
+
+        // change another property in other tx
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.V(v1.id()).property("name", "stephen").iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        gtx.tx().commit();
+
+        assertEquals("stephen", gtx.V(v1.id()).values("name").next());
+        assertEquals(29, gtx.V(v1.id()).values("age").next());
+        assertEquals(1L, (long) gtx.V().has("name", "stephen").has("age", 29).count().next());
+    }
+
+    @Test
+    public void shouldMergeConcurrentChangesToDifferentEdgeProperties() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        final GraphTraversalSource gtx = g.tx().begin();
+
+        final Vertex v1 = gtx.addV().next();
+        final Vertex v2 = gtx.addV().next();
+        final Edge edge = gtx.addE("tests").from(v1).to(v2).property("test", 0).next();
+        gtx.tx().commit();
+
+        gtx.E(edge.id()).property("test", 1).iterate();
+
+        // change another property in other tx
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.E(edge.id()).property("weight", 0.5).iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        gtx.tx().commit();
+
+        assertEquals(1, gtx.E(edge.id()).values("test").next());
+        assertEquals(0.5, gtx.E(edge.id()).values("weight").next());
+    }
+
+    @Test
+    public void shouldMergeConcurrentEdgeChangesOfSameVertex() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        final GraphTraversalSource gtx = g.tx().begin();
+
+        final Vertex hub = gtx.addV().property("name", "hub").next();
+        final Vertex v1 = gtx.addV().next();
+        final Vertex v2 = gtx.addV().next();
+        final Vertex v3 = gtx.addV().next();
+        final Edge e1 = gtx.addE("knows").from(hub).to(v1).next();
+        gtx.tx().commit();
+
+        gtx.addE("knows").from(hub).to(v2).iterate();
+
+        // add and remove other edges of the same vertex in other tx
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.addE("created").from(hub).to(v3).iterate();
+            gtx2.E(e1.id()).drop().iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        gtx.tx().commit();
+
+        assertEquals(2L, (long) gtx.V(hub.id()).outE().count().next());
+        assertEquals(v2.id(), gtx.V(hub.id()).out("knows").id().next());
+        assertEquals(v3.id(), gtx.V(hub.id()).out("created").id().next());
+        assertEquals(0L, (long) gtx.V(v1.id()).inE().count().next());
+        assertEquals(2L, (long) gtx.E().count().next());
+
+        countElementsInNewThreadTx(g, 4, 2);
+    }
+
+    @Test
+    public void shouldCommitConcurrentEdgeAdditionsToSameVertex() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        final GraphTraversalSource gtx = g.tx().begin();
+        final Vertex hub = gtx.addV().next();
+        gtx.tx().commit();
+
+        final int threads = 4;
+        final int edgesPerThread = 50;
+        final AtomicLong failures = new AtomicLong();
+        final List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final Thread thread = new Thread(() -> {
+                for (int j = 0; j < edgesPerThread; j++) {
+                    final GraphTraversalSource gtx2 = g.tx().begin();
+                    gtx2.addV().as("a").addE("links").from(__.V(hub.id())).to("a").iterate();
+                    try {
+                        gtx2.tx().commit();
+                    } catch (TransactionException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            writers.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : writers) {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+        countElementsInNewThreadTx(g, 1 + threads * edgesPerThread, threads * edgesPerThread);
+        assertEquals(threads * edgesPerThread, (long) gtx.V(hub.id()).out().count().next());
+    }
+
     @Test
     public void shouldHandleConcurrentDeleteEdge() throws InterruptedException {
         final TinkerTransactionGraph g = TinkerTransactionGraph.open();
@@ -1430,6 +1607,189 @@ public class TinkerTransactionGraphTest {
         countElementsInNewThreadTx(g, 1, 0);
     }
 
+    @Test
+    public void shouldPersistToSnapshot() throws InterruptedException {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerTransactionGraphTest.class, "shouldPersistToSnapshot.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open(conf);
+        g.createIndex("name", Vertex.class);
+        final GraphTraversalSource gtx = g.tx().begin();
+        gtx.addV("person").property("name", "marko").as("a").
+                addV("person").property("name", "vadas").addE("knows").from("a").property("weight", 0.5d).iterate();
+        gtx.tx().commit();
+        g.close();
+
+        final TinkerTransactionGraph reloaded = TinkerTransactionGraph.open(conf);
+        assertEquals(Collections.singleton("name"), reloaded.getIndexedKeys(Vertex.class));
+        countElementsInNewThreadTx(reloaded, 2, 1);
+        final GraphTraversalSource reloadedTx = reloaded.tx().begin();
+        assertEquals("vadas", reloadedTx.V().has("name", "marko").out("knows").values("name").next());
+        reloadedTx.tx().rollback();
+        reloaded.close();
+    }
+
+    @Test
+    public void shouldReplayCommittedTransactionsFromWriteAheadLog() throws InterruptedException {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerTransactionGraphTest.class, "shouldReplayWriteAheadLog.snapshot");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File[] segments = f.getAbsoluteFile().getParentFile().listFiles((dir, name) -> name.startsWith(f.getName() + ".wal."));
+        if (segments != null) Arrays.stream(segments).forEach(File::delete);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource gtx = g.tx().begin();
+        gtx.addV("person").property("name", "marko").as("a").
+                addV("person").property("name", "vadas").addE("knows").from("a").property("weight", 0.5d).iterate();
+        gtx.tx().commit();
+        g.checkpoint();
+
+        gtx.V().has("name", "marko").property("age", 29).outE().drop().iterate();
+        gtx.tx().commit();
+        gtx.addV("person").property("name", "peter").iterate();
+        gtx.tx().rollback();
+
+        // the graph is not closed so the changes after the checkpoint are only in the log
+        final TinkerTransactionGraph reloaded = TinkerTransactionGraph.open(conf);
+        countElementsInNewThreadTx(reloaded, 2, 0);
+        final GraphTraversalSource reloadedTx = reloaded.tx().begin();
+        assertEquals(29, (int) reloadedTx.V().has("name", "marko").<Integer>values("age").next());
+        assertTrue(!reloadedTx.V().has("name", "peter").hasNext());
+        reloadedTx.tx().rollback();
+        reloaded.close();
+    }
+
+    @Test
+    public void shouldReadSnapshotWhileOtherTransactionsCommit() throws InterruptedException {
+        final TinkerTransactionGraph g = openWithSnapshotReads();
+        final GraphTraversalSource gtx = g.tx().begin();
+        final Vertex v1 = gtx.addV().property("name", "marko").property("age", 29).next();
+        final Vertex v2 = gtx.addV().property("name", "vadas").next();
+        gtx.addE("knows").from(v1).to(v2).next();
+        gtx.tx().commit();
+
+        final GraphTraversalSource snapshot = g.beginSnapshot();
+        assertEquals(29, (int) snapshot.V(v1.id()).values("age").next());
+
+        // another transaction changes the graph while the snapshot is open
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.V(v1.id()).property("age", 30).iterate();
+            gtx2.V(v2.id()).drop().iterate();
+            gtx2.addV().property("name", "josh").iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(29, (int) snapshot.V(v1.id()).values("age").next());
+        assertEquals(2, (long) snapshot.V().count().next());
+        assertEquals(1, (long) snapshot.E().count().next());
+        assertEquals("vadas", snapshot.V(v1.id()).out("knows").values("name").next());
+        assertEquals("marko", snapshot.V(v2.id()).in("knows").values("name").next());
+        snapshot.tx().rollback();
+
+        // the removed vertex is gone from the graph once no snapshot can read it
+        assertNull(g.getVertices().get(v2.id()));
+        countElementsInNewThreadTx(g, 2, 0);
+
+        final GraphTraversalSource latest = g.beginSnapshot();
+        assertEquals(30, (int) latest.V(v1.id()).values("age").next());
+        assertEquals(2, (long) latest.V().count().next());
+        assertEquals(0, (long) latest.E().count().next());
+        latest.tx().commit();
+    }
+
+    @Test
+    public void shouldNotUseIndexInSnapshot() throws InterruptedException {
+        final TinkerTransactionGraph g = openWithSnapshotReads();
+        g.createIndex("name", Vertex.class);
+        final GraphTraversalSource gtx = g.tx().begin();
+        final Vertex v1 = gtx.addV().property("name", "marko").next();
+        gtx.tx().commit();
+
+        final GraphTraversalSource snapshot = g.beginSnapshot();
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.V(v1.id()).property("name", "stephen").iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(1, (long) snapshot.V().has("name", "marko").count().next());
+        assertEquals(0, (long) snapshot.V().has("name", "stephen").count().next());
+        snapshot.tx().rollback();
+
+        final GraphTraversalSource gtx3 = g.tx().begin();
+        assertEquals(1, (long) gtx3.V().has("name", "stephen").count().next());
+        gtx3.tx().rollback();
+    }
+
+    @Test
+    public void shouldNotChangeGraphInSnapshot() {
+        final TinkerTransactionGraph g = openWithSnapshotReads();
+        final GraphTraversalSource gtx = g.tx().begin();
+        final Vertex v1 = gtx.addV().property("name", "marko").next();
+        gtx.tx().commit();
+
+        final GraphTraversalSource snapshot = g.beginSnapshot();
+        try {
+            snapshot.addV().iterate();
+            fail("Should not add a vertex in a snapshot");
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            snapshot.V(v1.id()).property("name", "stephen").iterate();
+            fail("Should not change a vertex in a snapshot");
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            snapshot.V(v1.id()).drop().iterate();
+            fail("Should not remove a vertex in a snapshot");
+        } catch (IllegalStateException ignored) {
+        }
+        snapshot.tx().rollback();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        assertEquals("marko", gtx2.V(v1.id()).values("name").next());
+        gtx2.tx().rollback();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotBeginSnapshotWithoutSnapshotReads() {
+        TinkerTransactionGraph.open().beginSnapshot();
+    }
+
+    @Test
+    public void shouldNotReduceInParallelInsideTransaction() {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        final GraphTraversalSource gtx = g.tx().<GraphTraversalSource>begin().withStrategies(ParallelStrategy.build().threads(4).create());
+
+        for (int i = 0; i < 100; i++) {
+            gtx.addV("account").property("amount", i).iterate();
+        }
+
+        // the vertices are not committed, so other threads would not see them
+        final Traversal.Admin<Vertex, Long> traversal = gtx.V().hasLabel("account").has("amount", P.gte(50)).count().asAdmin();
+        traversal.applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfAssignableClassRecursively(ParallelReducingStep.class, traversal));
+        assertEquals(50, (long) traversal.next());
+        assertEquals(4950, gtx.V().values("amount").sum().next().longValue());
+
+        gtx.tx().rollback();
+    }
+
     // tx1 adds vertex v1, tx2 removes vertex v1
     @Test
     public void shouldHandleAddingVertexWhenOtherTxTryToDeleteSameVertex() throws InterruptedException {